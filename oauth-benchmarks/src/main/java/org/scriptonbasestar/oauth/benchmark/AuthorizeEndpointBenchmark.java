@@ -0,0 +1,80 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookConfig;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.google.OAuth2GoogleConfig;
+import org.scripton.oauth.connector.google.OAuth2GoogleGenerateAuthorizeUrlFunction;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoConfig;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.naver.OAuth2NaverConfig;
+import org.scripton.oauth.connector.naver.OAuth2NaverGenerateAuthorizeEndpointFunction;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2GenerateAuthorizeEndpointFunction;
+import org.scriptonbasestar.oauth.client.OAuth2GenerateAuthorizeEndpointFunction;
+import org.scriptonbasestar.oauth.client.o20.type.VerifierResponseType;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 버튼을 누를 때마다 호출되는 authorize URL 생성.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizeEndpointBenchmark {
+
+  private static final String REDIRECT_URI = "https://login.example.com/oauth/callback?return_to=/my/page";
+
+  @Param({"default", "naver", "kakao", "google", "facebook"})
+  public String provider;
+
+  private OAuth2GenerateAuthorizeEndpointFunction function;
+  private org.scriptonbasestar.oauth.client.model.State state;
+
+  @Setup
+  public void setUp() {
+    function = switch (provider) {
+      case "default" -> new DefaultOAuth2GenerateAuthorizeEndpointFunction(
+          "https://auth.example.com/oauth2/authorize", REDIRECT_URI, "client-id",
+          VerifierResponseType.CODE, "profile email");
+      case "naver" -> new OAuth2NaverGenerateAuthorizeEndpointFunction(new OAuth2NaverConfig(
+          "jyvqXeaVOVmV", "527300A0_COq1_XV33cf", REDIRECT_URI,
+          "https://nid.naver.com/oauth2.0/authorize", "",
+          "https://nid.naver.com/oauth2.0/token", OAuthHttpVerb.POST));
+      case "kakao" -> new OAuth2KakaoGenerateAuthorizeEndpointFunction(new OAuth2KakaoConfig(
+          "a1b2c3d4e5f6", null, REDIRECT_URI,
+          "https://kauth.kakao.com/oauth/authorize", "",
+          "https://kauth.kakao.com/oauth/token", OAuthHttpVerb.POST));
+      case "google" -> new OAuth2GoogleGenerateAuthorizeUrlFunction(new OAuth2GoogleConfig(
+          "1234567890-abc.apps.googleusercontent.com", "GOCSPX-secret", REDIRECT_URI,
+          "https://accounts.google.com/o/oauth2/v2/auth", "openid email profile",
+          "https://oauth2.googleapis.com/token", OAuthHttpVerb.POST,
+          "https://oauth2.googleapis.com/revoke"));
+      case "facebook" -> new OAuth2FacebookGenerateAuthorizeEndpointFunction(new OAuth2FacebookConfig(
+          "123456789012345", "facebook-secret", REDIRECT_URI,
+          "https://www.facebook.com/v18.0/dialog/oauth", "public_profile,email",
+          "https://graph.facebook.com/v18.0/oauth/access_token", OAuthHttpVerb.GET));
+      default -> throw new IllegalArgumentException(provider);
+    };
+    state = new org.scriptonbasestar.oauth.client.model.State("NAVER-1729312345678");
+  }
+
+  @Benchmark
+  public String generate() {
+    return function.generate(state);
+  }
+}
@@ -0,0 +1,54 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scriptonbasestar.oauth.client.util.SBStringDigestUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 digest. 4 threads 에서 동시에 호출한다.
+ * <ul>
+ *   <li>{@code pooledString} - SBStringDigestUtil.sha256(String). UTF-8 인코딩 포함</li>
+ *   <li>{@code pooledBytes} - 이미 byte[] 가 있을 때. getBytes 복사 없음</li>
+ *   <li>{@code newInstance} - 호출마다 MessageDigest.getInstance</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class DigestBenchmark {
+
+  private final String source = "AAAANl4ZCye2mRbVUCBwdLntfRLI4VhuFoxvyuXyBjPD5c6ldhaA36yia5vN";
+  private final byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+
+  @Benchmark
+  public byte[] pooledString() {
+    return SBStringDigestUtil.sha256(source);
+  }
+
+  @Benchmark
+  public byte[] pooledBytes() {
+    return SBStringDigestUtil.sha256(bytes, 0, bytes.length);
+  }
+
+  @Benchmark
+  public byte[] newInstance() throws NoSuchAlgorithmException {
+    return MessageDigest.getInstance("SHA-256").digest(bytes);
+  }
+}
@@ -0,0 +1,79 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scriptonbasestar.oauth.client.util.LogMaskUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그 마스킹 비용. logback.xml 의 root 레벨은 INFO 라서 debug 로그는 출력되지 않는다.
+ * <ul>
+ *   <li>{@code regexAtInfo} - 예전 HttpRequest.sanitizeForLogging. 레벨과 상관없이 replaceAll 7번</li>
+ *   <li>{@code lazyAtInfo} - LogMaskUtil.lazyUrl. 레벨이 꺼져 있으면 마스킹하지 않는다</li>
+ *   <li>{@code maskUrl}, {@code maskJson} - 레벨이 켜져 있을 때 실제 마스킹 비용</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogMaskBenchmark {
+
+  private static final Logger log = LoggerFactory.getLogger(LogMaskBenchmark.class);
+
+  private static final String[] LEGACY_PARAMS = {
+      "client_secret", "access_token", "refresh_token", "code", "password", "api_key", "apikey"
+  };
+
+  private final String url = "https://nid.naver.com/oauth2.0/token?grant_type=authorization_code"
+      + "&client_id=jyvqXeaVOVmV&client_secret=527300A0_COq1_XV33cf&code=EIc5bFrl4RibFls1&state=NAVER-1729312345678";
+  private final String json = "{\"access_token\":\"AAAANl4ZCye2mRbVUCBwdLntfRLI4VhuFoxvyuXyBjPD5c6ldhaA36yia5vN\","
+      + "\"refresh_token\":\"c8ceMEJisO4Se7uGCEYKK1p52L93bHXLnaoETis9YzjfnorlQwEisqemfpKHUq9MxNc\","
+      + "\"token_type\":\"bearer\",\"expires_in\":\"3600\"}";
+
+  private static String legacySanitize(String urlOrUri) {
+    String sanitized = urlOrUri;
+    for (String sensitiveParam : LEGACY_PARAMS) {
+      String pattern = "(" + sensitiveParam + "=)[^&\\s]*";
+      sanitized = sanitized.replaceAll(pattern, "$1***");
+    }
+    return sanitized;
+  }
+
+  @Benchmark
+  public void regexAtInfo() {
+    log.debug("post to: {}", legacySanitize(url));
+  }
+
+  @Benchmark
+  public void lazyAtInfo() {
+    log.debug("post to: {}", LogMaskUtil.lazyUrl(url));
+  }
+
+  @Benchmark
+  public String regex() {
+    return legacySanitize(url);
+  }
+
+  @Benchmark
+  public String maskUrl() {
+    return LogMaskUtil.maskUrl(url);
+  }
+
+  @Benchmark
+  public String maskJson() {
+    return LogMaskUtil.maskBody(json);
+  }
+}
@@ -0,0 +1,74 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scriptonbasestar.oauth.client.util.OAuthEncodeUtil;
+
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OAuthEncodeUtil(RFC 3986) vs URLEncoder.
+ * token/state 는 대부분 escape 가 필요 없고, redirect_uri 는 거의 항상 필요하다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OAuthEncodeUtilBenchmark {
+
+  @Param({"token", "state", "redirect", "korean"})
+  public String kind;
+
+  private String value;
+  private StringBuilder builder;
+  private ByteBuffer buffer;
+
+  @Setup
+  public void setUp() {
+    value = switch (kind) {
+      case "token" -> "AAAANl4ZCye2mRbVUCBwdLntfRLI4VhuFoxvyuXyBjPD5c6ldhaA36yia5vNdFZjIpDiCTvESWi-RWrpZodonKI1Ga8";
+      case "state" -> "NAVER-1729312345678";
+      case "redirect" -> "https://login.example.com/oauth/naver/callback?return_to=/my/page&lang=ko";
+      case "korean" -> "프로필 이메일";
+      default -> throw new IllegalArgumentException(kind);
+    };
+    builder = new StringBuilder(256);
+    buffer = ByteBuffer.allocate(512);
+  }
+
+  @Benchmark
+  public String urlEncoder() {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public String encodeString() {
+    return OAuthEncodeUtil.encode(value);
+  }
+
+  @Benchmark
+  public int encodeToStringBuilder() {
+    builder.setLength(0);
+    return OAuthEncodeUtil.encode(value, builder).length();
+  }
+
+  @Benchmark
+  public int encodeToByteBuffer() {
+    buffer.clear();
+    return OAuthEncodeUtil.encode(value, buffer).position();
+  }
+}
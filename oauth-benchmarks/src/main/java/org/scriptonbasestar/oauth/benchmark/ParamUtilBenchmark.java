@@ -0,0 +1,69 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scriptonbasestar.oauth.client.OAuth20Constants;
+import org.scriptonbasestar.oauth.client.http.ParamList;
+import org.scriptonbasestar.oauth.client.http.ParamUtil;
+import org.scriptonbasestar.oauth.client.type.GrantType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 요청 하나 분량의 ParamList 를 만들고 query string / form body 로 인코딩하는 비용.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParamUtilBenchmark {
+
+  private static final String TOKEN_ENDPOINT = "https://nid.naver.com/oauth2.0/token";
+
+  private ParamList paramList;
+
+  private static ParamList tokenRequest() {
+    return ParamList.create()
+        .add(OAuth20Constants.GRANT_TYPE, GrantType.AUTHORIZATION_CODE)
+        .add(OAuth20Constants.CLIENT_ID, "jyvqXeaVOVmV")
+        .add(OAuth20Constants.CLIENT_SECRET, "527300A0_COq1_XV33cf")
+        .add(OAuth20Constants.CODE, "EIc5bFrl4RibFls1")
+        .add(OAuth20Constants.STATE, "NAVER-1729312345678")
+        .add(OAuth20Constants.REDIRECT_URI, "https://login.example.com/oauth/callback?return_to=/my/page");
+  }
+
+  @Setup
+  public void setUp() {
+    paramList = tokenRequest();
+  }
+
+  @Benchmark
+  public ParamList buildParamList() {
+    return tokenRequest();
+  }
+
+  @Benchmark
+  public String query() {
+    return ParamUtil.generateOAuthQuery(TOKEN_ENDPOINT, paramList);
+  }
+
+  @Benchmark
+  public byte[] formBody() {
+    return ParamUtil.generateFormBody(paramList);
+  }
+
+  @Benchmark
+  public byte[] buildAndEncodeFormBody() {
+    return ParamUtil.generateFormBody(tokenRequest());
+  }
+}
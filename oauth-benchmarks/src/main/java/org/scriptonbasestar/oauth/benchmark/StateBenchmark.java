@@ -0,0 +1,96 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scriptonbasestar.oauth.client.nobi.LocalStateStorage;
+import org.scriptonbasestar.oauth.client.nobi.StateStorage;
+import org.scriptonbasestar.oauth.client.nobi.state.JsonStateGenerator;
+import org.scriptonbasestar.oauth.client.nobi.state.NameValuePairStateGenerator;
+import org.scriptonbasestar.oauth.client.nobi.state.RandomStringStateGenerator;
+import org.scriptonbasestar.oauth.client.nobi.state.StateGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * state 생성과 LocalStateStorage 저장/확인.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateBenchmark {
+
+  private static final int USERS = 1024;
+
+  @State(Scope.Benchmark)
+  public static class Generators {
+    final StateGenerator random = new RandomStringStateGenerator();
+    final StateGenerator json = new JsonStateGenerator("provider", "return_to", "nonce");
+    final StateGenerator nameValue = new NameValuePairStateGenerator("provider", "return_to", "nonce");
+  }
+
+  @State(Scope.Benchmark)
+  public static class Storage {
+    final StateStorage storage = new LocalStateStorage();
+    final String[] userIds = new String[USERS];
+    final org.scriptonbasestar.oauth.client.model.State[] states =
+        new org.scriptonbasestar.oauth.client.model.State[USERS];
+
+    @Setup
+    public void setUp() {
+      for (int i = 0; i < USERS; i++) {
+        userIds[i] = "user-" + i;
+        states[i] = new org.scriptonbasestar.oauth.client.model.State("NAVER-" + (1729312345678L + i));
+        storage.add(userIds[i], states[i]);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    int next() {
+      return next++ & (USERS - 1);
+    }
+  }
+
+  @Benchmark
+  public org.scriptonbasestar.oauth.client.model.State generateRandom(Generators g) {
+    return g.random.generate("NAVER");
+  }
+
+  @Benchmark
+  public org.scriptonbasestar.oauth.client.model.State generateJson(Generators g) {
+    return g.json.generate("naver", "/my/page", "n-0S6_WzA2Mj");
+  }
+
+  @Benchmark
+  public org.scriptonbasestar.oauth.client.model.State generateNameValue(Generators g) {
+    return g.nameValue.generate("naver", "/my/page", "n-0S6_WzA2Mj");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void add(Storage s, Cursor c) {
+    int i = c.next();
+    s.storage.add(s.userIds[i], s.states[i]);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void exists(Storage s, Cursor c) {
+    int i = c.next();
+    s.storage.exists(s.userIds[i], s.states[i]);
+  }
+}
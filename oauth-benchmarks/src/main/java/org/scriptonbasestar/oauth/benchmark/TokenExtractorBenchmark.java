@@ -0,0 +1,79 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookTokenRes;
+import org.scripton.oauth.connector.google.OAuth2GoogleTokenRes;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoTokenRes;
+import org.scripton.oauth.connector.naver.OAuth2NaverTokenRes;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor;
+import org.scriptonbasestar.oauth.client.nobi.token.TokenExtractor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 각 connector 의 토큰 응답을 JsonTokenExtractor 로 *TokenRes 로 파싱하는 비용.
+ * 응답 JSON 은 provider 문서의 예시 형식을 따른다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenExtractorBenchmark {
+
+  @Param({"naver", "kakao", "google", "facebook"})
+  public String provider;
+
+  private TokenExtractor<? extends TokenPack> extractor;
+  private String response;
+
+  @Setup
+  public void setUp() {
+    switch (provider) {
+      case "naver" -> {
+        extractor = new JsonTokenExtractor<>(new TypeReference<OAuth2NaverTokenRes>() {});
+        response = "{\"access_token\":\"AAAANl4ZCye2mRbVUCBwdLntfRLI4VhuFoxvyuXyBjPD5c6ldhaA36yia5vNdFZjIpDiCTvESWi\","
+            + "\"refresh_token\":\"c8ceMEJisO4Se7uGCEYKK1p52L93bHXLnaoETis9YzjfnorlQwEisqemfpKHUq9MxNc\","
+            + "\"token_type\":\"bearer\",\"expires_in\":\"3600\"}";
+      }
+      case "kakao" -> {
+        extractor = new JsonTokenExtractor<>(new TypeReference<OAuth2KakaoTokenRes>() {});
+        response = "{\"token_type\":\"bearer\",\"access_token\":\"xGr0kOKPXbvrEOFNQDp4ce8KxLwAPqYxbMkuTQopyWMAAAGLj2sVkA\","
+            + "\"expires_in\":21599,\"refresh_token\":\"HbXCxDrMxAAEQdNHDAQk8KXhVLrSbAlhvc7GqbFOCj11mgAAAYuPaxWN\","
+            + "\"refresh_token_expires_in\":5183999,\"scope\":\"account_email profile\"}";
+      }
+      case "google" -> {
+        extractor = new JsonTokenExtractor<>(new TypeReference<OAuth2GoogleTokenRes>() {});
+        response = "{\"access_token\":\"ya29.a0AfB_byC3Pw1fkqLq3nZl9Qm6gYdJk8vS0gT2mX5nR7hE4aWcYbUiOpLkJhGfDsA\","
+            + "\"expires_in\":3599,\"refresh_token\":\"1//0gLqW8mFv3nEiCgYIARAAGBASNwF-L9IrT6b0Z3qk\","
+            + "\"scope\":\"openid https://www.googleapis.com/auth/userinfo.email\",\"token_type\":\"Bearer\","
+            + "\"id_token\":\"eyJhbGciOiJSUzI1NiIsImtpZCI6IjFmNDBmMGE4ZWYzZDg4MDk3OGRjODJmMjVjM2VjMzE3YzZhNWI3ODEiLCJ0eXAiOiJKV1QifQ"
+            + ".eyJpc3MiOiJodHRwczovL2FjY291bnRzLmdvb2dsZS5jb20iLCJzdWIiOiIxMTAxNjk0ODQ0NzQzODYyNzYzMzQifQ.c2lnbmF0dXJl\"}";
+      }
+      case "facebook" -> {
+        extractor = new JsonTokenExtractor<>(new TypeReference<OAuth2FacebookTokenRes>() {});
+        response = "{\"access_token\":\"EAAGm0PX4ZCpsBAKZCZBqZBZAhN6Z1oPQwZDZD\",\"token_type\":\"bearer\","
+            + "\"expires_in\":5183944}";
+      }
+      default -> throw new IllegalArgumentException(provider);
+    }
+  }
+
+  @Benchmark
+  public TokenPack extract() {
+    return extractor.extract(response);
+  }
+}
@@ -0,0 +1,75 @@
+package org.scriptonbasestar.oauth.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocalTokenStorage load/store/drop. 4 thread 가 같은 storage 를 공유한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TokenStorageBenchmark {
+
+  private static final int USERS = 1024;
+
+  @State(Scope.Benchmark)
+  public static class Storage {
+    final TokenStorage storage = new LocalTokenStorage();
+    final String[] ids = new String[USERS];
+    final Token[] tokens = new Token[USERS];
+
+    @Setup
+    public void setUp() {
+      for (int i = 0; i < USERS; i++) {
+        ids[i] = "user-" + i;
+        tokens[i] = new Token("AAAANl4ZCye2mRbVUCBwdLntfRLI4VhuFoxvyuXy-" + i);
+        storage.store(ids[i], tokens[i]);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    int next() {
+      return next++ & (USERS - 1);
+    }
+  }
+
+  @Benchmark
+  public Token load(Storage s, Cursor c) {
+    return s.storage.load(s.ids[c.next()]);
+  }
+
+  @Benchmark
+  public void store(Storage s, Cursor c) {
+    int i = c.next();
+    s.storage.store(s.ids[i], s.tokens[i]);
+  }
+
+  @Benchmark
+  public void dropAndStore(Storage s, Cursor c) {
+    int i = c.next();
+    s.storage.drop(s.ids[i]);
+    s.storage.store(s.ids[i], s.tokens[i]);
+  }
+}
@@ -0,0 +1,105 @@
+package org.scriptonbasestar.oauth.benchmark.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 단계별 latency histogram. 값은 microsecond 로 기록하고 millisecond 로 출력한다.
+ */
+final class LoadReport {
+
+  enum Stage {
+    /**
+     * 예정 시각 → 실제 시작. 부하 생성기 자체가 밀리는지 확인용
+     */
+    SCHEDULE_LAG,
+    AUTHORIZE,
+    CALLBACK,
+    TOKEN,
+    USERINFO,
+    /**
+     * 예정 시각 → 로그인 완료. coordinated omission 이 보정된 사용자 체감 latency
+     */
+    TOTAL
+  }
+
+  private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+  private static final double MICROS_PER_MILLI = 1000.0;
+
+  private final Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+  private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+  private final LongAdder failed = new LongAdder();
+
+  LoadReport() {
+    for (Stage stage : Stage.values()) {
+      histograms.put(stage, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+    }
+  }
+
+  void record(Stage stage, long nanos) {
+    long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 0), HIGHEST_MICROS);
+    histograms.get(stage).recordValue(micros);
+  }
+
+  void error(Throwable e) {
+    failed.increment();
+    errors.computeIfAbsent(e.getClass().getSimpleName() + ": " + e.getMessage(), k -> new LongAdder()).increment();
+  }
+
+  long completed() {
+    return histograms.get(Stage.TOTAL).getTotalCount();
+  }
+
+  long failed() {
+    return failed.sum();
+  }
+
+  void print(PrintStream out, String title, double targetRate, long durationNanos) {
+    double seconds = durationNanos / 1e9;
+    out.println();
+    out.println(title);
+    out.printf("target %.1f/s, completed %.1f/s, ok %d, failed %d%n",
+        targetRate, completed() / seconds, completed(), failed());
+    out.printf("%-13s %9s %9s %9s %9s %9s %9s %9s%n", "stage (ms)", "count", "mean", "p50", "p90", "p99", "p99.9", "max");
+    for (Stage stage : Stage.values()) {
+      Histogram h = histograms.get(stage);
+      out.printf("%-13s %9d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+          stage.name().toLowerCase(),
+          h.getTotalCount(),
+          h.getMean() / MICROS_PER_MILLI,
+          h.getValueAtPercentile(50) / MICROS_PER_MILLI,
+          h.getValueAtPercentile(90) / MICROS_PER_MILLI,
+          h.getValueAtPercentile(99) / MICROS_PER_MILLI,
+          h.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+          h.getMaxValue() / MICROS_PER_MILLI);
+    }
+    if (!errors.isEmpty()) {
+      out.println("errors");
+      new TreeMap<>(errors).forEach((message, count) -> out.printf("  %6d  %s%n", count.sum(), message));
+    }
+  }
+
+  /**
+   * 단계마다 {@code <stage>.hgrm} 을 쓴다. HdrHistogram plotter 로 여러 실행을 겹쳐 볼 수 있다.
+   */
+  void writeHistograms(Path dir) throws IOException {
+    Files.createDirectories(dir);
+    for (Stage stage : Stage.values()) {
+      try (PrintStream out = new PrintStream(
+          Files.newOutputStream(dir.resolve(stage.name().toLowerCase() + ".hgrm")), false, "UTF-8")) {
+        histograms.get(stage).outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package org.scriptonbasestar.oauth.benchmark.load;
+
+import org.scripton.oauth.connector.facebook.OAuth2FacebookAccessTokenEndpointFunction;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookConfig;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookTokenRes;
+import org.scripton.oauth.connector.google.OAuth2GoogleAccessTokenEndpointFunction;
+import org.scripton.oauth.connector.google.OAuth2GoogleConfig;
+import org.scripton.oauth.connector.google.OAuth2GoogleGenerateAuthorizeUrlFunction;
+import org.scripton.oauth.connector.google.OAuth2GoogleTokenRes;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoAccesstokenFunction;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoConfig;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoTokenRes;
+import org.scripton.oauth.connector.naver.OAuth2NaverAccesstokenFunction;
+import org.scripton.oauth.connector.naver.OAuth2NaverConfig;
+import org.scripton.oauth.connector.naver.OAuth2NaverGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.naver.OAuth2NaverTokenRes;
+import org.scripton.test.mock.MockOAuthServer;
+import org.scripton.test.mock.MockProviderType;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.OAuth2AccessTokenEndpointFunction;
+import org.scriptonbasestar.oauth.client.OAuth2GenerateAuthorizeEndpointFunction;
+import org.scriptonbasestar.oauth.client.OAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.model.Verifier;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.state.RandomStringStateGenerator;
+import org.scriptonbasestar.oauth.client.nobi.state.StateGenerator;
+import org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그인 한 번. 실제 connector 코드로 authorize URL 생성 → (브라우저 대신) redirect 받기 → callback 처리
+ * → {@link OAuth2AccessTokenEndpointFunction#issue} → {@link OAuth2ResourceFunction#run}.
+ */
+final class LoginFlow {
+
+  static final String REDIRECT_URI = "http://127.0.0.1/oauth/callback";
+
+  private final MockProviderType provider;
+  private final OAuth2GenerateAuthorizeEndpointFunction authorize;
+  private final OAuth2AccessTokenEndpointFunction<? extends TokenPack> accessToken;
+  private final OAuth2ResourceFunction<String> resource;
+  private final StateGenerator stateGenerator = new RandomStringStateGenerator();
+  private final TokenStorage tokenStorage = new LocalTokenStorage();
+  //브라우저 역할. redirect 는 따라가지 않는다
+  private final HttpClient browser = HttpClient.newBuilder()
+      .followRedirects(HttpClient.Redirect.NEVER)
+      .build();
+  private final AtomicLong sequence = new AtomicLong();
+
+  LoginFlow(MockProviderType provider, MockOAuthServer server) {
+    this.provider = provider;
+    String authorizeEndpoint = server.authorizeEndpoint(provider);
+    String tokenEndpoint = server.tokenEndpoint(provider);
+    switch (provider) {
+      case NAVER -> {
+        OAuth2NaverConfig config = new OAuth2NaverConfig("load-client", "load-secret", REDIRECT_URI,
+            authorizeEndpoint, "", tokenEndpoint, OAuthHttpVerb.POST);
+        authorize = new OAuth2NaverGenerateAuthorizeEndpointFunction(config);
+        accessToken = new OAuth2NaverAccesstokenFunction(config,
+            new JsonTokenExtractor<>(OAuth2NaverTokenRes.class), tokenStorage);
+      }
+      case KAKAO -> {
+        OAuth2KakaoConfig config = new OAuth2KakaoConfig("load-client", null, REDIRECT_URI,
+            authorizeEndpoint, "", tokenEndpoint, OAuthHttpVerb.POST);
+        authorize = new OAuth2KakaoGenerateAuthorizeEndpointFunction(config);
+        accessToken = new OAuth2KakaoAccesstokenFunction(config,
+            new JsonTokenExtractor<>(OAuth2KakaoTokenRes.class), tokenStorage);
+      }
+      case GOOGLE -> {
+        OAuth2GoogleConfig config = new OAuth2GoogleConfig("load-client", "load-secret", REDIRECT_URI,
+            authorizeEndpoint, "openid email", tokenEndpoint, OAuthHttpVerb.POST, server.revokeEndpoint(provider));
+        authorize = new OAuth2GoogleGenerateAuthorizeUrlFunction(config);
+        accessToken = new OAuth2GoogleAccessTokenEndpointFunction(config,
+            new JsonTokenExtractor<>(OAuth2GoogleTokenRes.class), tokenStorage);
+      }
+      case FACEBOOK -> {
+        OAuth2FacebookConfig config = new OAuth2FacebookConfig("load-client", "load-secret", REDIRECT_URI,
+            authorizeEndpoint, "email", tokenEndpoint, OAuthHttpVerb.GET);
+        authorize = new OAuth2FacebookGenerateAuthorizeEndpointFunction(config);
+        accessToken = new OAuth2FacebookAccessTokenEndpointFunction(config,
+            new JsonTokenExtractor<>(OAuth2FacebookTokenRes.class), tokenStorage);
+      }
+      default -> throw new IllegalArgumentException(provider.name());
+    }
+    resource = new DefaultOAuth2ResourceFunction(server.userInfoEndpoint(provider));
+  }
+
+  /**
+   * 한 번의 로그인. 단계마다 {@code report} 에 기록하고, 실패하면 예외를 던진다.
+   *
+   * @return 발급받은 token
+   */
+  TokenPack run(LoadReport report) throws IOException, InterruptedException {
+    long t0 = System.nanoTime();
+    State state = stateGenerator.generate(provider.name() + sequence.incrementAndGet());
+    String authorizeUrl = authorize.generate(state);
+    HttpResponse<Void> redirect = browser.send(
+        HttpRequest.newBuilder(URI.create(authorizeUrl)).GET().build(),
+        HttpResponse.BodyHandlers.discarding());
+    long t1 = System.nanoTime();
+    report.record(LoadReport.Stage.AUTHORIZE, t1 - t0);
+
+    String location = redirect.headers().firstValue("Location")
+        .orElseThrow(() -> new IllegalStateException("authorize returned " + redirect.statusCode()));
+    String code = queryParam(location, "code");
+    if (!state.value().equals(queryParam(location, "state"))) {
+      throw new IllegalStateException("state mismatch: " + location);
+    }
+    long t2 = System.nanoTime();
+    report.record(LoadReport.Stage.CALLBACK, t2 - t1);
+
+    TokenPack token = accessToken.issue(new Verifier(code), state);
+    if (token.getAccessToken() == null) {
+      throw new IllegalStateException("no access_token");
+    }
+    long t3 = System.nanoTime();
+    report.record(LoadReport.Stage.TOKEN, t3 - t2);
+
+    if (resource.run(token.getAccessToken()) == null) {
+      throw new IllegalStateException("userinfo failed");
+    }
+    report.record(LoadReport.Stage.USERINFO, System.nanoTime() - t3);
+    return token;
+  }
+
+  private static String queryParam(String url, String name) {
+    String key = name + "=";
+    int start = url.indexOf('?');
+    while (start >= 0) {
+      start++;
+      if (url.startsWith(key, start)) {
+        int end = url.indexOf('&', start);
+        return URLDecoder.decode(url.substring(start + key.length(), end < 0 ? url.length() : end), StandardCharsets.UTF_8);
+      }
+      start = url.indexOf('&', start);
+    }
+    throw new IllegalStateException(name + " not found: " + url);
+  }
+}
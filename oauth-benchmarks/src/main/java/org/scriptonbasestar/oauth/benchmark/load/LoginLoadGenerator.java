@@ -0,0 +1,146 @@
+package org.scriptonbasestar.oauth.benchmark.load;
+
+import org.scripton.test.mock.MockOAuthServer;
+import org.scripton.test.mock.MockOAuthServerConfig;
+import org.scripton.test.mock.MockProviderType;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 한 노드가 초당 몇 번의 로그인을 처리할 수 있는지 보는 부하 생성기.
+ * <p>
+ * 같은 프로세스에 {@link MockOAuthServer} 를 띄우고 {@link LoginFlow} 를 일정한 속도(open model)로 시작한다.
+ * 요청은 응답을 기다리지 않고 예정된 시각에 virtual thread 로 시작하고, 전체 latency 는 예정 시각부터 잰다.
+ * 그래서 서버가 느려져도 측정이 같이 느려지지 않는다 (coordinated omission 없음).
+ *
+ * <pre>
+ * java -cp oauth-benchmarks/target/benchmarks.jar \
+ *   org.scriptonbasestar.oauth.benchmark.load.LoginLoadGenerator \
+ *   --provider=naver --rate=200 --duration=30 --warmup=10 --latency-ms=20 --jitter-ms=10 --report-dir=target/load
+ * </pre>
+ */
+public final class LoginLoadGenerator {
+
+  private final MockProviderType provider;
+  private final double rate;
+  private final Duration warmup;
+  private final Duration duration;
+  private final LoginFlow flow;
+
+  LoginLoadGenerator(MockProviderType provider, double rate, Duration warmup, Duration duration, MockOAuthServer server) {
+    this.provider = provider;
+    this.rate = rate;
+    this.warmup = warmup;
+    this.duration = duration;
+    this.flow = new LoginFlow(provider, server);
+  }
+
+  /**
+   * warmup 후 측정 구간을 실행한다.
+   *
+   * @return 측정 구간 결과
+   */
+  LoadReport run() throws InterruptedException {
+    if (!warmup.isZero()) {
+      runPhase(new LoadReport(), warmup.toNanos());
+    }
+    LoadReport report = new LoadReport();
+    runPhase(report, duration.toNanos());
+    return report;
+  }
+
+  private void runPhase(LoadReport report, long phaseNanos) throws InterruptedException {
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      long phaseStart = System.nanoTime();
+      for (long i = 0; ; i++) {
+        long intended = phaseStart + i * intervalNanos;
+        if (intended - phaseStart >= phaseNanos) {
+          break;
+        }
+        //늦어졌으면 기다리지 않고 바로 시작한다. 밀린 만큼은 SCHEDULE_LAG/TOTAL 에 그대로 남는다
+        long wait;
+        while ((wait = intended - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        executor.execute(() -> runOne(report, intended));
+      }
+      executor.shutdown();
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private void runOne(LoadReport report, long intended) {
+    report.record(LoadReport.Stage.SCHEDULE_LAG, System.nanoTime() - intended);
+    try {
+      flow.run(report);
+      report.record(LoadReport.Stage.TOTAL, System.nanoTime() - intended);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      report.error(e);
+    } catch (Exception e) {
+      report.error(e);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    MockProviderType provider = MockProviderType.valueOf(options.getOrDefault("provider", "naver").toUpperCase(Locale.ROOT));
+    double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+    Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+    Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+    MockOAuthServerConfig serverConfig = MockOAuthServerConfig.builder()
+        .latency(Duration.ofMillis(Long.parseLong(options.getOrDefault("latency-ms", "0"))),
+            Duration.ofMillis(Long.parseLong(options.getOrDefault("jitter-ms", "0"))))
+        .errorRate(Double.parseDouble(options.getOrDefault("error-rate", "0")))
+        .build();
+
+    try (MockOAuthServer server = new MockOAuthServer(serverConfig).start()) {
+      LoadReport report = new LoginLoadGenerator(provider, rate, warmup, duration, server).run();
+      String title = String.format(Locale.ROOT, "login flow %s, %ds (warmup %ds), mock latency %s + %s, error rate %s",
+          provider, duration.toSeconds(), warmup.toSeconds(), serverConfig.getLatency().toMillis() + "ms",
+          serverConfig.getLatencyJitter().toMillis() + "ms", serverConfig.getErrorRate());
+      report.print(System.out, title, rate, duration.toNanos());
+
+      String reportDir = options.get("report-dir");
+      if (reportDir != null) {
+        Path dir = Path.of(reportDir);
+        report.writeHistograms(dir);
+        Files.createDirectories(dir);
+        try (PrintStream out = new PrintStream(new FileOutputStream(dir.resolve("report.txt").toFile()), false,
+            StandardCharsets.UTF_8)) {
+          report.print(out, title, rate, duration.toNanos());
+        }
+        System.out.println("report written to " + dir.toAbsolutePath());
+      }
+    }
+  }
+
+  /**
+   * {@code --key=value} 형식
+   */
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+        throw new IllegalArgumentException("expected --key=value but " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    return options;
+  }
+}
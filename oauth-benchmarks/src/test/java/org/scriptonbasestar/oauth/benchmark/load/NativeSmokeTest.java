@@ -0,0 +1,44 @@
+package org.scriptonbasestar.oauth.benchmark.load;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.scripton.test.mock.MockOAuthServer;
+import org.scripton.test.mock.MockOAuthServerConfig;
+import org.scripton.test.mock.MockProviderType;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.o20.type.AccessTokenType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 모든 connector 의 로그인 흐름을 MockOAuthServer 로 돌려 보는 smoke test.
+ * <p>
+ * JVM 에서는 일반 test 로 돌고, {@code mvn -Pnative -pl oauth-benchmarks -am verify} 로 native image 로 빌드해서 다시 돈다.
+ * native-image metadata 가 빠지면 token 의 Jackson binding 에서 실패한다.
+ */
+class NativeSmokeTest {
+
+	private static MockOAuthServer server;
+
+	@BeforeAll
+	static void startServer() throws InterruptedException {
+		server = new MockOAuthServer(MockOAuthServerConfig.defaults()).start();
+	}
+
+	@AfterAll
+	static void stopServer() {
+		server.close();
+	}
+
+	@ParameterizedTest
+	@EnumSource(MockProviderType.class)
+	void login_shouldIssueTokenAndFetchUserInfo(MockProviderType provider) throws Exception {
+		TokenPack token = new LoginFlow(provider, server).run(new LoadReport());
+
+		assertThat(token.getAccessToken()).isNotEmpty();
+		assertThat(token.getTokenType()).isEqualTo(AccessTokenType.BEARER);
+		assertThat(token.getError()).isNull();
+	}
+}
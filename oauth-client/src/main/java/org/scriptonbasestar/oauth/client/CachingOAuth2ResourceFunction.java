@@ -0,0 +1,216 @@
+package org.scriptonbasestar.oauth.client;
+
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link DefaultOAuth2ResourceFunction} 의 결과 (사용자 프로필 등) 를 보관한다.
+ * <ul>
+ *   <li>{@code ttl} 안에는 provider 를 부르지 않는다. provider 마다 인스턴스를 따로 만들고 ttl 을 정한다</li>
+ *   <li>ttl 이 지났고 응답에 {@code ETag}/{@code Last-Modified} 가 있었으면 {@code If-None-Match}/{@code If-Modified-Since} 로 묻는다.
+ *       304 이면 body 를 다시 받지 않고 보관 기간만 늘린다</li>
+ *   <li>401, 403, 404 응답이면 보관한 것을 지운다. 그 밖의 오류 (5xx, 429 등) 는 null 을 돌려주고 보관한 것은 남긴다</li>
+ *   <li>최대 {@code maxEntries} 개, 오래 쓰지 않은 것부터 지운다. {@code maxBodyLength} 보다 긴 body 와 {@code Cache-Control: no-store} 응답은 보관하지 않는다</li>
+ * </ul>
+ * key 는 기본적으로 access token 이다. token 이 바뀌어도 같은 사용자로 묶으려면 {@link Builder#key(UnaryOperator)} 를 준다.
+ *
+ * <pre>{@code
+ * OAuth2ResourceFunction<String> profile = CachingOAuth2ResourceFunction
+ *     .builder(new DefaultOAuth2ResourceFunction("google", "https://openidconnect.googleapis.com/v1/userinfo"))
+ *     .ttl(Duration.ofMinutes(10))
+ *     .maxEntries(50_000)
+ *     .build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class CachingOAuth2ResourceFunction
+    implements OAuth2ResourceFunction<String> {
+
+  private final DefaultOAuth2ResourceFunction delegate;
+  private final long ttlNanos;
+  private final int maxBodyLength;
+  private final UnaryOperator<String> key;
+  private final LongSupplier clock;
+  //this 로 보호한다
+  private final Map<String, Entry> entries;
+
+  private CachingOAuth2ResourceFunction(Builder builder) {
+    this.delegate = builder.delegate;
+    this.ttlNanos = builder.ttl.toNanos();
+    this.maxBodyLength = builder.maxBodyLength;
+    this.key = builder.key;
+    this.clock = builder.clock;
+    int maxEntries = builder.maxEntries;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return this.size() > maxEntries;
+      }
+    };
+  }
+
+  public static Builder builder(DefaultOAuth2ResourceFunction delegate) {
+    return new Builder(delegate);
+  }
+
+  /**
+   * @return 2xx 응답 body 또는 보관 중인 body. 그 외는 {@link DefaultOAuth2ResourceFunction#run(String)} 과 같이 null
+   */
+  @Override
+  public String run(String accessToken) {
+    String cacheKey = key.apply(accessToken);
+    Entry entry = get(cacheKey);
+    if (entry != null && entry.expiresAt() - clock.getAsLong() > 0) {
+      return entry.body();
+    }
+
+    HttpResult result = delegate.fetch(accessToken, conditionalHeaders(entry));
+    if (result == null) {
+      return null;
+    }
+    if (result.status() == HttpStatus.SC_NOT_MODIFIED && entry != null) {
+      String etag = result.header("ETag");
+      String lastModified = result.header("Last-Modified");
+      put(cacheKey, new Entry(entry.body(),
+          etag == null ? entry.etag() : etag,
+          lastModified == null ? entry.lastModified() : lastModified,
+          clock.getAsLong() + ttlNanos));
+      return entry.body();
+    }
+    if (!result.isSuccess()) {
+      //token 이 무효이거나 사용자가 없을 때만 지운다. 5xx, 429 는 일시 장애라서 다음에 ETag 로 다시 묻는다
+      if (isGone(result.status())) {
+        invalidate(accessToken);
+      }
+      return null;
+    }
+    if (isCacheable(result)) {
+      put(cacheKey, new Entry(result.body(), result.header("ETag"), result.header("Last-Modified"),
+          clock.getAsLong() + ttlNanos));
+    }
+    return result.body();
+  }
+
+  /**
+   * @param accessToken 이 token 의 key 로 보관 중인 결과를 지운다
+   */
+  public synchronized void invalidate(String accessToken) {
+    entries.remove(key.apply(accessToken));
+  }
+
+  public synchronized void invalidateAll() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private synchronized Entry get(String cacheKey) {
+    return entries.get(cacheKey);
+  }
+
+  private synchronized void put(String cacheKey, Entry entry) {
+    entries.put(cacheKey, entry);
+  }
+
+  private static boolean isGone(int status) {
+    return status == HttpStatus.SC_UNAUTHORIZED || status == HttpStatus.SC_FORBIDDEN || status == HttpStatus.SC_NOT_FOUND;
+  }
+
+  private boolean isCacheable(HttpResult result) {
+    if (result.body().length() > maxBodyLength) {
+      return false;
+    }
+    String cacheControl = result.header("Cache-Control");
+    return cacheControl == null || !cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+  }
+
+  private static List<Header> conditionalHeaders(Entry entry) {
+    if (entry == null || entry.etag() == null && entry.lastModified() == null) {
+      return List.of();
+    }
+    List<Header> headers = new ArrayList<>(2);
+    if (entry.etag() != null) {
+      headers.add(new BasicHeader("If-None-Match", entry.etag()));
+    }
+    if (entry.lastModified() != null) {
+      headers.add(new BasicHeader("If-Modified-Since", entry.lastModified()));
+    }
+    return headers;
+  }
+
+  private record Entry(String body, String etag, String lastModified, long expiresAt) {
+  }
+
+  public static final class Builder {
+    private final DefaultOAuth2ResourceFunction delegate;
+    private Duration ttl = Duration.ofMinutes(5);
+    private int maxEntries = 10_000;
+    private int maxBodyLength = 64 * 1024;
+    private UnaryOperator<String> key = UnaryOperator.identity();
+    private LongSupplier clock = System::nanoTime;
+
+    private Builder(DefaultOAuth2ResourceFunction delegate) {
+      this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+    }
+
+    /**
+     * @param ttl 다시 묻지 않고 보관한 body 를 돌려줄 시간. 기본값 5분
+     */
+    public Builder ttl(Duration ttl) {
+      Preconditions.notNull(ttl, "ttl must not null");
+      Preconditions.isTrue(!ttl.isNegative(), "ttl must not negative");
+      this.ttl = ttl;
+      return this;
+    }
+
+    /**
+     * @param maxEntries 기본값 10,000
+     */
+    public Builder maxEntries(int maxEntries) {
+      Preconditions.isTrue(maxEntries >= 1, "maxEntries must be positive");
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * @param maxBodyLength 이보다 긴 body 는 보관하지 않는다 (문자 수). 기본값 64K
+     */
+    public Builder maxBodyLength(int maxBodyLength) {
+      Preconditions.isTrue(maxBodyLength >= 0, "maxBodyLength must not negative");
+      this.maxBodyLength = maxBodyLength;
+      return this;
+    }
+
+    /**
+     * @param key access token 을 cache key 로 바꾼다. 기본값은 access token 그대로
+     */
+    public Builder key(UnaryOperator<String> key) {
+      this.key = Preconditions.notNull(key, "key must not null");
+      return this;
+    }
+
+    Builder clock(LongSupplier clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public CachingOAuth2ResourceFunction build() {
+      return new CachingOAuth2ResourceFunction(this);
+    }
+  }
+}
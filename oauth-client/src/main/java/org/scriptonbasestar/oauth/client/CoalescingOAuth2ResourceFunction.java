@@ -0,0 +1,172 @@
+package org.scriptonbasestar.oauth.client;
+
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthUnknownException;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * 같은 access token 으로 동시에 들어온 resource 요청을 하나로 합친다.
+ * 먼저 온 호출만 provider 를 부르고, 그동안 들어온 호출은 그 결과 (예외 포함) 를 같이 받는다.
+ * <p>
+ * resource URI 하나에 인스턴스 하나를 쓴다. 따라서 key 는 (resource URI, access token) 이다.
+ * {@link Builder#cache(Duration, int)} 를 주면 null 이 아닌 결과를 짧게 보관해서, 끝난 직후 들어온 같은 요청도 provider 를 부르지 않는다.
+ *
+ * <pre>{@code
+ * OAuth2ResourceFunction<String> profile = CoalescingOAuth2ResourceFunction
+ *     .builder(new DefaultOAuth2ResourceFunction("naver", "https://openapi.naver.com/v1/nid/me"))
+ *     .cache(Duration.ofMillis(500), 10_000)
+ *     .build();
+ * }</pre>
+ *
+ * @param <T> resource 타입
+ * @since 2.0.0
+ */
+public final class CoalescingOAuth2ResourceFunction<T>
+    implements OAuth2ResourceFunction<T> {
+
+  private final OAuth2ResourceFunction<T> delegate;
+  private final long ttlNanos;
+  private final LongSupplier clock;
+  private final ConcurrentMap<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+  //this 로 보호한다
+  private final Map<String, Cached<T>> cache;
+
+  private CoalescingOAuth2ResourceFunction(Builder<T> builder) {
+    this.delegate = builder.delegate;
+    this.ttlNanos = builder.ttl.toNanos();
+    this.clock = builder.clock;
+    int maxSize = builder.maxSize;
+    this.cache = new LinkedHashMap<>(16, 0.75f, false) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Cached<T>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  public static <T> Builder<T> builder(OAuth2ResourceFunction<T> delegate) {
+    return new Builder<>(delegate);
+  }
+
+  @Override
+  public T run(String accessToken) {
+    T cached = cached(accessToken);
+    if (cached != null) {
+      return cached;
+    }
+    CompletableFuture<T> mine = new CompletableFuture<>();
+    CompletableFuture<T> leader = inFlight.putIfAbsent(accessToken, mine);
+    if (leader != null) {
+      return await(leader);
+    }
+    try {
+      T result = delegate.run(accessToken);
+      if (result != null && ttlNanos > 0) {
+        synchronized (this) {
+          cache.put(accessToken, new Cached<>(result, clock.getAsLong() + ttlNanos));
+        }
+      }
+      mine.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(accessToken, mine);
+    }
+  }
+
+  /**
+   * @return 지금 진행 중인 서로 다른 요청 수
+   */
+  public int inFlightCount() {
+    return inFlight.size();
+  }
+
+  /**
+   * 보관 중인 결과를 모두 지운다. 진행 중인 요청에는 영향이 없다.
+   */
+  public synchronized void invalidateAll() {
+    cache.clear();
+  }
+
+  private T cached(String accessToken) {
+    if (ttlNanos <= 0) {
+      return null;
+    }
+    synchronized (this) {
+      Cached<T> entry = cache.get(accessToken);
+      if (entry == null) {
+        return null;
+      }
+      if (clock.getAsLong() - entry.expiresAt() >= 0) {
+        cache.remove(accessToken);
+        return null;
+      }
+      return entry.value();
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> leader) {
+    try {
+      return leader.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OAuthNetworkException("interrupted while waiting for a coalesced resource call", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new OAuthUnknownException(cause);
+    }
+  }
+
+  private record Cached<T>(T value, long expiresAt) {
+  }
+
+  public static final class Builder<T> {
+    private final OAuth2ResourceFunction<T> delegate;
+    private Duration ttl = Duration.ZERO;
+    private int maxSize;
+    private LongSupplier clock = System::nanoTime;
+
+    private Builder(OAuth2ResourceFunction<T> delegate) {
+      this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+    }
+
+    /**
+     * @param ttl     결과를 보관할 시간. 0 이면 보관하지 않는다 (기본값)
+     * @param maxSize 보관할 최대 token 수. 넘으면 오래된 것부터 지운다
+     */
+    public Builder<T> cache(Duration ttl, int maxSize) {
+      Preconditions.notNull(ttl, "ttl must not null");
+      Preconditions.isTrue(!ttl.isNegative(), "ttl must not negative");
+      Preconditions.isTrue(maxSize >= 1, "maxSize must be positive");
+      this.ttl = ttl;
+      this.maxSize = maxSize;
+      return this;
+    }
+
+    Builder<T> clock(LongSupplier clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public CoalescingOAuth2ResourceFunction<T> build() {
+      return new CoalescingOAuth2ResourceFunction<>(this);
+    }
+  }
+}
@@ -4,6 +4,8 @@ import org.scriptonbasestar.oauth.client.http.ParamList;
 import org.scriptonbasestar.oauth.client.http.ParamUtil;
 import org.scriptonbasestar.oauth.client.model.State;
 import org.scriptonbasestar.oauth.client.o20.type.VerifierResponseType;
+import org.scriptonbasestar.oauth.client.tracing.OAuthSpan;
+import org.scriptonbasestar.oauth.client.tracing.OAuthTracing;
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
 public class DefaultOAuth2GenerateAuthorizeEndpointFunction
@@ -41,13 +43,15 @@ public class DefaultOAuth2GenerateAuthorizeEndpointFunction
   @Override
   public String generate(State state) {
     Preconditions.notNull(state, "state must not null");
-    return ParamUtil.generateOAuthQuery(
-        authorizeEndpoint,
-        ParamList.create()
-            .add(OAuth20Constants.CLIENT_ID, clientId)
-            .add(OAuth20Constants.REDIRECT_URI, redirectUri)
-            .add(OAuth20Constants.RESPONSE_TYPE, responseType)
-            .add(OAuth20Constants.SCOPE, scope)
-            .add(OAuth20Constants.STATE, state));
+    try (OAuthSpan ignored = OAuthTracing.startSpan("oauth.authorize_url")) {
+      return ParamUtil.generateOAuthQuery(
+          authorizeEndpoint,
+          ParamList.create()
+              .add(OAuth20Constants.CLIENT_ID, clientId)
+              .add(OAuth20Constants.REDIRECT_URI, redirectUri)
+              .add(OAuth20Constants.RESPONSE_TYPE, responseType)
+              .add(OAuth20Constants.SCOPE, scope)
+              .add(OAuth20Constants.STATE, state));
+    }
   }
 }
@@ -1,51 +1,143 @@
 package org.scriptonbasestar.oauth.client;
 
-import com.google.gson.JsonParseException;
-import org.apache.hc.client5.http.ClientProtocolException;
-import org.apache.hc.client5.http.classic.methods.HttpGet;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.http.HttpEntity;
-import org.apache.hc.core5.http.io.HttpClientResponseHandler;
-import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.message.BasicHeader;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkRemoteException;
+import org.scriptonbasestar.oauth.client.exception.OAuthRejectedException;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetricsRecorder;
+import org.scriptonbasestar.oauth.client.resilience.OAuthResilience;
+import org.scriptonbasestar.oauth.client.tracing.OAuthSpan;
+import org.scriptonbasestar.oauth.client.tracing.OAuthTracing;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class DefaultOAuth2ResourceFunction
     implements OAuth2ResourceFunction<String> {
 
   private static final Logger log = LoggerFactory.getLogger(DefaultOAuth2ResourceFunction.class);
 
+  private final String provider;
   private final String resourceUri;
 
   public DefaultOAuth2ResourceFunction(String resourceUri) {
+    this(OAuthMetrics.NONE, resourceUri);
+  }
+
+  /**
+   * @param provider    metrics tag, span attribute, {@link OAuthResilience} policy 의 provider
+   * @param resourceUri resource 주소
+   */
+  public DefaultOAuth2ResourceFunction(String provider, String resourceUri) {
+    this.provider = provider;
     this.resourceUri = resourceUri;
   }
 
+  /**
+   * @return 2xx 응답 body. 그 외 status, 네트워크 오류, circuit breaker/bulkhead 거절은 null
+   */
   @Override
   public String run(String accessToken) {
-    try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-      HttpGet httpGet = new HttpGet(resourceUri);
-      httpGet.addHeader("Authorization", "Bearer " + accessToken);
-      log.debug("Executing request {} {}", httpGet.getMethod(), httpGet.getRequestUri());
-
-      HttpClientResponseHandler<String> responseHandler = response -> {
-        int status = response.getCode();
-        if (status >= 200 && status < 300) {
-          HttpEntity entity = response.getEntity();
-          return entity != null ? EntityUtils.toString(entity) : null;
-        } else {
-          throw new ClientProtocolException(
-            String.format("Unexpected response status: %d", status)
-          );
+    HttpResult result = fetch(accessToken, List.of());
+    return result == null || !result.isSuccess() ? null : result.body();
+  }
+
+  /**
+   * header 를 더 붙여서 호출한다. {@code If-None-Match} 등 conditional request 에 쓴다.
+   *
+   * @param headers Authorization 외에 붙일 header
+   * @return 응답. 2xx, 304 가 아니면 로그를 남긴다. 네트워크 오류, circuit breaker/bulkhead 거절은 null
+   */
+  public HttpResult fetch(String accessToken, List<Header> headers) {
+    OAuthMetricsRecorder recorder = OAuthMetrics.recorder();
+    long start = recorder == OAuthMetricsRecorder.NOOP ? 0L : System.nanoTime();
+    String outcome = OAuthMetrics.SUCCESS;
+    try (OAuthSpan span = OAuthTracing.startSpan("oauth.resource")) {
+      span.setAttribute(OAuthTracing.PROVIDER, provider);
+      try {
+        List<Header> requestHeaders = new ArrayList<>(headers.size() + 1);
+        requestHeaders.add(new BasicHeader("Authorization", "Bearer " + accessToken));
+        requestHeaders.addAll(headers);
+        HttpRequest request = HttpRequest.create(resourceUri, requestHeaders).withProvider(provider);
+        HttpResult result = OAuthResilience.policy(provider).executeIdempotent(() -> request.execute(OAuthHttpVerb.GET));
+        if (!result.isSuccess() && result.status() != HttpStatus.SC_NOT_MODIFIED) {
+          outcome = OAuthMetrics.HTTP_ERROR;
+          span.setError("HTTP " + result.status());
+          log.error("Failed to fetch OAuth resource from {}: Unexpected response status: {}", resourceUri, result.status());
         }
-      };
-      return httpClient.execute(httpGet, responseHandler);
-    } catch (JsonParseException | IOException e) {
-      log.error("Failed to fetch OAuth resource from {}: {}", resourceUri, e.getMessage(), e);
-      return null;
+        return result;
+      } catch (OAuthRejectedException e) {
+        outcome = OAuthMetrics.REJECTED;
+        span.recordError(e);
+        log.warn("OAuth resource call to {} rejected: {}", resourceUri, e.getReason());
+        return null;
+      } catch (OAuthNetworkException | OAuthNetworkRemoteException e) {
+        outcome = OAuthMetrics.NETWORK_ERROR;
+        span.recordError(e);
+        log.error("Failed to fetch OAuth resource from {}: {}", resourceUri, e.getMessage(), e);
+        return null;
+      }
+    } finally {
+      if (recorder != OAuthMetricsRecorder.NOOP) {
+        recorder.recordOperation(provider, OAuthMetrics.RESOURCE, outcome, OAuthMetrics.NONE, System.nanoTime() - start);
+      }
     }
   }
+
+  /**
+   * non-blocking {@link #run(String)}. retry, hedge 는 하지 않는다
+   *
+   * @return 2xx 응답 body. 그 외 status 는 null. 네트워크 오류, ResiliencePolicy 거절은 예외로 실패한다
+   * @since 2.0.0
+   */
+  public CompletableFuture<String> runAsync(String accessToken) {
+    return fetchAsync(accessToken, List.of())
+        .thenApply(result -> result.isSuccess() ? result.body() : null);
+  }
+
+  /**
+   * non-blocking {@link #fetch(String, List)}
+   *
+   * @return 응답. 2xx, 304 가 아니면 로그를 남긴다. 네트워크 오류, ResiliencePolicy 거절은 예외로 실패한다
+   * @since 2.0.0
+   */
+  public CompletableFuture<HttpResult> fetchAsync(String accessToken, List<Header> headers) {
+    OAuthMetricsRecorder recorder = OAuthMetrics.recorder();
+    long start = recorder == OAuthMetricsRecorder.NOOP ? 0L : System.nanoTime();
+    List<Header> requestHeaders = new ArrayList<>(headers.size() + 1);
+    requestHeaders.add(new BasicHeader("Authorization", "Bearer " + accessToken));
+    requestHeaders.addAll(headers);
+    HttpRequest request = HttpRequest.create(resourceUri, requestHeaders).withProvider(provider);
+    return OAuthResilience.policy(provider).executeAsync(() -> request.executeAsync(OAuthHttpVerb.GET))
+        .whenComplete((result, failure) -> {
+          String outcome = OAuthMetrics.SUCCESS;
+          if (failure != null && unwrap(failure) instanceof OAuthRejectedException rejected) {
+            outcome = OAuthMetrics.REJECTED;
+            log.warn("OAuth resource call to {} rejected: {}", resourceUri, rejected.getReason());
+          } else if (failure != null) {
+            outcome = OAuthMetrics.NETWORK_ERROR;
+            log.error("Failed to fetch OAuth resource from {}: {}", resourceUri, failure.getMessage());
+          } else if (!result.isSuccess() && result.status() != HttpStatus.SC_NOT_MODIFIED) {
+            outcome = OAuthMetrics.HTTP_ERROR;
+            log.error("Failed to fetch OAuth resource from {}: Unexpected response status: {}", resourceUri, result.status());
+          }
+          if (recorder != OAuthMetricsRecorder.NOOP) {
+            recorder.recordOperation(provider, OAuthMetrics.RESOURCE, outcome, OAuthMetrics.NONE, System.nanoTime() - start);
+          }
+        });
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+  }
 }
@@ -19,6 +19,10 @@ public enum OAuth20Constants {
   RESPONSE_TYPE("response_type"),
   GRANT_TYPE("grant_type"),
   STATE("state"),
+  //PKCE (RFC 7636)
+  CODE_VERIFIER("code_verifier"),
+  CODE_CHALLENGE("code_challenge"),
+  CODE_CHALLENGE_METHOD("code_challenge_method"),
 
   SCOPE("scope");
 
@@ -1,9 +1,12 @@
 package org.scriptonbasestar.oauth.client;
 
+import org.scriptonbasestar.oauth.client.model.Pkce;
 import org.scriptonbasestar.oauth.client.model.State;
 import org.scriptonbasestar.oauth.client.model.Token;
 import org.scriptonbasestar.oauth.client.model.Verifier;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * token action list
  * issueToken
@@ -30,9 +33,57 @@ public interface OAuth2AccessTokenEndpointFunction<TOKEN_RES extends TokenPack>
 
   TOKEN_RES issue(Verifier verifier, State state);
 
+  /**
+   * authorize 요청에 보낸 code_challenge 의 code_verifier 를 같이 보낸다 (PKCE).
+   * 기본 구현은 {@code pkce} 가 null 일 때만 {@link #issue(Verifier, State)} 를 부른다.
+   * code_verifier 를 조용히 빠뜨리지 않도록 PKCE 를 지원하지 않는 구현은 {@link UnsupportedOperationException} 을 던진다
+   *
+   * @since 2.0.0
+   */
+  default TOKEN_RES issue(Verifier verifier, State state, Pkce pkce) {
+    if (pkce != null) {
+      throw new UnsupportedOperationException(getClass().getName() + " does not support PKCE");
+    }
+    return issue(verifier, state);
+  }
+
   TOKEN_RES refresh(Token refreshToken);
 
   TOKEN_RES revoke(Token accessToken);
 
+  /**
+   * 호출한 스레드를 막지 않는 {@link #issue(Verifier, State)}.
+   * 기본 구현은 blocking 호출을 virtual thread 에서 실행한다. connector 는 non-blocking HTTP 로 다시 구현한다
+   *
+   * @since 2.0.0
+   */
+  default CompletableFuture<TOKEN_RES> issueAsync(Verifier verifier, State state) {
+    return CompletableFuture.supplyAsync(() -> issue(verifier, state), Thread::startVirtualThread);
+  }
+
+  /**
+   * @see #issueAsync(Verifier, State)
+   * @since 2.0.0
+   */
+  default CompletableFuture<TOKEN_RES> issueAsync(Verifier verifier, State state, Pkce pkce) {
+    return CompletableFuture.supplyAsync(() -> issue(verifier, state, pkce), Thread::startVirtualThread);
+  }
+
+  /**
+   * @see #issueAsync(Verifier, State)
+   * @since 2.0.0
+   */
+  default CompletableFuture<TOKEN_RES> refreshAsync(Token refreshToken) {
+    return CompletableFuture.supplyAsync(() -> refresh(refreshToken), Thread::startVirtualThread);
+  }
+
+  /**
+   * @see #issueAsync(Verifier, State)
+   * @since 2.0.0
+   */
+  default CompletableFuture<TOKEN_RES> revokeAsync(Token accessToken) {
+    return CompletableFuture.supplyAsync(() -> revoke(accessToken), Thread::startVirtualThread);
+  }
+
 //  TOKEN_RES bearer();
 }
@@ -1,8 +1,24 @@
 package org.scriptonbasestar.oauth.client;
 
+import org.scriptonbasestar.oauth.client.model.Pkce;
 import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
 
 @FunctionalInterface
 public interface OAuth2GenerateAuthorizeEndpointFunction {
   String generate(State state);
+
+  /**
+   * {@link #generate(State)} 에 code_challenge, code_challenge_method 를 붙인다.
+   * challenge 는 base64url 이라 인코딩하지 않는다
+   *
+   * @param pkce token 요청 때 같은 인스턴스(또는 {@link Pkce#of(String)})를 {@link OAuth2AccessTokenEndpointFunction#issue(org.scriptonbasestar.oauth.client.model.Verifier, State, Pkce)} 에 넘긴다
+   * @since 2.0.0
+   */
+  default String generate(State state, Pkce pkce) {
+    Preconditions.notNull(pkce, "pkce must not null");
+    return generate(state)
+        + '&' + OAuth20Constants.CODE_CHALLENGE.getValue() + '=' + pkce.challenge()
+        + '&' + OAuth20Constants.CODE_CHALLENGE_METHOD.getValue() + '=' + pkce.method();
+  }
 }
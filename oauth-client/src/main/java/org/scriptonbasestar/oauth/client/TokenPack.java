@@ -10,4 +10,11 @@ public interface TokenPack {
   String getRefreshToken();
 
   Long getExpiresIn();
+
+  /**
+   * @return provider 가 돌려준 OAuth error code (RFC 6749 5.2). 성공했거나 provider 응답에 없는 경우 null
+   */
+  default String getError() {
+    return null;
+  }
 }
@@ -2,7 +2,12 @@ package org.scriptonbasestar.oauth.client.config;
 
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
+import java.util.Objects;
+
 /**
+ * 같은 class 이고 값이 같으면 equals 다. 설정을 다시 읽어도 바뀌지 않은 connector 를 그대로 쓰는 데 쓴다.
+ * 하위 class 는 자기 필드를 더해 {@link #equals} 와 {@link #hashCode} 를 override 한다.
+ *
  * @author archmagece
  * @since 2016-10-24
  */
@@ -29,4 +34,19 @@ public abstract class OAuthBaseConfig {
   public String getClientSecret() {
     return clientSecret;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    OAuthBaseConfig that = (OAuthBaseConfig) o;
+    return clientId.equals(that.clientId) && Objects.equals(clientSecret, that.clientSecret);
+  }
+
+  @Override
+  public int hashCode() {
+    int result = clientId.hashCode();
+    result = 31 * result + Objects.hashCode(clientSecret);
+    return result;
+  }
 }
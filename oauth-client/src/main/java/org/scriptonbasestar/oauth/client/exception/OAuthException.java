@@ -14,6 +14,7 @@ public sealed class OAuthException extends RuntimeException
       OAuthNetworkRemoteException,
       OAuthParamException,
       OAuthParsingException,
+      OAuthRejectedException,
       OAuthUnknownException {
 
   private static final String DEFAULT_MSG = "알 수 없는 실패";
@@ -0,0 +1,33 @@
+package org.scriptonbasestar.oauth.client.exception;
+
+/**
+ * provider 를 호출하지 않고 바로 거절한 경우. circuit breaker 가 열려 있거나 bulkhead 가 가득 찼거나 rate limit 을 넘었을 때.
+ *
+ * @since 2.0.0
+ */
+public final class OAuthRejectedException
+    extends OAuthException {
+
+  public enum Reason {
+    CIRCUIT_OPEN,
+    BULKHEAD_FULL,
+    RATE_LIMITED
+  }
+
+  private final String provider;
+  private final Reason reason;
+
+  public OAuthRejectedException(String provider, Reason reason) {
+    super(provider + " call rejected: " + reason);
+    this.provider = provider;
+    this.reason = reason;
+  }
+
+  public String getProvider() {
+    return provider;
+  }
+
+  public Reason getReason() {
+    return reason;
+  }
+}
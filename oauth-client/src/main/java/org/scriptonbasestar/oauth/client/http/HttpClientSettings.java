@@ -0,0 +1,158 @@
+package org.scriptonbasestar.oauth.client.http;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.time.Duration;
+
+/**
+ * {@link HttpRequest} 가 공유하는 HTTP client 설정. 동기/비동기 client 모두 같은 값으로 만든다.
+ * client 는 첫 요청 때 만들어지므로 {@link HttpRequest#configure(HttpClientSettings)} 는 그 전에 호출한다.
+ *
+ * <pre>{@code
+ * HttpRequest.configure(HttpClientSettings.builder()
+ *     .poolLimits(200, 50)
+ *     .connectTimeout(Duration.ofSeconds(2))
+ *     .responseTimeout(Duration.ofSeconds(5))
+ *     .build());
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class HttpClientSettings {
+
+  private static final HttpClientSettings DEFAULTS = builder().build();
+
+  private final int maxTotal;
+  private final int maxPerRoute;
+  private final Duration connectTimeout;
+  private final Duration responseTimeout;
+  private final Duration idleTimeout;
+  private final Duration validateAfterInactivity;
+
+  private HttpClientSettings(Builder builder) {
+    this.maxTotal = builder.maxTotal;
+    this.maxPerRoute = builder.maxPerRoute;
+    this.connectTimeout = builder.connectTimeout;
+    this.responseTimeout = builder.responseTimeout;
+    this.idleTimeout = builder.idleTimeout;
+    this.validateAfterInactivity = builder.validateAfterInactivity;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return pool 100/20, connect timeout 3분, response timeout 없음, idle 30초, stale 검사 2초
+   */
+  public static HttpClientSettings defaults() {
+    return DEFAULTS;
+  }
+
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  public int getMaxPerRoute() {
+    return maxPerRoute;
+  }
+
+  public Duration getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  /**
+   * @return null 이면 제한 없음
+   */
+  public Duration getResponseTimeout() {
+    return responseTimeout;
+  }
+
+  public Duration getIdleTimeout() {
+    return idleTimeout;
+  }
+
+  public Duration getValidateAfterInactivity() {
+    return validateAfterInactivity;
+  }
+
+  /**
+   * @return pool 크기만 바꾼 설정
+   */
+  HttpClientSettings withPoolLimits(int maxTotal, int maxPerRoute) {
+    Builder builder = new Builder();
+    builder.connectTimeout = connectTimeout;
+    builder.responseTimeout = responseTimeout;
+    builder.idleTimeout = idleTimeout;
+    builder.validateAfterInactivity = validateAfterInactivity;
+    return builder.poolLimits(maxTotal, maxPerRoute).build();
+  }
+
+  public static final class Builder {
+    private int maxTotal = 100;
+    private int maxPerRoute = 20;
+    private Duration connectTimeout = Duration.ofMinutes(3);
+    private Duration responseTimeout;
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    private Builder() {
+    }
+
+    /**
+     * @param maxTotal    전체 connection 수. 기본값 100
+     * @param maxPerRoute host 하나당 connection 수. 기본값 20
+     */
+    public Builder poolLimits(int maxTotal, int maxPerRoute) {
+      Preconditions.isTrue(maxTotal >= 1, "maxTotal must be positive");
+      Preconditions.isTrue(maxPerRoute >= 1 && maxPerRoute <= maxTotal, "maxPerRoute must be in [1, maxTotal]");
+      this.maxTotal = maxTotal;
+      this.maxPerRoute = maxPerRoute;
+      return this;
+    }
+
+    /**
+     * @param connectTimeout TCP 연결 (TLS 포함) 제한 시간. 기본값 3분
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      Preconditions.notNull(connectTimeout, "connectTimeout must not null");
+      Preconditions.isTrue(!connectTimeout.isNegative() && !connectTimeout.isZero(), "connectTimeout must be positive");
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * @param responseTimeout 응답을 기다리는 시간. null 이면 제한 없음 (기본값)
+     */
+    public Builder responseTimeout(Duration responseTimeout) {
+      Preconditions.isTrue(responseTimeout == null || (!responseTimeout.isNegative() && !responseTimeout.isZero()),
+          "responseTimeout must be positive");
+      this.responseTimeout = responseTimeout;
+      return this;
+    }
+
+    /**
+     * @param idleTimeout 이보다 오래 쉰 connection 은 닫는다. 기본값 30초
+     */
+    public Builder idleTimeout(Duration idleTimeout) {
+      Preconditions.notNull(idleTimeout, "idleTimeout must not null");
+      Preconditions.isTrue(!idleTimeout.isNegative() && !idleTimeout.isZero(), "idleTimeout must be positive");
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /**
+     * @param validateAfterInactivity 이보다 오래 쉰 connection 은 빌려줄 때 stale 검사를 한다. 0 이면 매번 검사한다. 기본값 2초
+     */
+    public Builder validateAfterInactivity(Duration validateAfterInactivity) {
+      Preconditions.notNull(validateAfterInactivity, "validateAfterInactivity must not null");
+      Preconditions.isTrue(!validateAfterInactivity.isNegative(), "validateAfterInactivity must not be negative");
+      this.validateAfterInactivity = validateAfterInactivity;
+      return this;
+    }
+
+    public HttpClientSettings build() {
+      return new HttpClientSettings(this);
+    }
+  }
+}
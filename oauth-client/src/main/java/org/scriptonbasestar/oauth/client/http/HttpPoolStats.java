@@ -0,0 +1,13 @@
+package org.scriptonbasestar.oauth.client.http;
+
+/**
+ * 공유 connection pool 상태 스냅샷.
+ *
+ * @param leased    사용 중인 connection
+ * @param pending   connection 을 기다리는 요청
+ * @param available 재사용 가능한 idle connection
+ * @param max       최대 connection 수
+ * @since 2.0.0
+ */
+public record HttpPoolStats(int leased, int pending, int available, int max) {
+}
@@ -1,27 +1,41 @@
 package org.scriptonbasestar.oauth.client.http;
 
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
-import org.apache.hc.client5.http.entity.UrlEncodedFormEntity;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
-import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.util.TimeValue;
 import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
 import org.scriptonbasestar.oauth.client.exception.OAuthNetworkRemoteException;
+import org.scriptonbasestar.oauth.client.jfr.HttpRequestEvent;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetricsRecorder;
+import org.scriptonbasestar.oauth.client.tracing.OAuthSpan;
+import org.scriptonbasestar.oauth.client.tracing.OAuthTracing;
 import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+import org.scriptonbasestar.oauth.client.util.LogMaskUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author archmagece
@@ -31,154 +45,334 @@ public final class HttpRequest {
 
   private static final Logger log = LoggerFactory.getLogger(HttpRequest.class);
 
+  private static final ContentType FORM_CONTENT_TYPE =
+      ContentType.create(ContentType.APPLICATION_FORM_URLENCODED.getMimeType(), StandardCharsets.UTF_8);
+
+  private final String url;
+  private final ParamList paramList;
+  private final Collection<Header> headers;
+  private final String provider;
+
+  private HttpRequest(String url, ParamList paramList, Collection<Header> headers, String provider) {
+    this.url = url;
+    this.paramList = paramList;
+    this.headers = headers;
+    this.provider = provider;
+  }
+
+  public static HttpRequest create(String url) {
+    return new HttpRequest(url, new ParamList(), List.of(), null);
+  }
+
+  public static HttpRequest create(String url, ParamList paramList) {
+    return new HttpRequest(url, paramList, List.of(), null);
+  }
+
   /**
-   * Shared HTTP client instance with connection pooling and optimized settings.
-   * Using a shared client improves performance by reusing connections.
+   * @param headers 이 요청에만 붙일 header. connection pool 은 공유한다
    */
-  private static final CloseableHttpClient SHARED_CLIENT;
-
-  static {
-    PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-        .setMaxConnPerRoute(20)
-        .setMaxConnTotal(100)
-        .build();
+  public static HttpRequest create(String url, ParamList paramList, Collection<Header> headers) {
+    return new HttpRequest(url, paramList, headers, null);
+  }
 
-    SHARED_CLIENT = HttpClients.custom()
-      .setConnectionManager(connectionManager)
-      .evictIdleConnections(TimeValue.of(30, TimeUnit.SECONDS))
-      .build();
+  public static HttpRequest create(String url, Collection<Header> headers) {
+    return new HttpRequest(url, new ParamList(), headers, null);
   }
 
-  private final CloseableHttpClient httpclient;
-  private final String url;
-  private final ParamList paramList;
+  /**
+   * @param provider JFR event 와 span 에 남길 provider 이름 (naver, kakao 등)
+   * @return provider 만 바꾼 요청
+   */
+  public HttpRequest withProvider(String provider) {
+    return new HttpRequest(url, paramList, headers, provider);
+  }
 
   /**
-   * Sensitive parameter names to sanitize in logs
+   * 공유 client 설정을 바꾼다. 동기/비동기 client 중 하나라도 이미 만들어졌으면 {@link IllegalStateException}
    */
-  private static final String[] SENSITIVE_PARAMS = {
-    "client_secret",
-    "access_token",
-    "refresh_token",
-    "code",
-    "password",
-    "api_key",
-    "apikey"
-  };
-
-  private HttpRequest(String url, ParamList paramList) {
-    this.httpclient = SHARED_CLIENT;
-    this.url = url;
-    this.paramList = paramList;
+  public static void configure(HttpClientSettings settings) {
+    SharedHttpClient.configure(settings);
   }
 
-  private HttpRequest(String url, ParamList paramList, Collection<Header> headers) {
-    // For custom headers, create a new client instance
-    // This is less common, so performance impact is minimal
-    PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-        .setMaxConnPerRoute(20)
-        .setMaxConnTotal(100)
-        .build();
+  /**
+   * 공유 동기 client 와 connection pool 을 지금 만든다. 호출하지 않으면 첫 요청 때 만든다
+   */
+  public static void initialize() {
+    SharedHttpClient.client();
+  }
 
-    this.httpclient = HttpClients.custom()
-      .setConnectionManager(connectionManager)
-      .setDefaultHeaders(headers)
-      .build();
-    this.url = url;
-    this.paramList = paramList;
+  /**
+   * {@code url} 의 host 로 connection 을 미리 열어 pool 에 넣는다. 요청은 보내지 않고 DNS, TCP, TLS handshake 까지만 한다.
+   *
+   * 요청이 쓰고 있는 connection 도 세어서 모자란 만큼만 열고, pool 이 바쁘면 기다리지 않고 돌아온다.
+   *
+   * @param connections host 에 둘 connection 수. host 당 최대값을 넘으면 최대값까지만 연다
+   * @return 새로 연 connection 수. pool 에 이미 있던 connection 은 세지 않는다
+   */
+  public static int preconnect(String url, int connections) {
+    return SharedHttpClient.preconnect(url, connections);
   }
 
-  public static HttpRequest create(String url) {
-    return new HttpRequest(url, new ParamList());
+  /**
+   * 공유 connection pool 크기를 바꾼다. 이미 빌려 간 connection 은 돌아올 때 반영된다.
+   * client 가 아직 없으면 만들지 않고 설정만 바꾼다
+   *
+   * @param maxTotal    전체 connection 수. 기본값 100
+   * @param maxPerRoute host 하나당 connection 수. 기본값 20
+   */
+  public static void setPoolLimits(int maxTotal, int maxPerRoute) {
+    SharedHttpClient.setPoolLimits(maxTotal, maxPerRoute);
   }
 
-  public static HttpRequest create(String url, ParamList paramList) {
-    return new HttpRequest(url, paramList);
+  /**
+   * @return 공유 connection pool 의 현재 상태. client 가 아직 없으면 설정값만 채운다
+   */
+  public static HttpPoolStats poolStats() {
+    return SharedHttpClient.poolStats();
   }
 
-  public static HttpRequest create(String url, ParamList paramList, Collection<Header> headers) {
-    return new HttpRequest(url, paramList, headers);
+  /**
+   * @return 응답 body. HTTP status 와 관계없이 돌려준다
+   */
+  public String run(OAuthHttpVerb httpVerb) {
+    return execute(httpVerb).body();
   }
 
-  public static HttpRequest create(String url, Collection<Header> headers) {
-    return new HttpRequest(url, new ParamList(), headers);
+  /**
+   * @return HTTP status 와 응답 body
+   */
+  public HttpResult execute(OAuthHttpVerb httpVerb) {
+    try (OAuthSpan span = OAuthTracing.startClientSpan(httpVerb.name())) {
+      OAuthMetricsRecorder recorder = OAuthMetrics.recorder();
+      if (recorder == OAuthMetricsRecorder.NOOP) {
+        return send(httpVerb, span);
+      }
+      long start = System.nanoTime();
+      int status = -1;
+      try {
+        HttpResult result = send(httpVerb, span);
+        status = result.status();
+        return result;
+      } finally {
+        recorder.recordHttpRequest(host(), httpVerb, status, System.nanoTime() - start);
+      }
+    }
   }
 
   /**
-   * Sanitize URL by masking sensitive parameters for safe logging
+   * non-blocking 으로 보낸다. 호출한 스레드는 막히지 않고, future 는 I/O reactor 스레드에서 완료된다.
+   * 별도의 async connection pool 을 쓰며 {@link #setPoolLimits} 는 적용되지 않는다 ({@link #configure} 는 적용된다).
+   * circuit breaker 등은 {@link org.scriptonbasestar.oauth.client.resilience.ResiliencePolicy#executeAsync} 로 감싼다.
    *
-   * @param urlOrUri the URL or URI string to sanitize
-   * @return sanitized string with sensitive values masked
+   * @return HTTP status 와 응답 body. 네트워크 오류는 {@link OAuthNetworkException} 으로 실패한다
    */
-  private static String sanitizeForLogging(String urlOrUri) {
-    if (urlOrUri == null) {
-      return null;
+  public CompletableFuture<HttpResult> executeAsync(OAuthHttpVerb httpVerb) {
+    HttpRequestEvent event = new HttpRequestEvent();
+    event.begin();
+    SimpleRequestBuilder builder = switch (httpVerb) {
+      case POST -> {
+        byte[] form = ParamUtil.generateFormBody(paramList);
+        event.requestBytes = form.length;
+        yield SimpleRequestBuilder.post(url).setBody(form, FORM_CONTENT_TYPE);
+      }
+      case GET -> SimpleRequestBuilder.get(ParamUtil.generateOAuthQuery(url, paramList));
+    };
+    for (Header header : headers) {
+      builder.addHeader(header);
+    }
+    OAuthSpan span = OAuthTracing.startAsyncClientSpan(httpVerb.name());
+    span.inject(builder::setHeader);
+    if (span.isRecording()) {
+      span.setAttribute("http.request.method", httpVerb.name());
+      if (provider != null) {
+        span.setAttribute(OAuthTracing.PROVIDER, provider);
+      }
+      span.setAttribute("server.address", host());
+      span.setAttribute("url.full", LogMaskUtil.maskUrl(url));
     }
+    OAuthMetricsRecorder recorder = OAuthMetrics.recorder();
+    long start = System.nanoTime();
+    log.debug("Executing async request {} {}", httpVerb, LogMaskUtil.lazyUrl(url));
 
-    String sanitized = urlOrUri;
-    for (String sensitiveParam : SENSITIVE_PARAMS) {
-      // Match pattern: param=value (value can contain any characters except & and space)
-      String pattern = "(" + sensitiveParam + "=)[^&\\s]*";
-      sanitized = sanitized.replaceAll(pattern, "$1***");
+    CompletableFuture<HttpResult> future = new CompletableFuture<>();
+    FutureCallback<SimpleHttpResponse> callback = new FutureCallback<>() {
+      @Override
+      public void completed(SimpleHttpResponse response) {
+        byte[] raw = response.getBodyBytes();
+        event.responseBytes = raw == null ? 0 : raw.length;
+        HttpResult result = new HttpResult(response.getCode(), bodyText(response), headers(response));
+        span.setAttribute("http.response.status_code", result.status());
+        if (result.status() >= 400) {
+          span.setError("HTTP " + result.status());
+        }
+        finish(result.status());
+        future.complete(result);
+      }
+
+      @Override
+      public void failed(Exception e) {
+        OAuthNetworkException exception = new OAuthNetworkException("extends IOException - 네트워크 오류", e);
+        span.recordError(exception);
+        finish(-1);
+        future.completeExceptionally(exception);
+      }
+
+      @Override
+      public void cancelled() {
+        failed(new IOException("request cancelled"));
+      }
+
+      private void finish(int status) {
+        span.close();
+        event.end();
+        if (event.shouldCommit()) {
+          event.provider = provider;
+          event.host = host();
+          event.method = httpVerb.name();
+          event.status = status;
+          event.commit();
+        }
+        if (recorder != OAuthMetricsRecorder.NOOP) {
+          recorder.recordHttpRequest(host(), httpVerb, status, System.nanoTime() - start);
+        }
+      }
+    };
+    try {
+      SharedHttpClient.asyncClient().execute(builder.build(), callback);
+    } catch (RuntimeException e) {
+      //reactor 가 닫혀 있으면 callback 없이 바로 던진다. span, event 를 닫고 future 로 넘긴다
+      callback.failed(e);
     }
-    return sanitized;
+    return future;
   }
 
-  public String run(OAuthHttpVerb httpVerb) {
+  private HttpResult send(OAuthHttpVerb httpVerb, OAuthSpan span) {
+    HttpRequestEvent event = new HttpRequestEvent();
+    event.begin();
+    if (span.isRecording()) {
+      span.setAttribute("http.request.method", httpVerb.name());
+      if (provider != null) {
+        span.setAttribute(OAuthTracing.PROVIDER, provider);
+      }
+      span.setAttribute("server.address", host());
+      span.setAttribute("url.full", LogMaskUtil.maskUrl(url));
+    }
     try {
-      return switch (httpVerb) {
-        case POST -> postContent();
-        case GET -> getContent();
+      HttpResult result = switch (httpVerb) {
+        case POST -> postContent(event, span);
+        case GET -> getContent(event, span);
       };
+      event.status = result.status();
+      span.setAttribute("http.response.status_code", result.status());
+      if (result.status() >= 400) {
+        span.setError("HTTP " + result.status());
+      }
+      return result;
     } catch (IOException e) {
-      throw new OAuthNetworkException("extends IOException - 네트워크 오류", e);
+      OAuthNetworkException exception = new OAuthNetworkException("extends IOException - 네트워크 오류", e);
+      span.recordError(exception);
+      throw exception;
+    } catch (RuntimeException e) {
+      span.recordError(e);
+      throw e;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.provider = provider;
+        event.host = host();
+        event.method = httpVerb.name();
+        event.commit();
+      }
     }
   }
 
-  private String postContent() throws IOException {
+  private HttpResult postContent(HttpRequestEvent event, OAuthSpan span) throws IOException {
     log.debug("postContent()");
-    UrlEncodedFormEntity urlEncodedFormEntity = new UrlEncodedFormEntity(
-        ParamUtil.generateNameValueList(paramList),
-        StandardCharsets.UTF_8
-    );
-    log.debug("post to: {}", sanitizeForLogging(url));
+    byte[] form = ParamUtil.generateFormBody(paramList);
+    event.requestBytes = form.length;
+    ByteArrayEntity formEntity = new ByteArrayEntity(form, FORM_CONTENT_TYPE);
+    log.debug("post to: {}", LogMaskUtil.lazyUrl(url));
 
     HttpPost httpPost = new HttpPost(url);
-    httpPost.setEntity(urlEncodedFormEntity);
+    httpPost.setEntity(formEntity);
+    addHeaders(httpPost, span);
 
-    log.debug("Executing request {} {}", httpPost.getMethod(), sanitizeForLogging(httpPost.getRequestUri()));
-    return httpclient.execute(httpPost, RESPONSE_HANDLER);
+    log.debug("Executing request {} {}", httpPost.getMethod(), LogMaskUtil.lazyUrl(httpPost.getRequestUri()));
+    return SharedHttpClient.client().execute(httpPost, response -> readResponse(response, event));
   }
 
-  private String getContent() throws IOException {
+  private HttpResult getContent(HttpRequestEvent event, OAuthSpan span) throws IOException {
     log.debug("getContent()");
     HttpGet httpget = new HttpGet(ParamUtil.generateOAuthQuery(url, paramList));
-    try {
-      log.trace("get to: {}", sanitizeForLogging(httpget.getUri().toString()));
-      log.debug("Executing request {} {}", httpget.getMethod(), sanitizeForLogging(httpget.getRequestUri()));
-    } catch (java.net.URISyntaxException e) {
-      throw new OAuthNetworkException("Invalid URI", e);
+    addHeaders(httpget, span);
+    if (log.isTraceEnabled()) {
+      try {
+        log.trace("get to: {}", LogMaskUtil.maskUrl(httpget.getUri().toString()));
+      } catch (URISyntaxException e) {
+        throw new OAuthNetworkException("Invalid URI", e);
+      }
     }
+    log.debug("Executing request {} {}", httpget.getMethod(), LogMaskUtil.lazyUrl(httpget.getRequestUri()));
+
+    return SharedHttpClient.client().execute(httpget, response -> readResponse(response, event));
+  }
+
+  private void addHeaders(HttpUriRequestBase request, OAuthSpan span) {
+    for (Header header : headers) {
+      request.addHeader(header);
+    }
+    span.inject(request::setHeader);
+  }
 
-    return httpclient.execute(httpget, RESPONSE_HANDLER);
+  private String host() {
+    int start = url.indexOf("://");
+    start = start < 0 ? 0 : start + 3;
+    int end = start;
+    while (end < url.length() && url.charAt(end) != '/' && url.charAt(end) != '?' && url.charAt(end) != ':') {
+      end++;
+    }
+    return url.substring(start, end);
   }
 
-  private static final HttpClientResponseHandler<String> RESPONSE_HANDLER = response -> {
+  private static HttpResult readResponse(ClassicHttpResponse response, HttpRequestEvent event) {
     log.debug("HTTP {} {}", response.getCode(), response.getReasonPhrase());
     HttpEntity entity = response.getEntity();
     if (entity == null) {
+      if (response.getCode() == HttpStatus.SC_NO_CONTENT || response.getCode() == HttpStatus.SC_NOT_MODIFIED) {
+        return new HttpResult(response.getCode(), "", headers(response));
+      }
       throw new OAuthNetworkRemoteException("network connection exception. Remote 서버에서 응답이 없습니다.");
     }
 
     try {
-      String result = EntityUtils.toString(entity, StandardCharsets.UTF_8);
+      byte[] raw = EntityUtils.toByteArray(entity);
       EntityUtils.consume(entity);
-      return result;
+      event.responseBytes = raw.length;
+      ContentType contentType = ContentType.parseLenient(entity.getContentType());
+      Charset charset = contentType == null ? StandardCharsets.UTF_8 : contentType.getCharset(StandardCharsets.UTF_8);
+      return new HttpResult(response.getCode(), new String(raw, charset), headers(response));
     } catch (IOException e) {
       throw new OAuthNetworkRemoteException("network stream exception. 데이터를 받아오는 중 문제 발생", e);
-    } catch (org.apache.hc.core5.http.ParseException e) {
-      throw new OAuthNetworkRemoteException("response parsing exception. 응답 파싱 중 문제 발생", e);
     }
-  };
+  }
+
+  private static String bodyText(SimpleHttpResponse response) {
+    byte[] raw = response.getBodyBytes();
+    if (raw == null) {
+      return "";
+    }
+    ContentType contentType = response.getContentType();
+    Charset charset = contentType == null ? StandardCharsets.UTF_8 : contentType.getCharset(StandardCharsets.UTF_8);
+    return new String(raw, charset);
+  }
+
+  private static Map<String, String> headers(HttpResponse response) {
+    Header[] all = response.getHeaders();
+    Map<String, String> headers = new HashMap<>(all.length * 2);
+    for (Header header : all) {
+      headers.putIfAbsent(header.getName().toLowerCase(Locale.ROOT), header.getValue());
+    }
+    return headers;
+  }
 
 }
@@ -0,0 +1,55 @@
+package org.scriptonbasestar.oauth.client.http;
+
+import org.apache.hc.client5.http.utils.DateUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTTP status, body 와 응답 header.
+ *
+ * @param status  HTTP status code
+ * @param body    응답 body. Content-Type 의 charset, 없으면 UTF-8 로 읽는다. 304 등 body 가 없으면 빈 문자열
+ * @param headers 응답 header. 이름은 소문자, 같은 이름이 여러 개면 첫 번째 값
+ * @since 2.0.0
+ */
+public record HttpResult(int status, String body, Map<String, String> headers) {
+
+  public HttpResult(int status, String body) {
+    this(status, body, Map.of());
+  }
+
+  /**
+   * @return 2xx 이면 true
+   */
+  public boolean isSuccess() {
+    return status >= 200 && status < 300;
+  }
+
+  /**
+   * @param name 대소문자 구분 없음
+   * @return 없으면 null
+   */
+  public String header(String name) {
+    return headers.get(name.toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * @return {@code Retry-After} header (delta-seconds 또는 HTTP-date). 없거나 읽을 수 없으면 null
+   */
+  public Duration retryAfter() {
+    String value = header("Retry-After");
+    if (value == null) {
+      return null;
+    }
+    value = value.trim();
+    try {
+      return Duration.ofSeconds(Long.parseLong(value));
+    } catch (NumberFormatException e) {
+      Instant date = DateUtils.parseStandardDate(value);
+      return date == null ? null : Duration.between(Instant.now(), date);
+    }
+  }
+}
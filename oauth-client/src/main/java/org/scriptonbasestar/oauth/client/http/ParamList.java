@@ -2,25 +2,41 @@ package org.scriptonbasestar.oauth.client.http;
 
 import org.scriptonbasestar.oauth.client.OAuth20Constants;
 import org.scriptonbasestar.oauth.client.model.ValueModel;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
+ * 입력 순서를 유지하는 Param 목록.
+ * <p>
+ * 요청 하나당 파라미터는 열 개 안팎이라 해시 대신 배열에 담는다.
+ * 기존 LinkedHashSet 과 같이 key/values 가 완전히 같은 Param 은 한 번만 들어간다.
+ *
  * @author archmagece
  * @since 2016-10-26 16
  */
 public final class ParamList {
-  private final Set<Param> paramSet = new LinkedHashSet<>();
+  private static final int DEFAULT_CAPACITY = 8;
+
+  private Param[] params;
+  private int size;
 
   public ParamList(Param... params) {
-    paramSet.addAll(Arrays.asList(params));
+    this.params = new Param[Math.max(DEFAULT_CAPACITY, params.length)];
+    for (Param param : params) {
+      append(param);
+    }
   }
 
   public ParamList(Collection<Param> params) {
-    paramSet.addAll(params);
+    this.params = new Param[Math.max(DEFAULT_CAPACITY, params.size())];
+    for (Param param : params) {
+      append(param);
+    }
   }
 
   public static ParamList create(Param... params) {
@@ -28,37 +44,76 @@ public final class ParamList {
   }
 
   public ParamList add(String key, String... values) {
-    paramSet.add(new Param(key, values));
+    append(new Param(key, values));
     return this;
   }
 
   public ParamList add(OAuth20Constants key, String... values) {
-    paramSet.add(new Param(key, values));
+    append(new Param(key, values));
     return this;
   }
 
   public ParamList add(String key, ValueModel... values) {
-    paramSet.add(new Param(key, values));
+    append(new Param(key, values));
     return this;
   }
 
   public ParamList add(OAuth20Constants key, ValueModel... values) {
-    paramSet.add(new Param(key, values));
+    append(new Param(key, values));
     return this;
   }
 
   public ParamList add(Collection<Param> params) {
-    paramSet.addAll(params);
+    for (Param param : params) {
+      append(param);
+    }
     return this;
   }
 
   public ParamList add(Param... params) {
-    paramSet.addAll(Arrays.asList(params));
+    for (Param param : params) {
+      append(param);
+    }
     return this;
   }
 
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @param index 0 부터 {@link #size()} - 1
+   * @return 입력 순서상 index 번째 Param
+   */
+  public Param get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+    }
+    return params[index];
+  }
+
+  /**
+   * @return 입력 순서를 유지하는 복사본. 수정할 수 없다
+   */
   public Set<Param> paramSet() {
-    return paramSet;
+    return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(params).subList(0, size)));
+  }
+
+  private void append(Param param) {
+    Preconditions.notNull(param, "param must not null");
+    for (int i = 0; i < size; i++) {
+      if (params[i].equals(param)) {
+        return;
+      }
+    }
+    if (size == params.length) {
+      params = Arrays.copyOf(params, size << 1);
+    }
+    params[size++] = param;
   }
 
 }
@@ -4,10 +4,9 @@ import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
 import org.scriptonbasestar.oauth.client.util.OAuthEncodeUtil;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * @author archmagece
@@ -24,7 +23,13 @@ public final class ParamUtil {
   private static final char QUERY_EQUAL = '=';
 
   public static String generateOAuthQuery(String url, ParamList paramList) {
-    return generateOAuthQuery(url, paramList.paramSet().toArray(new Param[paramList.paramSet().size()]));
+    StringBuilder sb = new StringBuilder(url.length() + 32 * paramList.size());
+    sb.append(url).append(QUERY_QUESTION);
+    boolean first = true;
+    for (int i = 0; i < paramList.size(); i++) {
+      first = appendQuery(sb, paramList.get(i), first);
+    }
+    return sb.toString();
   }
 
   public static String generateOAuthQuery(String url, Collection<Param> params) {
@@ -32,19 +37,78 @@ public final class ParamUtil {
   }
 
   public static String generateOAuthQuery(String url, Param... params) {
-    String queryString = Arrays.stream(params)
-        .flatMap(param -> Arrays.stream(param.getValues())
-            .map(value -> param.getKey() + QUERY_EQUAL + OAuthEncodeUtil.encode(value)))
-        .collect(Collectors.joining(String.valueOf(QUERY_AND)));
+    StringBuilder sb = new StringBuilder(url.length() + 32 * params.length);
+    sb.append(url).append(QUERY_QUESTION);
+    boolean first = true;
+    for (Param param : params) {
+      first = appendQuery(sb, param, first);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @param first 아직 붙인 파라미터가 없으면 true. url 이나 앞 값의 끝 문자로는 알 수 없다
+   * @return 다음 호출의 {@code first}
+   */
+  private static boolean appendQuery(StringBuilder sb, Param param, boolean first) {
+    for (String value : param.getValues()) {
+      if (!first) {
+        sb.append(QUERY_AND);
+      }
+      first = false;
+      sb.append(param.getKey()).append(QUERY_EQUAL);
+      OAuthEncodeUtil.encode(value, sb);
+    }
+    return first;
+  }
+
+  /**
+   * application/x-www-form-urlencoded body 를 만든다.
+   * 필요한 길이를 먼저 계산해서 딱 맞는 byte[] 하나에 key/value 를 바로 인코딩한다.
+   *
+   * @param paramList body 로 보낼 파라미터
+   * @return US-ASCII form body
+   */
+  public static byte[] generateFormBody(ParamList paramList) {
+    int length = 0;
+    int pairs = 0;
+    for (int i = 0; i < paramList.size(); i++) {
+      Param param = paramList.get(i);
+      int keyLength = OAuthEncodeUtil.encodedLength(param.getKey());
+      for (String value : param.getValues()) {
+        length += keyLength + 1 + OAuthEncodeUtil.encodedLength(value);
+        pairs++;
+      }
+    }
+    if (pairs > 1) {
+      length += pairs - 1;
+    }
 
-    return url + QUERY_QUESTION + queryString;
+    byte[] body = new byte[length];
+    int pos = 0;
+    for (int i = 0; i < paramList.size(); i++) {
+      Param param = paramList.get(i);
+      for (String value : param.getValues()) {
+        if (pos > 0) {
+          body[pos++] = QUERY_AND;
+        }
+        pos = OAuthEncodeUtil.encode(param.getKey(), body, pos);
+        body[pos++] = QUERY_EQUAL;
+        pos = OAuthEncodeUtil.encode(value, body, pos);
+      }
+    }
+    return body;
   }
 
   public static List<NameValuePair> generateNameValueList(ParamList paramList) {
-    return paramList.paramSet().stream()
-        .flatMap(param -> Arrays.stream(param.getValues())
-            .map(value -> new BasicNameValuePair(param.getKey(), value)))
-        .collect(Collectors.toList());
+    List<NameValuePair> result = new ArrayList<>(paramList.size());
+    for (int i = 0; i < paramList.size(); i++) {
+      Param param = paramList.get(i);
+      for (String value : param.getValues()) {
+        result.add(new BasicNameValuePair(param.getKey(), value));
+      }
+    }
+    return result;
   }
 
 }
@@ -0,0 +1,223 @@
+package org.scriptonbasestar.oauth.client.http;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.routing.RoutingSupport;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link HttpRequest} 가 공유하는 동기/비동기 client.
+ * <p>
+ * 각 client 는 처음 쓸 때 그 시점의 {@link HttpClientSettings} 로 만든다. class 를 참조하는 것만으로는
+ * (native image build 포함) pool 이나 I/O reactor 스레드를 만들지 않는다.
+ */
+final class SharedHttpClient {
+
+  private static final Logger log = LoggerFactory.getLogger(SharedHttpClient.class);
+
+  /**
+   * preconnect 가 pool 에서 connection 을 기다리는 최대 시간. 요청과 다투지 않도록 짧게 둔다
+   */
+  static final Timeout PRECONNECT_LEASE_TIMEOUT = Timeout.ofMilliseconds(100);
+
+  //아래는 모두 SharedHttpClient.class 로 보호한다
+  private static HttpClientSettings settings = HttpClientSettings.defaults();
+  private static boolean syncCreated;
+  private static boolean asyncCreated;
+
+  private SharedHttpClient() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  private static final class SyncHolder {
+    static final PoolingHttpClientConnectionManager CONNECTION_MANAGER;
+
+    /**
+     * Shared HTTP client instance with connection pooling and optimized settings.
+     * Using a shared client improves performance by reusing connections.
+     */
+    static final CloseableHttpClient CLIENT;
+
+    static {
+      HttpClientSettings s = onCreate(false);
+      CONNECTION_MANAGER = PoolingHttpClientConnectionManagerBuilder.create()
+          .setMaxConnPerRoute(s.getMaxPerRoute())
+          .setMaxConnTotal(s.getMaxTotal())
+          .setDefaultConnectionConfig(connectionConfig(s))
+          .build();
+
+      CLIENT = HttpClients.custom()
+          .setConnectionManager(CONNECTION_MANAGER)
+          .setDefaultRequestConfig(requestConfig(s))
+          .evictIdleConnections(TimeValue.of(s.getIdleTimeout()))
+          .build();
+    }
+  }
+
+  private static final class AsyncHolder {
+    static final CloseableHttpAsyncClient CLIENT;
+
+    static {
+      HttpClientSettings s = onCreate(true);
+      CLIENT = HttpAsyncClients.custom()
+          .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+              .setMaxConnPerRoute(s.getMaxPerRoute())
+              .setMaxConnTotal(s.getMaxTotal())
+              .setDefaultConnectionConfig(connectionConfig(s))
+              .build())
+          .setDefaultRequestConfig(requestConfig(s))
+          .evictIdleConnections(TimeValue.of(s.getIdleTimeout()))
+          .build();
+      CLIENT.start();
+    }
+  }
+
+  static CloseableHttpClient client() {
+    return SyncHolder.CLIENT;
+  }
+
+  static CloseableHttpAsyncClient asyncClient() {
+    return AsyncHolder.CLIENT;
+  }
+
+  static synchronized void configure(HttpClientSettings newSettings) {
+    Preconditions.notNull(newSettings, "settings must not null");
+    if (syncCreated || asyncCreated) {
+      throw new IllegalStateException("HTTP client is already created. configure() must be called before the first request");
+    }
+    settings = newSettings;
+  }
+
+  static synchronized HttpClientSettings settings() {
+    return settings;
+  }
+
+  static synchronized void setPoolLimits(int maxTotal, int maxPerRoute) {
+    settings = settings.withPoolLimits(maxTotal, maxPerRoute);
+    if (syncCreated) {
+      SyncHolder.CONNECTION_MANAGER.setMaxTotal(maxTotal);
+      SyncHolder.CONNECTION_MANAGER.setDefaultMaxPerRoute(maxPerRoute);
+    }
+  }
+
+  static HttpPoolStats poolStats() {
+    synchronized (SharedHttpClient.class) {
+      if (!syncCreated) {
+        return new HttpPoolStats(0, 0, 0, settings.getMaxTotal());
+      }
+    }
+    PoolStats stats = SyncHolder.CONNECTION_MANAGER.getTotalStats();
+    return new HttpPoolStats(stats.getLeased(), stats.getPending(), stats.getAvailable(), stats.getMax());
+  }
+
+  /**
+   * 동기 pool 에 {@code url} 의 host 로 가는 connection 을 연다. 요청은 보내지 않고 DNS, TCP, TLS handshake 까지만 한다.
+   * <p>
+   * 비어 있는 자리만 채운다. 요청이 쓰고 있는 connection 도 {@code connections} 에 세고, pool 을 기다리는 요청이 있거나
+   * {@link #PRECONNECT_LEASE_TIMEOUT} 안에 빌리지 못하면 그 route 는 바쁜 것이므로 실패로 보지 않고 멈춘다.
+   *
+   * @return 새로 연 connection 수. pool 에 이미 있던 connection 은 세지 않는다
+   */
+  static int preconnect(String url, int connections) {
+    Preconditions.isTrue(connections >= 1, "connections must be positive");
+    HttpRoute route = route(url);
+    PoolingHttpClientConnectionManager manager = SyncHolder.CONNECTION_MANAGER;
+    HttpClientSettings s = settings();
+    PoolStats stats = manager.getStats(route);
+    //요청이 쓰고 있는 connection 은 이미 살아 있다. 그만큼은 빌리지 않는다
+    int count = Math.min(connections, stats.getMax()) - stats.getLeased();
+    if (stats.getPending() > 0 || count <= 0 || stats.getAvailable() >= count) {
+      log.debug("preconnect {} skipped: {}", route.getTargetHost(), stats);
+      return 0;
+    }
+
+    //모두 빌린 다음에 돌려줘야 서로 다른 connection 이 열린다
+    List<ConnectionEndpoint> endpoints = new ArrayList<>(count);
+    Timeout connectTimeout = Timeout.of(s.getConnectTimeout());
+    int opened = 0;
+    try {
+      for (int i = 0; i < count; i++) {
+        ConnectionEndpoint endpoint = manager.lease("preconnect-" + i, route, PRECONNECT_LEASE_TIMEOUT, null)
+            .get(PRECONNECT_LEASE_TIMEOUT);
+        endpoints.add(endpoint);
+        if (!endpoint.isConnected()) {
+          manager.connect(endpoint, connectTimeout, HttpClientContext.create());
+          opened++;
+        }
+      }
+    } catch (TimeoutException e) {
+      //요청이 pool 을 쓰고 있다. 여기까지 연 것으로 충분하다
+      log.debug("preconnect {} stopped: pool is busy", route.getTargetHost());
+    } catch (IOException | ExecutionException e) {
+      throw new OAuthNetworkException("fail to preconnect " + route.getTargetHost(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OAuthNetworkException("preconnect interrupted", e);
+    } finally {
+      for (ConnectionEndpoint endpoint : endpoints) {
+        manager.release(endpoint, null, TimeValue.of(s.getIdleTimeout()));
+      }
+    }
+    log.debug("preconnect {} opened {} of {}", route.getTargetHost(), opened, count);
+    return opened;
+  }
+
+  /**
+   * client 가 요청을 보낼 때와 같은 route. proxy 는 쓰지 않는다
+   */
+  static HttpRoute route(String url) {
+    Preconditions.notEmptyString(url, "url must not null or empty");
+    HttpHost target = RoutingSupport.normalize(HttpHost.create(URI.create(url)), DefaultSchemePortResolver.INSTANCE);
+    return new HttpRoute(target, null, URIScheme.HTTPS.same(target.getSchemeName()));
+  }
+
+  private static synchronized HttpClientSettings onCreate(boolean async) {
+    if (async) {
+      asyncCreated = true;
+    } else {
+      syncCreated = true;
+    }
+    return settings;
+  }
+
+  private static ConnectionConfig connectionConfig(HttpClientSettings s) {
+    return ConnectionConfig.custom()
+        .setConnectTimeout(Timeout.of(s.getConnectTimeout()))
+        .setValidateAfterInactivity(TimeValue.of(s.getValidateAfterInactivity()))
+        .build();
+  }
+
+  private static RequestConfig requestConfig(HttpClientSettings s) {
+    RequestConfig.Builder builder = RequestConfig.custom();
+    if (s.getResponseTimeout() != null) {
+      builder.setResponseTimeout(Timeout.of(s.getResponseTimeout()));
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,43 @@
+package org.scriptonbasestar.oauth.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * provider 로 나간 HTTP 요청 하나. duration 은 요청 시작부터 응답 body 를 다 읽을 때까지.
+ * provider 는 {@link org.scriptonbasestar.oauth.client.http.HttpRequest#withProvider} 로 넘긴 이름이고, 없으면 null 이다.
+ *
+ * @since 2.0.0
+ */
+@Name("org.scriptonbasestar.oauth.HttpRequest")
+@Label("OAuth HTTP Request")
+@Category({"OAuth", "HTTP"})
+@Description("HTTP request sent to an OAuth provider")
+@StackTrace(false)
+public final class HttpRequestEvent extends jdk.jfr.Event {
+
+  @Label("Provider")
+  public String provider;
+
+  @Label("Host")
+  public String host;
+
+  @Label("Method")
+  public String method;
+
+  @Label("Status")
+  @Description("HTTP status. -1 if no response was received")
+  public int status = -1;
+
+  @Label("Request Bytes")
+  @DataAmount
+  public long requestBytes;
+
+  @Label("Response Bytes")
+  @DataAmount
+  public long responseBytes;
+}
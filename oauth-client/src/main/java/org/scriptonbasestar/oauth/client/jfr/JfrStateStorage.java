@@ -0,0 +1,45 @@
+package org.scriptonbasestar.oauth.client.jfr;
+
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.nobi.StateStorage;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+/**
+ * 모든 호출에 {@link StorageEvent} 를 남기는 {@link StateStorage}.
+ *
+ * @since 2.0.0
+ */
+public class JfrStateStorage implements StateStorage {
+
+  private final StateStorage delegate;
+
+  public JfrStateStorage(StateStorage delegate) {
+    this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+  }
+
+  @Override
+  public void add(String userId, State state) {
+    StorageEvent event = new StorageEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      delegate.add(userId, state);
+      success = true;
+    } finally {
+      event.finish(delegate, "add", success);
+    }
+  }
+
+  @Override
+  public void exists(String userId, State state) {
+    StorageEvent event = new StorageEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      delegate.exists(userId, state);
+      success = true;
+    } finally {
+      event.finish(delegate, "exists", success);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package org.scriptonbasestar.oauth.client.jfr;
+
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+/**
+ * 모든 호출에 {@link StorageEvent} 를 남기는 {@link TokenStorage}.
+ * recording 이 없으면 event 는 기록되지 않고 비용도 거의 없다.
+ *
+ * <pre>{@code
+ * TokenStorage storage = new JfrTokenStorage(new RedisTokenStorage(jedis));
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public class JfrTokenStorage implements TokenStorage {
+
+  private final TokenStorage delegate;
+
+  public JfrTokenStorage(TokenStorage delegate) {
+    this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+  }
+
+  @Override
+  public Token load(String id) {
+    StorageEvent event = new StorageEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      Token token = delegate.load(id);
+      success = true;
+      return token;
+    } finally {
+      event.finish(delegate, "load", success);
+    }
+  }
+
+  @Override
+  public void store(String id, Token token) {
+    StorageEvent event = new StorageEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      delegate.store(id, token);
+      success = true;
+    } finally {
+      event.finish(delegate, "store", success);
+    }
+  }
+
+  @Override
+  public void drop(String id) {
+    StorageEvent event = new StorageEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      delegate.drop(id);
+      success = true;
+    } finally {
+      event.finish(delegate, "drop", success);
+    }
+  }
+}
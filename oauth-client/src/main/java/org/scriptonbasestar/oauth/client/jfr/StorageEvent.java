@@ -0,0 +1,44 @@
+package org.scriptonbasestar.oauth.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * {@link org.scriptonbasestar.oauth.client.nobi.TokenStorage}/{@link org.scriptonbasestar.oauth.client.nobi.StateStorage}
+ * 호출 하나. key 나 token 값은 기록하지 않는다.
+ *
+ * @since 2.0.0
+ */
+@Name("org.scriptonbasestar.oauth.Storage")
+@Label("OAuth Storage")
+@Category({"OAuth", "Storage"})
+@Description("TokenStorage or StateStorage operation")
+@StackTrace(false)
+public final class StorageEvent extends jdk.jfr.Event {
+
+  @Label("Storage")
+  @Description("Implementation class of the storage")
+  public String storage;
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Success")
+  public boolean success;
+
+  /**
+   * 측정을 끝내고 recording 중이면 기록한다.
+   */
+  public void finish(Object storage, String operation, boolean success) {
+    end();
+    if (shouldCommit()) {
+      this.storage = storage.getClass().getSimpleName();
+      this.operation = operation;
+      this.success = success;
+      commit();
+    }
+  }
+}
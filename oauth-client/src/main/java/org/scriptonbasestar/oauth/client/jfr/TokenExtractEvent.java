@@ -0,0 +1,43 @@
+package org.scriptonbasestar.oauth.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * token 응답 파싱 하나.
+ *
+ * @since 2.0.0
+ */
+@Name("org.scriptonbasestar.oauth.TokenExtract")
+@Label("OAuth Token Extract")
+@Category({"OAuth", "Token"})
+@Description("Parsing of a token endpoint response")
+@StackTrace(false)
+public final class TokenExtractEvent extends jdk.jfr.Event {
+
+  @Label("Extractor")
+  public String extractor;
+
+  @Label("Response Length")
+  @Description("Length of the response in characters")
+  public int responseLength;
+
+  @Label("Success")
+  public boolean success;
+
+  /**
+   * 측정을 끝내고 recording 중이면 기록한다.
+   */
+  public void finish(Class<?> extractorType, String response, boolean success) {
+    end();
+    if (shouldCommit()) {
+      this.extractor = extractorType.getSimpleName();
+      this.responseLength = response == null ? 0 : response.length();
+      this.success = success;
+      commit();
+    }
+  }
+}
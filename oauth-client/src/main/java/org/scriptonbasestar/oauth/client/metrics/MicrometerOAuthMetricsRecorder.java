@@ -0,0 +1,119 @@
+package org.scriptonbasestar.oauth.client.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer 로 기록한다. micrometer-core 는 optional 의존성이라 사용하는 쪽에서 추가해야 한다.
+ * <ul>
+ *   <li>{@code sb.oauth.http.requests} (timer) - host, method, status</li>
+ *   <li>{@code sb.oauth.operations} (timer) - provider, operation, outcome, error</li>
+ *   <li>{@code sb.oauth.errors} (counter) - provider, operation, error. OAuth error code 를 돌려받은 경우만</li>
+ *   <li>{@code sb.oauth.http.pool.leased|pending|available|max} (gauge) - 공유 connection pool</li>
+ *   <li>{@code sb.oauth.circuit.transitions} (counter) - provider, from, to</li>
+ *   <li>{@code sb.oauth.circuit.state} (gauge) - provider. 0 CLOSED, 1 OPEN, 2 HALF_OPEN</li>
+ *   <li>{@code sb.oauth.rejected} (counter) - provider, reason</li>
+ *   <li>{@code sb.oauth.hedges} (counter) - provider, winner</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+public class MicrometerOAuthMetricsRecorder implements OAuthMetricsRecorder {
+
+  private final Meter.MeterProvider<Timer> httpTimer;
+  private final Meter.MeterProvider<Timer> operationTimer;
+  private final Meter.MeterProvider<Counter> errorCounter;
+  private final Meter.MeterProvider<Counter> transitionCounter;
+  private final Meter.MeterProvider<Counter> rejectedCounter;
+  private final Meter.MeterProvider<Counter> hedgeCounter;
+  private final MeterRegistry registry;
+  private final ConcurrentMap<String, AtomicInteger> circuitStates = new ConcurrentHashMap<>();
+
+  public MicrometerOAuthMetricsRecorder(MeterRegistry registry) {
+    this.registry = Preconditions.notNull(registry, "registry must not null");
+    this.httpTimer = Timer.builder("sb.oauth.http.requests")
+        .description("HTTP requests sent to OAuth providers")
+        .withRegistry(registry);
+    this.operationTimer = Timer.builder("sb.oauth.operations")
+        .description("OAuth token and resource operations")
+        .withRegistry(registry);
+    this.errorCounter = Counter.builder("sb.oauth.errors")
+        .description("OAuth error codes returned by providers")
+        .withRegistry(registry);
+    this.transitionCounter = Counter.builder("sb.oauth.circuit.transitions")
+        .description("circuit breaker state changes")
+        .withRegistry(registry);
+    this.rejectedCounter = Counter.builder("sb.oauth.rejected")
+        .description("calls rejected without reaching the provider")
+        .withRegistry(registry);
+    this.hedgeCounter = Counter.builder("sb.oauth.hedges")
+        .description("calls that sent a hedged request")
+        .withRegistry(registry);
+
+    Gauge.builder("sb.oauth.http.pool.leased", () -> HttpRequest.poolStats().leased())
+        .description("connections in use").register(registry);
+    Gauge.builder("sb.oauth.http.pool.pending", () -> HttpRequest.poolStats().pending())
+        .description("requests waiting for a connection").register(registry);
+    Gauge.builder("sb.oauth.http.pool.available", () -> HttpRequest.poolStats().available())
+        .description("idle connections").register(registry);
+    Gauge.builder("sb.oauth.http.pool.max", () -> HttpRequest.poolStats().max())
+        .description("max connections").register(registry);
+  }
+
+  @Override
+  public void recordHttpRequest(String host, OAuthHttpVerb verb, int status, long durationNanos) {
+    httpTimer.withTags(Tags.of(
+            "host", host,
+            "method", verb.name(),
+            "status", OAuthMetrics.statusClass(status)))
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordOperation(String provider, String operation, String outcome, String errorCode, long durationNanos) {
+    operationTimer.withTags(Tags.of(
+            "provider", provider,
+            "operation", operation,
+            "outcome", outcome,
+            "error", errorCode))
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+    if (!OAuthMetrics.NONE.equals(errorCode)) {
+      errorCounter.withTags(Tags.of("provider", provider, "operation", operation, "error", errorCode)).increment();
+    }
+  }
+
+  @Override
+  public void recordCircuitStateChange(String provider, String from, String to) {
+    transitionCounter.withTags(Tags.of("provider", provider, "from", from, "to", to)).increment();
+    int value = switch (to) {
+      case "OPEN" -> 1;
+      case "HALF_OPEN" -> 2;
+      default -> 0;
+    };
+    circuitStates.computeIfAbsent(provider, key -> registry.gauge("sb.oauth.circuit.state",
+            Tags.of("provider", key), new AtomicInteger()))
+        .set(value);
+  }
+
+  @Override
+  public void recordRejected(String provider, String reason) {
+    rejectedCounter.withTags(Tags.of("provider", provider, "reason", reason)).increment();
+  }
+
+  @Override
+  public void recordHedge(String provider, String winner) {
+    hedgeCounter.withTags(Tags.of("provider", provider, "winner", winner)).increment();
+  }
+}
@@ -0,0 +1,159 @@
+package org.scriptonbasestar.oauth.client.metrics;
+
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.exception.OAuthException;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkRemoteException;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.exception.OAuthRejectedException;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 전역 {@link OAuthMetricsRecorder}.
+ * <p>
+ * 등록된 recorder 가 없으면 ({@link OAuthMetricsRecorder#NOOP}) 시간 측정도 하지 않고 바로 호출한다.
+ *
+ * <pre>{@code
+ * OAuthMetrics.setRecorder(new MicrometerOAuthMetricsRecorder(meterRegistry));
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class OAuthMetrics {
+
+  public static final String ISSUE = "issue";
+  public static final String REFRESH = "refresh";
+  public static final String REVOKE = "revoke";
+  public static final String RESOURCE = "resource";
+
+  public static final String SUCCESS = "success";
+  /**
+   * 응답은 받았지만 provider 가 OAuth error 를 돌려준 경우
+   */
+  public static final String OAUTH_ERROR = "oauth_error";
+  /**
+   * resource 호출이 2xx 가 아닌 응답을 받은 경우
+   */
+  public static final String HTTP_ERROR = "http_error";
+  public static final String NETWORK_ERROR = "network_error";
+  public static final String PARSE_ERROR = "parse_error";
+  /**
+   * circuit breaker, bulkhead 가 호출 전에 거절한 경우
+   */
+  public static final String REJECTED = "rejected";
+  public static final String ERROR = "error";
+
+  public static final String NONE = "none";
+
+  private static volatile OAuthMetricsRecorder recorder = OAuthMetricsRecorder.NOOP;
+
+  private OAuthMetrics() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  public static void setRecorder(OAuthMetricsRecorder recorder) {
+    OAuthMetrics.recorder = Preconditions.notNull(recorder, "recorder must not null");
+  }
+
+  /**
+   * {@link OAuthMetricsRecorder#NOOP} 으로 되돌린다.
+   */
+  public static void reset() {
+    recorder = OAuthMetricsRecorder.NOOP;
+  }
+
+  public static OAuthMetricsRecorder recorder() {
+    return recorder;
+  }
+
+  public static boolean isEnabled() {
+    return recorder != OAuthMetricsRecorder.NOOP;
+  }
+
+  /**
+   * connector 의 토큰 요청을 측정한다. 예외는 그대로 다시 던진다.
+   *
+   * @param provider  provider 이름
+   * @param operation {@link #ISSUE}, {@link #REFRESH}, {@link #REVOKE}
+   * @param call      실제 요청
+   * @return {@code call} 의 결과
+   */
+  public static <T extends TokenPack> T observe(String provider, String operation, Supplier<T> call) {
+    OAuthMetricsRecorder current = recorder;
+    if (current == OAuthMetricsRecorder.NOOP) {
+      return call.get();
+    }
+    long start = System.nanoTime();
+    try {
+      T token = call.get();
+      String error = token == null ? null : token.getError();
+      current.recordOperation(provider, operation, error == null ? SUCCESS : OAUTH_ERROR,
+          error == null ? NONE : error, System.nanoTime() - start);
+      return token;
+    } catch (RuntimeException e) {
+      current.recordOperation(provider, operation, outcome(e), NONE, System.nanoTime() - start);
+      throw e;
+    }
+  }
+
+  /**
+   * {@link #observe} 의 비동기 버전. future 가 끝날 때 기록한다
+   */
+  public static <T extends TokenPack> CompletableFuture<T> observeAsync(
+      String provider, String operation, Supplier<CompletableFuture<T>> call) {
+    OAuthMetricsRecorder current = recorder;
+    if (current == OAuthMetricsRecorder.NOOP) {
+      return call.get();
+    }
+    long start = System.nanoTime();
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    return future.whenComplete((token, failure) -> {
+      long elapsed = System.nanoTime() - start;
+      if (failure != null) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        current.recordOperation(provider, operation,
+            cause instanceof RuntimeException e ? outcome(e) : ERROR, NONE, elapsed);
+        return;
+      }
+      String error = token == null ? null : token.getError();
+      current.recordOperation(provider, operation, error == null ? SUCCESS : OAUTH_ERROR,
+          error == null ? NONE : error, elapsed);
+    });
+  }
+
+  /**
+   * @return {@code 2xx}, {@code 4xx} 등. 응답이 없으면 ({@code status < 100}) {@link #NONE}
+   */
+  public static String statusClass(int status) {
+    return switch (status / 100) {
+      case 1 -> "1xx";
+      case 2 -> "2xx";
+      case 3 -> "3xx";
+      case 4 -> "4xx";
+      case 5 -> "5xx";
+      default -> NONE;
+    };
+  }
+
+  static String outcome(RuntimeException e) {
+    if (!(e instanceof OAuthException oauthException)) {
+      return ERROR;
+    }
+    return switch (oauthException) {
+      case OAuthNetworkException ignored -> NETWORK_ERROR;
+      case OAuthNetworkRemoteException ignored -> NETWORK_ERROR;
+      case OAuthParsingException ignored -> PARSE_ERROR;
+      case OAuthRejectedException ignored -> REJECTED;
+      default -> ERROR;
+    };
+  }
+}
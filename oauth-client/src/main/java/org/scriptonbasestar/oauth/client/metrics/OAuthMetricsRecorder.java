@@ -0,0 +1,68 @@
+package org.scriptonbasestar.oauth.client.metrics;
+
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+
+/**
+ * 측정값을 받는 쪽. {@link OAuthMetrics#setRecorder(OAuthMetricsRecorder)} 로 등록한다.
+ * <p>
+ * 기본 구현은 {@link #NOOP} 이고, Micrometer 를 쓰면 {@link MicrometerOAuthMetricsRecorder} 를 등록한다.
+ * 호출은 요청 스레드에서 바로 일어나므로 구현은 막히지 않아야 한다.
+ *
+ * @since 2.0.0
+ */
+public interface OAuthMetricsRecorder {
+
+  OAuthMetricsRecorder NOOP = new OAuthMetricsRecorder() {
+  };
+
+  /**
+   * provider 로 나간 HTTP 요청 하나.
+   *
+   * @param host          요청 host
+   * @param verb          GET/POST
+   * @param status        HTTP status. 응답을 받지 못했으면 {@code -1}
+   * @param durationNanos 요청 시작부터 body 를 다 읽을 때까지
+   */
+  default void recordHttpRequest(String host, OAuthHttpVerb verb, int status, long durationNanos) {
+  }
+
+  /**
+   * connector 의 issue/refresh/revoke, resource 호출 하나.
+   *
+   * @param provider      naver, kakao, google, facebook 등
+   * @param operation     {@link OAuthMetrics#ISSUE} 등
+   * @param outcome       {@link OAuthMetrics#SUCCESS} 등
+   * @param errorCode     OAuth error code. 없으면 {@link OAuthMetrics#NONE}
+   * @param durationNanos 소요 시간
+   */
+  default void recordOperation(String provider, String operation, String outcome, String errorCode, long durationNanos) {
+  }
+
+  /**
+   * circuit breaker 상태 변경.
+   *
+   * @param provider circuit breaker 이름
+   * @param from     이전 상태. {@code CLOSED}, {@code OPEN}, {@code HALF_OPEN}
+   * @param to       바뀐 상태
+   */
+  default void recordCircuitStateChange(String provider, String from, String to) {
+  }
+
+  /**
+   * provider 를 호출하지 않고 거절한 요청 하나.
+   *
+   * @param provider provider 이름
+   * @param reason   {@code CIRCUIT_OPEN}, {@code BULKHEAD_FULL} 등
+   */
+  default void recordRejected(String provider, String reason) {
+  }
+
+  /**
+   * hedge 요청을 보낸 호출 하나.
+   *
+   * @param provider provider 이름
+   * @param winner   먼저 끝난 쪽. {@code primary} 또는 {@code hedge}
+   */
+  default void recordHedge(String provider, String winner) {
+  }
+}
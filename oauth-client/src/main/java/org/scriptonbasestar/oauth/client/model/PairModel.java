@@ -1,11 +1,29 @@
 package org.scriptonbasestar.oauth.client.model;
 
+import java.util.Objects;
+
 public class PairModel<A, B> {
-  private A a;
-  private B b;
+  private final A a;
+  private final B b;
 
   public PairModel(A a, B b) {
     this.a = a;
     this.b = b;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PairModel<?, ?> other)) {
+      return false;
+    }
+    return Objects.equals(a, other.a) && Objects.equals(b, other.b);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Objects.hashCode(a) + Objects.hashCode(b);
+  }
 }
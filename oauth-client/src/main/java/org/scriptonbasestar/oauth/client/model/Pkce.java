@@ -0,0 +1,66 @@
+package org.scriptonbasestar.oauth.client.model;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+import org.scriptonbasestar.oauth.client.util.SBStringDigestUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * PKCE (RFC 7636) code_verifier 와 S256 code_challenge.
+ * authorize 요청에는 {@link #challenge()} 를, token 요청에는 {@link #verifier()} 를 보낸다.
+ *
+ * <pre>{@code
+ * Pkce pkce = Pkce.generate();
+ * String url = authorizeFunction.generate(state, pkce);
+ * // callback
+ * TokenRes token = accessTokenFunction.issue(verifier, state, pkce);
+ * }</pre>
+ *
+ * @param verifier  code_verifier. {@code [A-Za-z0-9-._~]} 43~128자
+ * @param challenge BASE64URL(SHA256(verifier))
+ * @since 2.0.0
+ */
+public record Pkce(String verifier, String challenge) {
+
+  public static final String METHOD_S256 = "S256";
+
+  private static final Pattern VERIFIER_PATTERN = Pattern.compile("[A-Za-z0-9._~-]{43,128}");
+  private static final int VERIFIER_BYTES = 32;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  public Pkce {
+    Preconditions.isTrue(verifier != null && VERIFIER_PATTERN.matcher(verifier).matches(),
+        "verifier must be 43-128 unreserved characters");
+    Preconditions.notEmptyString(challenge, "challenge must not null or empty");
+  }
+
+  /**
+   * 32 byte 난수로 43자 verifier 를 만든다
+   */
+  public static Pkce generate() {
+    byte[] random = new byte[VERIFIER_BYTES];
+    SBSingleInstances.getSecureRandom().nextBytes(random);
+    //base64url 결과는 ASCII 라서 String 을 거치지 않고 바로 hash 한다
+    byte[] verifier = ENCODER.encode(random);
+    return new Pkce(new String(verifier, StandardCharsets.US_ASCII), challenge(verifier));
+  }
+
+  /**
+   * 저장해 둔 verifier 에서 다시 만든다
+   */
+  public static Pkce of(String verifier) {
+    Preconditions.notNull(verifier, "verifier must not null");
+    return new Pkce(verifier, challenge(verifier.getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  public String method() {
+    return METHOD_S256;
+  }
+
+  private static String challenge(byte[] verifier) {
+    return ENCODER.encodeToString(SBStringDigestUtil.sha256(verifier, 0, verifier.length));
+  }
+}
@@ -0,0 +1,161 @@
+package org.scriptonbasestar.oauth.client.nobi.state;
+
+import org.scriptonbasestar.oauth.client.exception.OAuthAuthException;
+import org.scriptonbasestar.oauth.client.model.Pkce;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * PKCE verifier 를 state 안에 넣어서 StateStorage 없이 callback 에서 꺼낸다.
+ * <p>
+ * state 는 브라우저를 거치므로 verifier 를 AES-GCM 으로 암호화한다. GCM tag 가 서명 역할을 해서 위조, 변조된 state 는 거절한다.
+ * 만료 시각을 같이 넣고, {@code binding} (세션 id 등) 을 주면 AAD 로 묶어서 다른 세션의 state 도 거절한다.
+ * 재사용은 막지 않는다. authorization code 가 한 번만 쓰이는 것에 기댄다.
+ *
+ * <pre>{@code
+ * PkceStateCodec codec = PkceStateCodec.builder(secretKey).ttl(Duration.ofMinutes(10)).build();
+ * Pkce pkce = Pkce.generate();
+ * String url = authorizeFunction.generate(codec.encode(pkce, session.getId()), pkce);
+ * // callback
+ * Pkce restored = codec.decode(new State(request.getParameter("state")), session.getId());
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class PkceStateCodec {
+
+  private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+  private static final int IV_LENGTH = 12;
+  private static final int TAG_BITS = 128;
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final SecretKeySpec key;
+  private final Duration ttl;
+  private final Clock clock;
+
+  private PkceStateCodec(Builder builder) {
+    this.key = new SecretKeySpec(builder.key, "AES");
+    this.ttl = builder.ttl;
+    this.clock = builder.clock;
+  }
+
+  /**
+   * @param key AES key. 16, 24, 32 byte. 여러 서버가 같은 key 를 써야 한다
+   */
+  public static Builder builder(byte[] key) {
+    return new Builder(key);
+  }
+
+  public State encode(Pkce pkce) {
+    return encode(pkce, null);
+  }
+
+  /**
+   * @param binding null 이면 묶지 않는다
+   */
+  public State encode(Pkce pkce, String binding) {
+    Preconditions.notNull(pkce, "pkce must not null");
+    byte[] verifier = pkce.verifier().getBytes(StandardCharsets.US_ASCII);
+    byte[] plain = ByteBuffer.allocate(Long.BYTES + verifier.length)
+        .putLong(clock.instant().plus(ttl).getEpochSecond())
+        .put(verifier)
+        .array();
+    byte[] iv = new byte[IV_LENGTH];
+    SBSingleInstances.getSecureRandom().nextBytes(iv);
+    try {
+      Cipher cipher = cipher(Cipher.ENCRYPT_MODE, iv, binding);
+      byte[] out = new byte[IV_LENGTH + cipher.getOutputSize(plain.length)];
+      System.arraycopy(iv, 0, out, 0, IV_LENGTH);
+      cipher.doFinal(plain, 0, plain.length, out, IV_LENGTH);
+      return new State(ENCODER.encodeToString(out));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to encrypt state", e);
+    }
+  }
+
+  public Pkce decode(State state) {
+    return decode(state, null);
+  }
+
+  /**
+   * @param binding {@link #encode(Pkce, String)} 에 넘긴 값
+   * @throws OAuthAuthException 형식이 틀리거나, 변조되었거나, binding 이 다르거나, 만료된 state
+   */
+  public Pkce decode(State state, String binding) {
+    Preconditions.notNull(state, "state must not null");
+    byte[] in;
+    try {
+      in = DECODER.decode(state.value());
+    } catch (IllegalArgumentException e) {
+      throw new OAuthAuthException("state is not a sealed PKCE state", e);
+    }
+    if (in.length <= IV_LENGTH + TAG_BITS / 8 + Long.BYTES) {
+      throw new OAuthAuthException("state is not a sealed PKCE state");
+    }
+    byte[] plain;
+    try {
+      Cipher cipher = cipher(Cipher.DECRYPT_MODE, Arrays.copyOf(in, IV_LENGTH), binding);
+      plain = cipher.doFinal(in, IV_LENGTH, in.length - IV_LENGTH);
+    } catch (GeneralSecurityException e) {
+      throw new OAuthAuthException("state is forged or bound to another session", e);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(plain);
+    if (buffer.getLong() < clock.instant().getEpochSecond()) {
+      throw new OAuthAuthException("state expired");
+    }
+    return Pkce.of(new String(plain, Long.BYTES, plain.length - Long.BYTES, StandardCharsets.US_ASCII));
+  }
+
+  private Cipher cipher(int mode, byte[] iv, String binding) throws GeneralSecurityException {
+    Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+    cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, iv));
+    if (binding != null) {
+      cipher.updateAAD(binding.getBytes(StandardCharsets.UTF_8));
+    }
+    return cipher;
+  }
+
+  public static final class Builder {
+    private final byte[] key;
+    private Duration ttl = Duration.ofMinutes(10);
+    private Clock clock = Clock.systemUTC();
+
+    private Builder(byte[] key) {
+      Preconditions.notNull(key, "key must not null");
+      Preconditions.isTrue(key.length == 16 || key.length == 24 || key.length == 32, "key must be 16, 24 or 32 bytes");
+      this.key = key.clone();
+    }
+
+    /**
+     * @param ttl 로그인 화면에 머물 수 있는 시간. 기본값 10분
+     */
+    public Builder ttl(Duration ttl) {
+      Preconditions.notNull(ttl, "ttl must not null");
+      Preconditions.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+      this.ttl = ttl;
+      return this;
+    }
+
+    Builder clock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public PkceStateCodec build() {
+      return new PkceStateCodec(this);
+    }
+  }
+}
@@ -1,9 +1,13 @@
 package org.scriptonbasestar.oauth.client.nobi.token;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.scriptonbasestar.oauth.client.TokenPack;
 import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.jfr.TokenExtractEvent;
+import org.scriptonbasestar.oauth.client.tracing.OAuthSpan;
+import org.scriptonbasestar.oauth.client.tracing.OAuthTracing;
 import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
 
 import java.io.IOException;
@@ -14,25 +18,50 @@ import java.io.IOException;
  */
 public class JsonTokenExtractor<TOKEN extends TokenPack>
     implements TokenExtractor<TOKEN> {
-  private static ObjectMapper mapper;
-  private final TypeReference<TOKEN> collectionType;
+  private final ObjectMapper mapper;
+  private final JavaType tokenType;
 
   public JsonTokenExtractor(TypeReference<TOKEN> collectionType) {
-    this.mapper = SBSingleInstances.getObjectMapper();
-    this.collectionType = collectionType;
+    this(SBSingleInstances.getObjectMapper(), collectionType);
   }
 
   public JsonTokenExtractor(ObjectMapper mapper, TypeReference<TOKEN> collectionType) {
     this.mapper = mapper;
-    this.collectionType = collectionType;
+    this.tokenType = mapper.getTypeFactory().constructType(collectionType);
+  }
+
+  /**
+   * {@code new TypeReference<X>() {}} 처럼 익명 class 의 generic signature 를 읽지 않는다. native image 에서는 이쪽을 쓴다
+   *
+   * @param tokenType connector 의 {@code *TokenRes}
+   */
+  public JsonTokenExtractor(Class<TOKEN> tokenType) {
+    this(SBSingleInstances.getObjectMapper(), tokenType);
+  }
+
+  public JsonTokenExtractor(ObjectMapper mapper, Class<TOKEN> tokenType) {
+    this.mapper = mapper;
+    this.tokenType = mapper.constructType(tokenType);
   }
 
   @Override
   public TOKEN extract(String responseString) {
-    try {
-      return mapper.readValue(responseString, collectionType);
-    } catch (IOException e) {
-      throw new OAuthParsingException("fail to parse json response", e);
+    TokenExtractEvent event = new TokenExtractEvent();
+    event.begin();
+    boolean success = false;
+    try (OAuthSpan span = OAuthTracing.startSpan("oauth.token.extract")) {
+      span.setAttribute(OAuthTracing.EXTRACTOR, getClass().getSimpleName());
+      try {
+        TOKEN token = mapper.readValue(responseString, tokenType);
+        success = true;
+        return token;
+      } catch (IOException e) {
+        OAuthParsingException exception = new OAuthParsingException("fail to parse json response", e);
+        span.recordError(exception);
+        throw exception;
+      }
+    } finally {
+      event.finish(getClass(), responseString, success);
     }
   }
 }
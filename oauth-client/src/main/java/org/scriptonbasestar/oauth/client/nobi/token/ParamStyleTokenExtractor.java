@@ -4,6 +4,9 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.scriptonbasestar.oauth.client.TokenPack;
 import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.jfr.TokenExtractEvent;
+import org.scriptonbasestar.oauth.client.tracing.OAuthSpan;
+import org.scriptonbasestar.oauth.client.tracing.OAuthTracing;
 import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
 
 import java.io.IOException;
@@ -31,10 +34,22 @@ public class ParamStyleTokenExtractor<TOKEN extends TokenPack>
 
   @Override
   public TOKEN extract(String responseString) {
-    try {
-      return mapper.readValue(responseString, collectionType);
-    } catch (IOException e) {
-      throw new OAuthParsingException("fail to parse json response", e);
+    TokenExtractEvent event = new TokenExtractEvent();
+    event.begin();
+    boolean success = false;
+    try (OAuthSpan span = OAuthTracing.startSpan("oauth.token.extract")) {
+      span.setAttribute(OAuthTracing.EXTRACTOR, getClass().getSimpleName());
+      try {
+        TOKEN token = mapper.readValue(responseString, collectionType);
+        success = true;
+        return token;
+      } catch (IOException e) {
+        OAuthParsingException exception = new OAuthParsingException("fail to parse json response", e);
+        span.recordError(exception);
+        throw exception;
+      }
+    } finally {
+      event.finish(getClass(), responseString, success);
     }
   }
 }
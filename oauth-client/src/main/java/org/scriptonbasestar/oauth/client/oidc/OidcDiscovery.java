@@ -0,0 +1,296 @@
+package org.scriptonbasestar.oauth.client.oidc;
+
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkRemoteException;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.exception.OAuthUnknownException;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * issuer 하나의 OpenID provider configuration ({@code {issuer}/.well-known/openid-configuration}).
+ * <ul>
+ *   <li>받은 지 {@code refreshAfter} 안이면 그대로 쓴다</li>
+ *   <li>그 뒤 {@code maxStale} 까지는 가지고 있는 문서를 바로 돌려주고 background (virtual thread) 에서 다시 받는다 (stale-while-revalidate)</li>
+ *   <li>{@code maxStale} 도 지나면 다시 받을 때까지 기다린다. 실패하면 가지고 있는 문서를 쓴다</li>
+ *   <li>다시 받다가 실패하면 {@code retryInterval} 동안은 가지고 있는 문서만 쓰고 다시 받지 않는다</li>
+ * </ul>
+ * {@link Builder#snapshot(Path)} 를 주면 받은 문서를 파일에 저장하고, 시작할 때 그 파일을 먼저 읽는다.
+ * 파일이 있으면 시작할 때 네트워크를 기다리지 않는다.
+ * <p>
+ * 다시 받는 요청은 동시에 하나만 나간다.
+ *
+ * <pre>{@code
+ * OidcDiscovery google = OidcDiscovery.builder("https://accounts.google.com")
+ *     .snapshot(Path.of("/var/cache/sb-oauth/google-openid-configuration.json"))
+ *     .build();
+ * String tokenEndpoint = google.metadata().tokenEndpoint();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class OidcDiscovery {
+
+  private static final Logger log = LoggerFactory.getLogger(OidcDiscovery.class);
+
+  public static final String WELL_KNOWN_PATH = "/.well-known/openid-configuration";
+
+  private final String issuer;
+  private final String configurationUri;
+  private final Duration refreshAfter;
+  private final Duration maxStale;
+  private final Duration retryInterval;
+  private final Path snapshot;
+  private final Clock clock;
+
+  private volatile Cached cached;
+  //마지막 실패 뒤 다시 받아도 되는 시각. 실패하지 않았으면 null
+  private volatile Instant retryAt;
+  private final AtomicReference<CompletableFuture<OidcProviderMetadata>> inFlight = new AtomicReference<>();
+
+  private OidcDiscovery(Builder builder) {
+    this.issuer = builder.issuer;
+    this.configurationUri = builder.configurationUri != null
+        ? builder.configurationUri
+        : stripTrailingSlash(builder.issuer) + WELL_KNOWN_PATH;
+    this.refreshAfter = builder.refreshAfter;
+    this.maxStale = builder.maxStale;
+    this.retryInterval = builder.retryInterval;
+    this.snapshot = builder.snapshot;
+    this.clock = builder.clock;
+    this.cached = loadSnapshot();
+  }
+
+  /**
+   * @param issuer {@code https://accounts.google.com}, {@code https://kauth.kakao.com} 등
+   */
+  public static Builder builder(String issuer) {
+    return new Builder(issuer);
+  }
+
+  public String getIssuer() {
+    return issuer;
+  }
+
+  /**
+   * 가지고 있는 문서가 없을 때만 네트워크를 기다린다.
+   *
+   * @throws OAuthNetworkRemoteException 가지고 있는 문서가 없고 받아 오지도 못한 경우
+   */
+  public OidcProviderMetadata metadata() {
+    Cached current = cached;
+    if (current == null) {
+      return await(refreshAsync());
+    }
+    Duration age = Duration.between(current.fetchedAt(), clock.instant());
+    if (age.compareTo(refreshAfter) < 0) {
+      return current.metadata();
+    }
+    Instant retry = retryAt;
+    if (retry != null && clock.instant().isBefore(retry)) {
+      return current.metadata();
+    }
+    if (age.compareTo(refreshAfter.plus(maxStale)) < 0) {
+      refreshAsync();
+      return current.metadata();
+    }
+    try {
+      return await(refreshAsync());
+    } catch (OAuthNetworkException | OAuthNetworkRemoteException | OAuthParsingException e) {
+      log.debug("using document fetched at {}", current.fetchedAt());
+      return current.metadata();
+    }
+  }
+
+  /**
+   * 지금 다시 받는다. 이미 받고 있으면 그 결과를 같이 기다린다. {@code retryInterval} 과 상관없이 받는다.
+   */
+  public CompletableFuture<OidcProviderMetadata> refreshAsync() {
+    while (true) {
+      CompletableFuture<OidcProviderMetadata> running = inFlight.get();
+      if (running != null) {
+        return running;
+      }
+      CompletableFuture<OidcProviderMetadata> mine = new CompletableFuture<>();
+      if (inFlight.compareAndSet(null, mine)) {
+        Thread.ofVirtual().name("sb-oauth-oidc-discovery").start(() -> refresh(mine));
+        return mine;
+      }
+    }
+  }
+
+  private void refresh(CompletableFuture<OidcProviderMetadata> future) {
+    OidcProviderMetadata metadata;
+    try {
+      metadata = fetch();
+      cached = new Cached(metadata, clock.instant());
+      retryAt = null;
+      saveSnapshot(metadata);
+    } catch (RuntimeException e) {
+      retryAt = clock.instant().plus(retryInterval);
+      log.warn("failed to fetch {}, not retrying until {}: {}", configurationUri, retryAt, e.toString());
+      //끝난 future 를 다음 호출이 받지 않도록 먼저 비운다
+      inFlight.compareAndSet(future, null);
+      future.completeExceptionally(e);
+      return;
+    }
+    inFlight.compareAndSet(future, null);
+    future.complete(metadata);
+  }
+
+  private OidcProviderMetadata fetch() {
+    HttpResult result = HttpRequest.create(configurationUri).execute(OAuthHttpVerb.GET);
+    if (!result.isSuccess()) {
+      throw new OAuthNetworkRemoteException(configurationUri + " returned HTTP " + result.status());
+    }
+    OidcProviderMetadata metadata = checkIssuer(OidcProviderMetadata.parse(result.body()));
+    log.debug("fetched {}", configurationUri);
+    return metadata;
+  }
+
+  private Cached loadSnapshot() {
+    if (snapshot == null || !Files.isReadable(snapshot)) {
+      return null;
+    }
+    try {
+      //다른 provider 의 파일을 복사해 둔 경우 등은 쓰지 않는다
+      OidcProviderMetadata metadata = checkIssuer(OidcProviderMetadata.parse(Files.readString(snapshot, StandardCharsets.UTF_8)));
+      //시작할 때 바로 쓰고, 처음 쓸 때 background 에서 다시 받는다
+      return new Cached(metadata, clock.instant().minus(refreshAfter));
+    } catch (IOException | OAuthParsingException e) {
+      log.warn("ignoring unreadable OpenID configuration snapshot {}: {}", snapshot, e.getMessage());
+      return null;
+    }
+  }
+
+  private void saveSnapshot(OidcProviderMetadata metadata) {
+    if (snapshot == null) {
+      return;
+    }
+    Path target = snapshot.toAbsolutePath();
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+      Files.writeString(temp, metadata.json(), StandardCharsets.UTF_8);
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      temp = null;
+    } catch (IOException e) {
+      log.warn("failed to write OpenID configuration snapshot {}: {}", snapshot, e.getMessage());
+    } finally {
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException e) {
+          log.debug("failed to delete {}: {}", temp, e.getMessage());
+        }
+      }
+    }
+  }
+
+  private OidcProviderMetadata checkIssuer(OidcProviderMetadata metadata) {
+    if (!stripTrailingSlash(issuer).equals(stripTrailingSlash(metadata.issuer()))) {
+      throw new OAuthParsingException("issuer mismatch: expected " + issuer + " but was " + metadata.issuer());
+    }
+    return metadata;
+  }
+
+  private static OidcProviderMetadata await(CompletableFuture<OidcProviderMetadata> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OAuthNetworkException("interrupted while fetching OpenID configuration", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new OAuthUnknownException(e.getCause());
+    }
+  }
+
+  private static String stripTrailingSlash(String uri) {
+    return uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+  }
+
+  private record Cached(OidcProviderMetadata metadata, Instant fetchedAt) {
+  }
+
+  public static final class Builder {
+    private final String issuer;
+    private String configurationUri;
+    private Duration refreshAfter = Duration.ofHours(1);
+    private Duration maxStale = Duration.ofDays(7);
+    private Duration retryInterval = Duration.ofMinutes(1);
+    private Path snapshot;
+    private Clock clock = Clock.systemUTC();
+
+    private Builder(String issuer) {
+      this.issuer = Preconditions.notEmptyString(issuer, "issuer must not null or empty");
+    }
+
+    /**
+     * @param configurationUri issuer 뒤에 {@link #WELL_KNOWN_PATH} 를 붙인 주소가 아닐 때
+     */
+    public Builder configurationUri(String configurationUri) {
+      this.configurationUri = Preconditions.notEmptyString(configurationUri, "configurationUri must not null or empty");
+      return this;
+    }
+
+    /**
+     * @param refreshAfter 이 시간이 지나면 background 에서 다시 받는다. 기본값 1시간
+     */
+    public Builder refreshAfter(Duration refreshAfter) {
+      this.refreshAfter = Preconditions.notNull(refreshAfter, "refreshAfter must not null");
+      return this;
+    }
+
+    /**
+     * @param maxStale refreshAfter 뒤에 기다리지 않고 예전 문서를 쓸 수 있는 시간. 기본값 7일
+     */
+    public Builder maxStale(Duration maxStale) {
+      this.maxStale = Preconditions.notNull(maxStale, "maxStale must not null");
+      return this;
+    }
+
+    /**
+     * @param retryInterval 다시 받다가 실패하면 이 시간 동안은 가지고 있는 문서를 쓰고 다시 받지 않는다. 기본값 1분
+     */
+    public Builder retryInterval(Duration retryInterval) {
+      this.retryInterval = Preconditions.notNull(retryInterval, "retryInterval must not null");
+      return this;
+    }
+
+    /**
+     * @param snapshot 받은 문서를 저장하고 시작할 때 읽을 파일
+     */
+    public Builder snapshot(Path snapshot) {
+      this.snapshot = Preconditions.notNull(snapshot, "snapshot must not null");
+      return this;
+    }
+
+    Builder clock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public OidcDiscovery build() {
+      return new OidcDiscovery(this);
+    }
+  }
+}
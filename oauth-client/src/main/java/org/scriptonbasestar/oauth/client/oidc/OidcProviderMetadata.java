@@ -0,0 +1,90 @@
+package org.scriptonbasestar.oauth.client.oidc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code /.well-known/openid-configuration} 문서 중 connector 가 쓰는 값.
+ *
+ * @param issuer                           {@code issuer}
+ * @param authorizationEndpoint            {@code authorization_endpoint}
+ * @param tokenEndpoint                    {@code token_endpoint}
+ * @param userinfoEndpoint                 {@code userinfo_endpoint} (nullable)
+ * @param jwksUri                          {@code jwks_uri}
+ * @param revocationEndpoint               {@code revocation_endpoint} (nullable)
+ * @param endSessionEndpoint               {@code end_session_endpoint} (nullable)
+ * @param scopesSupported                  {@code scopes_supported}
+ * @param idTokenSigningAlgValuesSupported {@code id_token_signing_alg_values_supported}
+ * @param codeChallengeMethodsSupported    {@code code_challenge_methods_supported}
+ * @param json                             원본 문서
+ * @since 2.0.0
+ */
+public record OidcProviderMetadata(
+  String issuer,
+  String authorizationEndpoint,
+  String tokenEndpoint,
+  String userinfoEndpoint,
+  String jwksUri,
+  String revocationEndpoint,
+  String endSessionEndpoint,
+  List<String> scopesSupported,
+  List<String> idTokenSigningAlgValuesSupported,
+  List<String> codeChallengeMethodsSupported,
+  String json
+) {
+
+  /**
+   * @throws OAuthParsingException JSON 이 아니거나 issuer, authorization_endpoint, token_endpoint 가 없는 경우
+   */
+  public static OidcProviderMetadata parse(String json) {
+    JsonNode root;
+    try {
+      root = SBSingleInstances.getObjectMapper().readTree(json);
+    } catch (IOException e) {
+      throw new OAuthParsingException("invalid OpenID provider configuration", e);
+    }
+    if (root == null || !root.isObject()) {
+      throw new OAuthParsingException("invalid OpenID provider configuration");
+    }
+    return new OidcProviderMetadata(
+        required(root, "issuer"),
+        required(root, "authorization_endpoint"),
+        required(root, "token_endpoint"),
+        text(root, "userinfo_endpoint"),
+        text(root, "jwks_uri"),
+        text(root, "revocation_endpoint"),
+        text(root, "end_session_endpoint"),
+        list(root, "scopes_supported"),
+        list(root, "id_token_signing_alg_values_supported"),
+        list(root, "code_challenge_methods_supported"),
+        json);
+  }
+
+  private static String required(JsonNode root, String name) {
+    String value = text(root, name);
+    if (value == null || value.isEmpty()) {
+      throw new OAuthParsingException("OpenID provider configuration has no " + name);
+    }
+    return value;
+  }
+
+  private static String text(JsonNode root, String name) {
+    JsonNode node = root.get(name);
+    return node == null || node.isNull() ? null : node.asText();
+  }
+
+  private static List<String> list(JsonNode root, String name) {
+    JsonNode node = root.get(name);
+    if (node == null || !node.isArray()) {
+      return List.of();
+    }
+    List<String> values = new ArrayList<>(node.size());
+    node.forEach(value -> values.add(value.asText()));
+    return List.copyOf(values);
+  }
+}
@@ -0,0 +1,78 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * provider 하나에 동시에 나가는 호출 수 제한. 느린 provider 가 모든 thread 를 잡고 있지 못하게 한다.
+ *
+ * @since 2.0.0
+ */
+public final class Bulkhead {
+
+  private final String name;
+  private final int maxConcurrentCalls;
+  private final long maxWaitNanos;
+  private final Semaphore permits;
+
+  /**
+   * @param name               provider 이름
+   * @param maxConcurrentCalls 동시 호출 수
+   * @param maxWait            자리가 날 때까지 기다릴 시간. {@link Duration#ZERO} 면 바로 거절한다
+   */
+  public Bulkhead(String name, int maxConcurrentCalls, Duration maxWait) {
+    Preconditions.notEmptyString(name, "name must not null or empty");
+    Preconditions.isTrue(maxConcurrentCalls >= 1, "maxConcurrentCalls must be positive");
+    Preconditions.notNull(maxWait, "maxWait must not null");
+    this.name = name;
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    this.maxWaitNanos = maxWait.toNanos();
+    this.permits = new Semaphore(maxConcurrentCalls);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getMaxConcurrentCalls() {
+    return maxConcurrentCalls;
+  }
+
+  public int getAvailable() {
+    return permits.availablePermits();
+  }
+
+  /**
+   * @return 자리를 얻었으면 true. true 를 받았으면 반드시 {@link #release()} 를 호출한다
+   */
+  public boolean tryAcquire() {
+    if (permits.tryAcquire()) {
+      return true;
+    }
+    if (maxWaitNanos <= 0) {
+      return false;
+    }
+    try {
+      return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * 기다리지 않는 {@link #tryAcquire()}. async 호출에서 쓴다
+   *
+   * @return 자리를 얻었으면 true. true 를 받았으면 반드시 {@link #release()} 를 호출한다
+   */
+  public boolean tryAcquireNow() {
+    return permits.tryAcquire();
+  }
+
+  public void release() {
+    permits.release();
+  }
+}
@@ -0,0 +1,310 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkRemoteException;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.IntPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * provider 하나의 circuit breaker. 최근 {@code windowSize} 개 호출을 본다.
+ * <ul>
+ *   <li>CLOSED - 실패율이나 느린 호출 비율이 기준을 넘으면 OPEN</li>
+ *   <li>OPEN - {@code openDuration} 동안 호출하지 않고 거절한다. 지나면 HALF_OPEN</li>
+ *   <li>HALF_OPEN - {@code halfOpenCalls} 개만 보내 보고, 기준 아래면 CLOSED, 아니면 다시 OPEN</li>
+ * </ul>
+ * 상태가 바뀔 때 {@link org.scriptonbasestar.oauth.client.metrics.OAuthMetricsRecorder#recordCircuitStateChange} 를 호출한다.
+ *
+ * <pre>{@code
+ * CircuitBreaker breaker = CircuitBreaker.builder("kakao")
+ *     .failureRateThreshold(0.5)
+ *     .slowCall(Duration.ofSeconds(2), 0.8)
+ *     .openDuration(Duration.ofSeconds(30))
+ *     .build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class CircuitBreaker {
+
+  private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  private static final byte FAILURE = 1;
+  private static final byte SLOW = 2;
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final double failureRateThreshold;
+  private final long slowCallNanos;
+  private final double slowCallRateThreshold;
+  private final int minimumCalls;
+  private final long openNanos;
+  private final int halfOpenCalls;
+  private final IntPredicate failureStatus;
+  private final Predicate<RuntimeException> failureException;
+  private final LongSupplier clock;
+
+  //아래는 모두 this 로 보호한다
+  private final byte[] window;
+  private int next;
+  private int recorded;
+  private int failures;
+  private int slowCalls;
+  private State state = State.CLOSED;
+  private long openedAt;
+  private int halfOpenPermitted;
+  private int halfOpenDone;
+  private int halfOpenBad;
+
+  private CircuitBreaker(Builder builder) {
+    this.name = builder.name;
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.slowCallNanos = builder.slowCallDuration.toNanos();
+    this.slowCallRateThreshold = builder.slowCallRateThreshold;
+    this.minimumCalls = Math.min(builder.minimumCalls, builder.windowSize);
+    this.openNanos = builder.openDuration.toNanos();
+    this.halfOpenCalls = builder.halfOpenCalls;
+    this.failureStatus = builder.failureStatus;
+    this.failureException = builder.failureException;
+    this.clock = builder.clock;
+    this.window = new byte[builder.windowSize];
+  }
+
+  /**
+   * @param name provider 이름. metrics, 예외 메시지에 쓴다
+   */
+  public static Builder builder(String name) {
+    return new Builder(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * @return 호출해도 되면 true. true 를 받았으면 반드시 {@link #onResult(long, boolean)} 를 호출한다
+   */
+  public boolean tryAcquire() {
+    State from;
+    synchronized (this) {
+      if (state == State.CLOSED) {
+        return true;
+      }
+      if (state == State.OPEN) {
+        if (clock.getAsLong() - openedAt < openNanos) {
+          return false;
+        }
+        from = state;
+        toHalfOpen();
+      } else {
+        from = null;
+      }
+      if (halfOpenPermitted >= halfOpenCalls) {
+        return false;
+      }
+      halfOpenPermitted++;
+    }
+    notifyChange(from, State.HALF_OPEN);
+    return true;
+  }
+
+  /**
+   * @param durationNanos 호출 시간
+   * @param failure       {@link #isFailure(int)}, {@link #isFailure(RuntimeException)} 결과
+   */
+  public void onResult(long durationNanos, boolean failure) {
+    byte outcome = (byte) ((failure ? FAILURE : 0) | (durationNanos >= slowCallNanos ? SLOW : 0));
+    State from;
+    State to;
+    synchronized (this) {
+      from = state;
+      switch (state) {
+        case CLOSED -> record(outcome);
+        case HALF_OPEN -> recordHalfOpen(outcome);
+        default -> {
+          //OPEN 되기 전에 시작한 호출
+        }
+      }
+      to = state;
+    }
+    notifyChange(from, to);
+  }
+
+  public boolean isFailure(int status) {
+    return failureStatus.test(status);
+  }
+
+  public boolean isFailure(RuntimeException exception) {
+    return failureException.test(exception);
+  }
+
+  private void record(byte outcome) {
+    byte evicted = window[next];
+    if (recorded == window.length) {
+      failures -= evicted & FAILURE;
+      slowCalls -= (evicted & SLOW) >> 1;
+    } else {
+      recorded++;
+    }
+    window[next] = outcome;
+    next = (next + 1) % window.length;
+    failures += outcome & FAILURE;
+    slowCalls += (outcome & SLOW) >> 1;
+
+    if (recorded >= minimumCalls
+        && (failures >= failureRateThreshold * recorded || slowCalls >= slowCallRateThreshold * recorded)) {
+      toOpen();
+    }
+  }
+
+  private void recordHalfOpen(byte outcome) {
+    halfOpenDone++;
+    if (outcome != 0) {
+      halfOpenBad++;
+    }
+    if (halfOpenDone < halfOpenCalls) {
+      return;
+    }
+    double badRate = (double) halfOpenBad / halfOpenDone;
+    if (badRate >= Math.min(failureRateThreshold, slowCallRateThreshold)) {
+      toOpen();
+    } else {
+      state = State.CLOSED;
+      next = 0;
+      recorded = 0;
+      failures = 0;
+      slowCalls = 0;
+    }
+  }
+
+  private void toOpen() {
+    state = State.OPEN;
+    openedAt = clock.getAsLong();
+  }
+
+  private void toHalfOpen() {
+    state = State.HALF_OPEN;
+    halfOpenPermitted = 0;
+    halfOpenDone = 0;
+    halfOpenBad = 0;
+  }
+
+  private void notifyChange(State from, State to) {
+    if (from == null || from == to) {
+      return;
+    }
+    if (to == State.OPEN) {
+      log.warn("circuit breaker {} {} -> {}", name, from, to);
+    } else {
+      log.info("circuit breaker {} {} -> {}", name, from, to);
+    }
+    OAuthMetrics.recorder().recordCircuitStateChange(name, from.name(), to.name());
+  }
+
+  public static final class Builder {
+    private final String name;
+    private double failureRateThreshold = 0.5;
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+    private double slowCallRateThreshold = 1.0;
+    private int windowSize = 50;
+    private int minimumCalls = 20;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private int halfOpenCalls = 3;
+    private IntPredicate failureStatus = status -> status >= 500;
+    private Predicate<RuntimeException> failureException =
+        e -> e instanceof OAuthNetworkException || e instanceof OAuthNetworkRemoteException;
+    private LongSupplier clock = System::nanoTime;
+
+    private Builder(String name) {
+      this.name = Preconditions.notEmptyString(name, "name must not null or empty");
+    }
+
+    /**
+     * @param failureRateThreshold 0 초과 1 이하. 기본값 0.5
+     */
+    public Builder failureRateThreshold(double failureRateThreshold) {
+      Preconditions.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 1, "failureRateThreshold must be (0, 1]");
+      this.failureRateThreshold = failureRateThreshold;
+      return this;
+    }
+
+    /**
+     * @param duration      이보다 오래 걸리면 느린 호출. 기본값 5초
+     * @param rateThreshold 느린 호출 비율 기준. 기본값 1.0 (모두 느릴 때만)
+     */
+    public Builder slowCall(Duration duration, double rateThreshold) {
+      Preconditions.notNull(duration, "duration must not null");
+      Preconditions.isTrue(rateThreshold > 0 && rateThreshold <= 1, "rateThreshold must be (0, 1]");
+      this.slowCallDuration = duration;
+      this.slowCallRateThreshold = rateThreshold;
+      return this;
+    }
+
+    /**
+     * @param windowSize   최근 몇 개 호출로 비율을 계산할지. 기본값 50
+     * @param minimumCalls 이만큼 쌓이기 전에는 OPEN 하지 않는다. 기본값 20
+     */
+    public Builder window(int windowSize, int minimumCalls) {
+      Preconditions.isTrue(windowSize >= 1, "windowSize must be positive");
+      Preconditions.isTrue(minimumCalls >= 1, "minimumCalls must be positive");
+      this.windowSize = windowSize;
+      this.minimumCalls = minimumCalls;
+      return this;
+    }
+
+    public Builder openDuration(Duration openDuration) {
+      Preconditions.notNull(openDuration, "openDuration must not null");
+      this.openDuration = openDuration;
+      return this;
+    }
+
+    /**
+     * @param halfOpenCalls HALF_OPEN 에서 보내 볼 호출 수. 기본값 3
+     */
+    public Builder halfOpenCalls(int halfOpenCalls) {
+      Preconditions.isTrue(halfOpenCalls >= 1, "halfOpenCalls must be positive");
+      this.halfOpenCalls = halfOpenCalls;
+      return this;
+    }
+
+    /**
+     * @param failureStatus 실패로 볼 HTTP status. 기본값 5xx
+     */
+    public Builder failureStatus(IntPredicate failureStatus) {
+      this.failureStatus = Preconditions.notNull(failureStatus, "failureStatus must not null");
+      return this;
+    }
+
+    /**
+     * @param failureException 실패로 볼 예외. 기본값은 {@link OAuthNetworkException}, {@link OAuthNetworkRemoteException}
+     */
+    public Builder failureException(Predicate<RuntimeException> failureException) {
+      this.failureException = Preconditions.notNull(failureException, "failureException must not null");
+      return this;
+    }
+
+    Builder clock(LongSupplier clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public CircuitBreaker build() {
+      return new CircuitBreaker(this);
+    }
+  }
+}
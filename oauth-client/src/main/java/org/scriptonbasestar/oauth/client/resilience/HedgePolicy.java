@@ -0,0 +1,228 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthUnknownException;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.tracing.OAuthTracing;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 요청의 hedging. 첫 요청이 {@code delay} 안에 끝나지 않으면 같은 요청을 하나 더 보내고,
+ * 먼저 온 응답을 쓰고 나머지는 interrupt 로 취소한다.
+ * <p>
+ * delay 는 고정값이거나 최근 응답 시간의 백분위수 (기본 p95) 다. 추가 요청은 {@code maxHedgeRatio}
+ * 비율을 넘지 않는다. 두 요청은 virtual thread 에서 실행되고 호출한 thread 는 결과를 기다린다.
+ *
+ * <pre>{@code
+ * HedgePolicy hedge = HedgePolicy.builder("naver")
+ *     .adaptiveDelay(0.95, Duration.ofMillis(50), Duration.ofSeconds(1))
+ *     .maxHedgeRatio(0.05)
+ *     .build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class HedgePolicy {
+
+  private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("sb-oauth-hedge-", 0).factory());
+
+  private static final int SAMPLES = 256;
+  private static final int RECOMPUTE_EVERY = 32;
+
+  private final String name;
+  private final long initialDelayNanos;
+  private final double percentile;
+  private final long minDelayNanos;
+  private final long maxDelayNanos;
+  private final RetryBudget budget;
+
+  private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+  private final AtomicLong sampleCount = new AtomicLong();
+  private volatile long estimateNanos;
+
+  private HedgePolicy(Builder builder) {
+    this.name = builder.name;
+    this.initialDelayNanos = builder.delay.toNanos();
+    this.percentile = builder.percentile;
+    this.minDelayNanos = builder.minDelay.toNanos();
+    this.maxDelayNanos = builder.maxDelay.toNanos();
+    this.budget = new RetryBudget(builder.maxHedgeRatio, builder.maxBurst);
+    this.estimateNanos = initialDelayNanos;
+  }
+
+  /**
+   * @param name provider 이름. metrics 에 쓴다
+   */
+  public static Builder builder(String name) {
+    return new Builder(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return 지금 쓰는 hedge delay (nanos)
+   */
+  public long delayNanos() {
+    return estimateNanos;
+  }
+
+  public <T> T execute(Supplier<T> call) {
+    budget.onRequest();
+    ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(EXECUTOR);
+    Callable<T> task = OAuthTracing.wrap(() -> timed(call));
+    Future<T> primary = completion.submit(task);
+    Future<T> hedge = null;
+    try {
+      Future<T> done = completion.poll(estimateNanos, TimeUnit.NANOSECONDS);
+      int pending = 1;
+      if (done == null && budget.tryAcquire()) {
+        hedge = completion.submit(task);
+        pending++;
+      }
+      RuntimeException firstError = null;
+      while (pending > 0) {
+        if (done == null) {
+          done = completion.take();
+        }
+        pending--;
+        try {
+          T result = done.get();
+          if (hedge != null) {
+            OAuthMetrics.recorder().recordHedge(name, done == hedge ? "hedge" : "primary");
+          }
+          return result;
+        } catch (ExecutionException e) {
+          if (firstError == null) {
+            firstError = unwrap(e);
+          }
+        }
+        done = null;
+      }
+      throw firstError;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OAuthNetworkException("interrupted while waiting for a hedged call", e);
+    } finally {
+      primary.cancel(true);
+      if (hedge != null) {
+        hedge.cancel(true);
+      }
+    }
+  }
+
+  private <T> T timed(Supplier<T> call) {
+    long start = System.nanoTime();
+    T result = call.get();
+    recordLatency(System.nanoTime() - start);
+    return result;
+  }
+
+  void recordLatency(long nanos) {
+    if (percentile <= 0) {
+      return;
+    }
+    long n = sampleCount.getAndIncrement();
+    samples.set((int) (n % SAMPLES), nanos);
+    if ((n + 1) % RECOMPUTE_EVERY == 0) {
+      int size = (int) Math.min(n + 1, SAMPLES);
+      long[] copy = new long[size];
+      for (int i = 0; i < size; i++) {
+        copy[i] = samples.get(i);
+      }
+      Arrays.sort(copy);
+      long value = copy[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+      estimateNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, value));
+    }
+  }
+
+  private static RuntimeException unwrap(ExecutionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new OAuthUnknownException(cause);
+  }
+
+  public static final class Builder {
+    private final String name;
+    private Duration delay = Duration.ofMillis(200);
+    private double percentile = 0;
+    private Duration minDelay = Duration.ZERO;
+    private Duration maxDelay = Duration.ofDays(1);
+    private double maxHedgeRatio = 0.1;
+    private int maxBurst = 10;
+
+    private Builder(String name) {
+      this.name = Preconditions.notEmptyString(name, "name must not null or empty");
+    }
+
+    /**
+     * @param delay 고정 delay. {@link #adaptiveDelay} 를 쓰면 추정값이 쌓이기 전까지 쓰는 값. 기본값 200ms
+     */
+    public Builder delay(Duration delay) {
+      Preconditions.notNull(delay, "delay must not null");
+      Preconditions.isTrue(!delay.isNegative(), "delay must not negative");
+      this.delay = delay;
+      return this;
+    }
+
+    /**
+     * 최근 응답 시간 256개의 백분위수를 delay 로 쓴다. 32개마다 다시 계산한다.
+     *
+     * @param percentile 0 초과 1 미만. 보통 0.95
+     * @param minDelay   delay 하한
+     * @param maxDelay   delay 상한
+     */
+    public Builder adaptiveDelay(double percentile, Duration minDelay, Duration maxDelay) {
+      Preconditions.isTrue(percentile > 0 && percentile < 1, "percentile must be (0, 1)");
+      Preconditions.notNull(minDelay, "minDelay must not null");
+      Preconditions.notNull(maxDelay, "maxDelay must not null");
+      Preconditions.isTrue(minDelay.compareTo(maxDelay) <= 0, "minDelay must not exceed maxDelay");
+      this.percentile = percentile;
+      this.minDelay = minDelay;
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * @param maxHedgeRatio 요청 대비 추가 요청 비율 상한. 기본값 0.1
+     */
+    public Builder maxHedgeRatio(double maxHedgeRatio) {
+      Preconditions.isTrue(maxHedgeRatio >= 0 && maxHedgeRatio <= 1, "maxHedgeRatio must be 0..1");
+      this.maxHedgeRatio = maxHedgeRatio;
+      return this;
+    }
+
+    /**
+     * @param maxBurst 한꺼번에 보낼 수 있는 추가 요청 수. 기본값 10
+     */
+    public Builder maxBurst(int maxBurst) {
+      Preconditions.isTrue(maxBurst >= 0, "maxBurst must not negative");
+      this.maxBurst = maxBurst;
+      return this;
+    }
+
+    public HedgePolicy build() {
+      return new HedgePolicy(this);
+    }
+  }
+}
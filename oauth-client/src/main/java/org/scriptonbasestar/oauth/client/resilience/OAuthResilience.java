@@ -0,0 +1,80 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * provider 이름별 {@link ResiliencePolicy}. connector 는 호출마다 여기서 policy 를 찾는다.
+ * <p>
+ * 같은 provider 에 여러 client id 를 쓰면 (rate limit 이 client id 별로 걸리는 경우 등) client id 별로 등록할 수 있다.
+ * client id 별 policy 가 없으면 provider 의 policy 를 쓴다.
+ *
+ * @since 2.0.0
+ */
+public final class OAuthResilience {
+
+  private static final ConcurrentMap<String, ResiliencePolicy> POLICIES = new ConcurrentHashMap<>();
+
+  private OAuthResilience() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * @param provider naver, kakao, google, facebook 등 connector 의 provider 이름
+   */
+  public static void register(String provider, ResiliencePolicy policy) {
+    Preconditions.notEmptyString(provider, "provider must not null or empty");
+    POLICIES.put(provider, Preconditions.notNull(policy, "policy must not null"));
+  }
+
+  /**
+   * @param provider naver, kakao, google, facebook 등 connector 의 provider 이름
+   * @param clientId 이 client id 로 보내는 요청에만 적용한다
+   */
+  public static void register(String provider, String clientId, ResiliencePolicy policy) {
+    Preconditions.notEmptyString(provider, "provider must not null or empty");
+    Preconditions.notEmptyString(clientId, "clientId must not null or empty");
+    POLICIES.put(key(provider, clientId), Preconditions.notNull(policy, "policy must not null"));
+  }
+
+  public static void remove(String provider) {
+    POLICIES.remove(provider);
+  }
+
+  public static void remove(String provider, String clientId) {
+    POLICIES.remove(key(provider, clientId));
+  }
+
+  /**
+   * 등록된 policy 를 모두 지운다.
+   */
+  public static void reset() {
+    POLICIES.clear();
+  }
+
+  /**
+   * @return 등록된 policy. 없으면 {@link ResiliencePolicy#NONE}
+   */
+  public static ResiliencePolicy policy(String provider) {
+    return POLICIES.getOrDefault(provider, ResiliencePolicy.NONE);
+  }
+
+  /**
+   * @return client id 별 policy, 없으면 provider 의 policy, 그것도 없으면 {@link ResiliencePolicy#NONE}
+   */
+  public static ResiliencePolicy policy(String provider, String clientId) {
+    if (clientId != null) {
+      ResiliencePolicy policy = POLICIES.get(key(provider, clientId));
+      if (policy != null) {
+        return policy;
+      }
+    }
+    return policy(provider);
+  }
+
+  private static String key(String provider, String clientId) {
+    return provider + '/' + clientId;
+  }
+}
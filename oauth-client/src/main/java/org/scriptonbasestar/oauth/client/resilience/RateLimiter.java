@@ -0,0 +1,287 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * provider (또는 provider + client id) 하나로 보내는 요청의 속도 제한.
+ * <ul>
+ *   <li>token bucket - 초당 {@code permits/period}, 최대 {@code burst} 개까지 몰아서 보낼 수 있다. lock 없이 CAS 로 동작한다</li>
+ *   <li>429 응답에 {@code Retry-After} 가 있으면 그때까지 요청을 보내지 않는다. 최대 1시간</li>
+ *   <li>adaptive concurrency (선택) - 동시 요청 수 상한을 AIMD 로 조절한다.
+ *       성공하면 상한만큼 성공할 때마다 1 올리고, 429 이거나 {@code latencyThreshold} 보다 느리면 {@code backoffRatio} 를 곱한다</li>
+ * </ul>
+ * 한도를 넘은 요청은 {@code maxWait} 까지 기다리고, 그래도 안 되면 거절한다. 기본값은 기다리지 않고 바로 거절.
+ *
+ * <pre>{@code
+ * RateLimiter limiter = RateLimiter.builder("kakao")
+ *     .rate(100, Duration.ofSeconds(1))
+ *     .burst(20)
+ *     .maxWait(Duration.ofMillis(200))
+ *     .adaptiveConcurrency(10, 2, 50)
+ *     .latencyThreshold(Duration.ofSeconds(1))
+ *     .build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class RateLimiter {
+
+  private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+  private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final int TOO_MANY_REQUESTS = 429;
+  //말이 안 되게 긴 Retry-After 는 여기까지만 따른다
+  private static final Duration MAX_RETRY_AFTER = Duration.ofHours(1);
+
+  private final String name;
+  private final long emissionNanos;
+  private final long toleranceNanos;
+  private final long maxWaitNanos;
+  private final boolean adaptive;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+  private final LongSupplier clock;
+
+  //GCRA. 다음 요청이 예정된 시각 (theoretical arrival time)
+  private final AtomicLong arrival;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger limit;
+  private final AtomicInteger successes = new AtomicInteger();
+
+  private RateLimiter(Builder builder) {
+    this.name = builder.name;
+    this.emissionNanos = builder.period.toNanos() / builder.permits;
+    this.toleranceNanos = emissionNanos * (builder.burst - 1);
+    this.maxWaitNanos = builder.maxWait.toNanos();
+    this.adaptive = builder.initialLimit > 0;
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.backoffRatio = builder.backoffRatio;
+    this.latencyThresholdNanos = builder.latencyThreshold.toNanos();
+    this.clock = builder.clock;
+    this.arrival = new AtomicLong(clock.getAsLong());
+    this.limit = new AtomicInteger(builder.initialLimit);
+  }
+
+  /**
+   * @param name provider 이름. client id 별로 나눈다면 {@code provider/clientId}. metrics, 예외 메시지에 쓴다
+   */
+  public static Builder builder(String name) {
+    return new Builder(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return adaptive concurrency 를 쓰지 않으면 {@code -1}
+   */
+  public int getLimit() {
+    return adaptive ? limit.get() : -1;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * 필요하면 {@code maxWait} 까지 기다린다.
+   *
+   * @return 보내도 되면 true. true 를 받았으면 반드시 {@link #onResult(long, int, Duration)} 를 호출한다
+   */
+  public boolean acquire() {
+    return acquire(maxWaitNanos);
+  }
+
+  /**
+   * 기다리지 않는 {@link #acquire()}. {@code maxWait} 와 상관없이 바로 보낼 수 없으면 false. async 호출에서 쓴다
+   *
+   * @return 보내도 되면 true. true 를 받았으면 반드시 {@link #onResult(long, int, Duration)} 를 호출한다
+   */
+  public boolean tryAcquire() {
+    return acquire(0);
+  }
+
+  private boolean acquire(long maxWaitNanos) {
+    long deadline = clock.getAsLong() + maxWaitNanos;
+    if (adaptive && !acquireConcurrency(deadline)) {
+      return false;
+    }
+    long wait = reserve(Math.max(0, deadline - clock.getAsLong()));
+    if (wait < 0) {
+      if (adaptive) {
+        inFlight.decrementAndGet();
+      }
+      return false;
+    }
+    if (wait > 0) {
+      LockSupport.parkNanos(wait);
+    }
+    return true;
+  }
+
+  /**
+   * @param durationNanos 호출 시간
+   * @param status        HTTP status. 응답을 받지 못했으면 {@code -1}
+   * @param retryAfter    응답의 {@code Retry-After}. 없으면 null
+   */
+  public void onResult(long durationNanos, int status, Duration retryAfter) {
+    if (status == TOO_MANY_REQUESTS && retryAfter != null && !retryAfter.isNegative()) {
+      Duration pause = retryAfter.compareTo(MAX_RETRY_AFTER) > 0 ? MAX_RETRY_AFTER : retryAfter;
+      long until = clock.getAsLong() + pause.toNanos();
+      arrival.accumulateAndGet(until + toleranceNanos, Math::max);
+      log.warn("rate limiter {} paused for {} by Retry-After {}", name, pause, retryAfter);
+    }
+    if (!adaptive) {
+      return;
+    }
+    inFlight.decrementAndGet();
+    if (status == TOO_MANY_REQUESTS || latencyThresholdNanos > 0 && durationNanos > latencyThresholdNanos) {
+      successes.set(0);
+      int to = limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+      log.debug("rate limiter {} limit decreased to {}", name, to);
+    } else if (status >= 200 && status < 500 && successes.incrementAndGet() >= limit.get()) {
+      successes.set(0);
+      limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+    }
+  }
+
+  /**
+   * @return 기다려야 할 시간 (nanos). {@code maxWait} 를 넘으면 {@code -1}
+   */
+  private long reserve(long maxWait) {
+    while (true) {
+      long now = clock.getAsLong();
+      long current = arrival.get();
+      long base = Math.max(current, now);
+      long wait = base - toleranceNanos - now;
+      if (wait > maxWait) {
+        return -1;
+      }
+      if (arrival.compareAndSet(current, base + emissionNanos)) {
+        return Math.max(0, wait);
+      }
+    }
+  }
+
+  private boolean acquireConcurrency(long deadline) {
+    while (true) {
+      int current = inFlight.get();
+      if (current < limit.get()) {
+        if (inFlight.compareAndSet(current, current + 1)) {
+          return true;
+        }
+        continue;
+      }
+      if (clock.getAsLong() >= deadline) {
+        return false;
+      }
+      LockSupport.parkNanos(PARK_NANOS);
+    }
+  }
+
+  public static final class Builder {
+    private final String name;
+    private int permits = Integer.MAX_VALUE;
+    private Duration period = Duration.ofSeconds(1);
+    private int burst = 1;
+    private Duration maxWait = Duration.ZERO;
+    private int initialLimit;
+    private int minLimit;
+    private int maxLimit;
+    private double backoffRatio = 0.9;
+    private Duration latencyThreshold = Duration.ZERO;
+    private LongSupplier clock = System::nanoTime;
+
+    private Builder(String name) {
+      this.name = Preconditions.notEmptyString(name, "name must not null or empty");
+    }
+
+    /**
+     * @param permits {@code period} 동안 보낼 요청 수
+     * @param period  기간
+     */
+    public Builder rate(int permits, Duration period) {
+      Preconditions.isTrue(permits >= 1, "permits must be positive");
+      Preconditions.notNull(period, "period must not null");
+      Preconditions.isTrue(period.toNanos() >= permits, "period too short for permits");
+      this.permits = permits;
+      this.period = period;
+      return this;
+    }
+
+    /**
+     * @param burst 쉬고 있다가 한꺼번에 보낼 수 있는 요청 수. 기본값 1
+     */
+    public Builder burst(int burst) {
+      Preconditions.isTrue(burst >= 1, "burst must be positive");
+      this.burst = burst;
+      return this;
+    }
+
+    /**
+     * @param maxWait 한도를 넘었을 때 기다릴 최대 시간. 기본값 0 (바로 거절)
+     */
+    public Builder maxWait(Duration maxWait) {
+      Preconditions.notNull(maxWait, "maxWait must not null");
+      Preconditions.isTrue(!maxWait.isNegative(), "maxWait must not negative");
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    /**
+     * 동시 요청 수 상한을 AIMD 로 조절한다.
+     *
+     * @param initialLimit 시작 상한
+     * @param minLimit     줄어들 수 있는 하한
+     * @param maxLimit     늘어날 수 있는 상한
+     */
+    public Builder adaptiveConcurrency(int initialLimit, int minLimit, int maxLimit) {
+      Preconditions.isTrue(minLimit >= 1, "minLimit must be positive");
+      Preconditions.isTrue(minLimit <= initialLimit && initialLimit <= maxLimit, "minLimit <= initialLimit <= maxLimit");
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /**
+     * @param backoffRatio 429 나 느린 응답에 상한을 곱할 값. 0 초과 1 미만. 기본값 0.9
+     */
+    public Builder backoffRatio(double backoffRatio) {
+      Preconditions.isTrue(backoffRatio > 0 && backoffRatio < 1, "backoffRatio must be (0, 1)");
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    /**
+     * @param latencyThreshold 이보다 느리면 상한을 줄인다. 기본값 0 (latency 는 보지 않는다)
+     */
+    public Builder latencyThreshold(Duration latencyThreshold) {
+      Preconditions.notNull(latencyThreshold, "latencyThreshold must not null");
+      this.latencyThreshold = latencyThreshold;
+      return this;
+    }
+
+    Builder clock(LongSupplier clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public RateLimiter build() {
+      return new RateLimiter(this);
+    }
+  }
+}
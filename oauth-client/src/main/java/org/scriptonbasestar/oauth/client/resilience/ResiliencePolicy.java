@@ -0,0 +1,340 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthRejectedException;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * provider 하나에 적용할 장애 대응 규칙. {@link OAuthResilience#register(String, ResiliencePolicy)} 로 등록한다.
+ * <p>
+ * 적용 순서는 retry (멱등 요청만) → hedge (멱등 요청만) → rate limiter → bulkhead → circuit breaker → 호출.
+ * 재시도와 hedge 요청 하나하나가 rate limit, bulkhead 자리, circuit breaker 허가를 새로 얻는다.
+ * non-blocking 호출 ({@link #executeAsync}) 은 retry, hedge 없이 기다리지 않고 rate limiter → bulkhead → circuit breaker 를 거친다.
+ * rate limiter, circuit breaker, bulkhead, retry budget 은 상태를 가지므로 provider 마다 따로 만든다.
+ *
+ * <pre>{@code
+ * OAuthResilience.register("kakao", ResiliencePolicy.builder()
+ *     .retry(RetryPolicy.builder().maxAttempts(3).build())
+ *     .circuitBreaker(CircuitBreaker.builder("kakao").build())
+ *     .rateLimiter(RateLimiter.builder("kakao").rate(100, Duration.ofSeconds(1)).build())
+ *     .bulkhead(new Bulkhead("kakao", 20, Duration.ofMillis(50)))
+ *     .hedge(HedgePolicy.builder("kakao").adaptiveDelay(0.95, Duration.ofMillis(50), Duration.ofSeconds(1)).build())
+ *     .build());
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class ResiliencePolicy {
+
+  private static final Logger log = LoggerFactory.getLogger(ResiliencePolicy.class);
+
+  /**
+   * 아무것도 하지 않는다. 등록된 policy 가 없는 provider 의 기본값.
+   */
+  public static final ResiliencePolicy NONE = builder().build();
+
+  private final RetryPolicy retry;
+  private final RetryBudget retryBudget;
+  private final CircuitBreaker circuitBreaker;
+  private final Bulkhead bulkhead;
+  private final HedgePolicy hedge;
+  private final RateLimiter rateLimiter;
+
+  private ResiliencePolicy(Builder builder) {
+    this.retry = builder.retry;
+    this.retryBudget = builder.retryBudget == null ? RetryBudget.defaults() : builder.retryBudget;
+    this.circuitBreaker = builder.circuitBreaker;
+    this.bulkhead = builder.bulkhead;
+    this.hedge = builder.hedge;
+    this.rateLimiter = builder.rateLimiter;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public RetryPolicy getRetry() {
+    return retry;
+  }
+
+  public RetryBudget getRetryBudget() {
+    return retryBudget;
+  }
+
+  /**
+   * @return 없으면 null
+   */
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  /**
+   * @return 없으면 null
+   */
+  public Bulkhead getBulkhead() {
+    return bulkhead;
+  }
+
+  /**
+   * @return 없으면 null
+   */
+  public HedgePolicy getHedge() {
+    return hedge;
+  }
+
+  /**
+   * @return 없으면 null
+   */
+  public RateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * 재시도하면 안 되는 요청 (authorization code 교환 등).
+   *
+   * @return 응답 body
+   */
+  public String run(HttpRequest request, OAuthHttpVerb verb) {
+    return execute(() -> request.execute(verb)).body();
+  }
+
+  /**
+   * 멱등 요청 (refresh, resource GET). {@link RetryPolicy} 에 따라 재시도하고 {@link HedgePolicy} 가 있으면 hedge 한다.
+   *
+   * @return 응답 body
+   */
+  public String runIdempotent(HttpRequest request, OAuthHttpVerb verb) {
+    return executeIdempotent(() -> request.execute(verb)).body();
+  }
+
+  /**
+   * non-blocking {@link #run(HttpRequest, OAuthHttpVerb)}
+   *
+   * @return 응답 body
+   * @see #executeAsync(Supplier)
+   */
+  public CompletableFuture<String> runAsync(HttpRequest request, OAuthHttpVerb verb) {
+    return executeAsync(() -> request.executeAsync(verb)).thenApply(HttpResult::body);
+  }
+
+  /**
+   * non-blocking 호출에 rate limiter, bulkhead, circuit breaker 를 적용한다. 자리나 허가를 기다리지 않고 바로 거절하며,
+   * retry, hedge 는 하지 않는다.
+   *
+   * @return 거절되면 {@link OAuthRejectedException} 으로 실패한다
+   */
+  public CompletableFuture<HttpResult> executeAsync(Supplier<CompletableFuture<HttpResult>> call) {
+    if (rateLimiter == null) {
+      return guardedAsync(call);
+    }
+    if (!rateLimiter.tryAcquire()) {
+      return CompletableFuture.failedFuture(reject(rateLimiter.getName(), OAuthRejectedException.Reason.RATE_LIMITED));
+    }
+    long start = System.nanoTime();
+    return guardedAsync(call).whenComplete((result, failure) -> rateLimiter.onResult(System.nanoTime() - start,
+        result == null ? -1 : result.status(), result == null ? null : result.retryAfter()));
+  }
+
+  /**
+   * @throws OAuthRejectedException circuit breaker 가 열려 있거나 bulkhead 가 가득 찼거나 rate limit 을 넘은 경우
+   */
+  public HttpResult execute(Supplier<HttpResult> call) {
+    return limited(call);
+  }
+
+  /**
+   * @throws OAuthRejectedException circuit breaker 가 열려 있거나 bulkhead 가 가득 찼거나 rate limit 을 넘은 경우. 재시도하지 않는다
+   */
+  public HttpResult executeIdempotent(Supplier<HttpResult> call) {
+    if (retry.getMaxAttempts() <= 1) {
+      return hedged(call);
+    }
+    retryBudget.onRequest();
+    for (int attempt = 1; ; attempt++) {
+      long delay;
+      try {
+        HttpResult result = hedged(call);
+        if (!retry.isRetryable(result.status())) {
+          return result;
+        }
+        //Retry-After 가 maxDelay 보다 길면 기다리지 않고 provider 응답을 그대로 돌려준다
+        delay = retry.retryDelayNanos(attempt, result.retryAfter());
+        if (delay < 0 || !canRetry(attempt)) {
+          return result;
+        }
+        log.debug("retry {} after HTTP {}", attempt, result.status());
+      } catch (RuntimeException e) {
+        if (!retry.isRetryable(e) || !canRetry(attempt)) {
+          throw e;
+        }
+        log.debug("retry {} after {}", attempt, e.toString());
+        delay = retry.backoffNanos(attempt);
+      }
+      sleep(delay);
+    }
+  }
+
+  private HttpResult hedged(Supplier<HttpResult> call) {
+    if (hedge == null) {
+      return limited(call);
+    }
+    return hedge.execute(() -> limited(call));
+  }
+
+  private HttpResult limited(Supplier<HttpResult> call) {
+    if (rateLimiter == null) {
+      return guarded(call);
+    }
+    if (!rateLimiter.acquire()) {
+      throw reject(rateLimiter.getName(), OAuthRejectedException.Reason.RATE_LIMITED);
+    }
+    long start = System.nanoTime();
+    HttpResult result = null;
+    try {
+      result = guarded(call);
+      return result;
+    } finally {
+      rateLimiter.onResult(System.nanoTime() - start,
+          result == null ? -1 : result.status(), result == null ? null : result.retryAfter());
+    }
+  }
+
+  private HttpResult guarded(Supplier<HttpResult> call) {
+    if (bulkhead != null && !bulkhead.tryAcquire()) {
+      throw reject(bulkhead.getName(), OAuthRejectedException.Reason.BULKHEAD_FULL);
+    }
+    try {
+      if (circuitBreaker == null) {
+        return call.get();
+      }
+      if (!circuitBreaker.tryAcquire()) {
+        throw reject(circuitBreaker.getName(), OAuthRejectedException.Reason.CIRCUIT_OPEN);
+      }
+      long start = System.nanoTime();
+      boolean failure = false;
+      try {
+        HttpResult result = call.get();
+        failure = circuitBreaker.isFailure(result.status());
+        return result;
+      } catch (RuntimeException e) {
+        //hedge 에 져서 취소된 호출은 provider 실패가 아니다
+        failure = !Thread.currentThread().isInterrupted() && circuitBreaker.isFailure(e);
+        throw e;
+      } finally {
+        circuitBreaker.onResult(System.nanoTime() - start, failure);
+      }
+    } finally {
+      if (bulkhead != null) {
+        bulkhead.release();
+      }
+    }
+  }
+
+  private CompletableFuture<HttpResult> guardedAsync(Supplier<CompletableFuture<HttpResult>> call) {
+    if (bulkhead != null && !bulkhead.tryAcquireNow()) {
+      return CompletableFuture.failedFuture(reject(bulkhead.getName(), OAuthRejectedException.Reason.BULKHEAD_FULL));
+    }
+    CompletableFuture<HttpResult> future;
+    if (circuitBreaker == null) {
+      future = start(call);
+    } else if (!circuitBreaker.tryAcquire()) {
+      future = CompletableFuture.failedFuture(reject(circuitBreaker.getName(), OAuthRejectedException.Reason.CIRCUIT_OPEN));
+    } else {
+      long start = System.nanoTime();
+      future = start(call).whenComplete((result, failure) -> circuitBreaker.onResult(System.nanoTime() - start,
+          failure == null ? circuitBreaker.isFailure(result.status()) : isCircuitFailure(failure)));
+    }
+    return bulkhead == null ? future : future.whenComplete((result, failure) -> bulkhead.release());
+  }
+
+  private boolean isCircuitFailure(Throwable failure) {
+    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    return cause instanceof RuntimeException e && circuitBreaker.isFailure(e);
+  }
+
+  private static CompletableFuture<HttpResult> start(Supplier<CompletableFuture<HttpResult>> call) {
+    try {
+      return call.get();
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private static OAuthRejectedException reject(String provider, OAuthRejectedException.Reason reason) {
+    OAuthMetrics.recorder().recordRejected(provider, reason.name());
+    return new OAuthRejectedException(provider, reason);
+  }
+
+  private boolean canRetry(int attempt) {
+    return attempt < retry.getMaxAttempts() && retryBudget.tryAcquire();
+  }
+
+  private static void sleep(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OAuthNetworkException("interrupted while waiting to retry", e);
+    }
+  }
+
+  public static final class Builder {
+    private RetryPolicy retry = RetryPolicy.NONE;
+    private RetryBudget retryBudget;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private HedgePolicy hedge;
+    private RateLimiter rateLimiter;
+
+    private Builder() {
+    }
+
+    public Builder retry(RetryPolicy retry) {
+      this.retry = Preconditions.notNull(retry, "retry must not null");
+      return this;
+    }
+
+    /**
+     * @param retryBudget 이 provider 의 재시도 예산. 기본값 {@link RetryBudget#defaults()}
+     */
+    public Builder retryBudget(RetryBudget retryBudget) {
+      this.retryBudget = Preconditions.notNull(retryBudget, "retryBudget must not null");
+      return this;
+    }
+
+    public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+      this.circuitBreaker = Preconditions.notNull(circuitBreaker, "circuitBreaker must not null");
+      return this;
+    }
+
+    public Builder bulkhead(Bulkhead bulkhead) {
+      this.bulkhead = Preconditions.notNull(bulkhead, "bulkhead must not null");
+      return this;
+    }
+
+    public Builder rateLimiter(RateLimiter rateLimiter) {
+      this.rateLimiter = Preconditions.notNull(rateLimiter, "rateLimiter must not null");
+      return this;
+    }
+
+    public Builder hedge(HedgePolicy hedge) {
+      this.hedge = Preconditions.notNull(hedge, "hedge must not null");
+      return this;
+    }
+
+    public ResiliencePolicy build() {
+      return new ResiliencePolicy(this);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * provider 별 재시도 예산. lock 없는 token bucket.
+ * <p>
+ * 요청 하나마다 {@code retryRatio} 만큼 쌓이고 재시도 하나마다 1 씩 쓴다. provider 가 계속 실패해도
+ * 재시도는 전체 요청의 {@code retryRatio} 비율을 넘지 않아서 장애 중에 요청을 몇 배로 늘리지 않는다.
+ *
+ * @since 2.0.0
+ */
+public final class RetryBudget {
+
+  private static final long SCALE = 1000;
+
+  private final long deposit;
+  private final long capacity;
+  private final AtomicLong balance;
+
+  /**
+   * @param retryRatio 요청 대비 재시도 비율. 0.1 이면 10%
+   * @param maxRetries 쌓아둘 수 있는 재시도 수. 처음에는 가득 찬 상태로 시작한다
+   */
+  public RetryBudget(double retryRatio, int maxRetries) {
+    Preconditions.isTrue(retryRatio >= 0 && retryRatio <= 1, "retryRatio must be 0..1");
+    Preconditions.isTrue(maxRetries >= 0, "maxRetries must not negative");
+    this.deposit = Math.round(retryRatio * SCALE);
+    this.capacity = maxRetries * SCALE;
+    this.balance = new AtomicLong(capacity);
+  }
+
+  /**
+   * @return 요청 10개당 재시도 1개, 최대 10개
+   */
+  public static RetryBudget defaults() {
+    return new RetryBudget(0.1, 10);
+  }
+
+  /**
+   * 첫 시도마다 호출한다.
+   */
+  public void onRequest() {
+    long current;
+    do {
+      current = balance.get();
+      if (current >= capacity) {
+        return;
+      }
+    } while (!balance.compareAndSet(current, Math.min(capacity, current + deposit)));
+  }
+
+  /**
+   * @return 재시도해도 되면 true. 예산을 하나 쓴다
+   */
+  public boolean tryAcquire() {
+    long current;
+    do {
+      current = balance.get();
+      if (current < SCALE) {
+        return false;
+      }
+    } while (!balance.compareAndSet(current, current - SCALE));
+    return true;
+  }
+
+  /**
+   * @return 지금 할 수 있는 재시도 수
+   */
+  public int available() {
+    return (int) (balance.get() / SCALE);
+  }
+}
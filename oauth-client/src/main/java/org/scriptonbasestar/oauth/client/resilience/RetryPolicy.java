@@ -0,0 +1,144 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkRemoteException;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * 멱등 요청 (refresh, resource GET) 의 재시도 규칙.
+ * <p>
+ * 대기 시간은 full jitter exponential backoff: {@code random(0, min(maxDelay, baseDelay * 2^(n-1)))}.
+ * 응답에 {@code Retry-After} 가 있으면 그보다 일찍 보내지 않고, {@code maxDelay} 보다 길면 재시도하지 않는다.
+ * 재시도 횟수의 상한은 {@link RetryBudget} 이 정한다.
+ *
+ * <pre>{@code
+ * RetryPolicy retry = RetryPolicy.builder()
+ *     .maxAttempts(3)
+ *     .backoff(Duration.ofMillis(100), Duration.ofSeconds(2))
+ *     .build();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class RetryPolicy {
+
+  /**
+   * 재시도하지 않는다.
+   */
+  public static final RetryPolicy NONE = builder().maxAttempts(1).build();
+
+  private final int maxAttempts;
+  private final long baseDelayNanos;
+  private final long maxDelayNanos;
+  private final Set<Integer> retryableStatuses;
+  private final Predicate<RuntimeException> retryableException;
+
+  private RetryPolicy(Builder builder) {
+    this.maxAttempts = builder.maxAttempts;
+    this.baseDelayNanos = builder.baseDelay.toNanos();
+    this.maxDelayNanos = builder.maxDelay.toNanos();
+    this.retryableStatuses = Set.copyOf(builder.retryableStatuses);
+    this.retryableException = builder.retryableException;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public boolean isRetryable(int status) {
+    return retryableStatuses.contains(status);
+  }
+
+  public boolean isRetryable(RuntimeException exception) {
+    return retryableException.test(exception);
+  }
+
+  /**
+   * @param attempt 실패한 시도 번호. 1 부터
+   * @return 다음 시도 전에 기다릴 시간 (nanos)
+   */
+  public long backoffNanos(int attempt) {
+    long cap = baseDelayNanos;
+    for (int i = 1; i < attempt && cap < maxDelayNanos; i++) {
+      cap <<= 1;
+    }
+    cap = Math.min(cap, maxDelayNanos);
+    return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+  }
+
+  /**
+   * @param attempt    실패한 시도 번호. 1 부터
+   * @param retryAfter 응답의 {@code Retry-After}. 없으면 null
+   * @return 다음 시도 전에 기다릴 시간 (nanos). {@code retryAfter} 가 {@code maxDelay} 보다 길면 {@code -1} (재시도하지 않는다)
+   */
+  public long retryDelayNanos(int attempt, Duration retryAfter) {
+    long backoff = backoffNanos(attempt);
+    if (retryAfter == null || retryAfter.isNegative()) {
+      return backoff;
+    }
+    if (retryAfter.compareTo(Duration.ofNanos(maxDelayNanos)) > 0) {
+      return -1;
+    }
+    return Math.max(backoff, retryAfter.toNanos());
+  }
+
+  public static final class Builder {
+    private int maxAttempts = 3;
+    private Duration baseDelay = Duration.ofMillis(100);
+    private Duration maxDelay = Duration.ofSeconds(2);
+    private Set<Integer> retryableStatuses = Set.of(408, 429, 500, 502, 503, 504);
+    private Predicate<RuntimeException> retryableException =
+        e -> e instanceof OAuthNetworkException || e instanceof OAuthNetworkRemoteException;
+
+    private Builder() {
+    }
+
+    /**
+     * @param maxAttempts 첫 시도를 포함한 횟수. 1 이면 재시도하지 않는다
+     */
+    public Builder maxAttempts(int maxAttempts) {
+      Preconditions.isTrue(maxAttempts >= 1, "maxAttempts must be positive");
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    public Builder backoff(Duration baseDelay, Duration maxDelay) {
+      Preconditions.notNull(baseDelay, "baseDelay must not null");
+      Preconditions.notNull(maxDelay, "maxDelay must not null");
+      Preconditions.isTrue(!baseDelay.isNegative() && baseDelay.compareTo(maxDelay) <= 0,
+          "baseDelay must be 0..maxDelay");
+      this.baseDelay = baseDelay;
+      this.maxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * @param statuses 재시도할 HTTP status. 기본값 408, 429, 500, 502, 503, 504
+     */
+    public Builder retryOnStatus(Integer... statuses) {
+      this.retryableStatuses = Set.of(statuses);
+      return this;
+    }
+
+    /**
+     * @param retryableException 재시도할 예외. 기본값은 {@link OAuthNetworkException}, {@link OAuthNetworkRemoteException}
+     */
+    public Builder retryOn(Predicate<RuntimeException> retryableException) {
+      this.retryableException = Preconditions.notNull(retryableException, "retryableException must not null");
+      return this;
+    }
+
+    public RetryPolicy build() {
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package org.scriptonbasestar.oauth.client.tenant;
+
+import org.scriptonbasestar.oauth.client.config.OAuthBaseConfig;
+import org.scriptonbasestar.oauth.client.exception.OAuthInitException;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * (tenant, provider) 로 {@link OAuthConnector} 를 찾는다. 브랜드마다 client id 가 다른 로그인 서비스 하나에서 쓴다.
+ * <ul>
+ *   <li>설정과 만들어 둔 connector 는 copy-on-write map 에 있다. {@link #resolve} 는 lock 을 잡지 않는다</li>
+ *   <li>connector 는 처음 resolve 할 때 provider 의 factory 로 만든다. 최대 {@code maxConnectors} 개,
+ *       넘으면 가장 오래 resolve 하지 않은 것부터 버린다. 설정은 남아 있으므로 다음 resolve 때 다시 만든다</li>
+ *   <li>{@link #put}, {@link #reload}, {@link #remove} 로 설정을 바꾸면 바뀐 connector 만 버린다.
+ *       connector 는 공유 HTTP pool ({@link org.scriptonbasestar.oauth.client.http.HttpRequest}) 을 쓰므로 pool 은 그대로다</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * ConnectorRegistry registry = ConnectorRegistry.builder()
+ *     .provider("naver", OAuth2NaverConfig.class, config -> new OAuthConnector(config,
+ *         new OAuth2NaverGenerateAuthorizeEndpointFunction(config),
+ *         new OAuth2NaverAccesstokenFunction(config, new JsonTokenExtractor<>(OAuth2NaverTokenRes.class), tokenStorage),
+ *         new DefaultOAuth2ResourceFunction("naver", "https://openapi.naver.com/v1/nid/me")))
+ *     .maxConnectors(500)
+ *     .build();
+ * registry.put("brand-a", "naver", brandANaverConfig);
+ *
+ * OAuthConnector naver = registry.resolve("brand-a", "naver");
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class ConnectorRegistry {
+
+  private record Key(String tenant, String provider) {
+  }
+
+  private record Provider<C extends OAuthBaseConfig>(Class<C> configType, Function<? super C, OAuthConnector> factory) {
+
+    OAuthConnector create(OAuthBaseConfig config) {
+      return Preconditions.notNull(factory.apply(configType.cast(config)), "factory must not return null");
+    }
+  }
+
+  private static final class Cached {
+    private final OAuthBaseConfig config;
+    private final OAuthConnector connector;
+    private volatile long lastAccess;
+
+    private Cached(OAuthBaseConfig config, OAuthConnector connector, long lastAccess) {
+      this.config = config;
+      this.connector = connector;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  private final Map<String, Provider<?>> providers;
+  private final int maxConnectors;
+  private final LongSupplier clock;
+  //두 map 은 바꾸지 않는다. this 안에서 새 map 을 만들어 교체한다
+  private volatile Map<Key, OAuthBaseConfig> configs = Map.of();
+  private volatile Map<Key, Cached> connectors = Map.of();
+
+  private ConnectorRegistry(Builder builder) {
+    this.providers = Map.copyOf(builder.providers);
+    this.maxConnectors = builder.maxConnectors;
+    this.clock = builder.clock;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return 설정이 바뀌지 않았으면 같은 인스턴스
+   * @throws OAuthInitException tenant 에 provider 설정이 없을 때
+   */
+  public OAuthConnector resolve(String tenant, String provider) {
+    Key key = new Key(tenant, provider);
+    Cached cached = connectors.get(key);
+    if (cached != null) {
+      cached.lastAccess = clock.getAsLong();
+      return cached.connector;
+    }
+    return create(key);
+  }
+
+  /**
+   * tenant 의 provider 설정을 추가하거나 바꾼다. 설정이 같으면 ({@link OAuthBaseConfig#equals}) connector 를 그대로 쓴다
+   */
+  public void put(String tenant, String provider, OAuthBaseConfig config) {
+    Preconditions.notEmptyString(tenant, "tenant must not null or empty");
+    Key key = new Key(tenant, provider);
+    checkConfig(key, config);
+    synchronized (this) {
+      Map<Key, OAuthBaseConfig> nextConfigs = new HashMap<>(configs);
+      nextConfigs.put(key, config);
+      configs = nextConfigs;
+      Cached cached = connectors.get(key);
+      if (cached != null && !Objects.equals(cached.config, config)) {
+        Map<Key, Cached> nextConnectors = new HashMap<>(connectors);
+        nextConnectors.remove(key);
+        connectors = nextConnectors;
+      }
+    }
+  }
+
+  /**
+   * 모든 설정을 한 번에 바꾼다. 없어진 tenant 는 지우고, 설정이 같은 ({@link OAuthBaseConfig#equals}) connector 는 그대로 쓴다
+   *
+   * @param tenants tenant - provider - 설정
+   */
+  public void reload(Map<String, ? extends Map<String, ? extends OAuthBaseConfig>> tenants) {
+    Preconditions.notNull(tenants, "tenants must not null");
+    Map<Key, OAuthBaseConfig> nextConfigs = new HashMap<>();
+    tenants.forEach((tenant, byProvider) -> {
+      Preconditions.notEmptyString(tenant, "tenant must not null or empty");
+      byProvider.forEach((provider, config) -> {
+        Key key = new Key(tenant, provider);
+        checkConfig(key, config);
+        nextConfigs.put(key, config);
+      });
+    });
+    synchronized (this) {
+      configs = nextConfigs;
+      retainCurrent();
+    }
+  }
+
+  /**
+   * tenant 의 설정과 connector 를 모두 지운다
+   */
+  public synchronized void remove(String tenant) {
+    Map<Key, OAuthBaseConfig> nextConfigs = new HashMap<>(configs);
+    nextConfigs.keySet().removeIf(key -> key.tenant().equals(tenant));
+    configs = nextConfigs;
+    retainCurrent();
+  }
+
+  /**
+   * @return 설정이 있는 tenant
+   */
+  public Set<String> tenants() {
+    Set<String> tenants = new HashSet<>();
+    configs.keySet().forEach(key -> tenants.add(key.tenant()));
+    return tenants;
+  }
+
+  /**
+   * @return 지금 만들어 둔 connector 수
+   */
+  public int connectorCount() {
+    return connectors.size();
+  }
+
+  private OAuthConnector create(Key key) {
+    OAuthBaseConfig config = configs.get(key);
+    if (config == null) {
+      throw new OAuthInitException("no " + key.provider() + " config for tenant " + key.tenant());
+    }
+    //factory 는 lock 밖에서 부른다. 동시에 만들어지면 먼저 들어간 것을 쓴다
+    OAuthConnector connector = providers.get(key.provider()).create(config);
+    synchronized (this) {
+      Cached cached = connectors.get(key);
+      if (cached != null) {
+        cached.lastAccess = clock.getAsLong();
+        return cached.connector;
+      }
+      if (configs.get(key) != config) {
+        //만드는 사이에 설정이 바뀌었다. 이번 호출에만 쓰고 보관하지 않는다
+        return connector;
+      }
+      Map<Key, Cached> nextConnectors = new HashMap<>(connectors);
+      if (nextConnectors.size() >= maxConnectors) {
+        evictLeastRecentlyUsed(nextConnectors);
+      }
+      nextConnectors.put(key, new Cached(config, connector, clock.getAsLong()));
+      connectors = nextConnectors;
+    }
+    return connector;
+  }
+
+  private void checkConfig(Key key, OAuthBaseConfig config) {
+    Preconditions.notNull(config, "config must not null");
+    Provider<?> provider = providers.get(key.provider());
+    Preconditions.notNull(provider, "unknown provider " + key.provider());
+    Preconditions.isTrue(provider.configType().isInstance(config),
+        key.provider() + " config must be " + provider.configType().getSimpleName());
+  }
+
+  private void retainCurrent() {
+    Map<Key, OAuthBaseConfig> current = configs;
+    Map<Key, Cached> nextConnectors = new HashMap<>(connectors);
+    if (nextConnectors.entrySet().removeIf(e -> !Objects.equals(e.getValue().config, current.get(e.getKey())))) {
+      connectors = nextConnectors;
+    }
+  }
+
+  private static void evictLeastRecentlyUsed(Map<Key, Cached> connectors) {
+    Key eldest = null;
+    long eldestAccess = 0;
+    for (Map.Entry<Key, Cached> entry : connectors.entrySet()) {
+      long lastAccess = entry.getValue().lastAccess;
+      if (eldest == null || lastAccess - eldestAccess < 0) {
+        eldest = entry.getKey();
+        eldestAccess = lastAccess;
+      }
+    }
+    connectors.remove(eldest);
+  }
+
+  public static final class Builder {
+    private final Map<String, Provider<?>> providers = new HashMap<>();
+    private int maxConnectors = 1_000;
+    private LongSupplier clock = System::nanoTime;
+
+    private Builder() {
+    }
+
+    /**
+     * @param provider   provider 이름. {@link #resolve} 의 provider
+     * @param configType 이 provider 의 설정 타입. 다른 타입은 {@link #put} 에서 거절한다
+     * @param factory    설정으로 connector 를 만든다. HTTP pool 같은 자원을 새로 만들지 않아야 한다
+     */
+    public <C extends OAuthBaseConfig> Builder provider(
+        String provider, Class<C> configType, Function<? super C, OAuthConnector> factory) {
+      Preconditions.notEmptyString(provider, "provider must not null or empty");
+      Preconditions.notNull(configType, "configType must not null");
+      Preconditions.notNull(factory, "factory must not null");
+      Preconditions.isTrue(!providers.containsKey(provider), "duplicate provider " + provider);
+      providers.put(provider, new Provider<>(configType, factory));
+      return this;
+    }
+
+    /**
+     * @param maxConnectors 만들어 둘 connector 최대 수. 기본값 1,000
+     */
+    public Builder maxConnectors(int maxConnectors) {
+      Preconditions.isTrue(maxConnectors >= 1, "maxConnectors must be positive");
+      this.maxConnectors = maxConnectors;
+      return this;
+    }
+
+    Builder clock(LongSupplier clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public ConnectorRegistry build() {
+      Preconditions.isTrue(!providers.isEmpty(), "at least one provider is required");
+      return new ConnectorRegistry(this);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package org.scriptonbasestar.oauth.client.tenant;
+
+import org.scriptonbasestar.oauth.client.OAuth2AccessTokenEndpointFunction;
+import org.scriptonbasestar.oauth.client.OAuth2GenerateAuthorizeEndpointFunction;
+import org.scriptonbasestar.oauth.client.OAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.config.OAuthBaseConfig;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+/**
+ * tenant 하나, provider 하나의 connector 묶음. {@link ConnectorRegistry} 의 factory 가 만든다.
+ *
+ * @param config    이 connector 를 만든 설정
+ * @param authorize authorize url 생성
+ * @param token     token 발급/갱신/폐기
+ * @param resource  사용자 정보 조회
+ * @since 2.0.0
+ */
+public record OAuthConnector(
+    OAuthBaseConfig config,
+    OAuth2GenerateAuthorizeEndpointFunction authorize,
+    OAuth2AccessTokenEndpointFunction<? extends TokenPack> token,
+    OAuth2ResourceFunction<String> resource) {
+
+  public OAuthConnector {
+    Preconditions.notNull(config, "config must not null");
+    Preconditions.notNull(authorize, "authorize must not null");
+    Preconditions.notNull(token, "token must not null");
+    Preconditions.notNull(resource, "resource must not null");
+  }
+}
@@ -0,0 +1,58 @@
+package org.scriptonbasestar.oauth.client.tracing;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 진행 중인 span. {@link #close()} 에서 끝나고, 열려 있는 동안 현재 thread 의 context 가 된다.
+ *
+ * <pre>{@code
+ * try (OAuthSpan span = OAuthTracing.startSpan("oauth.resource")) {
+ *   span.setAttribute("oauth.provider", provider);
+ *   ...
+ * }
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public interface OAuthSpan extends AutoCloseable {
+
+  OAuthSpan NOOP = new OAuthSpan() {
+  };
+
+  /**
+   * @return attribute 를 기록하는 span 이면 true. false 면 attribute 값을 만들 필요가 없다
+   */
+  default boolean isRecording() {
+    return false;
+  }
+
+  default void setAttribute(String key, String value) {
+  }
+
+  default void setAttribute(String key, long value) {
+  }
+
+  /**
+   * 예외를 기록하고 span status 를 error 로 바꾼다.
+   */
+  default void recordError(Throwable error) {
+  }
+
+  /**
+   * 예외 없이 실패한 경우 (4xx/5xx 응답 등) span status 를 error 로 바꾼다.
+   */
+  default void setError(String description) {
+  }
+
+  /**
+   * 나가는 요청에 trace context header ({@code traceparent} 등) 를 붙인다.
+   *
+   * @param headerSetter header 이름, 값을 받는다
+   */
+  default void inject(BiConsumer<String, String> headerSetter) {
+  }
+
+  @Override
+  default void close() {
+  }
+}
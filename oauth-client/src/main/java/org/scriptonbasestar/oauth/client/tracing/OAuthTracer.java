@@ -0,0 +1,44 @@
+package org.scriptonbasestar.oauth.client.tracing;
+
+import java.util.concurrent.Callable;
+
+/**
+ * span 을 만드는 쪽. {@link OAuthTracing#setTracer(OAuthTracer)} 로 등록한다.
+ * <p>
+ * 기본 구현은 {@link #NOOP} 이고, OpenTelemetry 를 쓰면 {@link OpenTelemetryOAuthTracer} 를 등록한다.
+ *
+ * @since 2.0.0
+ */
+public interface OAuthTracer {
+
+  OAuthTracer NOOP = new OAuthTracer() {
+  };
+
+  /**
+   * 라이브러리 내부 작업 (authorize URL 생성, token 파싱, storage 등) 의 span.
+   */
+  default OAuthSpan startSpan(String name) {
+    return OAuthSpan.NOOP;
+  }
+
+  /**
+   * provider 로 나가는 요청의 span.
+   */
+  default OAuthSpan startClientSpan(String name) {
+    return OAuthSpan.NOOP;
+  }
+
+  /**
+   * non-blocking 요청의 span. 현재 스레드의 context 로 올리지 않으므로 응답을 받은 다른 스레드에서 close 해도 된다.
+   */
+  default OAuthSpan startAsyncClientSpan(String name) {
+    return OAuthSpan.NOOP;
+  }
+
+  /**
+   * 다른 스레드에서 실행할 작업이 지금 span 의 자식이 되도록 감싼다.
+   */
+  default <T> Callable<T> wrap(Callable<T> task) {
+    return task;
+  }
+}
@@ -0,0 +1,60 @@
+package org.scriptonbasestar.oauth.client.tracing;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 전역 {@link OAuthTracer}.
+ * <p>
+ * 등록된 tracer 가 없으면 ({@link OAuthTracer#NOOP}) 모든 span 은 {@link OAuthSpan#NOOP} 이고 할당도 없다.
+ *
+ * <pre>{@code
+ * OAuthTracing.setTracer(new OpenTelemetryOAuthTracer(GlobalOpenTelemetry.get()));
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class OAuthTracing {
+
+  public static final String PROVIDER = "oauth.provider";
+  public static final String STORAGE = "oauth.storage";
+  public static final String EXTRACTOR = "oauth.extractor";
+
+  private static volatile OAuthTracer tracer = OAuthTracer.NOOP;
+
+  private OAuthTracing() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  public static void setTracer(OAuthTracer tracer) {
+    OAuthTracing.tracer = Preconditions.notNull(tracer, "tracer must not null");
+  }
+
+  /**
+   * {@link OAuthTracer#NOOP} 으로 되돌린다.
+   */
+  public static void reset() {
+    tracer = OAuthTracer.NOOP;
+  }
+
+  public static boolean isEnabled() {
+    return tracer != OAuthTracer.NOOP;
+  }
+
+  public static OAuthSpan startSpan(String name) {
+    return tracer.startSpan(name);
+  }
+
+  public static OAuthSpan startClientSpan(String name) {
+    return tracer.startClientSpan(name);
+  }
+
+  public static OAuthSpan startAsyncClientSpan(String name) {
+    return tracer.startAsyncClientSpan(name);
+  }
+
+  public static <T> Callable<T> wrap(Callable<T> task) {
+    return tracer.wrap(task);
+  }
+}
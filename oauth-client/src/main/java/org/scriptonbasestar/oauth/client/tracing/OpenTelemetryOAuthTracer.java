@@ -0,0 +1,116 @@
+package org.scriptonbasestar.oauth.client.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * OpenTelemetry API 로 span 을 만든다. opentelemetry-api 는 optional 의존성이라 사용하는 쪽에서 추가해야 한다.
+ * <p>
+ * SDK 가 없으면 ({@link OpenTelemetry#noop()}, SDK 없이 {@code GlobalOpenTelemetry.get()}) span 은 기록되지 않는다.
+ * 나가는 요청에는 기본으로 W3C trace context ({@code traceparent}, {@code tracestate}) 를 붙인다.
+ *
+ * @since 2.0.0
+ */
+public class OpenTelemetryOAuthTracer implements OAuthTracer {
+
+  public static final String INSTRUMENTATION_NAME = "org.scriptonbasestar.oauth";
+
+  private static final TextMapSetter<BiConsumer<String, String>> SETTER =
+      (carrier, key, value) -> carrier.accept(key, value);
+
+  private final Tracer tracer;
+  private final TextMapPropagator propagator;
+
+  public OpenTelemetryOAuthTracer(OpenTelemetry openTelemetry) {
+    this(openTelemetry, W3CTraceContextPropagator.getInstance());
+  }
+
+  /**
+   * @param propagator 나가는 요청에 context 를 붙일 propagator. {@code openTelemetry.getPropagators()} 를 따르려면 그 값을 넘긴다
+   */
+  public OpenTelemetryOAuthTracer(OpenTelemetry openTelemetry, TextMapPropagator propagator) {
+    Preconditions.notNull(openTelemetry, "openTelemetry must not null");
+    this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    this.propagator = Preconditions.notNull(propagator, "propagator must not null");
+  }
+
+  @Override
+  public OAuthSpan startSpan(String name) {
+    return start(name, SpanKind.INTERNAL);
+  }
+
+  @Override
+  public OAuthSpan startClientSpan(String name) {
+    return start(name, SpanKind.CLIENT);
+  }
+
+  @Override
+  public OAuthSpan startAsyncClientSpan(String name) {
+    Span span = tracer.spanBuilder(name).setSpanKind(SpanKind.CLIENT).startSpan();
+    return new OpenTelemetrySpan(span, Context.current().with(span), Scope.noop(), propagator);
+  }
+
+  @Override
+  public <T> Callable<T> wrap(Callable<T> task) {
+    return Context.current().wrap(task);
+  }
+
+  private OAuthSpan start(String name, SpanKind kind) {
+    Span span = tracer.spanBuilder(name).setSpanKind(kind).startSpan();
+    Context context = Context.current().with(span);
+    return new OpenTelemetrySpan(span, context, context.makeCurrent(), propagator);
+  }
+
+  private record OpenTelemetrySpan(Span span, Context context, Scope scope, TextMapPropagator propagator)
+      implements OAuthSpan {
+
+    @Override
+    public boolean isRecording() {
+      return span.isRecording();
+    }
+
+    @Override
+    public void setAttribute(String key, String value) {
+      span.setAttribute(key, value);
+    }
+
+    @Override
+    public void setAttribute(String key, long value) {
+      span.setAttribute(key, value);
+    }
+
+    @Override
+    public void recordError(Throwable error) {
+      span.recordException(error);
+      span.setStatus(StatusCode.ERROR, error.getClass().getSimpleName());
+    }
+
+    @Override
+    public void setError(String description) {
+      span.setStatus(StatusCode.ERROR, description);
+    }
+
+    @Override
+    public void inject(BiConsumer<String, String> headerSetter) {
+      propagator.inject(context, headerSetter, SETTER);
+    }
+
+    @Override
+    public void close() {
+      scope.close();
+      span.end();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package org.scriptonbasestar.oauth.client.tracing;
+
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.nobi.StateStorage;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+/**
+ * 모든 호출을 span ({@code oauth.storage.add} 등) 으로 감싸는 {@link StateStorage}.
+ *
+ * @since 2.0.0
+ */
+public class TracingStateStorage implements StateStorage {
+
+  private final StateStorage delegate;
+  private final String storage;
+
+  public TracingStateStorage(StateStorage delegate) {
+    this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+    this.storage = delegate.getClass().getSimpleName();
+  }
+
+  @Override
+  public void add(String userId, State state) {
+    try (OAuthSpan span = start("oauth.storage.add")) {
+      try {
+        delegate.add(userId, state);
+      } catch (RuntimeException e) {
+        span.recordError(e);
+        throw e;
+      }
+    }
+  }
+
+  @Override
+  public void exists(String userId, State state) {
+    try (OAuthSpan span = start("oauth.storage.exists")) {
+      try {
+        delegate.exists(userId, state);
+      } catch (RuntimeException e) {
+        span.recordError(e);
+        throw e;
+      }
+    }
+  }
+
+  private OAuthSpan start(String name) {
+    OAuthSpan span = OAuthTracing.startSpan(name);
+    span.setAttribute(OAuthTracing.STORAGE, storage);
+    return span;
+  }
+}
@@ -0,0 +1,63 @@
+package org.scriptonbasestar.oauth.client.tracing;
+
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+/**
+ * 모든 호출을 span ({@code oauth.storage.load} 등) 으로 감싸는 {@link TokenStorage}. key 나 token 값은 기록하지 않는다.
+ *
+ * @since 2.0.0
+ */
+public class TracingTokenStorage implements TokenStorage {
+
+  private final TokenStorage delegate;
+  private final String storage;
+
+  public TracingTokenStorage(TokenStorage delegate) {
+    this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+    this.storage = delegate.getClass().getSimpleName();
+  }
+
+  @Override
+  public Token load(String id) {
+    try (OAuthSpan span = start("oauth.storage.load")) {
+      try {
+        return delegate.load(id);
+      } catch (RuntimeException e) {
+        span.recordError(e);
+        throw e;
+      }
+    }
+  }
+
+  @Override
+  public void store(String id, Token token) {
+    try (OAuthSpan span = start("oauth.storage.store")) {
+      try {
+        delegate.store(id, token);
+      } catch (RuntimeException e) {
+        span.recordError(e);
+        throw e;
+      }
+    }
+  }
+
+  @Override
+  public void drop(String id) {
+    try (OAuthSpan span = start("oauth.storage.drop")) {
+      try {
+        delegate.drop(id);
+      } catch (RuntimeException e) {
+        span.recordError(e);
+        throw e;
+      }
+    }
+  }
+
+  private OAuthSpan start(String name) {
+    OAuthSpan span = OAuthTracing.startSpan(name);
+    span.setAttribute(OAuthTracing.STORAGE, storage);
+    return span;
+  }
+}
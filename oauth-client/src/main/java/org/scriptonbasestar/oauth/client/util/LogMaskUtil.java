@@ -0,0 +1,285 @@
+package org.scriptonbasestar.oauth.client.util;
+
+/**
+ * 로그에 남기기 전에 secret/token 값을 가린다.
+ * <p>
+ * 정규식 없이 한 번만 훑어서 처리한다. 로그 인자로 넘길 때는 {@link #lazyUrl(String)} 처럼
+ * lazy 버전을 쓰면 해당 로그 레벨이 꺼져 있을 때 마스킹 비용이 들지 않는다.
+ *
+ * <pre>{@code
+ * log.debug("post to: {}", LogMaskUtil.lazyUrl(url));
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class LogMaskUtil {
+
+  private LogMaskUtil() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  public static final String MASK = "***";
+
+  /**
+   * 값을 가릴 파라미터/JSON 필드 이름. 대소문자는 구분하지 않는다.
+   */
+  private static final String[] SENSITIVE_NAMES = {
+      "client_secret",
+      "access_token",
+      "refresh_token",
+      "id_token",
+      "code",
+      "code_verifier",
+      "password",
+      "api_key",
+      "apikey"
+  };
+
+  /**
+   * 값 전체를 가릴 헤더. Authorization 계열은 scheme 만 남긴다.
+   */
+  private static final String[] SENSITIVE_HEADERS = {
+      "Authorization",
+      "Proxy-Authorization",
+      "Cookie",
+      "Set-Cookie"
+  };
+
+  /**
+   * URL, query string, form body 의 {@code name=value} 중 민감한 값을 {@value #MASK} 로 바꾼다.
+   *
+   * @param source URL 또는 {@code a=b&c=d} 형식 문자열
+   * @return 마스킹된 문자열. 바꿀 것이 없으면 {@code source} 그대로
+   */
+  public static String maskUrl(String source) {
+    if (source == null) {
+      return null;
+    }
+    StringBuilder sb = null;
+    int copied = 0;
+    int len = source.length();
+    int nameStart = 0;
+    for (int i = 0; i < len; i++) {
+      char c = source.charAt(i);
+      if (isPairDelimiter(c)) {
+        nameStart = i + 1;
+      } else if (c == '=' && nameStart >= 0) {
+        if (isSensitive(source, nameStart, i)) {
+          int valueEnd = i + 1;
+          while (valueEnd < len && !isPairDelimiter(source.charAt(valueEnd))) {
+            valueEnd++;
+          }
+          if (sb == null) {
+            sb = new StringBuilder(len);
+          }
+          sb.append(source, copied, i + 1).append(MASK);
+          copied = valueEnd;
+          i = valueEnd - 1;
+        }
+        //값 안의 '=' 는 이름으로 보지 않는다
+        nameStart = -1;
+      }
+    }
+    if (sb == null) {
+      return source;
+    }
+    return sb.append(source, copied, len).toString();
+  }
+
+  /**
+   * JSON 응답/요청 body 의 민감한 필드 값을 {@value #MASK} 로 바꾼다.
+   * JSON 이 아니면 {@link #maskUrl(String)} 과 같이 form 형식으로 처리한다.
+   *
+   * @param body 요청/응답 body
+   * @return 마스킹된 body. 바꿀 것이 없으면 {@code body} 그대로
+   */
+  public static String maskBody(String body) {
+    if (body == null) {
+      return null;
+    }
+    int first = 0;
+    while (first < body.length() && Character.isWhitespace(body.charAt(first))) {
+      first++;
+    }
+    if (first == body.length() || (body.charAt(first) != '{' && body.charAt(first) != '[')) {
+      return maskUrl(body);
+    }
+    return maskJson(body);
+  }
+
+  /**
+   * @param name  header 이름
+   * @param value header 값
+   * @return 민감한 header 면 {@code Bearer ***} 처럼 scheme 만 남긴 값
+   */
+  public static String maskHeader(String name, String value) {
+    if (name == null || value == null) {
+      return value;
+    }
+    for (String header : SENSITIVE_HEADERS) {
+      if (header.equalsIgnoreCase(name)) {
+        int space = value.indexOf(' ');
+        return space > 0 ? value.substring(0, space + 1) + MASK : MASK;
+      }
+    }
+    return value;
+  }
+
+  /**
+   * @return toString() 이 호출될 때 {@link #maskUrl(String)} 을 수행하는 로그 인자
+   */
+  public static Object lazyUrl(String source) {
+    return new Object() {
+      @Override
+      public String toString() {
+        return String.valueOf(maskUrl(source));
+      }
+    };
+  }
+
+  /**
+   * @return toString() 이 호출될 때 {@link #maskBody(String)} 을 수행하는 로그 인자
+   */
+  public static Object lazyBody(String body) {
+    return new Object() {
+      @Override
+      public String toString() {
+        return String.valueOf(maskBody(body));
+      }
+    };
+  }
+
+  /**
+   * @return toString() 이 호출될 때 {@link #maskHeader(String, String)} 을 수행하는 로그 인자
+   */
+  public static Object lazyHeader(String name, String value) {
+    return new Object() {
+      @Override
+      public String toString() {
+        return name + ": " + maskHeader(name, value);
+      }
+    };
+  }
+
+  private static String maskJson(String body) {
+    StringBuilder sb = null;
+    int copied = 0;
+    int len = body.length();
+    int i = 0;
+    while (i < len) {
+      if (body.charAt(i) != '"') {
+        i++;
+        continue;
+      }
+      int keyEnd = skipString(body, i);
+      int colon = skipWhitespace(body, keyEnd);
+      if (colon >= len || body.charAt(colon) != ':') {
+        //key 가 아닌 문자열 값
+        i = keyEnd;
+        continue;
+      }
+      int valueStart = skipWhitespace(body, colon + 1);
+      if (valueStart < len && isSensitive(body, i + 1, keyEnd - 1)) {
+        char first = body.charAt(valueStart);
+        int valueEnd = first == '"'
+            ? skipString(body, valueStart)
+            : first == '{' || first == '['
+            ? skipCompound(body, valueStart)
+            : skipScalar(body, valueStart);
+        if (sb == null) {
+          sb = new StringBuilder(len);
+        }
+        sb.append(body, copied, valueStart).append('"').append(MASK).append('"');
+        copied = valueEnd;
+        i = valueEnd;
+      } else {
+        i = valueStart;
+      }
+    }
+    if (sb == null) {
+      return body;
+    }
+    return sb.append(body, copied, len).toString();
+  }
+
+  /**
+   * @param start 여는 따옴표 위치
+   * @return 닫는 따옴표 다음 위치
+   */
+  private static int skipString(String s, int start) {
+    int i = start + 1;
+    while (i < s.length()) {
+      char c = s.charAt(i);
+      if (c == '\\') {
+        i += 2;
+      } else if (c == '"') {
+        return i + 1;
+      } else {
+        i++;
+      }
+    }
+    return s.length();
+  }
+
+  /**
+   * object/array 값을 안쪽까지 통째로 건너뛴다. 문자열 안의 괄호는 세지 않는다
+   *
+   * @param start 여는 괄호 위치
+   * @return 짝이 맞는 닫는 괄호 다음 위치. 짝이 없으면 끝
+   */
+  private static int skipCompound(String s, int start) {
+    int depth = 0;
+    int i = start;
+    while (i < s.length()) {
+      char c = s.charAt(i);
+      if (c == '"') {
+        i = skipString(s, i);
+        continue;
+      }
+      if (c == '{' || c == '[') {
+        depth++;
+      } else if ((c == '}' || c == ']') && --depth == 0) {
+        return i + 1;
+      }
+      i++;
+    }
+    return s.length();
+  }
+
+  private static int skipScalar(String s, int start) {
+    int i = start;
+    while (i < s.length()) {
+      char c = s.charAt(i);
+      if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  private static int skipWhitespace(String s, int start) {
+    int i = start;
+    while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isPairDelimiter(char c) {
+    return c == '&' || c == '?' || c == ';' || c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private static boolean isSensitive(String s, int start, int end) {
+    int length = end - start;
+    if (length <= 0) {
+      return false;
+    }
+    for (String name : SENSITIVE_NAMES) {
+      if (name.length() == length && s.regionMatches(true, start, name, 0, length)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
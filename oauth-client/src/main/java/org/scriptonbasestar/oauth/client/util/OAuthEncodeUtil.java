@@ -1,10 +1,17 @@
 package org.scriptonbasestar.oauth.client.util;
 
-import java.net.URLEncoder;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 
 /**
+ * RFC 3986 percent-encoder for OAuth parameters.
+ * <p>
+ * Only the unreserved set ({@code ALPHA / DIGIT / "-" / "." / "_" / "~"}) is left as is,
+ * everything else is UTF-8 encoded and written as {@code %XX}. Unlike {@link java.net.URLEncoder}
+ * a space becomes {@code %20} (never {@code +}) and {@code *} is escaped, which is what
+ * OAuth signature base strings and most providers expect.
+ *
  * @author archmagece
  * @since 2016-10-26 14
  */
@@ -14,13 +21,245 @@ public final class OAuthEncodeUtil {
     throw new AssertionError("Utility class should not be instantiated");
   }
 
+  private static final boolean[] UNRESERVED = new boolean[128];
+  private static final byte[] HEX = {
+      '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+  };
+  //String.getBytes(UTF_8) 와 동일하게 짝이 없는 surrogate 는 '?' 로 치환
+  private static final int REPLACEMENT = '?';
+
+  static {
+    for (char c = 'a'; c <= 'z'; c++) {
+      UNRESERVED[c] = true;
+    }
+    for (char c = 'A'; c <= 'Z'; c++) {
+      UNRESERVED[c] = true;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      UNRESERVED[c] = true;
+    }
+    UNRESERVED['-'] = true;
+    UNRESERVED['.'] = true;
+    UNRESERVED['_'] = true;
+    UNRESERVED['~'] = true;
+  }
+
+  /**
+   * @param value 인코딩할 값
+   * @return 인코딩된 값. escape 할 문자가 없으면 {@code value} 자신을 그대로 돌려준다
+   */
   public static String encode(String value) {
-    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    int first = firstReserved(value);
+    if (first < 0) {
+      return value;
+    }
+    return encodeFrom(value, first);
+  }
+
+  /**
+   * {@code value} 를 인코딩해서 {@code out} 뒤에 붙인다. escape 할 문자가 없으면 복사 없이 그대로 붙인다.
+   *
+   * @param value 인코딩할 값
+   * @param out   결과를 붙일 builder
+   * @return {@code out}
+   */
+  public static StringBuilder encode(CharSequence value, StringBuilder out) {
+    int first = firstReserved(value);
+    if (first < 0) {
+      return out.append(value);
+    }
+    //중간 String 없이 out 에 바로 쓴다
+    out.ensureCapacity(out.length() + first + encodedLength(value, first));
+    out.append(value, 0, first);
+    int len = value.length();
+    for (int i = first; i < len; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        if (UNRESERVED[c]) {
+          out.append(c);
+        } else {
+          appendEscaped(out, c);
+        }
+        continue;
+      }
+      int cp = codePointAt(value, i, len);
+      if (cp > 0xFFFF) {
+        i++;
+      }
+      if (cp < 0x80) {
+        appendEscaped(out, cp);
+      } else if (cp < 0x800) {
+        appendEscaped(out, 0xC0 | (cp >> 6));
+        appendEscaped(out, 0x80 | (cp & 0x3F));
+      } else if (cp < 0x10000) {
+        appendEscaped(out, 0xE0 | (cp >> 12));
+        appendEscaped(out, 0x80 | ((cp >> 6) & 0x3F));
+        appendEscaped(out, 0x80 | (cp & 0x3F));
+      } else {
+        appendEscaped(out, 0xF0 | (cp >> 18));
+        appendEscaped(out, 0x80 | ((cp >> 12) & 0x3F));
+        appendEscaped(out, 0x80 | ((cp >> 6) & 0x3F));
+        appendEscaped(out, 0x80 | (cp & 0x3F));
+      }
+    }
+    return out;
+  }
+
+  /**
+   * {@code value} 를 US-ASCII 바이트로 인코딩해서 {@code out} 에 쓴다.
+   * 필요한 크기는 {@link #encodedLength(CharSequence)} 로 미리 구할 수 있다.
+   *
+   * @param value 인코딩할 값
+   * @param out   결과를 쓸 buffer
+   * @return {@code out}
+   * @throws BufferOverflowException {@code out} 의 남은 공간이 부족한 경우. 이때 {@code out} 은 변경되지 않는다
+   */
+  public static ByteBuffer encode(CharSequence value, ByteBuffer out) {
+    int needed = encodedLength(value);
+    if (out.remaining() < needed) {
+      throw new BufferOverflowException();
+    }
+    if (out.hasArray()) {
+      int pos = out.arrayOffset() + out.position();
+      encodeInto(value, 0, out.array(), pos);
+      out.position(out.position() + needed);
+    } else {
+      byte[] tmp = new byte[needed];
+      encodeInto(value, 0, tmp, 0);
+      out.put(tmp);
+    }
+    return out;
+  }
+
+  /**
+   * {@code value} 를 {@code dst[offset]} 부터 쓴다. 공간은 {@link #encodedLength(CharSequence)} 만큼 필요하다.
+   *
+   * @param value  인코딩할 값
+   * @param dst    결과를 쓸 배열
+   * @param offset 쓰기 시작할 위치
+   * @return 마지막으로 쓴 byte 다음 위치
+   */
+  public static int encode(CharSequence value, byte[] dst, int offset) {
+    return encodeInto(value, 0, dst, offset);
+  }
+
+  /**
+   * @param value 인코딩할 값
+   * @return 인코딩 결과의 길이. 결과는 ASCII 라서 char 수와 byte 수가 같다
+   */
+  public static int encodedLength(CharSequence value) {
+    return encodedLength(value, 0);
   }
 
   public static String[] encodeArray(String[] values) {
-    return Arrays.stream(values)
-        .map(OAuthEncodeUtil::encode)
-        .toArray(String[]::new);
+    String[] result = new String[values.length];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = encode(values[i]);
+    }
+    return result;
+  }
+
+  private static int firstReserved(CharSequence value) {
+    int len = value.length();
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x80 || !UNRESERVED[c]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static String encodeFrom(CharSequence value, int first) {
+    byte[] dst = new byte[first + encodedLength(value, first)];
+    for (int i = 0; i < first; i++) {
+      dst[i] = (byte) value.charAt(i);
+    }
+    encodeInto(value, first, dst, first);
+    //결과는 ASCII. LATIN1 로 만들면 compact string 에 그대로 복사된다
+    return new String(dst, StandardCharsets.ISO_8859_1);
+  }
+
+  private static int encodedLength(CharSequence value, int from) {
+    int len = value.length();
+    int total = 0;
+    for (int i = from; i < len; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        total += UNRESERVED[c] ? 1 : 3;
+        continue;
+      }
+      int cp = codePointAt(value, i, len);
+      if (cp > 0xFFFF) {
+        i++;
+        total += 12;
+      } else {
+        total += cp < 0x80 ? 3 : cp < 0x800 ? 6 : 9;
+      }
+    }
+    return total;
+  }
+
+  private static int encodeInto(CharSequence value, int from, byte[] dst, int pos) {
+    int len = value.length();
+    for (int i = from; i < len; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        if (UNRESERVED[c]) {
+          dst[pos++] = (byte) c;
+        } else {
+          pos = putEscaped(dst, pos, c);
+        }
+        continue;
+      }
+      int cp = codePointAt(value, i, len);
+      if (cp > 0xFFFF) {
+        i++;
+      }
+      if (cp < 0x80) {
+        pos = putEscaped(dst, pos, cp);
+      } else if (cp < 0x800) {
+        pos = putEscaped(dst, pos, 0xC0 | (cp >> 6));
+        pos = putEscaped(dst, pos, 0x80 | (cp & 0x3F));
+      } else if (cp < 0x10000) {
+        pos = putEscaped(dst, pos, 0xE0 | (cp >> 12));
+        pos = putEscaped(dst, pos, 0x80 | ((cp >> 6) & 0x3F));
+        pos = putEscaped(dst, pos, 0x80 | (cp & 0x3F));
+      } else {
+        pos = putEscaped(dst, pos, 0xF0 | (cp >> 18));
+        pos = putEscaped(dst, pos, 0x80 | ((cp >> 12) & 0x3F));
+        pos = putEscaped(dst, pos, 0x80 | ((cp >> 6) & 0x3F));
+        pos = putEscaped(dst, pos, 0x80 | (cp & 0x3F));
+      }
+    }
+    return pos;
+  }
+
+  /**
+   * 0x80 이상인 char 위치에서 code point 를 읽는다. 짝이 맞지 않는 surrogate 는 {@link #REPLACEMENT}.
+   */
+  private static int codePointAt(CharSequence value, int index, int len) {
+    char c = value.charAt(index);
+    if (!Character.isSurrogate(c)) {
+      return c;
+    }
+    if (Character.isHighSurrogate(c) && index + 1 < len) {
+      char low = value.charAt(index + 1);
+      if (Character.isLowSurrogate(low)) {
+        return Character.toCodePoint(c, low);
+      }
+    }
+    return REPLACEMENT;
+  }
+
+  private static int putEscaped(byte[] dst, int pos, int b) {
+    dst[pos] = '%';
+    dst[pos + 1] = HEX[(b >> 4) & 0x0F];
+    dst[pos + 2] = HEX[b & 0x0F];
+    return pos + 3;
+  }
+
+  private static void appendEscaped(StringBuilder out, int b) {
+    out.append('%').append((char) HEX[(b >> 4) & 0x0F]).append((char) HEX[b & 0x0F]);
   }
 }
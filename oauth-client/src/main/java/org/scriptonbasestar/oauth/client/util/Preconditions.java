@@ -105,4 +105,17 @@ public final class Preconditions {
     String urlPattern = "^https?://[a-zA-Z0-9.-]+(:[0-9]+)?(/.*)?$";
     return customPattern(url, urlPattern, message);
   }
+
+  /**
+   * Validates that the specified expression is true.
+   *
+   * @param expression the condition to check
+   * @param message    the exception message to use if the check fails
+   * @throws IllegalArgumentException if {@code expression} is false
+   */
+  public static void isTrue(boolean expression, String message) {
+    if (!expression) {
+      throw new IllegalArgumentException(message);
+    }
+  }
 }
@@ -8,6 +8,8 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.google.gson.Gson;
 import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 
 public final class SBSingleInstances {
 
@@ -17,39 +19,45 @@ public final class SBSingleInstances {
 
   private static class ObjectMapperHolder {
 
-    public static final ObjectMapper INSTANCE = new ObjectMapper();
-
-    static {
-      INSTANCE.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
-//      INSTANCE.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
-//      INSTANCE.setPropertyNamingStrategy(PropertyNamingStrategy.CAMEL_CASE_TO_LOWER_CASE_WITH_UNDERSCORES);
-      SimpleModule module = new SimpleModule();
-      module.setDeserializerModifier(new BeanDeserializerModifier() {
-        @Override
-        @SuppressWarnings("unchecked")
-        public JsonDeserializer<Enum> modifyEnumDeserializer(
-            DeserializationConfig config,
-            final JavaType type,
-            BeanDescription beanDesc,
-            final JsonDeserializer<?> deserializer) {
-          return new JsonDeserializer<Enum>() {
-            @Override
-            public Enum deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
-              Class<? extends Enum> rawClass = (Class<Enum<?>>) type.getRawClass();
-              return Enum.valueOf(rawClass, jp.getValueAsString().toUpperCase());
-            }
-          };
-        }
-      });
-      module.addSerializer(Enum.class, new StdSerializer<Enum>(Enum.class) {
-        @Override
-        public void serialize(Enum value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
-//          jgen.writeString(value.name().toUpperCase());
-          jgen.writeString(value.name().toLowerCase());
-        }
-      });
-      INSTANCE.registerModule(module);
-    }
+    public static final ObjectMapper INSTANCE = createObjectMapper();
+  }
+
+  /**
+   * 공용 {@link ObjectMapper} 와 같은 설정 (snake_case, 대소문자 무시 enum) 의 새 mapper.
+   * 설정을 더 바꿔서 {@link org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor} 에 넘길 때 쓴다
+   */
+  public static ObjectMapper createObjectMapper() {
+    ObjectMapper mapper = new ObjectMapper();
+    mapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+//    mapper.configure(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES, true);
+//    mapper.setPropertyNamingStrategy(PropertyNamingStrategy.CAMEL_CASE_TO_LOWER_CASE_WITH_UNDERSCORES);
+    SimpleModule module = new SimpleModule();
+    module.setDeserializerModifier(new BeanDeserializerModifier() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public JsonDeserializer<Enum> modifyEnumDeserializer(
+          DeserializationConfig config,
+          final JavaType type,
+          BeanDescription beanDesc,
+          final JsonDeserializer<?> deserializer) {
+        return new JsonDeserializer<Enum>() {
+          @Override
+          public Enum deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+            Class<? extends Enum> rawClass = (Class<Enum<?>>) type.getRawClass();
+            return Enum.valueOf(rawClass, jp.getValueAsString().toUpperCase());
+          }
+        };
+      }
+    });
+    module.addSerializer(Enum.class, new StdSerializer<Enum>(Enum.class) {
+      @Override
+      public void serialize(Enum value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+//        jgen.writeString(value.name().toUpperCase());
+        jgen.writeString(value.name().toLowerCase());
+      }
+    });
+    mapper.registerModule(module);
+    return mapper;
   }
 
   public static ObjectMapper getObjectMapper() {
@@ -65,6 +73,27 @@ public final class SBSingleInstances {
     return GsonHolder.INSTANCE;
   }
 
+  private static class SecureRandomHolder {
+
+    public static final SecureRandom INSTANCE = create();
+
+    //seed 때문에 /dev/random 에서 막히지 않는 구현을 먼저 쓴다. 없으면 (Windows 등) 기본 구현
+    private static SecureRandom create() {
+      try {
+        return SecureRandom.getInstance("NativePRNGNonBlocking");
+      } catch (NoSuchAlgorithmException e) {
+        return new SecureRandom();
+      }
+    }
+  }
+
+  /**
+   * state, PKCE verifier 등에 쓰는 공용 SecureRandom. thread-safe 하다
+   */
+  public static SecureRandom getSecureRandom() {
+    return SecureRandomHolder.INSTANCE;
+  }
+
 //  private static ObjectMapper mapper = null;
 //  public static ObjectMapper getObjectMapper(){
 //    if(mapper == null){
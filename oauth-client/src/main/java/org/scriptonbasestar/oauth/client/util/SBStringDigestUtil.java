@@ -1,9 +1,18 @@
 package org.scriptonbasestar.oauth.client.util;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * MD5, SHA-1, SHA-256 digest. 여러 스레드에서 동시에 호출해도 된다.
+ * <p>
+ * {@link MessageDigest} 는 thread-safe 하지 않아서 알고리즘마다 인스턴스를 pool 에 두고 빌려 쓴다.
+ * ThreadLocal 을 쓰지 않으므로 virtual thread 가 많아져도 인스턴스가 carrier thread 나 virtual thread 수만큼 늘지 않는다.
+ * pool 이 비어 있으면 새로 만들고, 돌려줄 자리가 없으면 버린다.
+ */
 //TODO tools.core로 이동
 public final class SBStringDigestUtil {
 
@@ -11,29 +20,125 @@ public final class SBStringDigestUtil {
     throw new AssertionError("Utility class should not be instantiated");
   }
 
-  private static final MessageDigest md5;
-  private static final MessageDigest sha1;
-  private static final MessageDigest sha256;
+  private static final Pool MD5 = new Pool("MD5");
+  private static final Pool SHA1 = new Pool("SHA-1");
+  private static final Pool SHA256 = new Pool("SHA-256");
 
-  static {
-    try {
-      md5 = MessageDigest.getInstance("MD5");
-      sha1 = MessageDigest.getInstance("SHA-1");
-      sha256 = MessageDigest.getInstance("SHA-256");
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException("An error is occurred in class SBStringDigestUtil static field", e);
-    }
+  public static byte[] md5(String source) {
+    return MD5.digest(source.getBytes(StandardCharsets.UTF_8));
   }
 
-  public static byte[] md5(String source) {
-    return md5.digest(source.getBytes(StandardCharsets.UTF_8));
+  public static byte[] md5(byte[] source, int offset, int length) {
+    return MD5.digest(source, offset, length);
+  }
+
+  /**
+   * position 부터 limit 까지 읽는다. 끝나면 position 은 limit 가 된다
+   */
+  public static byte[] md5(ByteBuffer source) {
+    return MD5.digest(source);
   }
 
   public static byte[] sha1(String source) {
-    return sha1.digest(source.getBytes(StandardCharsets.UTF_8));
+    return SHA1.digest(source.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static byte[] sha1(byte[] source, int offset, int length) {
+    return SHA1.digest(source, offset, length);
+  }
+
+  /**
+   * position 부터 limit 까지 읽는다. 끝나면 position 은 limit 가 된다
+   */
+  public static byte[] sha1(ByteBuffer source) {
+    return SHA1.digest(source);
   }
 
   public static byte[] sha256(String source) {
-    return sha256.digest(source.getBytes(StandardCharsets.UTF_8));
+    return SHA256.digest(source.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static byte[] sha256(byte[] source, int offset, int length) {
+    return SHA256.digest(source, offset, length);
+  }
+
+  /**
+   * position 부터 limit 까지 읽는다. 끝나면 position 은 limit 가 된다
+   */
+  public static byte[] sha256(ByteBuffer source) {
+    return SHA256.digest(source);
+  }
+
+  /**
+   * 고정 크기 slot 배열. 스레드 id 로 시작 slot 을 정해서 경쟁을 나눈다
+   */
+  private static final class Pool {
+    private static final int PROBES = 4;
+
+    private final String algorithm;
+    private final AtomicReferenceArray<MessageDigest> slots;
+    private final int mask;
+
+    Pool(String algorithm) {
+      this.algorithm = algorithm;
+      int size = Integer.highestOneBit(Math.max(4, Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+      this.slots = new AtomicReferenceArray<>(size);
+      this.mask = size - 1;
+      slots.set(0, create());
+    }
+
+    byte[] digest(byte[] source) {
+      return digest(source, 0, source.length);
+    }
+
+    byte[] digest(byte[] source, int offset, int length) {
+      MessageDigest md = borrow();
+      try {
+        md.update(source, offset, length);
+        return md.digest();
+      } finally {
+        release(md);
+      }
+    }
+
+    byte[] digest(ByteBuffer source) {
+      MessageDigest md = borrow();
+      try {
+        md.update(source);
+        return md.digest();
+      } finally {
+        release(md);
+      }
+    }
+
+    private MessageDigest borrow() {
+      int start = (int) Thread.currentThread().threadId();
+      for (int i = 0; i < PROBES; i++) {
+        MessageDigest md = slots.getAndSet((start + i) & mask, null);
+        if (md != null) {
+          return md;
+        }
+      }
+      return create();
+    }
+
+    private void release(MessageDigest md) {
+      //update 중 예외가 나면 남은 상태를 지운다. digest() 뒤에는 이미 reset 되어 있다
+      md.reset();
+      int start = (int) Thread.currentThread().threadId();
+      for (int i = 0; i < PROBES; i++) {
+        if (slots.compareAndSet((start + i) & mask, null, md)) {
+          return;
+        }
+      }
+    }
+
+    private MessageDigest create() {
+      try {
+        return MessageDigest.getInstance(algorithm);
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(algorithm + " is not supported", e);
+      }
+    }
   }
 }
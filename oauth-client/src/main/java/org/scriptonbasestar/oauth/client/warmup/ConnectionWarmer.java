@@ -0,0 +1,243 @@
+package org.scriptonbasestar.oauth.client.warmup;
+
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * provider token endpoint 로 가는 connection 을 미리 열고, 닫히면 다시 채운다.
+ * <p>
+ * {@link #start()} 하면 바로 한 번 warm-up 하고, 이후 {@code probeInterval} 마다 probe 한다.
+ * warm-up 과 probe 는 같은 일이다: host 당 connection 이 {@code connectionsPerRoute} 개가 되도록 {@link HttpRequest#preconnect} 로 빈 자리만 채운다.
+ * 요청이 쓰고 있는 connection 은 건드리지 않고, pool 이 바쁘면 그냥 넘어간다. 바쁜 것은 실패로 보지 않는다.
+ * <p>
+ * 요청은 보내지 않으므로 server 쪽 idle timer 를 늦추지는 못한다. idle timeout 으로 닫힌 connection 을 다음 probe 에서 다시 열 뿐이고,
+ * server 가 닫은 connection 은 요청이 빌릴 때 pool 의 stale 검사
+ * ({@link org.scriptonbasestar.oauth.client.http.HttpClientSettings#getValidateAfterInactivity()}) 가 걸러 낸다.
+ * <p>
+ * endpoint 는 probe 할 때마다 supplier 에서 다시 읽으므로 discovery 로 바뀐 endpoint 도 따라간다.
+ *
+ * <pre>{@code
+ * ConnectionWarmer warmer = ConnectionWarmer.builder()
+ *     .target("naver", naverConfig::getAccessTokenUri)
+ *     .target("kakao", kakaoConfig::getAccessTokenEndpoint)
+ *     .connectionsPerRoute(4)
+ *     .build();
+ * warmer.start();
+ * //readiness check
+ * boolean ready = warmer.isReady();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class ConnectionWarmer implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ConnectionWarmer.class);
+
+  public enum State {
+    /**
+     * 아직 warm-up 하지 않았다
+     */
+    PENDING,
+    /**
+     * 마지막 probe 가 성공했다
+     */
+    READY,
+    /**
+     * 성공한 적은 있지만 마지막 probe 가 실패했다
+     */
+    DEGRADED,
+    /**
+     * 한 번도 성공하지 못했다
+     */
+    FAILED
+  }
+
+  /**
+   * target 하나의 마지막 probe 결과.
+   *
+   * @param name      target 이름 (보통 provider)
+   * @param endpoint  마지막으로 probe 한 URL. PENDING 이면 null
+   * @param state     상태
+   * @param opened    마지막 probe 에서 새로 연 connection 수. 0 이면 이미 충분했거나 pool 이 바빴다
+   * @param lastProbe 마지막 probe 시각. PENDING 이면 null
+   * @param lastError 마지막 probe 가 실패했으면 그 메시지
+   */
+  public record TargetStatus(String name, String endpoint, State state, int opened, Instant lastProbe, String lastError) {
+  }
+
+  private final List<Target> targets;
+  private final int connectionsPerRoute;
+  private final Duration probeInterval;
+  private final Clock clock;
+
+  private ScheduledExecutorService scheduler;
+
+  private ConnectionWarmer(Builder builder) {
+    List<Target> targets = new ArrayList<>(builder.names.size());
+    for (int i = 0; i < builder.names.size(); i++) {
+      targets.add(new Target(builder.names.get(i), builder.endpoints.get(i)));
+    }
+    this.targets = List.copyOf(targets);
+    this.connectionsPerRoute = builder.connectionsPerRoute;
+    this.probeInterval = builder.probeInterval;
+    this.clock = builder.clock;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * 바로 warm-up 을 시작하고 주기적으로 probe 한다. 호출한 스레드는 기다리지 않는다
+   */
+  public synchronized void start() {
+    Preconditions.isTrue(scheduler == null, "already started");
+    scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("sb-oauth-warmup").factory());
+    scheduler.scheduleWithFixedDelay(this::warmUp, 0, probeInterval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * 모든 target 을 지금 한 번 warm-up (probe) 한다. target 마다 virtual thread 에서 동시에 하고, 모두 끝나면 돌아온다.
+   *
+   * @return {@link #isReady()}
+   */
+  public boolean warmUp() {
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (Target target : targets) {
+        executor.execute(target::probe);
+      }
+    }
+    return isReady();
+  }
+
+  /**
+   * readiness check 용. 모든 target 이 한 번 이상 warm-up 에 성공했으면 true.
+   * 이후 probe 가 실패해도 (DEGRADED) false 로 돌아가지 않는다. provider 하나의 일시 장애로 서비스 전체가 빠지지 않게 한다
+   */
+  public boolean isReady() {
+    for (Target target : targets) {
+      State state = target.status.state();
+      if (state != State.READY && state != State.DEGRADED) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public List<TargetStatus> status() {
+    List<TargetStatus> status = new ArrayList<>(targets.size());
+    for (Target target : targets) {
+      status.add(target.status);
+    }
+    return status;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  private final class Target {
+    private final String name;
+    private final Supplier<String> endpoint;
+    private final ReentrantLock probeLock = new ReentrantLock();
+    private volatile TargetStatus status;
+
+    private Target(String name, Supplier<String> endpoint) {
+      this.name = name;
+      this.endpoint = endpoint;
+      this.status = new TargetStatus(name, null, State.PENDING, 0, null, null);
+    }
+
+    //scheduler 와 warmUp() 이 동시에 부를 수 있다. preconnect 가 blocking 이라 virtual thread 를 pin 하지 않게 synchronized 대신 lock
+    private void probe() {
+      probeLock.lock();
+      String url = null;
+      try {
+        url = endpoint.get();
+        int opened = HttpRequest.preconnect(url, connectionsPerRoute);
+        if (status.state() != State.READY) {
+          log.info("connection warm-up {} ready: {}", name, url);
+        }
+        status = new TargetStatus(name, url, State.READY, opened, clock.instant(), null);
+      } catch (RuntimeException e) {
+        State previous = status.state();
+        State state = previous == State.READY || previous == State.DEGRADED ? State.DEGRADED : State.FAILED;
+        log.warn("connection warm-up {} failed ({}): {}", name, state, e.toString());
+        status = new TargetStatus(name, url, state, 0, clock.instant(), String.valueOf(e.getMessage()));
+      } finally {
+        probeLock.unlock();
+      }
+    }
+  }
+
+  public static final class Builder {
+    private final List<String> names = new ArrayList<>();
+    private final List<Supplier<String>> endpoints = new ArrayList<>();
+    private int connectionsPerRoute = 2;
+    private Duration probeInterval = Duration.ofSeconds(20);
+    private Clock clock = Clock.systemUTC();
+
+    private Builder() {
+    }
+
+    /**
+     * @param name     status 에 보일 이름. 보통 provider
+     * @param endpoint 보통 connector config 의 {@code getAccessTokenEndpoint} / {@code getAccessTokenUri}
+     */
+    public Builder target(String name, Supplier<String> endpoint) {
+      Preconditions.notEmptyString(name, "name must not null or empty");
+      Preconditions.notNull(endpoint, "endpoint must not null");
+      Preconditions.isTrue(!names.contains(name), "duplicate target: " + name);
+      names.add(name);
+      endpoints.add(endpoint);
+      return this;
+    }
+
+    /**
+     * @param connectionsPerRoute host 당 열어 둘 connection 수. 기본값 2. pool 의 host 당 최대값을 넘으면 최대값까지만 연다
+     */
+    public Builder connectionsPerRoute(int connectionsPerRoute) {
+      Preconditions.isTrue(connectionsPerRoute >= 1, "connectionsPerRoute must be positive");
+      this.connectionsPerRoute = connectionsPerRoute;
+      return this;
+    }
+
+    /**
+     * @param probeInterval probe 간격. 기본값 20초. idle timeout 으로 닫힌 connection 을 이 간격으로 다시 연다
+     */
+    public Builder probeInterval(Duration probeInterval) {
+      Preconditions.notNull(probeInterval, "probeInterval must not null");
+      Preconditions.isTrue(!probeInterval.isNegative() && !probeInterval.isZero(), "probeInterval must be positive");
+      this.probeInterval = probeInterval;
+      return this;
+    }
+
+    Builder clock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public ConnectionWarmer build() {
+      Preconditions.isTrue(!names.isEmpty(), "at least one target is required");
+      return new ConnectionWarmer(this);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package org.scriptonbasestar.oauth.client.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 첫 로그인 요청이 할 초기화를 미리 한다. 호출하지 않아도 첫 요청 때 같은 일이 일어난다.
+ * <p>
+ * 시작 시간이 중요하면 호출하지 않거나 시작 뒤 background 에서, 첫 요청 지연이 중요하면 readiness 전에 호출한다.
+ *
+ * <pre>{@code
+ * OAuthWarmup.tokenTypes(OAuth2NaverTokenRes.class, OAuth2KakaoTokenRes.class);
+ * OAuthWarmup.connections(naverConfig.getAccessTokenEndpoint(), 2);
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class OAuthWarmup {
+
+  private OAuthWarmup() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * 공유 HTTP client 와 connection pool 을 만든다. connection 은 열지 않는다
+   */
+  public static void httpClient() {
+    HttpRequest.initialize();
+  }
+
+  /**
+   * {@code url} 의 host 로 connection 을 미리 연다. DNS, TCP, TLS handshake 까지만 하고 요청은 보내지 않는다.
+   *
+   * @param url         보통 connector config 의 token endpoint
+   * @param connections 열 connection 수
+   * @return 새로 연 connection 수
+   */
+  public static int connections(String url, int connections) {
+    return HttpRequest.preconnect(url, connections);
+  }
+
+  /**
+   * 공용 {@link ObjectMapper} 에 token type 의 deserializer 를 미리 만들어 둔다.
+   */
+  @SafeVarargs
+  public static void tokenTypes(Class<? extends TokenPack>... tokenTypes) {
+    Preconditions.notNull(tokenTypes, "tokenTypes must not null");
+    tokenTypes(SBSingleInstances.getObjectMapper(), List.of(tokenTypes));
+  }
+
+  /**
+   * @param mapper {@link org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor} 에 넘긴 mapper
+   */
+  public static void tokenTypes(ObjectMapper mapper, Collection<Class<? extends TokenPack>> tokenTypes) {
+    Preconditions.notNull(mapper, "mapper must not null");
+    Preconditions.notNull(tokenTypes, "tokenTypes must not null");
+    for (Class<? extends TokenPack> tokenType : tokenTypes) {
+      //ObjectReader 를 만들 때 root deserializer 를 찾아서 mapper 의 cache 에 넣는다
+      mapper.readerFor(tokenType);
+    }
+  }
+}
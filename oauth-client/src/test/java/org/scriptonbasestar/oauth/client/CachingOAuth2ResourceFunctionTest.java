@@ -0,0 +1,151 @@
+package org.scriptonbasestar.oauth.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for CachingOAuth2ResourceFunction
+ */
+class CachingOAuth2ResourceFunctionTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicInteger fullResponses = new AtomicInteger();
+	private final AtomicInteger notModified = new AtomicInteger();
+	private final AtomicReference<String> etag = new AtomicReference<>("\"v1\"");
+	private final AtomicInteger status = new AtomicInteger(200);
+	private HttpServer server;
+	private String url;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/me", exchange -> {
+			if (etag.get().equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				notModified.incrementAndGet();
+				exchange.getResponseHeaders().add("ETag", etag.get());
+				exchange.sendResponseHeaders(304, -1);
+				exchange.close();
+				return;
+			}
+			fullResponses.incrementAndGet();
+			byte[] body = ("{\"version\":" + etag.get() + "}").getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("ETag", etag.get());
+			exchange.sendResponseHeaders(status.get(), body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		url = "http://127.0.0.1:" + server.getAddress().getPort() + "/me";
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void withinTtl_shouldNotCallProvider() {
+		CachingOAuth2ResourceFunction function = function();
+
+		assertThat(function.run("at")).isEqualTo("{\"version\":\"v1\"}");
+		assertThat(function.run("at")).isEqualTo("{\"version\":\"v1\"}");
+		assertThat(fullResponses).hasValue(1);
+		assertThat(notModified).hasValue(0);
+	}
+
+	@Test
+	void afterTtl_notModified_shouldRevalidateWithoutBody() {
+		CachingOAuth2ResourceFunction function = function();
+		function.run("at");
+
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertThat(function.run("at")).isEqualTo("{\"version\":\"v1\"}");
+		assertThat(notModified).hasValue(1);
+
+		assertThat(function.run("at")).as("ttl extended by 304").isEqualTo("{\"version\":\"v1\"}");
+		assertThat(notModified).hasValue(1);
+		assertThat(fullResponses).hasValue(1);
+	}
+
+	@Test
+	void afterTtl_changed_shouldReplaceEntry() {
+		CachingOAuth2ResourceFunction function = function();
+		function.run("at");
+
+		etag.set("\"v2\"");
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertThat(function.run("at")).isEqualTo("{\"version\":\"v2\"}");
+		assertThat(fullResponses).hasValue(2);
+	}
+
+	@Test
+	void errorStatus_shouldDropEntryAndReturnNull() {
+		CachingOAuth2ResourceFunction function = function();
+		function.run("at");
+
+		etag.set("\"v2\"");
+		status.set(401);
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertThat(function.run("at")).isNull();
+		assertThat(function.size()).isZero();
+	}
+
+	@Test
+	void serverError_shouldKeepEntryForRevalidation() {
+		CachingOAuth2ResourceFunction function = function();
+		function.run("at");
+
+		etag.set("\"v2\"");
+		status.set(500);
+		now.addAndGet(Duration.ofMinutes(2).toNanos());
+		assertThat(function.run("at")).isNull();
+		assertThat(function.size()).isEqualTo(1);
+
+		etag.set("\"v1\"");
+		status.set(200);
+		assertThat(function.run("at")).isEqualTo("{\"version\":\"v1\"}");
+		assertThat(notModified).hasValue(1);
+	}
+
+	@Test
+	void maxEntries_shouldEvictLeastRecentlyUsed() {
+		CachingOAuth2ResourceFunction function = CachingOAuth2ResourceFunction
+			.builder(new DefaultOAuth2ResourceFunction("naver", url))
+			.maxEntries(2)
+			.clock(now::get)
+			.build();
+
+		function.run("a");
+		function.run("b");
+		function.run("a");
+		function.run("c");
+		assertThat(function.size()).isEqualTo(2);
+
+		function.run("a");
+		assertThat(fullResponses).hasValue(3);
+		function.run("b");
+		assertThat(fullResponses).hasValue(4);
+	}
+
+	private CachingOAuth2ResourceFunction function() {
+		return CachingOAuth2ResourceFunction
+			.builder(new DefaultOAuth2ResourceFunction("naver", url))
+			.ttl(Duration.ofMinutes(1))
+			.clock(now::get)
+			.build();
+	}
+}
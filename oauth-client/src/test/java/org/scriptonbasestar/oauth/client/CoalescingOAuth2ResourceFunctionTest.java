@@ -0,0 +1,131 @@
+package org.scriptonbasestar.oauth.client;
+
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for CoalescingOAuth2ResourceFunction
+ */
+class CoalescingOAuth2ResourceFunctionTest {
+
+	private final AtomicInteger calls = new AtomicInteger();
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void concurrentCalls_sameToken_shouldShareOneRequest() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		CoalescingOAuth2ResourceFunction<String> function = CoalescingOAuth2ResourceFunction.<String>builder(token -> {
+			calls.incrementAndGet();
+			await(release);
+			return "profile of " + token;
+		}).build();
+
+		List<String> results = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			threads.add(Thread.ofVirtual().start(() -> {
+				String result = function.run("at");
+				synchronized (results) {
+					results.add(result);
+				}
+			}));
+		}
+		while (calls.get() == 0 || function.inFlightCount() == 0) {
+			Thread.sleep(1);
+		}
+		Thread.sleep(50);
+		release.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(calls).hasValue(1);
+		assertThat(results).hasSize(8).containsOnly("profile of at");
+		assertThat(function.inFlightCount()).isZero();
+	}
+
+	@Test
+	void differentTokens_shouldNotBeShared() {
+		CoalescingOAuth2ResourceFunction<String> function = CoalescingOAuth2ResourceFunction.<String>builder(token -> {
+			calls.incrementAndGet();
+			return token;
+		}).build();
+
+		assertThat(function.run("a")).isEqualTo("a");
+		assertThat(function.run("b")).isEqualTo("b");
+		assertThat(function.run("a")).isEqualTo("a");
+		assertThat(calls).as("no cache by default").hasValue(3);
+	}
+
+	@Test
+	void cache_shouldServeUntilTtlExpires() {
+		CoalescingOAuth2ResourceFunction<String> function = CoalescingOAuth2ResourceFunction.<String>builder(token -> {
+			calls.incrementAndGet();
+			return "v" + calls.get();
+		})
+			.cache(Duration.ofMillis(500), 10)
+			.clock(now::get)
+			.build();
+
+		assertThat(function.run("at")).isEqualTo("v1");
+		now.addAndGet(Duration.ofMillis(499).toNanos());
+		assertThat(function.run("at")).isEqualTo("v1");
+		now.addAndGet(Duration.ofMillis(1).toNanos());
+		assertThat(function.run("at")).isEqualTo("v2");
+	}
+
+	@Test
+	void cache_shouldEvictOldestOverMaxSizeAndSkipNull() {
+		CoalescingOAuth2ResourceFunction<String> function = CoalescingOAuth2ResourceFunction.<String>builder(token -> {
+			calls.incrementAndGet();
+			return "none".equals(token) ? null : token;
+		})
+			.cache(Duration.ofMinutes(1), 2)
+			.clock(now::get)
+			.build();
+
+		function.run("a");
+		function.run("b");
+		function.run("c");
+		function.run("a");
+		assertThat(calls).hasValue(4);
+
+		function.run("none");
+		function.run("none");
+		assertThat(calls).hasValue(6);
+	}
+
+	@Test
+	void failure_shouldPropagateAndNotBeCached() {
+		CoalescingOAuth2ResourceFunction<String> function = CoalescingOAuth2ResourceFunction.<String>builder(token -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new OAuthNetworkException("timeout");
+			}
+			return "ok";
+		})
+			.cache(Duration.ofMinutes(1), 10)
+			.build();
+
+		assertThatThrownBy(() -> function.run("at")).isInstanceOf(OAuthNetworkException.class);
+		assertThat(function.run("at")).isEqualTo("ok");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -43,7 +43,7 @@ class DefaultOAuth2GenerateAuthorizeEndpointFunctionTest {
     assertThat(result).contains("client_id=testClientId");
     assertThat(result).contains("redirect_uri=http");
     assertThat(result).contains("response_type=code");
-    assertThat(result).contains("scope=read+write");
+    assertThat(result).contains("scope=read%20write");
     assertThat(result).contains("state=test-state-123");
   }
 
@@ -156,6 +156,6 @@ class DefaultOAuth2GenerateAuthorizeEndpointFunctionTest {
 
     assertThat(result).contains("response_type=token");
     assertThat(result).contains("redirect_uri=https");
-    assertThat(result).contains("scope=email+profile");
+    assertThat(result).contains("scope=email%20profile");
   }
 }
@@ -17,6 +17,12 @@ class OAuthBaseConfigTest {
     }
   }
 
+  private static class OtherOAuthConfig extends OAuthBaseConfig {
+    public OtherOAuthConfig(String clientId, String clientSecret) {
+      super(clientId, clientSecret);
+    }
+  }
+
   @Test
   void constructor_withValidParams_shouldCreateConfig() {
     TestOAuthConfig config = new TestOAuthConfig("testClientId", "testSecret");
@@ -61,4 +67,14 @@ class OAuthBaseConfigTest {
 
     assertThat(config.getClientSecret()).isEqualTo("mySecret");
   }
+
+  @Test
+  void equals_withSameValues_shouldBeEqual() {
+    TestOAuthConfig config = new TestOAuthConfig("myClientId", null);
+
+    assertThat(config).isEqualTo(new TestOAuthConfig("myClientId", null))
+        .hasSameHashCodeAs(new TestOAuthConfig("myClientId", null));
+    assertThat(config).isNotEqualTo(new TestOAuthConfig("myClientId", "mySecret"));
+    assertThat(config).isNotEqualTo(new OtherOAuthConfig("myClientId", null));
+  }
 }
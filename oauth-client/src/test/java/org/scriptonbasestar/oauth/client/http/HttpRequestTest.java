@@ -0,0 +1,98 @@
+package org.scriptonbasestar.oauth.client.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for HttpRequest async execution and shared client lifecycle
+ */
+class HttpRequestTest {
+
+	@Test
+	void executeAsync_post_shouldSendFormAndCompleteWithResult() throws Exception {
+		AtomicReference<String> requestBody = new AtomicReference<>();
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/token", exchange -> {
+			requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			byte[] body = "{\"access_token\":\"at\"}".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+			CompletableFuture<HttpResult> future =
+				HttpRequest.create(url, new ParamList().add("code", "abc")).executeAsync(OAuthHttpVerb.POST);
+
+			HttpResult result = future.get(5, TimeUnit.SECONDS);
+			assertThat(result.status()).isEqualTo(200);
+			assertThat(result.body()).isEqualTo("{\"access_token\":\"at\"}");
+			assertThat(requestBody.get()).isEqualTo("code=abc");
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void executeAsync_connectionRefused_shouldFailWithNetworkException() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+
+		CompletableFuture<HttpResult> future =
+			HttpRequest.create("http://127.0.0.1:" + port + "/token").executeAsync(OAuthHttpVerb.GET);
+
+		assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+			.isInstanceOf(ExecutionException.class)
+			.hasCauseInstanceOf(OAuthNetworkException.class);
+	}
+
+	@Test
+	void preconnect_shouldOpenConnectionsOnceWithoutSendingRequest() throws IOException {
+		AtomicInteger requests = new AtomicInteger();
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			requests.incrementAndGet();
+			exchange.sendResponseHeaders(204, -1);
+			exchange.close();
+		});
+		server.start();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+
+			assertThat(HttpRequest.preconnect(url, 3)).isEqualTo(3);
+			assertThat(HttpRequest.preconnect(url, 3)).as("idle connections are reused").isZero();
+			assertThat(HttpRequest.poolStats().available()).isGreaterThanOrEqualTo(3);
+			assertThat(requests).hasValue(0);
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void configure_afterClientCreated_shouldFail() {
+		HttpRequest.initialize();
+
+		assertThatThrownBy(() -> HttpRequest.configure(HttpClientSettings.defaults()))
+			.isInstanceOf(IllegalStateException.class);
+	}
+}
@@ -3,6 +3,7 @@ package org.scriptonbasestar.oauth.client.http;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Test class for ParamList
@@ -64,4 +65,41 @@ class ParamListTest {
     // Check that both params are added (sets are based on key equality)
     assertThat(paramList.paramSet()).isNotEmpty();
   }
+
+  @Test
+  void add_identicalParam_shouldKeepSingleEntry() {
+    ParamList paramList = new ParamList();
+    paramList.add("key1", "value1");
+    paramList.add(new Param("key1", "value1"));
+
+    assertThat(paramList.size()).isEqualTo(1);
+  }
+
+  @Test
+  void get_shouldKeepInsertionOrderBeyondInitialCapacity() {
+    ParamList paramList = new ParamList();
+    for (int i = 0; i < 20; i++) {
+      paramList.add("key" + i, "value" + i);
+    }
+
+    assertThat(paramList.size()).isEqualTo(20);
+    assertThat(paramList.get(0).getKey()).isEqualTo("key0");
+    assertThat(paramList.get(19).getKey()).isEqualTo("key19");
+    assertThat(paramList.paramSet()).extracting(Param::getKey).startsWith("key0", "key1", "key2");
+  }
+
+  @Test
+  void get_withOutOfRangeIndex_shouldThrowException() {
+    ParamList paramList = ParamList.create(new Param("key1", "value1"));
+
+    assertThatThrownBy(() -> paramList.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void paramSet_shouldNotBeModifiable() {
+    ParamList paramList = ParamList.create(new Param("key1", "value1"));
+
+    assertThatThrownBy(() -> paramList.paramSet().add(new Param("key2", "value2")))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
 }
@@ -3,6 +3,7 @@ package org.scriptonbasestar.oauth.client.http;
 import org.apache.hc.core5.http.NameValuePair;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -47,13 +48,21 @@ class ParamUtilTest {
     assertThat(result).isEqualTo("http://example.com?name=test&age=25");
   }
 
+  @Test
+  void generateOAuthQuery_withEmptyValues_shouldSeparateEveryParam() {
+    String result = ParamUtil.generateOAuthQuery("http://example.com",
+        new Param("a", ""), new Param("b", "", "2"), new Param("c", "?"));
+
+    assertThat(result).isEqualTo("http://example.com?a=&b=&b=2&c=%3F");
+  }
+
   @Test
   void generateOAuthQuery_withSpecialCharacters_shouldEncodeValues() {
     Param param = new Param("message", "hello world");
 
     String result = ParamUtil.generateOAuthQuery("http://example.com", param);
 
-    assertThat(result).contains("message=hello+world");
+    assertThat(result).contains("message=hello%20world");
   }
 
   @Test
@@ -100,4 +109,34 @@ class ParamUtilTest {
 
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void generateFormBody_shouldEncodeKeysAndValuesInOrder() {
+    ParamList paramList = new ParamList();
+    paramList.add("grant_type", "authorization_code");
+    paramList.add("redirect_uri", "http://localhost:8080/callback?a=b c");
+    paramList.add("scope", "read", "write");
+
+    byte[] body = ParamUtil.generateFormBody(paramList);
+
+    assertThat(new String(body, StandardCharsets.US_ASCII)).isEqualTo(
+        "grant_type=authorization_code"
+            + "&redirect_uri=http%3A%2F%2Flocalhost%3A8080%2Fcallback%3Fa%3Db%20c"
+            + "&scope=read&scope=write");
+  }
+
+  @Test
+  void generateFormBody_withNonAsciiValue_shouldBeExactlySized() {
+    ParamList paramList = new ParamList();
+    paramList.add("name", "홍길동");
+
+    byte[] body = ParamUtil.generateFormBody(paramList);
+
+    assertThat(new String(body, StandardCharsets.US_ASCII)).isEqualTo("name=%ED%99%8D%EA%B8%B8%EB%8F%99");
+  }
+
+  @Test
+  void generateFormBody_withEmptyParamList_shouldReturnEmptyBody() {
+    assertThat(ParamUtil.generateFormBody(new ParamList())).isEmpty();
+  }
 }
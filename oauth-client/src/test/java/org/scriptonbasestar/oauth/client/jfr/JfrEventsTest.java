@@ -0,0 +1,199 @@
+package org.scriptonbasestar.oauth.client.jfr;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.http.ParamList;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.nobi.LocalStateStorage;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor;
+import org.scriptonbasestar.oauth.client.o20.type.AccessTokenType;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the OAuth JFR events
+ */
+class JfrEventsTest {
+
+	private static final String TOKEN_JSON = "{\"access_token\":\"at\",\"expires_in\":3600}";
+
+	@TempDir
+	Path tempDir;
+
+	private Recording recording;
+
+	@BeforeEach
+	void setUp() {
+		recording = new Recording();
+		recording.enable(HttpRequestEvent.class).withThreshold(Duration.ZERO);
+		recording.enable(TokenExtractEvent.class).withThreshold(Duration.ZERO);
+		recording.enable(StorageEvent.class).withThreshold(Duration.ZERO);
+		recording.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		recording.close();
+	}
+
+	@Test
+	void httpRequest_shouldRecordProviderHostStatusAndBytes() throws IOException {
+		HttpServer server = tokenServer();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+			String body = HttpRequest.create(url, new ParamList().add("code", "abc")).withProvider("naver")
+				.run(OAuthHttpVerb.POST);
+			assertThat(body).isEqualTo(TOKEN_JSON);
+		} finally {
+			server.stop(0);
+		}
+
+		RecordedEvent event = single(stop(), "org.scriptonbasestar.oauth.HttpRequest");
+		assertThat(event.getString("provider")).isEqualTo("naver");
+		assertThat(event.getString("host")).isEqualTo("127.0.0.1");
+		assertThat(event.getString("method")).isEqualTo("POST");
+		assertThat(event.getInt("status")).isEqualTo(200);
+		assertThat(event.getLong("requestBytes")).isEqualTo("code=abc".length());
+		assertThat(event.getLong("responseBytes")).isEqualTo(TOKEN_JSON.length());
+	}
+
+	@Test
+	void httpRequestAsync_shouldRecordProviderHostStatusAndBytes() throws IOException {
+		HttpServer server = tokenServer();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+			HttpResult result = HttpRequest.create(url, new ParamList().add("code", "abc")).withProvider("kakao")
+				.executeAsync(OAuthHttpVerb.POST)
+				.join();
+			assertThat(result.body()).isEqualTo(TOKEN_JSON);
+		} finally {
+			server.stop(0);
+		}
+
+		RecordedEvent event = single(stop(), "org.scriptonbasestar.oauth.HttpRequest");
+		assertThat(event.getString("provider")).isEqualTo("kakao");
+		assertThat(event.getString("host")).isEqualTo("127.0.0.1");
+		assertThat(event.getString("method")).isEqualTo("POST");
+		assertThat(event.getInt("status")).isEqualTo(200);
+		assertThat(event.getLong("requestBytes")).isEqualTo("code=abc".length());
+		assertThat(event.getLong("responseBytes")).isEqualTo(TOKEN_JSON.length());
+	}
+
+	@Test
+	void tokenExtract_shouldRecordSuccessAndFailure() throws IOException {
+		JsonTokenExtractor<TestToken> extractor = new JsonTokenExtractor<>(new TypeReference<>() {
+		});
+
+		assertThat(extractor.extract(TOKEN_JSON).getAccessToken()).isEqualTo("at");
+		assertThatThrownBy(() -> extractor.extract("not json")).isInstanceOf(OAuthParsingException.class);
+
+		List<RecordedEvent> events = named(stop(), "org.scriptonbasestar.oauth.TokenExtract");
+		assertThat(events).hasSize(2);
+		assertThat(events.get(0).getString("extractor")).isEqualTo("JsonTokenExtractor");
+		assertThat(events.get(0).getInt("responseLength")).isEqualTo(TOKEN_JSON.length());
+		assertThat(events.get(0).getBoolean("success")).isTrue();
+		assertThat(events.get(1).getBoolean("success")).isFalse();
+	}
+
+	@Test
+	void storage_shouldRecordEveryOperation() throws IOException {
+		TokenStorage tokenStorage = new JfrTokenStorage(new LocalTokenStorage());
+		tokenStorage.store("user", new Token("at"));
+		tokenStorage.load("user");
+		tokenStorage.drop("user");
+		JfrStateStorage stateStorage = new JfrStateStorage(new LocalStateStorage());
+		stateStorage.add("user", new State("s"));
+		stateStorage.exists("user", new State("s"));
+
+		List<RecordedEvent> events = named(stop(), "org.scriptonbasestar.oauth.Storage");
+		assertThat(events).extracting(e -> e.getString("storage") + "." + e.getString("operation"))
+			.containsExactly(
+				"LocalTokenStorage.store",
+				"LocalTokenStorage.load",
+				"LocalTokenStorage.drop",
+				"LocalStateStorage.add",
+				"LocalStateStorage.exists");
+		assertThat(events).allMatch(e -> e.getBoolean("success"));
+	}
+
+	private static HttpServer tokenServer() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/token", exchange -> {
+			exchange.getRequestBody().readAllBytes();
+			byte[] body = TOKEN_JSON.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		return server;
+	}
+
+	private List<RecordedEvent> stop() throws IOException {
+		recording.stop();
+		Path file = tempDir.resolve("oauth.jfr");
+		recording.dump(file);
+		return RecordingFile.readAllEvents(file);
+	}
+
+	private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+		return events.stream()
+			.filter(e -> e.getEventType().getName().equals(name))
+			.sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+			.toList();
+	}
+
+	private static RecordedEvent single(List<RecordedEvent> events, String name) {
+		List<RecordedEvent> found = named(events, name);
+		assertThat(found).hasSize(1);
+		return found.get(0);
+	}
+
+	record TestToken(String accessToken, Long expiresIn) implements TokenPack {
+		@Override
+		public String getAccessToken() {
+			return accessToken;
+		}
+
+		@Override
+		public AccessTokenType getTokenType() {
+			return AccessTokenType.BEARER;
+		}
+
+		@Override
+		public String getRefreshToken() {
+			return null;
+		}
+
+		@Override
+		public Long getExpiresIn() {
+			return expiresIn;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package org.scriptonbasestar.oauth.client.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.o20.type.AccessTokenType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for OAuthMetrics and MicrometerOAuthMetricsRecorder
+ */
+class OAuthMetricsTest {
+
+	private SimpleMeterRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		OAuthMetrics.setRecorder(new MicrometerOAuthMetricsRecorder(registry));
+	}
+
+	@AfterEach
+	void tearDown() {
+		OAuthMetrics.reset();
+	}
+
+	@Test
+	void observe_success_shouldRecordOperation() {
+		TokenPack token = OAuthMetrics.observe("naver", OAuthMetrics.ISSUE, () -> token(null));
+
+		assertThat(token.getAccessToken()).isEqualTo("at");
+		assertThat(registry.get("sb.oauth.operations")
+			.tags("provider", "naver", "operation", "issue", "outcome", "success", "error", "none")
+			.timer().count()).isEqualTo(1);
+		assertThat(registry.find("sb.oauth.errors").counter()).isNull();
+	}
+
+	@Test
+	void observe_oauthError_shouldTagErrorCode() {
+		OAuthMetrics.observe("google", OAuthMetrics.REFRESH, () -> token("invalid_grant"));
+
+		assertThat(registry.get("sb.oauth.operations")
+			.tags("outcome", "oauth_error", "error", "invalid_grant")
+			.timer().count()).isEqualTo(1);
+		assertThat(registry.get("sb.oauth.errors")
+			.tags("provider", "google", "operation", "refresh", "error", "invalid_grant")
+			.counter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	void observe_exception_shouldRecordAndRethrow() {
+		assertThatThrownBy(() -> OAuthMetrics.observe("kakao", OAuthMetrics.REVOKE, () -> {
+			throw new OAuthNetworkException("timeout");
+		})).isInstanceOf(OAuthNetworkException.class);
+
+		assertThat(registry.get("sb.oauth.operations")
+			.tags("provider", "kakao", "outcome", "network_error")
+			.timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void observe_withoutRecorder_shouldNotRecord() {
+		OAuthMetrics.reset();
+
+		assertThat(OAuthMetrics.isEnabled()).isFalse();
+		OAuthMetrics.observe("naver", OAuthMetrics.ISSUE, () -> token(null));
+		assertThat(registry.find("sb.oauth.operations").timer()).isNull();
+	}
+
+	@Test
+	void recorder_shouldRegisterPoolGauges() {
+		assertThat(registry.get("sb.oauth.http.pool.max").gauge().value()).isPositive();
+		assertThat(registry.get("sb.oauth.http.pool.leased").gauge().value()).isZero();
+		assertThat(registry.find("sb.oauth.http.pool.pending").gauge()).isNotNull();
+		assertThat(registry.find("sb.oauth.http.pool.available").gauge()).isNotNull();
+	}
+
+	@Test
+	void circuitStateAndRejection_shouldBeRecorded() {
+		OAuthMetrics.recorder().recordCircuitStateChange("kakao", "CLOSED", "OPEN");
+		OAuthMetrics.recorder().recordRejected("kakao", "CIRCUIT_OPEN");
+
+		assertThat(registry.get("sb.oauth.circuit.state").tags("provider", "kakao").gauge().value()).isEqualTo(1.0);
+		assertThat(registry.get("sb.oauth.circuit.transitions").tags("from", "CLOSED", "to", "OPEN")
+			.counter().count()).isEqualTo(1.0);
+		assertThat(registry.get("sb.oauth.rejected").tags("reason", "CIRCUIT_OPEN").counter().count()).isEqualTo(1.0);
+
+		OAuthMetrics.recorder().recordCircuitStateChange("kakao", "OPEN", "HALF_OPEN");
+		assertThat(registry.get("sb.oauth.circuit.state").tags("provider", "kakao").gauge().value()).isEqualTo(2.0);
+	}
+
+	@Test
+	void statusClass_shouldGroupByHundreds() {
+		assertThat(OAuthMetrics.statusClass(200)).isEqualTo("2xx");
+		assertThat(OAuthMetrics.statusClass(401)).isEqualTo("4xx");
+		assertThat(OAuthMetrics.statusClass(503)).isEqualTo("5xx");
+		assertThat(OAuthMetrics.statusClass(-1)).isEqualTo("none");
+	}
+
+	private static TokenPack token(String error) {
+		return new TokenPack() {
+			@Override
+			public String getAccessToken() {
+				return error == null ? "at" : null;
+			}
+
+			@Override
+			public AccessTokenType getTokenType() {
+				return AccessTokenType.BEARER;
+			}
+
+			@Override
+			public String getRefreshToken() {
+				return null;
+			}
+
+			@Override
+			public Long getExpiresIn() {
+				return null;
+			}
+
+			@Override
+			public String getError() {
+				return error;
+			}
+		};
+	}
+}
@@ -0,0 +1,50 @@
+package org.scriptonbasestar.oauth.client.model;
+
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2GenerateAuthorizeEndpointFunction;
+import org.scriptonbasestar.oauth.client.o20.type.VerifierResponseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for Pkce
+ */
+class PkceTest {
+
+	@Test
+	void of_shouldComputeS256Challenge() {
+		//printf %s <verifier> | openssl dgst -sha256 -binary | base64 | tr '+/' '-_' | tr -d =
+		Pkce pkce = Pkce.of("dBjftJeZ4CVP-mJ92K9mLsBrbaimxOQaNBDW9Ss9iWs");
+
+		assertThat(pkce.challenge()).isEqualTo("OxZySs5EtVW7Sg-teey15YwlpBqHx2lpzGnFsWjcaac");
+		assertThat(pkce.method()).isEqualTo("S256");
+	}
+
+	@Test
+	void generate_shouldCreateUniqueVerifierWithMatchingChallenge() {
+		Pkce first = Pkce.generate();
+		Pkce second = Pkce.generate();
+
+		assertThat(first.verifier()).hasSize(43).matches("[A-Za-z0-9_-]+");
+		assertThat(first.verifier()).isNotEqualTo(second.verifier());
+		assertThat(Pkce.of(first.verifier())).isEqualTo(first);
+	}
+
+	@Test
+	void constructor_withInvalidVerifier_shouldThrow() {
+		assertThatThrownBy(() -> Pkce.of("too-short")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> Pkce.of("a".repeat(42) + "/")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void generateAuthorizeUrl_shouldAppendChallenge() {
+		Pkce pkce = Pkce.of("dBjftJeZ4CVP-mJ92K9mLsBrbaimxOQaNBDW9Ss9iWs");
+		String url = new DefaultOAuth2GenerateAuthorizeEndpointFunction(
+			"https://oauth.example.com/authorize", "http://localhost:8080/callback", "client",
+			VerifierResponseType.CODE, "profile").generate(new State("s"), pkce);
+
+		assertThat(url).startsWith("https://oauth.example.com/authorize?client_id=client&")
+			.endsWith("&state=s&code_challenge=OxZySs5EtVW7Sg-teey15YwlpBqHx2lpzGnFsWjcaac&code_challenge_method=S256");
+	}
+}
@@ -0,0 +1,77 @@
+package org.scriptonbasestar.oauth.client.nobi.state;
+
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthAuthException;
+import org.scriptonbasestar.oauth.client.model.Pkce;
+import org.scriptonbasestar.oauth.client.model.State;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for PkceStateCodec
+ */
+class PkceStateCodecTest {
+
+	private static final byte[] KEY = new byte[32];
+
+	static {
+		Arrays.fill(KEY, (byte) 7);
+	}
+
+	private final PkceStateCodec codec = PkceStateCodec.builder(KEY).build();
+
+	@Test
+	void encodeDecode_shouldRestoreVerifier() {
+		Pkce pkce = Pkce.generate();
+
+		State state = codec.encode(pkce, "session-1");
+
+		assertThat(state.value()).matches("[A-Za-z0-9_-]+").doesNotContain(pkce.verifier());
+		assertThat(codec.decode(state, "session-1")).isEqualTo(pkce);
+		assertThat(codec.encode(pkce, "session-1")).as("random iv").isNotEqualTo(state);
+	}
+
+	@Test
+	void decode_withOtherBindingOrKey_shouldThrow() {
+		State state = codec.encode(Pkce.generate(), "session-1");
+		byte[] otherKey = KEY.clone();
+		otherKey[0]++;
+
+		assertThatThrownBy(() -> codec.decode(state, "session-2")).isInstanceOf(OAuthAuthException.class);
+		assertThatThrownBy(() -> codec.decode(state)).isInstanceOf(OAuthAuthException.class);
+		assertThatThrownBy(() -> PkceStateCodec.builder(otherKey).build().decode(state, "session-1"))
+			.isInstanceOf(OAuthAuthException.class);
+	}
+
+	@Test
+	void decode_withTamperedOrMalformedState_shouldThrow() {
+		String value = codec.encode(Pkce.generate()).value();
+		char last = value.charAt(value.length() - 5);
+		String tampered = value.substring(0, value.length() - 5) + (last == 'A' ? 'B' : 'A') + value.substring(value.length() - 4);
+
+		assertThatThrownBy(() -> codec.decode(new State(tampered))).isInstanceOf(OAuthAuthException.class);
+		assertThatThrownBy(() -> codec.decode(new State("NAVER-1729312345678"))).isInstanceOf(OAuthAuthException.class);
+		assertThatThrownBy(() -> codec.decode(new State("***"))).isInstanceOf(OAuthAuthException.class);
+	}
+
+	@Test
+	void decode_afterTtl_shouldThrow() {
+		Instant now = Instant.parse("2025-01-01T00:00:00Z");
+		State state = PkceStateCodec.builder(KEY).ttl(Duration.ofMinutes(10))
+			.clock(Clock.fixed(now, ZoneOffset.UTC)).build()
+			.encode(Pkce.generate());
+		PkceStateCodec later = PkceStateCodec.builder(KEY)
+			.clock(Clock.fixed(now.plus(Duration.ofMinutes(11)), ZoneOffset.UTC)).build();
+
+		assertThatThrownBy(() -> later.decode(state))
+			.isInstanceOf(OAuthAuthException.class)
+			.hasMessage("state expired");
+	}
+}
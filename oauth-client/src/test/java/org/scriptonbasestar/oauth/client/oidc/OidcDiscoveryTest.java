@@ -0,0 +1,208 @@
+package org.scriptonbasestar.oauth.client.oidc;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for OidcDiscovery and OidcProviderMetadata
+ */
+class OidcDiscoveryTest {
+
+	private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+	private final AtomicInteger fetches = new AtomicInteger();
+	private final AtomicInteger status = new AtomicInteger(200);
+	private final AtomicReference<String> tokenEndpoint = new AtomicReference<>("https://oauth2.example.com/token");
+	private HttpServer server;
+	private String issuer;
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		issuer = "http://127.0.0.1:" + server.getAddress().getPort();
+		server.createContext(OidcDiscovery.WELL_KNOWN_PATH, exchange -> {
+			fetches.incrementAndGet();
+			byte[] body = document(issuer).getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status.get(), body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void metadata_shouldFetchOnceWithinRefreshAfter() {
+		OidcDiscovery discovery = discovery().build();
+
+		OidcProviderMetadata metadata = discovery.metadata();
+		discovery.metadata();
+
+		assertThat(metadata.issuer()).isEqualTo(issuer);
+		assertThat(metadata.authorizationEndpoint()).isEqualTo("https://accounts.example.com/auth");
+		assertThat(metadata.tokenEndpoint()).isEqualTo("https://oauth2.example.com/token");
+		assertThat(metadata.codeChallengeMethodsSupported()).containsExactly("plain", "S256");
+		assertThat(fetches).hasValue(1);
+	}
+
+	@Test
+	void stale_shouldReturnCachedAndRevalidateInBackground() throws Exception {
+		OidcDiscovery discovery = discovery().build();
+		discovery.metadata();
+
+		tokenEndpoint.set("https://oauth2.example.com/token/v2");
+		now.set(now.get().plus(Duration.ofHours(2)));
+		assertThat(discovery.metadata().tokenEndpoint()).isEqualTo("https://oauth2.example.com/token");
+
+		discovery.refreshAsync().get();
+		assertThat(discovery.metadata().tokenEndpoint()).isEqualTo("https://oauth2.example.com/token/v2");
+		assertThat(fetches).hasValue(2);
+	}
+
+	@Test
+	void beyondMaxStale_withFailingProvider_shouldFallBackToCached() {
+		OidcDiscovery discovery = discovery().build();
+		discovery.metadata();
+
+		status.set(503);
+		now.set(now.get().plus(Duration.ofDays(30)));
+		assertThat(discovery.metadata().tokenEndpoint()).isEqualTo("https://oauth2.example.com/token");
+		assertThat(fetches).hasValueGreaterThan(1);
+	}
+
+	@Test
+	void failedRefresh_shouldNotRetryWithinRetryInterval() {
+		OidcDiscovery discovery = discovery().retryInterval(Duration.ofMinutes(1)).build();
+		discovery.metadata();
+
+		status.set(500);
+		now.set(now.get().plus(Duration.ofHours(2)));
+		assertThat(discovery.refreshAsync()).failsWithin(Duration.ofSeconds(5));
+		assertThat(fetches).hasValue(2);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(discovery.metadata().tokenEndpoint()).isEqualTo("https://oauth2.example.com/token");
+		}
+		assertThat(fetches).as("no refresh until retryInterval passes").hasValue(2);
+
+		now.set(now.get().plus(Duration.ofDays(30)));
+		discovery.metadata();
+		assertThat(fetches).hasValue(3);
+		discovery.metadata();
+		assertThat(fetches).hasValue(3);
+	}
+
+	@Test
+	void snapshot_shouldServeWithoutWaitingAndBeRewritten() throws Exception {
+		Path snapshot = tempDir.resolve("openid-configuration.json");
+		Files.writeString(snapshot, document(issuer).replace("/token", "/old-token"));
+		status.set(503);
+
+		OidcDiscovery discovery = discovery().snapshot(snapshot).build();
+		assertThat(discovery.metadata().tokenEndpoint()).isEqualTo("https://oauth2.example.com/old-token");
+
+		status.set(200);
+		discovery.refreshAsync().get();
+		assertThat(discovery.metadata().tokenEndpoint()).isEqualTo("https://oauth2.example.com/token");
+		assertThat(Files.readString(snapshot)).contains("https://oauth2.example.com/token\"");
+	}
+
+	@Test
+	void snapshotOfOtherIssuer_shouldBeIgnored() throws Exception {
+		Path snapshot = tempDir.resolve("openid-configuration.json");
+		Files.writeString(snapshot, document("https://other.example.com").replace("/token", "/old-token"));
+
+		OidcDiscovery discovery = discovery().snapshot(snapshot).build();
+
+		assertThat(discovery.metadata().tokenEndpoint()).isEqualTo("https://oauth2.example.com/token");
+		assertThat(fetches).hasValue(1);
+	}
+
+	@Test
+	void failedSnapshotWrite_shouldNotLeaveTempFile() throws Exception {
+		//비어 있지 않은 디렉터리는 파일로 바꿀 수 없다
+		Path snapshot = tempDir.resolve("openid-configuration.json");
+		Files.createDirectory(snapshot);
+		Files.writeString(snapshot.resolve("keep"), "x");
+
+		discovery().snapshot(snapshot).build().metadata();
+
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertThat(files).containsExactly(snapshot);
+		}
+	}
+
+	@Test
+	void issuerMismatch_shouldBeRejected() {
+		OidcDiscovery discovery = OidcDiscovery.builder("https://other.example.com")
+			.configurationUri(issuer + OidcDiscovery.WELL_KNOWN_PATH)
+			.build();
+
+		assertThatThrownBy(discovery::metadata)
+			.isInstanceOf(OAuthParsingException.class)
+			.hasMessageContaining("issuer mismatch");
+	}
+
+	private OidcDiscovery.Builder discovery() {
+		return OidcDiscovery.builder(issuer)
+			.refreshAfter(Duration.ofHours(1))
+			.maxStale(Duration.ofDays(1))
+			.clock(clock());
+	}
+
+	private String document(String issuer) {
+		return "{\"issuer\":\"" + issuer + "\""
+			+ ",\"authorization_endpoint\":\"https://accounts.example.com/auth\""
+			+ ",\"token_endpoint\":\"" + tokenEndpoint.get() + "\""
+			+ ",\"jwks_uri\":\"https://www.example.com/certs\""
+			+ ",\"code_challenge_methods_supported\":[\"plain\",\"S256\"]}";
+	}
+
+	private Clock clock() {
+		return new Clock() {
+			@Override
+			public ZoneId getZone() {
+				return ZoneOffset.UTC;
+			}
+
+			@Override
+			public Clock withZone(ZoneId zone) {
+				return this;
+			}
+
+			@Override
+			public Instant instant() {
+				return now.get();
+			}
+		};
+	}
+}
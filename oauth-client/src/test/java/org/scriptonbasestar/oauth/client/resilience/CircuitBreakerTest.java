@@ -0,0 +1,196 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthRejectedException;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetricsRecorder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for CircuitBreaker, Bulkhead and their use in ResiliencePolicy
+ */
+class CircuitBreakerTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final List<String> events = new CopyOnWriteArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		OAuthMetrics.reset();
+	}
+
+	@Test
+	void failures_shouldOpenThenHalfOpenThenClose() {
+		recordEvents();
+		CircuitBreaker breaker = breaker();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(breaker.tryAcquire()).isTrue();
+			breaker.onResult(0, i % 2 == 0);
+		}
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).as("only halfOpenCalls probes").isFalse();
+		breaker.onResult(0, false);
+		breaker.onResult(0, false);
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		assertThat(events).containsExactly(
+			"kakao CLOSED->OPEN", "kakao OPEN->HALF_OPEN", "kakao HALF_OPEN->CLOSED");
+	}
+
+	@Test
+	void failedProbe_shouldReopen() {
+		CircuitBreaker breaker = breaker();
+		for (int i = 0; i < 4; i++) {
+			breaker.tryAcquire();
+			breaker.onResult(0, true);
+		}
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		breaker.tryAcquire();
+		breaker.tryAcquire();
+		breaker.onResult(0, true);
+		breaker.onResult(0, false);
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void slowCalls_shouldOpen() {
+		CircuitBreaker breaker = CircuitBreaker.builder("kakao")
+			.window(4, 4)
+			.slowCall(Duration.ofMillis(100), 0.75)
+			.clock(now::get)
+			.build();
+		for (int i = 0; i < 4; i++) {
+			breaker.tryAcquire();
+			breaker.onResult(i == 0 ? 0 : Duration.ofMillis(200).toNanos(), false);
+		}
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void policy_withOpenCircuit_shouldFailFastWithoutCalling() {
+		recordEvents();
+		CircuitBreaker breaker = breaker();
+		ResiliencePolicy policy = ResiliencePolicy.builder().circuitBreaker(breaker).build();
+		for (int i = 0; i < 4; i++) {
+			policy.execute(() -> new HttpResult(503, ""));
+		}
+
+		assertThatThrownBy(() -> policy.execute(() -> {
+			throw new AssertionError("must not be called");
+		}))
+			.isInstanceOfSatisfying(OAuthRejectedException.class,
+				e -> assertThat(e.getReason()).isEqualTo(OAuthRejectedException.Reason.CIRCUIT_OPEN));
+		assertThat(events).contains("rejected kakao CIRCUIT_OPEN");
+	}
+
+	@Test
+	void policy_withFullBulkhead_shouldRejectOtherCalls() throws InterruptedException {
+		Bulkhead bulkhead = new Bulkhead("kakao", 1, Duration.ZERO);
+		ResiliencePolicy policy = ResiliencePolicy.builder().bulkhead(bulkhead).build();
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread slow = Thread.ofVirtual().start(() -> policy.execute(() -> {
+			entered.countDown();
+			await(release);
+			return new HttpResult(200, "");
+		}));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> policy.execute(() -> new HttpResult(200, "")))
+			.isInstanceOfSatisfying(OAuthRejectedException.class,
+				e -> assertThat(e.getReason()).isEqualTo(OAuthRejectedException.Reason.BULKHEAD_FULL));
+
+		release.countDown();
+		slow.join();
+		assertThat(bulkhead.getAvailable()).isEqualTo(1);
+		assertThat(policy.execute(() -> new HttpResult(200, "ok")).body()).isEqualTo("ok");
+	}
+
+	@Test
+	void executeAsync_shouldRejectWithoutBlockingAndRecordResults() {
+		CircuitBreaker breaker = breaker();
+		Bulkhead bulkhead = new Bulkhead("kakao", 1, Duration.ofSeconds(5));
+		ResiliencePolicy policy = ResiliencePolicy.builder().circuitBreaker(breaker).bulkhead(bulkhead).build();
+		CompletableFuture<HttpResult> pending = new CompletableFuture<>();
+
+		CompletableFuture<HttpResult> first = policy.executeAsync(() -> pending);
+		long start = System.nanoTime();
+		assertRejected(policy.executeAsync(() -> CompletableFuture.completedFuture(new HttpResult(200, ""))),
+			OAuthRejectedException.Reason.BULKHEAD_FULL);
+		assertThat(System.nanoTime() - start).as("does not wait for the bulkhead").isLessThan(Duration.ofSeconds(1).toNanos());
+
+		pending.complete(new HttpResult(503, ""));
+		assertThat(first.join().status()).isEqualTo(503);
+		assertThat(bulkhead.getAvailable()).isEqualTo(1);
+		for (int i = 0; i < 3; i++) {
+			policy.executeAsync(() -> CompletableFuture.failedFuture(new OAuthNetworkException("connection refused")));
+		}
+
+		assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertRejected(policy.executeAsync(() -> {
+			throw new AssertionError("must not be called");
+		}), OAuthRejectedException.Reason.CIRCUIT_OPEN);
+		assertThat(bulkhead.getAvailable()).isEqualTo(1);
+	}
+
+	private static void assertRejected(CompletableFuture<HttpResult> future, OAuthRejectedException.Reason reason) {
+		assertThat(future).failsWithin(Duration.ofSeconds(1))
+			.withThrowableOfType(ExecutionException.class)
+			.havingCause()
+			.isInstanceOfSatisfying(OAuthRejectedException.class, e -> assertThat(e.getReason()).isEqualTo(reason));
+	}
+
+	private CircuitBreaker breaker() {
+		return CircuitBreaker.builder("kakao")
+			.window(4, 4)
+			.failureRateThreshold(0.5)
+			.openDuration(Duration.ofSeconds(10))
+			.halfOpenCalls(2)
+			.clock(now::get)
+			.build();
+	}
+
+	private void recordEvents() {
+		OAuthMetrics.setRecorder(new OAuthMetricsRecorder() {
+			@Override
+			public void recordCircuitStateChange(String provider, String from, String to) {
+				events.add(provider + " " + from + "->" + to);
+			}
+
+			@Override
+			public void recordRejected(String provider, String reason) {
+				events.add("rejected " + provider + " " + reason);
+			}
+		});
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
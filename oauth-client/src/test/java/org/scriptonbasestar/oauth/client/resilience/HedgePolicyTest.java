@@ -0,0 +1,170 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetricsRecorder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for HedgePolicy and its use in ResiliencePolicy
+ */
+class HedgePolicyTest {
+
+	private final List<String> winners = new CopyOnWriteArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		OAuthMetrics.reset();
+	}
+
+	@Test
+	void slowPrimary_shouldBeHedgedAndCancelled() throws InterruptedException {
+		recordWinners();
+		HedgePolicy hedge = HedgePolicy.builder("kakao").delay(Duration.ofMillis(20)).build();
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch cancelled = new CountDownLatch(1);
+
+		String result = hedge.execute(() -> {
+			if (calls.incrementAndGet() == 1) {
+				try {
+					Thread.sleep(5_000);
+				} catch (InterruptedException e) {
+					cancelled.countDown();
+				}
+				return "primary";
+			}
+			return "hedge";
+		});
+
+		assertThat(result).isEqualTo("hedge");
+		assertThat(calls).hasValue(2);
+		assertThat(cancelled.await(5, TimeUnit.SECONDS)).as("loser interrupted").isTrue();
+		assertThat(winners).containsExactly("kakao hedge");
+	}
+
+	@Test
+	void fastPrimary_shouldNotBeHedged() {
+		recordWinners();
+		HedgePolicy hedge = HedgePolicy.builder("kakao").delay(Duration.ofSeconds(5)).build();
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThat(hedge.execute(() -> "ok " + calls.incrementAndGet())).isEqualTo("ok 1");
+		assertThat(winners).isEmpty();
+	}
+
+	@Test
+	void failedHedge_shouldWaitForPrimary() {
+		HedgePolicy hedge = HedgePolicy.builder("kakao").delay(Duration.ofMillis(10)).build();
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = hedge.execute(() -> {
+			if (calls.incrementAndGet() == 1) {
+				sleep(100);
+				return "primary";
+			}
+			throw new OAuthNetworkException("connection reset");
+		});
+
+		assertThat(result).isEqualTo("primary");
+	}
+
+	@Test
+	void bothFailed_shouldThrowFirstError() {
+		HedgePolicy hedge = HedgePolicy.builder("kakao").delay(Duration.ZERO).build();
+
+		assertThatThrownBy(() -> hedge.execute(() -> {
+			throw new OAuthNetworkException("timeout");
+		})).isInstanceOf(OAuthNetworkException.class);
+	}
+
+	@Test
+	void hedgeRatio_shouldCapExtraRequests() {
+		HedgePolicy hedge = HedgePolicy.builder("kakao")
+			.delay(Duration.ZERO)
+			.maxHedgeRatio(0.0)
+			.maxBurst(2)
+			.build();
+		AtomicInteger calls = new AtomicInteger();
+
+		for (int i = 0; i < 5; i++) {
+			hedge.execute(() -> {
+				calls.incrementAndGet();
+				sleep(20);
+				return "ok";
+			});
+		}
+
+		assertThat(calls).hasValue(5 + 2);
+	}
+
+	@Test
+	void adaptiveDelay_shouldFollowPercentileWithinBounds() {
+		HedgePolicy hedge = HedgePolicy.builder("kakao")
+			.delay(Duration.ofMillis(500))
+			.adaptiveDelay(0.95, Duration.ofMillis(10), Duration.ofMillis(80))
+			.build();
+		assertThat(hedge.delayNanos()).isEqualTo(Duration.ofMillis(500).toNanos());
+
+		for (int i = 1; i <= 100; i++) {
+			hedge.recordLatency(Duration.ofMillis(i / 2).toNanos());
+		}
+		//96개 기준 p95 = 46ms
+		assertThat(hedge.delayNanos()).isEqualTo(Duration.ofMillis(46).toNanos());
+
+		for (int i = 0; i < 256; i++) {
+			hedge.recordLatency(Duration.ofSeconds(1).toNanos());
+		}
+		assertThat(hedge.delayNanos()).isEqualTo(Duration.ofMillis(80).toNanos());
+	}
+
+	@Test
+	void policy_shouldHedgeIdempotentCallsOnly() {
+		ResiliencePolicy policy = ResiliencePolicy.builder()
+			.hedge(HedgePolicy.builder("kakao").delay(Duration.ZERO).build())
+			.build();
+		AtomicInteger calls = new AtomicInteger();
+
+		policy.execute(() -> {
+			calls.incrementAndGet();
+			sleep(20);
+			return new HttpResult(200, "");
+		});
+		assertThat(calls).hasValue(1);
+
+		policy.executeIdempotent(() -> {
+			calls.incrementAndGet();
+			sleep(20);
+			return new HttpResult(200, "");
+		});
+		assertThat(calls).hasValue(3);
+	}
+
+	private void recordWinners() {
+		OAuthMetrics.setRecorder(new OAuthMetricsRecorder() {
+			@Override
+			public void recordHedge(String provider, String winner) {
+				winners.add(provider + " " + winner);
+			}
+		});
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
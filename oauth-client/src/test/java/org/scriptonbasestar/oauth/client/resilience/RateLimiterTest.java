@@ -0,0 +1,155 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthRejectedException;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for RateLimiter and its use in ResiliencePolicy
+ */
+class RateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+	@AfterEach
+	void tearDown() {
+		OAuthResilience.reset();
+	}
+
+	@Test
+	void tokenBucket_shouldAllowBurstThenRefillAtRate() {
+		RateLimiter limiter = RateLimiter.builder("kakao")
+			.rate(10, Duration.ofSeconds(1))
+			.burst(3)
+			.clock(now::get)
+			.build();
+
+		assertThat(limiter.acquire()).isTrue();
+		assertThat(limiter.acquire()).isTrue();
+		assertThat(limiter.acquire()).isTrue();
+		assertThat(limiter.acquire()).isFalse();
+
+		now.addAndGet(Duration.ofMillis(100).toNanos());
+		assertThat(limiter.acquire()).isTrue();
+		assertThat(limiter.acquire()).isFalse();
+	}
+
+	@Test
+	void tryAcquire_shouldNotWaitEvenWithMaxWait() {
+		RateLimiter limiter = RateLimiter.builder("kakao")
+			.rate(10, Duration.ofSeconds(1))
+			.maxWait(Duration.ofSeconds(1))
+			.clock(now::get)
+			.build();
+
+		assertThat(limiter.tryAcquire()).isTrue();
+		assertThat(limiter.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void retryAfter_shouldPauseRequests() {
+		RateLimiter limiter = RateLimiter.builder("kakao")
+			.rate(1000, Duration.ofSeconds(1))
+			.clock(now::get)
+			.build();
+
+		assertThat(limiter.acquire()).isTrue();
+		limiter.onResult(0, 429, Duration.ofSeconds(2));
+		now.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertThat(limiter.acquire()).isFalse();
+
+		now.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertThat(limiter.acquire()).isTrue();
+	}
+
+	@Test
+	void absurdRetryAfter_shouldBeCapped() {
+		RateLimiter limiter = RateLimiter.builder("kakao")
+			.rate(1000, Duration.ofSeconds(1))
+			.clock(now::get)
+			.build();
+
+		assertThat(limiter.acquire()).isTrue();
+		limiter.onResult(0, 429, Duration.ofSeconds(9_999_999_999_999L));
+		now.addAndGet(Duration.ofMinutes(59).toNanos());
+		assertThat(limiter.acquire()).isFalse();
+
+		now.addAndGet(Duration.ofMinutes(1).toNanos());
+		assertThat(limiter.acquire()).isTrue();
+	}
+
+	@Test
+	void adaptiveConcurrency_shouldIncreaseAdditivelyAndDecreaseMultiplicatively() {
+		RateLimiter limiter = RateLimiter.builder("kakao")
+			.adaptiveConcurrency(4, 1, 10)
+			.backoffRatio(0.5)
+			.latencyThreshold(Duration.ofSeconds(1))
+			.clock(now::get)
+			.build();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(limiter.acquire()).isTrue();
+		}
+		assertThat(limiter.acquire()).as("limit reached").isFalse();
+
+		for (int i = 0; i < 4; i++) {
+			limiter.onResult(0, 200, null);
+		}
+		assertThat(limiter.getLimit()).isEqualTo(5);
+		assertThat(limiter.getInFlight()).isZero();
+
+		limiter.acquire();
+		limiter.onResult(0, 429, null);
+		assertThat(limiter.getLimit()).isEqualTo(2);
+
+		limiter.acquire();
+		limiter.onResult(Duration.ofSeconds(2).toNanos(), 200, null);
+		assertThat(limiter.getLimit()).isEqualTo(1);
+	}
+
+	@Test
+	void policy_overLimit_shouldRejectWithoutCalling() {
+		ResiliencePolicy policy = ResiliencePolicy.builder()
+			.rateLimiter(RateLimiter.builder("kakao").rate(1, Duration.ofMinutes(1)).build())
+			.build();
+
+		assertThat(policy.execute(() -> new HttpResult(200, "ok")).body()).isEqualTo("ok");
+		assertThatThrownBy(() -> policy.execute(() -> {
+			throw new AssertionError("must not be called");
+		}))
+			.isInstanceOfSatisfying(OAuthRejectedException.class,
+				e -> assertThat(e.getReason()).isEqualTo(OAuthRejectedException.Reason.RATE_LIMITED));
+	}
+
+	@Test
+	void maxWait_shouldQueueInsteadOfRejecting() {
+		RateLimiter limiter = RateLimiter.builder("kakao")
+			.rate(50, Duration.ofSeconds(1))
+			.maxWait(Duration.ofMillis(500))
+			.build();
+
+		long start = System.nanoTime();
+		assertThat(limiter.acquire()).isTrue();
+		assertThat(limiter.acquire()).isTrue();
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(15).toNanos());
+	}
+
+	@Test
+	void oauthResilience_shouldPreferClientIdPolicy() {
+		ResiliencePolicy provider = ResiliencePolicy.builder().build();
+		ResiliencePolicy client = ResiliencePolicy.builder().build();
+		OAuthResilience.register("kakao", provider);
+		OAuthResilience.register("kakao", "app-1", client);
+
+		assertThat(OAuthResilience.policy("kakao", "app-1")).isSameAs(client);
+		assertThat(OAuthResilience.policy("kakao", "app-2")).isSameAs(provider);
+		assertThat(OAuthResilience.policy("naver", "app-1")).isSameAs(ResiliencePolicy.NONE);
+	}
+}
@@ -0,0 +1,153 @@
+package org.scriptonbasestar.oauth.client.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkException;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for ResiliencePolicy retry, RetryPolicy and RetryBudget
+ */
+class ResiliencePolicyTest {
+
+	private static final RetryPolicy RETRY = RetryPolicy.builder()
+		.maxAttempts(3)
+		.backoff(Duration.ZERO, Duration.ofMillis(1))
+		.build();
+
+	@Test
+	void executeIdempotent_shouldRetryRetryableStatusUntilSuccess() {
+		ResiliencePolicy policy = ResiliencePolicy.builder().retry(RETRY).build();
+		AtomicInteger calls = new AtomicInteger();
+
+		HttpResult result = policy.executeIdempotent(
+			() -> calls.incrementAndGet() < 3 ? new HttpResult(503, "") : new HttpResult(200, "ok"));
+
+		assertThat(result.body()).isEqualTo("ok");
+		assertThat(calls).hasValue(3);
+	}
+
+	@Test
+	void executeIdempotent_shouldReturnLastResultAfterMaxAttempts() {
+		ResiliencePolicy policy = ResiliencePolicy.builder().retry(RETRY).build();
+		AtomicInteger calls = new AtomicInteger();
+
+		HttpResult result = policy.executeIdempotent(() -> new HttpResult(502, "bad gateway " + calls.incrementAndGet()));
+
+		assertThat(result.body()).isEqualTo("bad gateway 3");
+	}
+
+	@Test
+	void executeIdempotent_shouldRetryNetworkExceptionOnly() {
+		ResiliencePolicy policy = ResiliencePolicy.builder().retry(RETRY).build();
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThat(policy.executeIdempotent(() -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new OAuthNetworkException("connection reset");
+			}
+			return new HttpResult(200, "ok");
+		}).body()).isEqualTo("ok");
+
+		calls.set(0);
+		assertThatThrownBy(() -> policy.executeIdempotent(() -> {
+			calls.incrementAndGet();
+			throw new OAuthParsingException("broken");
+		})).isInstanceOf(OAuthParsingException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void executeIdempotent_shouldReturnResultWhenRetryAfterExceedsMaxDelay() {
+		ResiliencePolicy policy = ResiliencePolicy.builder().retry(RETRY).build();
+		AtomicInteger calls = new AtomicInteger();
+
+		HttpResult result = policy.executeIdempotent(() -> {
+			calls.incrementAndGet();
+			return new HttpResult(429, "slow down", Map.of("retry-after", "60"));
+		});
+
+		assertThat(result.status()).isEqualTo(429);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void retryDelay_shouldWaitAtLeastRetryAfter() {
+		RetryPolicy retry = RetryPolicy.builder()
+			.backoff(Duration.ofMillis(100), Duration.ofSeconds(2))
+			.build();
+
+		assertThat(retry.retryDelayNanos(1, Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(1).toNanos());
+		assertThat(retry.retryDelayNanos(1, Duration.ofSeconds(3))).isEqualTo(-1);
+		assertThat(retry.retryDelayNanos(1, Duration.ofSeconds(9_999_999_999_999L))).isEqualTo(-1);
+		assertThat(retry.retryDelayNanos(1, Duration.ofSeconds(-5))).isBetween(0L, Duration.ofMillis(100).toNanos());
+		assertThat(retry.retryDelayNanos(1, null)).isBetween(0L, Duration.ofMillis(100).toNanos());
+	}
+
+	@Test
+	void execute_shouldNeverRetry() {
+		ResiliencePolicy policy = ResiliencePolicy.builder().retry(RETRY).build();
+		AtomicInteger calls = new AtomicInteger();
+
+		assertThat(policy.execute(() -> new HttpResult(503, String.valueOf(calls.incrementAndGet()))).status())
+			.isEqualTo(503);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void retryBudget_shouldStopRetriesWhenExhausted() {
+		ResiliencePolicy policy = ResiliencePolicy.builder()
+			.retry(RETRY)
+			.retryBudget(new RetryBudget(0.0, 2))
+			.build();
+		AtomicInteger calls = new AtomicInteger();
+
+		for (int i = 0; i < 5; i++) {
+			policy.executeIdempotent(() -> {
+				calls.incrementAndGet();
+				return new HttpResult(503, "");
+			});
+		}
+
+		//첫 요청만 2번 재시도, 나머지는 예산이 없어서 1번씩
+		assertThat(calls).hasValue(3 + 4);
+		assertThat(policy.getRetryBudget().available()).isZero();
+	}
+
+	@Test
+	void retryBudget_shouldRefillByRatio() {
+		RetryBudget budget = new RetryBudget(0.5, 1);
+		assertThat(budget.tryAcquire()).isTrue();
+		assertThat(budget.tryAcquire()).isFalse();
+
+		budget.onRequest();
+		assertThat(budget.tryAcquire()).isFalse();
+		budget.onRequest();
+		assertThat(budget.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void backoff_shouldUseFullJitterUnderCappedExponent() {
+		RetryPolicy retry = RetryPolicy.builder()
+			.backoff(Duration.ofMillis(100), Duration.ofMillis(250))
+			.build();
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(retry.backoffNanos(1)).isBetween(0L, Duration.ofMillis(100).toNanos());
+			assertThat(retry.backoffNanos(2)).isBetween(0L, Duration.ofMillis(200).toNanos());
+			assertThat(retry.backoffNanos(10)).isBetween(0L, Duration.ofMillis(250).toNanos());
+		}
+	}
+
+	@Test
+	void oauthResilience_withoutPolicy_shouldReturnNone() {
+		assertThat(OAuthResilience.policy("unknown")).isSameAs(ResiliencePolicy.NONE);
+	}
+}
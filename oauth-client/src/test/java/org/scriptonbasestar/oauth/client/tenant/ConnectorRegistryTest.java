@@ -0,0 +1,175 @@
+package org.scriptonbasestar.oauth.client.tenant;
+
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.OAuth2AccessTokenEndpointFunction;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.config.OAuthBaseConfig;
+import org.scriptonbasestar.oauth.client.exception.OAuthInitException;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.model.Verifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for ConnectorRegistry
+ */
+class ConnectorRegistryTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicInteger created = new AtomicInteger();
+
+	@Test
+	void resolve_shouldBuildOncePerTenantAndProvider() {
+		ConnectorRegistry registry = registry(10);
+		registry.put("brand-a", "naver", new NaverConfig("a-naver"));
+		registry.put("brand-b", "naver", new NaverConfig("b-naver"));
+
+		OAuthConnector a = registry.resolve("brand-a", "naver");
+		assertThat(registry.resolve("brand-a", "naver")).as("equal config read again").isSameAs(a);
+		assertThat(a.config().getClientId()).isEqualTo("a-naver");
+		assertThat(a.authorize().generate(new State("s"))).isEqualTo("https://nid.example.com/authorize?client_id=a-naver");
+		assertThat(registry.resolve("brand-b", "naver").config().getClientId()).isEqualTo("b-naver");
+		assertThat(created).hasValue(2);
+		assertThat(registry.tenants()).containsExactlyInAnyOrder("brand-a", "brand-b");
+
+		assertThatThrownBy(() -> registry.resolve("brand-a", "kakao")).isInstanceOf(OAuthInitException.class);
+		assertThatThrownBy(() -> registry.resolve("brand-c", "naver")).isInstanceOf(OAuthInitException.class);
+	}
+
+	@Test
+	void put_shouldValidateProviderAndConfigType() {
+		ConnectorRegistry registry = registry(10);
+
+		assertThatThrownBy(() -> registry.put("brand-a", "google", new NaverConfig("a")))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> registry.put("brand-a", "kakao", new NaverConfig("a")))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> registry.put("", "naver", new NaverConfig("a")))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void put_withChangedConfig_shouldRebuildOnlyThatConnector() {
+		ConnectorRegistry registry = registry(10);
+		registry.put("brand-a", "naver", new NaverConfig("old"));
+		registry.put("brand-a", "kakao", new KakaoConfig("kakao"));
+		OAuthConnector naver = registry.resolve("brand-a", "naver");
+		OAuthConnector kakao = registry.resolve("brand-a", "kakao");
+
+		registry.put("brand-a", "naver", new NaverConfig("new"));
+
+		assertThat(registry.resolve("brand-a", "naver")).isNotSameAs(naver)
+			.extracting(connector -> connector.config().getClientId()).isEqualTo("new");
+		assertThat(registry.resolve("brand-a", "kakao")).isSameAs(kakao);
+	}
+
+	@Test
+	void put_withEqualConfig_shouldKeepConnector() {
+		ConnectorRegistry registry = registry(10);
+		registry.put("brand-a", "naver", new NaverConfig("naver"));
+		OAuthConnector naver = registry.resolve("brand-a", "naver");
+
+		registry.put("brand-a", "naver", new NaverConfig("naver"));
+
+		assertThat(registry.resolve("brand-a", "naver")).isSameAs(naver);
+	}
+
+	@Test
+	void reload_shouldKeepUnchangedConnectorsAndDropRemovedTenants() {
+		ConnectorRegistry registry = registry(10);
+		registry.put("brand-a", "naver", new NaverConfig("a-naver"));
+		registry.put("brand-b", "naver", new NaverConfig("b-naver"));
+		OAuthConnector a = registry.resolve("brand-a", "naver");
+		registry.resolve("brand-b", "naver");
+
+		registry.reload(Map.of(
+			"brand-a", Map.of("naver", new NaverConfig("a-naver"), "kakao", new KakaoConfig("a-kakao")),
+			"brand-c", Map.of("naver", new NaverConfig("c-naver"))));
+
+		assertThat(registry.resolve("brand-a", "naver")).isSameAs(a);
+		assertThat(registry.resolve("brand-a", "kakao").config().getClientId()).isEqualTo("a-kakao");
+		assertThat(registry.tenants()).containsExactlyInAnyOrder("brand-a", "brand-c");
+		assertThatThrownBy(() -> registry.resolve("brand-b", "naver")).isInstanceOf(OAuthInitException.class);
+
+		registry.remove("brand-a");
+		assertThat(registry.tenants()).containsExactly("brand-c");
+		assertThat(registry.connectorCount()).isZero();
+	}
+
+	@Test
+	void resolve_overMaxConnectors_shouldEvictLeastRecentlyUsed() {
+		ConnectorRegistry registry = registry(2);
+		for (String tenant : List.of("a", "b", "c")) {
+			registry.put(tenant, "naver", new NaverConfig(tenant));
+		}
+		OAuthConnector a = resolveAt(registry, "a", 1);
+		OAuthConnector b = resolveAt(registry, "b", 2);
+		resolveAt(registry, "a", 3);
+
+		resolveAt(registry, "c", 4);
+
+		assertThat(registry.connectorCount()).isEqualTo(2);
+		assertThat(resolveAt(registry, "a", 5)).isSameAs(a);
+		assertThat(created).hasValue(3);
+		assertThat(resolveAt(registry, "b", 6)).as("evicted tenant is rebuilt from its config").isNotSameAs(b);
+		assertThat(created).hasValue(4);
+	}
+
+	private OAuthConnector resolveAt(ConnectorRegistry registry, String tenant, long time) {
+		now.set(time);
+		return registry.resolve(tenant, "naver");
+	}
+
+	private ConnectorRegistry registry(int maxConnectors) {
+		return ConnectorRegistry.builder()
+			.provider("naver", NaverConfig.class, this::connector)
+			.provider("kakao", KakaoConfig.class, this::connector)
+			.maxConnectors(maxConnectors)
+			.clock(now::get)
+			.build();
+	}
+
+	private OAuthConnector connector(OAuthBaseConfig config) {
+		created.incrementAndGet();
+		return new OAuthConnector(config,
+			state -> "https://nid.example.com/authorize?client_id=" + config.getClientId(),
+			new NoopTokenFunction(),
+			accessToken -> "{}");
+	}
+
+	private static final class NaverConfig extends OAuthBaseConfig {
+		NaverConfig(String clientId) {
+			super(clientId, "secret");
+		}
+	}
+
+	private static final class KakaoConfig extends OAuthBaseConfig {
+		KakaoConfig(String clientId) {
+			super(clientId, null);
+		}
+	}
+
+	private static final class NoopTokenFunction implements OAuth2AccessTokenEndpointFunction<TokenPack> {
+		@Override
+		public TokenPack issue(Verifier verifier, State state) {
+			return null;
+		}
+
+		@Override
+		public TokenPack refresh(Token refreshToken) {
+			return null;
+		}
+
+		@Override
+		public TokenPack revoke(Token accessToken) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package org.scriptonbasestar.oauth.client.tracing;
+
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2GenerateAuthorizeEndpointFunction;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.o20.type.VerifierResponseType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for OAuthTracing and OpenTelemetryOAuthTracer
+ */
+class OAuthTracingTest {
+
+	private InMemorySpanExporter exporter;
+	private SdkTracerProvider tracerProvider;
+
+	@BeforeEach
+	void setUp() {
+		exporter = InMemorySpanExporter.create();
+		tracerProvider = SdkTracerProvider.builder()
+			.addSpanProcessor(SimpleSpanProcessor.create(exporter))
+			.build();
+		OpenTelemetry openTelemetry = OpenTelemetrySdk.builder().setTracerProvider(tracerProvider).build();
+		OAuthTracing.setTracer(new OpenTelemetryOAuthTracer(openTelemetry));
+	}
+
+	@AfterEach
+	void tearDown() {
+		OAuthTracing.reset();
+		tracerProvider.close();
+	}
+
+	@Test
+	void resource_shouldCreateClientChildSpanAndPropagateTraceparent() throws IOException {
+		AtomicReference<String> traceparent = new AtomicReference<>();
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/me", exchange -> {
+			traceparent.set(exchange.getRequestHeaders().getFirst("traceparent"));
+			byte[] body = "{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/me";
+			assertThat(new DefaultOAuth2ResourceFunction("naver", url).run("at")).isEqualTo("{\"id\":\"1\"}");
+		} finally {
+			server.stop(0);
+		}
+
+		List<SpanData> spans = exporter.getFinishedSpanItems();
+		assertThat(spans).extracting(SpanData::getName).containsExactly("GET", "oauth.resource");
+		SpanData http = spans.get(0);
+		SpanData resource = spans.get(1);
+		assertThat(http.getKind()).isEqualTo(SpanKind.CLIENT);
+		assertThat(http.getParentSpanId()).isEqualTo(resource.getSpanId());
+		assertThat(http.getAttributes().get(AttributeKey.longKey("http.response.status_code"))).isEqualTo(200L);
+		assertThat(http.getAttributes().get(AttributeKey.stringKey("server.address"))).isEqualTo("127.0.0.1");
+		assertThat(resource.getAttributes().get(AttributeKey.stringKey("oauth.provider"))).isEqualTo("naver");
+		assertThat(traceparent.get())
+			.isEqualTo("00-" + http.getTraceId() + "-" + http.getSpanId() + "-01");
+	}
+
+	@Test
+	void resource_withErrorStatus_shouldMarkSpansAsError() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/me", exchange -> {
+			exchange.sendResponseHeaders(401, 2);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write("{}".getBytes(StandardCharsets.UTF_8));
+			}
+		});
+		server.start();
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/me";
+			assertThat(new DefaultOAuth2ResourceFunction(url).run("expired")).isNull();
+		} finally {
+			server.stop(0);
+		}
+
+		assertThat(exporter.getFinishedSpanItems())
+			.allMatch(span -> span.getStatus().getStatusCode() == StatusCode.ERROR);
+	}
+
+	@Test
+	void authorizeAndStorage_shouldCreateInternalSpans() {
+		new DefaultOAuth2GenerateAuthorizeEndpointFunction(
+			"https://example.com/authorize", "https://app.example.com/callback", "client",
+			VerifierResponseType.CODE, "profile").generate(new State("s"));
+		TokenStorage storage = new TracingTokenStorage(new LocalTokenStorage());
+		storage.store("user", new Token("at"));
+		storage.load("user");
+
+		List<SpanData> spans = exporter.getFinishedSpanItems();
+		assertThat(spans).extracting(SpanData::getName)
+			.containsExactly("oauth.authorize_url", "oauth.storage.store", "oauth.storage.load");
+		assertThat(spans).allMatch(span -> span.getKind() == SpanKind.INTERNAL);
+		assertThat(spans.get(1).getAttributes().get(AttributeKey.stringKey("oauth.storage")))
+			.isEqualTo("LocalTokenStorage");
+	}
+
+	@Test
+	void withoutTracer_shouldReturnNoopSpan() {
+		OAuthTracing.reset();
+
+		assertThat(OAuthTracing.isEnabled()).isFalse();
+		assertThat(OAuthTracing.startSpan("oauth.resource")).isSameAs(OAuthSpan.NOOP);
+		assertThat(OAuthTracing.startClientSpan("GET")).isSameAs(OAuthSpan.NOOP);
+	}
+}
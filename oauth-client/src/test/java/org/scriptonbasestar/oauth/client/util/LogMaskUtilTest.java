@@ -0,0 +1,75 @@
+package org.scriptonbasestar.oauth.client.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for LogMaskUtil
+ */
+class LogMaskUtilTest {
+
+	@Test
+	void maskUrl_shouldMaskSensitiveQueryValues() {
+		String url = "https://nid.naver.com/oauth2.0/token?grant_type=authorization_code"
+			+ "&client_id=abc&client_secret=s3cr3t&code=xyz&state=NAVER-1";
+
+		assertThat(LogMaskUtil.maskUrl(url)).isEqualTo(
+			"https://nid.naver.com/oauth2.0/token?grant_type=authorization_code"
+				+ "&client_id=abc&client_secret=***&code=***&state=NAVER-1");
+	}
+
+	@Test
+	void maskUrl_withoutSensitiveValues_shouldReturnSameInstance() {
+		String url = "https://example.com/profile?client_id=abc&state=1";
+
+		assertThat(LogMaskUtil.maskUrl(url)).isSameAs(url);
+	}
+
+	@Test
+	void maskUrl_shouldMatchWholeNameOnly() {
+		String url = "response_code=1&codes=2&Code=3&access_token=a=b";
+
+		assertThat(LogMaskUtil.maskUrl(url)).isEqualTo("response_code=1&codes=2&Code=***&access_token=***");
+	}
+
+	@Test
+	void maskBody_withJson_shouldMaskSensitiveFields() {
+		String body = "{\"access_token\": \"AAAA\\\"BB\", \"token_type\":\"bearer\","
+			+ "\"expires_in\":3600,\"refresh_token\":null,\"scope\":\"code\"}";
+
+		assertThat(LogMaskUtil.maskBody(body)).isEqualTo(
+			"{\"access_token\": \"***\", \"token_type\":\"bearer\","
+				+ "\"expires_in\":3600,\"refresh_token\":\"***\",\"scope\":\"code\"}");
+	}
+
+	@Test
+	void maskBody_withNestedSensitiveValue_shouldMaskWholeValue() {
+		String body = "{\"id_token\":{\"sub\":\"x\",\"aud\":[\"a\",\"b]\"],\"n\":{\"k\":1}},"
+			+ "\"code\":[1,[2]],\"scope\":\"openid\"}";
+
+		assertThat(LogMaskUtil.maskBody(body)).isEqualTo(
+			"{\"id_token\":\"***\",\"code\":\"***\",\"scope\":\"openid\"}");
+	}
+
+	@Test
+	void maskBody_withForm_shouldMaskLikeUrl() {
+		assertThat(LogMaskUtil.maskBody("grant_type=refresh_token&refresh_token=r1"))
+			.isEqualTo("grant_type=refresh_token&refresh_token=***");
+	}
+
+	@Test
+	void maskHeader_shouldKeepSchemeOnly() {
+		assertThat(LogMaskUtil.maskHeader("authorization", "Bearer abc.def")).isEqualTo("Bearer ***");
+		assertThat(LogMaskUtil.maskHeader("Cookie", "SESSION=1")).isEqualTo("***");
+		assertThat(LogMaskUtil.maskHeader("Accept", "application/json")).isEqualTo("application/json");
+	}
+
+	@Test
+	void lazy_shouldMaskOnlyOnToString() {
+		assertThat(LogMaskUtil.lazyUrl("a=1&code=2")).hasToString("a=1&code=***");
+		assertThat(LogMaskUtil.lazyBody("{\"id_token\":\"x\"}")).hasToString("{\"id_token\":\"***\"}");
+		assertThat(LogMaskUtil.lazyHeader("Authorization", "Basic Zm9v")).hasToString("Authorization: Basic ***");
+		assertThat(LogMaskUtil.lazyUrl(null)).hasToString("null");
+	}
+}
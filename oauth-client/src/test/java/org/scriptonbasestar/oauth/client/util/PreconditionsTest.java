@@ -142,4 +142,12 @@ class PreconditionsTest {
 			.isInstanceOf(IllegalArgumentException.class)
 			.hasMessage("invalid URL");
 	}
+
+	@Test
+	void isTrue_withFalse_shouldThrowException() {
+		Preconditions.isTrue(true, "must be true");
+		assertThatThrownBy(() -> Preconditions.isTrue(false, "must be true"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("must be true");
+	}
 }
@@ -2,6 +2,15 @@ package org.scriptonbasestar.oauth.client.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -88,4 +97,50 @@ class SBStringDigestUtilTest {
 
     assertThat(md5Result1).isNotEqualTo(md5Result2);
   }
+
+  @Test
+  void byteRangeAndByteBuffer_shouldMatchStringDigest() {
+    byte[] padded = "xxhelloyy".getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.wrap(padded, 2, 5);
+
+    assertThat(SBStringDigestUtil.sha256(padded, 2, 5)).isEqualTo(SBStringDigestUtil.sha256("hello"));
+    assertThat(SBStringDigestUtil.sha256(buffer)).isEqualTo(SBStringDigestUtil.sha256("hello"));
+    assertThat(buffer.hasRemaining()).isFalse();
+    assertThat(SBStringDigestUtil.md5(ByteBuffer.allocateDirect(0))).isEqualTo(SBStringDigestUtil.md5(""));
+    assertThat(SBStringDigestUtil.sha1(padded, 2, 5)).isEqualTo(SBStringDigestUtil.sha1("hello"));
+  }
+
+  @Test
+  void concurrentCalls_shouldMatchReferenceDigest() throws Exception {
+    int inputs = 64;
+    byte[][] expected = new byte[inputs][];
+    MessageDigest reference = MessageDigest.getInstance("SHA-256");
+    for (int i = 0; i < inputs; i++) {
+      expected[i] = reference.digest(input(i).getBytes(StandardCharsets.UTF_8));
+    }
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < 200; t++) {
+        int seed = t;
+        results.add(executor.submit(() -> {
+          int mismatches = 0;
+          for (int n = 0; n < 500; n++) {
+            int i = (seed + n) % inputs;
+            if (!MessageDigest.isEqual(expected[i], SBStringDigestUtil.sha256(input(i)))) {
+              mismatches++;
+            }
+          }
+          return mismatches;
+        }));
+      }
+      for (Future<Integer> result : results) {
+        assertThat(result.get()).isZero();
+      }
+    }
+  }
+
+  private static String input(int i) {
+    return "user-" + i + "-" + "x".repeat(i * 17);
+  }
 }
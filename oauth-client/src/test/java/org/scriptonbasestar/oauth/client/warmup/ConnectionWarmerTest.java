@@ -0,0 +1,153 @@
+package org.scriptonbasestar.oauth.client.warmup;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for ConnectionWarmer
+ */
+class ConnectionWarmerTest {
+
+	private HttpServer server;
+	private String tokenEndpoint;
+	private final AtomicInteger requests = new AtomicInteger();
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			requests.incrementAndGet();
+			if (exchange.getRequestURI().getPath().equals("/slow")) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			exchange.sendResponseHeaders(204, -1);
+			exchange.close();
+		});
+		server.start();
+		tokenEndpoint = "http://127.0.0.1:" + server.getAddress().getPort() + "/oauth2.0/token";
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void warmUp_shouldOpenConnectionsAndReuseThemOnProbe() {
+		ConnectionWarmer warmer = ConnectionWarmer.builder()
+			.target("naver", () -> tokenEndpoint)
+			.connectionsPerRoute(2)
+			.build();
+		assertThat(warmer.isReady()).isFalse();
+		assertThat(warmer.status().get(0).state()).isEqualTo(ConnectionWarmer.State.PENDING);
+
+		assertThat(warmer.warmUp()).isTrue();
+		ConnectionWarmer.TargetStatus first = warmer.status().get(0);
+		assertThat(first.state()).isEqualTo(ConnectionWarmer.State.READY);
+		assertThat(first.endpoint()).isEqualTo(tokenEndpoint);
+		assertThat(first.opened()).isEqualTo(2);
+
+		warmer.warmUp();
+		assertThat(warmer.status().get(0).opened()).as("probe reuses live connections").isZero();
+		assertThat(requests).as("warm-up never sends a request").hasValue(0);
+	}
+
+	@Test
+	void failingTarget_shouldNotBeReadyAndDegradeAfterSuccess() throws IOException {
+		String unreachable = "http://127.0.0.1:" + closedPort() + "/token";
+		AtomicReference<String> endpoint = new AtomicReference<>(unreachable);
+		ConnectionWarmer warmer = ConnectionWarmer.builder()
+			.target("naver", () -> tokenEndpoint)
+			.target("kakao", endpoint::get)
+			.build();
+
+		assertThat(warmer.warmUp()).isFalse();
+		assertThat(warmer.status()).extracting(ConnectionWarmer.TargetStatus::state)
+			.containsExactly(ConnectionWarmer.State.READY, ConnectionWarmer.State.FAILED);
+		assertThat(warmer.status().get(1).lastError()).isNotNull();
+
+		endpoint.set(tokenEndpoint);
+		assertThat(warmer.warmUp()).isTrue();
+
+		endpoint.set(unreachable);
+		assertThat(warmer.warmUp()).as("a failed probe after success keeps readiness").isTrue();
+		assertThat(warmer.status().get(1).state()).isEqualTo(ConnectionWarmer.State.DEGRADED);
+	}
+
+	@Test
+	void busyRoute_shouldNotWaitForPoolOrDegrade() throws Exception {
+		ConnectionWarmer warmer = ConnectionWarmer.builder()
+			.target("naver", () -> tokenEndpoint)
+			.connectionsPerRoute(2)
+			.build();
+		assertThat(warmer.warmUp()).isTrue();
+
+		HttpRequest.setPoolLimits(100, 1);
+		CompletableFuture<?> inFlight = null;
+		try {
+			String slow = tokenEndpoint.replace("/oauth2.0/token", "/slow");
+			inFlight = CompletableFuture.runAsync(() -> HttpRequest.create(slow).execute(OAuthHttpVerb.GET));
+			long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+			while (requests.get() == 0 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+
+			long started = System.nanoTime();
+			assertThat(warmer.warmUp()).isTrue();
+			assertThat(Duration.ofNanos(System.nanoTime() - started)).as("probe does not wait for the pool")
+				.isLessThan(Duration.ofSeconds(1));
+			ConnectionWarmer.TargetStatus status = warmer.status().get(0);
+			assertThat(status.state()).isEqualTo(ConnectionWarmer.State.READY);
+			assertThat(status.opened()).isZero();
+		} finally {
+			release.countDown();
+			if (inFlight != null) {
+				inFlight.get(5, TimeUnit.SECONDS);
+			}
+			HttpRequest.setPoolLimits(100, 20);
+		}
+	}
+
+	@Test
+	void start_shouldWarmUpInBackground() throws InterruptedException {
+		try (ConnectionWarmer warmer = ConnectionWarmer.builder()
+			.target("naver", () -> tokenEndpoint)
+			.probeInterval(Duration.ofMillis(50))
+			.build()) {
+			warmer.start();
+
+			long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+			while (!warmer.isReady() && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertThat(warmer.isReady()).isTrue();
+		}
+	}
+
+	private static int closedPort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package org.scriptonbasestar.oauth.client.warmup;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor;
+import org.scriptonbasestar.oauth.client.o20.type.AccessTokenType;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for OAuthWarmup
+ */
+class OAuthWarmupTest {
+
+	@Test
+	void tokenTypes_shouldBuildDeserializerOnceBeforeFirstParse() {
+		AtomicInteger built = new AtomicInteger();
+		ObjectMapper mapper = SBSingleInstances.createObjectMapper();
+		mapper.registerModule(new SimpleModule().setDeserializerModifier(new BeanDeserializerModifier() {
+			@Override
+			public JsonDeserializer<?> modifyDeserializer(
+				DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+				if (beanDesc.getBeanClass() == TestToken.class) {
+					built.incrementAndGet();
+				}
+				return deserializer;
+			}
+		}));
+
+		OAuthWarmup.tokenTypes(mapper, List.of(TestToken.class));
+		assertThat(built).hasValue(1);
+
+		TestToken token = new JsonTokenExtractor<>(mapper, TestToken.class)
+			.extract("{\"access_token\":\"at\",\"token_type\":\"bearer\"}");
+		assertThat(token.getTokenType()).isEqualTo(AccessTokenType.BEARER);
+		assertThat(built).as("parse reuses the cached deserializer").hasValue(1);
+	}
+
+	record TestToken(String accessToken, AccessTokenType tokenType) implements TokenPack {
+		@Override
+		public String getAccessToken() {
+			return accessToken;
+		}
+
+		@Override
+		public AccessTokenType getTokenType() {
+			return tokenType;
+		}
+
+		@Override
+		public String getRefreshToken() {
+			return null;
+		}
+
+		@Override
+		public Long getExpiresIn() {
+			return null;
+		}
+
+		@Override
+		public String getError() {
+			return null;
+		}
+	}
+}
@@ -3,6 +3,10 @@ package org.scriptonbasestar.oauth.core.util;
 import org.junit.jupiter.api.Test;
 import org.scriptonbasestar.oauth.client.util.OAuthEncodeUtil;
 
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -18,9 +22,9 @@ class OAuthEncodeUtilTest {
 	}
 
 	@Test
-	void encode_withSpaces_shouldEncodeSpaces() {
+	void encode_withSpaces_shouldEncodeSpacesAsPercent20() {
 		String result = OAuthEncodeUtil.encode("hello world");
-		assertThat(result).isEqualTo("hello+world");
+		assertThat(result).isEqualTo("hello%20world");
 	}
 
 	@Test
@@ -53,7 +57,7 @@ class OAuthEncodeUtilTest {
 	void encodeArray_withSpecialCharacters_shouldEncodeAll() {
 		String[] input = {"hello world", "test@example.com", "a=b"};
 		String[] result = OAuthEncodeUtil.encodeArray(input);
-		assertThat(result).containsExactly("hello+world", "test%40example.com", "a%3Db");
+		assertThat(result).containsExactly("hello%20world", "test%40example.com", "a%3Db");
 	}
 
 	@Test
@@ -62,4 +66,56 @@ class OAuthEncodeUtilTest {
 		String[] result = OAuthEncodeUtil.encodeArray(input);
 		assertThat(result).isEmpty();
 	}
+
+	@Test
+	void encode_withUnreservedOnly_shouldReturnSameInstance() {
+		String value = "AbZ09-._~";
+		assertThat(OAuthEncodeUtil.encode(value)).isSameAs(value);
+	}
+
+	@Test
+	void encode_withRfc3986Reserved_shouldEscapeAsteriskAndKeepTilde() {
+		assertThat(OAuthEncodeUtil.encode("a*b~c+d")).isEqualTo("a%2Ab~c%2Bd");
+	}
+
+	@Test
+	void encode_withNonAscii_shouldMatchUrlEncoderExceptSpace() {
+		String value = "테스트 é \uD83D\uDE00/?";
+		String expected = URLEncoder.encode(value, StandardCharsets.UTF_8)
+				.replace("+", "%20");
+		assertThat(OAuthEncodeUtil.encode(value)).isEqualTo(expected);
+	}
+
+	@Test
+	void encode_withLoneSurrogate_shouldEncodeReplacement() {
+		assertThat(OAuthEncodeUtil.encode("a\uD800b")).isEqualTo("a%3Fb");
+	}
+
+	@Test
+	void encode_toStringBuilder_shouldAppend() {
+		StringBuilder sb = new StringBuilder("state=");
+		OAuthEncodeUtil.encode("a b", sb);
+		OAuthEncodeUtil.encode("cd", sb);
+		assertThat(sb.toString()).isEqualTo("state=a%20bcd");
+	}
+
+	@Test
+	void encode_toStringBuilder_shouldMatchStringEncoding() {
+		for (String value : new String[]{"http://localhost:8080/콜백?x=1", "a\uD83D\uDE00b*", "a\uD800b", "~safe-._"}) {
+			StringBuilder sb = new StringBuilder("p=");
+			OAuthEncodeUtil.encode(value, sb);
+			assertThat(sb.toString()).isEqualTo("p=" + OAuthEncodeUtil.encode(value));
+		}
+	}
+
+	@Test
+	void encode_toByteBuffer_shouldWriteEncodedLengthBytes() {
+		String value = "http://localhost:8080/콜백?x=1";
+		ByteBuffer buffer = ByteBuffer.allocate(OAuthEncodeUtil.encodedLength(value));
+		OAuthEncodeUtil.encode(value, buffer);
+
+		assertThat(buffer.hasRemaining()).isFalse();
+		assertThat(new String(buffer.array(), StandardCharsets.US_ASCII))
+				.isEqualTo(OAuthEncodeUtil.encode(value));
+	}
 }
@@ -53,4 +53,9 @@ public record OAuth2FacebookTokenRes(
   public Long getExpiresIn() {
     return expiresIn;
   }
+
+  @Override
+  public String getError() {
+    return error;
+  }
 }
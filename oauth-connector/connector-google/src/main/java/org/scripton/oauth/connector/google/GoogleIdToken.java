@@ -0,0 +1,38 @@
+package org.scripton.oauth.connector.google;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검증이 끝난 Google id_token 의 claim.
+ *
+ * @param subject       {@code sub}. Google 계정의 고유 id
+ * @param email         {@code email} (nullable, email scope 가 있을 때)
+ * @param emailVerified {@code email_verified}
+ * @param name          {@code name} (nullable, profile scope 가 있을 때)
+ * @param picture       {@code picture} (nullable)
+ * @param hostedDomain  {@code hd}. Workspace 계정의 도메인 (nullable)
+ * @param nonce         {@code nonce} (nullable)
+ * @param issuer        {@code iss}
+ * @param audience      {@code aud}
+ * @param issuedAt      {@code iat}
+ * @param expiresAt     {@code exp}
+ * @param claims        모든 claim
+ * @since 2.0.0
+ */
+public record GoogleIdToken(
+  String subject,
+  String email,
+  boolean emailVerified,
+  String name,
+  String picture,
+  String hostedDomain,
+  String nonce,
+  String issuer,
+  List<String> audience,
+  Instant issuedAt,
+  Instant expiresAt,
+  Map<String, Object> claims
+) {
+}
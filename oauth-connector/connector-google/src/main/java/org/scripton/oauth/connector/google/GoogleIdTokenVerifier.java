@@ -0,0 +1,241 @@
+package org.scripton.oauth.connector.google;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.scriptonbasestar.oauth.client.exception.OAuthAuthException;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * token 응답의 {@link OAuth2GoogleTokenRes#idToken()} 을 Google 에 다시 묻지 않고 검증한다.
+ * <ul>
+ *   <li>서명 - RS256, Google JWKS 의 공개키. 키는 {@code Cache-Control} 에 따라 캐시하고 모르는 {@code kid} 면 다시 받는다</li>
+ *   <li>{@code iss} - accounts.google.com</li>
+ *   <li>{@code aud} - 등록한 client id 중 하나</li>
+ *   <li>{@code exp}, {@code iat} - {@code clockSkew} 까지 허용</li>
+ *   <li>{@code nonce} - {@link #verify(String, String)} 로 넘긴 경우</li>
+ * </ul>
+ * 한 번 만들어서 계속 쓴다. 스레드 안전하다.
+ *
+ * <pre>{@code
+ * GoogleIdTokenVerifier verifier = GoogleIdTokenVerifier.builder(config.getClientId()).build();
+ * GoogleIdToken idToken = verifier.verify(tokenRes.idToken());
+ * String userId = idToken.subject();
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public final class GoogleIdTokenVerifier {
+
+  public static final String GOOGLE_JWKS_URI = "https://www.googleapis.com/oauth2/v3/certs";
+
+  private static final Set<String> ISSUERS = Set.of("https://accounts.google.com", "accounts.google.com");
+  private static final TypeReference<Map<String, Object>> CLAIMS = new TypeReference<>() {
+  };
+
+  private final Set<String> audiences;
+  private final Duration clockSkew;
+  private final Clock clock;
+  private final GoogleJwks jwks;
+
+  private GoogleIdTokenVerifier(Builder builder) {
+    this.audiences = builder.audiences;
+    this.clockSkew = builder.clockSkew;
+    this.clock = builder.clock;
+    this.jwks = new GoogleJwks(builder.jwksUri, builder.defaultMaxAge, builder.minRefreshInterval, builder.clock);
+  }
+
+  /**
+   * @param clientIds 이 id_token 을 받을 수 있는 client id
+   */
+  public static Builder builder(String... clientIds) {
+    return new Builder(clientIds);
+  }
+
+  /**
+   * @throws OAuthAuthException    서명이나 claim 이 맞지 않는 경우
+   * @throws OAuthParsingException JWT 형식이 아닌 경우
+   */
+  public GoogleIdToken verify(String idToken) {
+    return verify(idToken, null);
+  }
+
+  /**
+   * @param expectedNonce authorize 요청에 넣은 nonce. null 이면 확인하지 않는다
+   * @throws OAuthAuthException    서명이나 claim 이 맞지 않는 경우
+   * @throws OAuthParsingException JWT 형식이 아닌 경우
+   */
+  public GoogleIdToken verify(String idToken, String expectedNonce) {
+    Preconditions.notEmptyString(idToken, "idToken must not null or empty");
+    int first = idToken.indexOf('.');
+    int second = idToken.indexOf('.', first + 1);
+    if (first < 0 || second < 0 || idToken.indexOf('.', second + 1) >= 0) {
+      throw new OAuthParsingException("id_token is not a JWS compact serialization");
+    }
+    Map<String, Object> header = json(idToken.substring(0, first));
+    Map<String, Object> claims = json(idToken.substring(first + 1, second));
+
+    if (!"RS256".equals(header.get("alg"))) {
+      throw new OAuthAuthException("unsupported id_token alg: " + header.get("alg"));
+    }
+    PublicKey key = jwks.key(String.valueOf(header.get("kid")));
+    if (key == null) {
+      throw new OAuthAuthException("unknown id_token kid: " + header.get("kid"));
+    }
+    verifySignature(key, idToken.substring(0, second), decode(idToken.substring(second + 1)));
+
+    String issuer = (String) claims.get("iss");
+    if (!ISSUERS.contains(issuer)) {
+      throw new OAuthAuthException("invalid id_token iss: " + issuer);
+    }
+    List<String> audience = audience(claims.get("aud"));
+    if (audience.stream().noneMatch(audiences::contains)) {
+      throw new OAuthAuthException("id_token aud does not match client id: " + audience);
+    }
+    Instant now = clock.instant();
+    Instant expiresAt = instant(claims, "exp");
+    Instant issuedAt = instant(claims, "iat");
+    if (!now.minus(clockSkew).isBefore(expiresAt)) {
+      throw new OAuthAuthException("id_token expired at " + expiresAt);
+    }
+    if (now.plus(clockSkew).isBefore(issuedAt)) {
+      throw new OAuthAuthException("id_token issued in the future: " + issuedAt);
+    }
+    String nonce = (String) claims.get("nonce");
+    if (expectedNonce != null && !expectedNonce.equals(nonce)) {
+      throw new OAuthAuthException("id_token nonce mismatch");
+    }
+
+    return new GoogleIdToken(
+        (String) claims.get("sub"),
+        (String) claims.get("email"),
+        Boolean.TRUE.equals(claims.get("email_verified")) || "true".equals(claims.get("email_verified")),
+        (String) claims.get("name"),
+        (String) claims.get("picture"),
+        (String) claims.get("hd"),
+        nonce,
+        issuer,
+        audience,
+        issuedAt,
+        expiresAt,
+        claims);
+  }
+
+  private static void verifySignature(PublicKey key, String signingInput, byte[] signature) {
+    try {
+      Signature verifier = Signature.getInstance("SHA256withRSA");
+      verifier.initVerify(key);
+      verifier.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+      if (!verifier.verify(signature)) {
+        throw new OAuthAuthException("invalid id_token signature");
+      }
+    } catch (GeneralSecurityException e) {
+      throw new OAuthAuthException("invalid id_token signature", e);
+    }
+  }
+
+  private static Map<String, Object> json(String base64Url) {
+    try {
+      return SBSingleInstances.getObjectMapper().readValue(decode(base64Url), CLAIMS);
+    } catch (IOException e) {
+      throw new OAuthParsingException("invalid id_token JSON", e);
+    }
+  }
+
+  private static byte[] decode(String base64Url) {
+    try {
+      return Base64.getUrlDecoder().decode(base64Url);
+    } catch (IllegalArgumentException e) {
+      throw new OAuthParsingException("invalid id_token base64url", e);
+    }
+  }
+
+  private static List<String> audience(Object aud) {
+    if (aud instanceof String single) {
+      return List.of(single);
+    }
+    if (aud instanceof List<?> list) {
+      return list.stream().map(String::valueOf).toList();
+    }
+    throw new OAuthAuthException("id_token has no aud");
+  }
+
+  private static Instant instant(Map<String, Object> claims, String name) {
+    if (claims.get(name) instanceof Number seconds) {
+      return Instant.ofEpochSecond(seconds.longValue());
+    }
+    throw new OAuthAuthException("id_token has no " + name);
+  }
+
+  public static final class Builder {
+    private final Set<String> audiences;
+    private String jwksUri = GOOGLE_JWKS_URI;
+    private Duration clockSkew = Duration.ofMinutes(1);
+    private Duration defaultMaxAge = Duration.ofHours(1);
+    private Duration minRefreshInterval = Duration.ofMinutes(1);
+    private Clock clock = Clock.systemUTC();
+
+    private Builder(String... clientIds) {
+      Preconditions.notNull(clientIds, "clientIds must not null");
+      Preconditions.isTrue(clientIds.length > 0, "at least one client id is required");
+      for (String clientId : clientIds) {
+        Preconditions.notEmptyString(clientId, "clientId must not null or empty");
+      }
+      this.audiences = Set.of(clientIds);
+    }
+
+    /**
+     * @param jwksUri 기본값 {@link #GOOGLE_JWKS_URI}
+     */
+    public Builder jwksUri(String jwksUri) {
+      this.jwksUri = Preconditions.notEmptyString(jwksUri, "jwksUri must not null or empty");
+      return this;
+    }
+
+    /**
+     * @param clockSkew exp, iat 검사에서 허용할 시계 오차. 기본값 1분
+     */
+    public Builder clockSkew(Duration clockSkew) {
+      this.clockSkew = Preconditions.notNull(clockSkew, "clockSkew must not null");
+      return this;
+    }
+
+    /**
+     * @param defaultMaxAge JWKS 응답에 {@code Cache-Control: max-age} 가 없을 때 보관 시간. 기본값 1시간
+     */
+    public Builder defaultMaxAge(Duration defaultMaxAge) {
+      this.defaultMaxAge = Preconditions.notNull(defaultMaxAge, "defaultMaxAge must not null");
+      return this;
+    }
+
+    /**
+     * @param minRefreshInterval 모르는 kid 때문에 JWKS 를 다시 받는 최소 간격. 기본값 1분
+     */
+    public Builder minRefreshInterval(Duration minRefreshInterval) {
+      this.minRefreshInterval = Preconditions.notNull(minRefreshInterval, "minRefreshInterval must not null");
+      return this;
+    }
+
+    Builder clock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    public GoogleIdTokenVerifier build() {
+      return new GoogleIdTokenVerifier(this);
+    }
+  }
+}
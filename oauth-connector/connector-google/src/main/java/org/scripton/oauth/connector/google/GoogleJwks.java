@@ -0,0 +1,146 @@
+package org.scripton.oauth.connector.google;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.scriptonbasestar.oauth.client.exception.OAuthNetworkRemoteException;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.resilience.OAuthResilience;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google 의 JWKS (id_token 서명 공개키) 캐시.
+ * <p>
+ * 응답의 {@code Cache-Control: max-age} 동안 (최대 하루) 보관한다. 모르는 {@code kid} 가 오면 다시 받아 오되,
+ * 동시에 여러 스레드가 요청해도 한 번만 받고 ({@code minRefreshInterval} 안에는 다시 받지 않는다).
+ * 다시 받다가 실패하면 (endpoint 장애 포함) 가지고 있던 키를 계속 쓰고 {@code minRefreshInterval} 뒤에 다시 받는다.
+ */
+final class GoogleJwks {
+
+  private static final Logger log = LoggerFactory.getLogger(GoogleJwks.class);
+
+  private static final Pattern MAX_AGE = Pattern.compile("max-age\\s*=\\s*(\\d+)");
+  //Google 은 보통 몇 시간이다. 터무니없이 큰 max-age 로 Instant 계산이 넘치지 않게 한다
+  private static final Duration MAX_CACHE_AGE = Duration.ofDays(1);
+
+  private final String jwksUri;
+  private final Duration defaultMaxAge;
+  private final Duration minRefreshInterval;
+  private final Clock clock;
+
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private volatile Keys keys;
+
+  GoogleJwks(String jwksUri, Duration defaultMaxAge, Duration minRefreshInterval, Clock clock) {
+    this.jwksUri = jwksUri;
+    this.defaultMaxAge = defaultMaxAge;
+    this.minRefreshInterval = minRefreshInterval;
+    this.clock = clock;
+  }
+
+  /**
+   * @return 없으면 null
+   */
+  PublicKey key(String kid) {
+    Keys current = keys;
+    Instant now = clock.instant();
+    if (current != null && now.isBefore(current.expiresAt())) {
+      PublicKey key = current.byKid().get(kid);
+      if (key != null || now.isBefore(current.fetchedAt().plus(minRefreshInterval))) {
+        return key;
+      }
+    }
+    return refresh(current).byKid().get(kid);
+  }
+
+  private Keys refresh(Keys seen) {
+    //synchronized 는 virtual thread 를 carrier 에 고정하므로 lock 을 쓴다
+    refreshLock.lock();
+    try {
+      if (keys != seen) {
+        //기다리는 동안 다른 스레드가 받아 왔다
+        return keys;
+      }
+      try {
+        keys = fetch();
+      } catch (RuntimeException e) {
+        if (seen == null) {
+          throw e;
+        }
+        //네트워크 장애, circuit breaker 거절 등 무엇이든 minRefreshInterval 동안은 다시 받지 않는다
+        log.warn("failed to refresh Google JWKS from {}, keeping {} cached keys: {}", jwksUri, seen.byKid().size(), e.toString());
+        keys = new Keys(seen.byKid(), clock.instant(), clock.instant().plus(minRefreshInterval));
+      }
+      return keys;
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  private Keys fetch() {
+    HttpRequest request = HttpRequest.create(jwksUri).withProvider(OAuth2GoogleAccessTokenEndpointFunction.PROVIDER);
+    HttpResult result = OAuthResilience.policy(OAuth2GoogleAccessTokenEndpointFunction.PROVIDER)
+        .executeIdempotent(() -> request.execute(OAuthHttpVerb.GET));
+    if (!result.isSuccess()) {
+      throw new OAuthNetworkRemoteException("Google JWKS request failed: HTTP " + result.status());
+    }
+    Map<String, PublicKey> byKid = new HashMap<>();
+    try {
+      JsonNode root = SBSingleInstances.getObjectMapper().readTree(result.body());
+      for (JsonNode jwk : root.path("keys")) {
+        if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+          continue;
+        }
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(unsigned(jwk.path("n").asText()), unsigned(jwk.path("e").asText()));
+        byKid.put(jwk.get("kid").asText(), KeyFactory.getInstance("RSA").generatePublic(spec));
+      }
+    } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+      throw new OAuthParsingException("invalid Google JWKS", e);
+    }
+    Instant now = clock.instant();
+    log.debug("fetched {} Google JWKS keys", byKid.size());
+    return new Keys(Map.copyOf(byKid), now, now.plus(maxAge(result.header("Cache-Control"))));
+  }
+
+  private Duration maxAge(String cacheControl) {
+    if (cacheControl != null) {
+      Matcher matcher = MAX_AGE.matcher(cacheControl.toLowerCase(Locale.ROOT));
+      if (matcher.find()) {
+        String seconds = matcher.group(1);
+        //long 을 넘는 자릿수도 MAX_CACHE_AGE 로 본다
+        if (seconds.length() > 18 || Long.parseLong(seconds) > MAX_CACHE_AGE.toSeconds()) {
+          return MAX_CACHE_AGE;
+        }
+        return Duration.ofSeconds(Long.parseLong(seconds));
+      }
+    }
+    return defaultMaxAge;
+  }
+
+  private static BigInteger unsigned(String base64Url) {
+    return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+  }
+
+  private record Keys(Map<String, PublicKey> byKid, Instant fetchedAt, Instant expiresAt) {
+  }
+}
@@ -4,18 +4,25 @@ import org.scriptonbasestar.oauth.client.OAuth20Constants;
 import org.scriptonbasestar.oauth.client.OAuth2AccessTokenEndpointFunction;
 import org.scriptonbasestar.oauth.client.http.HttpRequest;
 import org.scriptonbasestar.oauth.client.http.ParamList;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.model.Pkce;
 import org.scriptonbasestar.oauth.client.model.State;
 import org.scriptonbasestar.oauth.client.model.Token;
 import org.scriptonbasestar.oauth.client.model.Verifier;
 import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
 import org.scriptonbasestar.oauth.client.nobi.token.TokenExtractor;
+import org.scriptonbasestar.oauth.client.resilience.OAuthResilience;
 import org.scriptonbasestar.oauth.client.type.GrantType;
 import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
+import java.util.concurrent.CompletableFuture;
+
 public class OAuth2GoogleAccessTokenEndpointFunction
     implements OAuth2AccessTokenEndpointFunction<OAuth2GoogleTokenRes> {
 
+  static final String PROVIDER = "google";
+
   private final OAuth2GoogleConfig serviceConfig;
   private final TokenExtractor<OAuth2GoogleTokenRes> tokenExtractor;
   private final TokenStorage tokenStorage;
@@ -44,6 +51,34 @@ public class OAuth2GoogleAccessTokenEndpointFunction
    */
   @Override
   public OAuth2GoogleTokenRes issue(Verifier verifier, State state) {
+    return issue(issueParams(verifier, state));
+  }
+
+  /**
+   * {@link #issue(Verifier, State)} 에 code_verifier 를 더한다
+   */
+  @Override
+  public OAuth2GoogleTokenRes issue(Verifier verifier, State state, Pkce pkce) {
+    Preconditions.notNull(pkce, "pkce must not null");
+    return issue(issueParams(verifier, state).add(OAuth20Constants.CODE_VERIFIER, pkce.verifier()));
+  }
+
+  /**
+   * non-blocking {@link #issue(Verifier, State)}. retry, hedge 는 하지 않는다
+   */
+  @Override
+  public CompletableFuture<OAuth2GoogleTokenRes> issueAsync(Verifier verifier, State state) {
+    return exchangeAsync(OAuthMetrics.ISSUE, issueParams(verifier, state));
+  }
+
+  @Override
+  public CompletableFuture<OAuth2GoogleTokenRes> issueAsync(Verifier verifier, State state, Pkce pkce) {
+    Preconditions.notNull(pkce, "pkce must not null");
+    return exchangeAsync(OAuthMetrics.ISSUE,
+        issueParams(verifier, state).add(OAuth20Constants.CODE_VERIFIER, pkce.verifier()));
+  }
+
+  private ParamList issueParams(Verifier verifier, State state) {
     Preconditions.notNull(verifier, "verifier must not null");
     Preconditions.notNull(state, "state must not null");
 
@@ -56,10 +91,15 @@ public class OAuth2GoogleAccessTokenEndpointFunction
     paramList.add(OAuth20Constants.CODE, verifier);
 //    paramList.add(OAuth20Constants.STATE, state);
     paramList.add(OAuth20Constants.REDIRECT_URI, serviceConfig.getRedirectUri());
+    return paramList;
+  }
 
-    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList);
+  private OAuth2GoogleTokenRes issue(ParamList paramList) {
+    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList).withProvider(PROVIDER);
 
-    return tokenExtractor.extract(request.run(serviceConfig.getAccessTokenVerb()));
+    return OAuthMetrics.observe(PROVIDER, OAuthMetrics.ISSUE,
+        () -> tokenExtractor.extract(
+            OAuthResilience.policy(PROVIDER, serviceConfig.getClientId()).run(request, serviceConfig.getAccessTokenVerb())));
   }
 
   /**
@@ -74,6 +114,22 @@ public class OAuth2GoogleAccessTokenEndpointFunction
    */
   @Override
   public OAuth2GoogleTokenRes refresh(Token refreshToken) {
+    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), refreshParams(refreshToken)).withProvider(PROVIDER);
+
+    return OAuthMetrics.observe(PROVIDER, OAuthMetrics.REFRESH,
+        () -> tokenExtractor.extract(
+            OAuthResilience.policy(PROVIDER, serviceConfig.getClientId()).runIdempotent(request, serviceConfig.getAccessTokenVerb())));
+  }
+
+  /**
+   * non-blocking {@link #refresh(Token)}. retry, hedge 는 하지 않는다
+   */
+  @Override
+  public CompletableFuture<OAuth2GoogleTokenRes> refreshAsync(Token refreshToken) {
+    return exchangeAsync(OAuthMetrics.REFRESH, refreshParams(refreshToken));
+  }
+
+  private ParamList refreshParams(Token refreshToken) {
     ParamList paramList = new ParamList();
 
     paramList.add(OAuth20Constants.GRANT_TYPE, GrantType.REFRESH_TOKEN);
@@ -81,10 +137,7 @@ public class OAuth2GoogleAccessTokenEndpointFunction
     paramList.add(OAuth20Constants.CLIENT_SECRET, serviceConfig.getClientSecret());
 
     paramList.add(OAuth20Constants.REFRESH_TOKEN, refreshToken);
-
-    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList);
-
-    return tokenExtractor.extract(request.run(serviceConfig.getAccessTokenVerb()));
+    return paramList;
   }
 
   /**
@@ -103,9 +156,18 @@ public class OAuth2GoogleAccessTokenEndpointFunction
 
     paramList.add(OAuth20Constants.ACCESS_TOKEN, accessToken);
 
-    HttpRequest request = HttpRequest.create(serviceConfig.getRevokeUrl(), paramList);
+    HttpRequest request = HttpRequest.create(serviceConfig.getRevokeUrl(), paramList).withProvider(PROVIDER);
 
-    return tokenExtractor.extract(request.run(OAuthHttpVerb.GET));
+    return OAuthMetrics.observe(PROVIDER, OAuthMetrics.REVOKE,
+        () -> tokenExtractor.extract(
+            OAuthResilience.policy(PROVIDER, serviceConfig.getClientId()).run(request, OAuthHttpVerb.GET)));
   }
 
+  private CompletableFuture<OAuth2GoogleTokenRes> exchangeAsync(String operation, ParamList paramList) {
+    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList).withProvider(PROVIDER);
+    return OAuthMetrics.observeAsync(PROVIDER, operation,
+        () -> OAuthResilience.policy(PROVIDER, serviceConfig.getClientId())
+            .runAsync(request, serviceConfig.getAccessTokenVerb())
+            .thenApply(tokenExtractor::extract));
+  }
 }
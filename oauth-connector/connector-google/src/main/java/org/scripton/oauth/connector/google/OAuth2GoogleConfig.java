@@ -2,12 +2,20 @@ package org.scripton.oauth.connector.google;
 
 import org.scriptonbasestar.oauth.client.config.OAuthBaseConfig;
 import org.scriptonbasestar.oauth.client.o20.type.VerifierResponseType;
+import org.scriptonbasestar.oauth.client.oidc.OidcDiscovery;
 import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
+import java.util.Objects;
+
 public class OAuth2GoogleConfig
     extends OAuthBaseConfig {
 
+  /**
+   * {@link OidcDiscovery#builder(String)} 에 넘길 Google 의 issuer
+   */
+  public static final String ISSUER = "https://accounts.google.com";
+
   private final String redirectUri;
   private final String authorizeEndpoint;
   private final String scope;
@@ -52,6 +60,35 @@ public class OAuth2GoogleConfig
     this.revokeUrl = revokeUrl;
   }
 
+  //endpoint 는 하위 class 가 getter 에서 정한다
+  private OAuth2GoogleConfig(String clientId, String clientSecret, String redirectUri, String scope) {
+    super(clientId, clientSecret);
+    Preconditions.notNull(scope, "scope must not null but empty is allowed");
+    this.redirectUri = redirectUri;
+    this.authorizeEndpoint = null;
+    this.scope = scope;
+    this.accessTokenEndpoint = null;
+    this.accessTokenVerb = OAuthHttpVerb.POST;
+    this.revokeUrl = null;
+  }
+
+  /**
+   * authorize, token, revoke endpoint 를 discovery 문서에서 읽는다. 호출할 때마다 최신 문서를 보므로 endpoint 가 바뀌어도 다시 배포하지 않아도 된다.
+   * 여기서는 문서를 받지 않는다. 처음 endpoint 를 읽을 때 받는다
+   *
+   * @param discovery {@link #ISSUER} 의 discovery
+   * @param scope     https://www.googleapis.com/auth/userinfo.profile
+   */
+  public static OAuth2GoogleConfig fromDiscovery(
+      OidcDiscovery discovery,
+      String clientId,
+      String clientSecret,
+      String redirectUri,
+      String scope) {
+    Preconditions.notNull(discovery, "discovery must not null");
+    return new Discovered(discovery, clientId, clientSecret, redirectUri, scope);
+  }
+
   public String getRedirectUri() {
     return redirectUri;
   }
@@ -79,5 +116,65 @@ public class OAuth2GoogleConfig
   public String getRevokeUrl() {
     return revokeUrl;
   }
-}
 
+  @Override
+  public boolean equals(Object o) {
+    if (!super.equals(o)) return false;
+    OAuth2GoogleConfig that = (OAuth2GoogleConfig) o;
+    return Objects.equals(redirectUri, that.redirectUri)
+        && Objects.equals(authorizeEndpoint, that.authorizeEndpoint)
+        && Objects.equals(scope, that.scope)
+        && Objects.equals(accessTokenEndpoint, that.accessTokenEndpoint)
+        && Objects.equals(accessTokenVerb, that.accessTokenVerb)
+        && Objects.equals(revokeUrl, that.revokeUrl);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * super.hashCode() + Objects.hash(redirectUri, authorizeEndpoint, scope, accessTokenEndpoint, accessTokenVerb, revokeUrl);
+  }
+
+  private static final class Discovered
+      extends OAuth2GoogleConfig {
+
+    private final OidcDiscovery discovery;
+    //문서가 revocation_endpoint 를 빼먹으면 마지막으로 본 값을 쓴다
+    private volatile String lastRevokeUrl;
+
+    private Discovered(OidcDiscovery discovery, String clientId, String clientSecret, String redirectUri, String scope) {
+      super(clientId, clientSecret, redirectUri, scope);
+      this.discovery = discovery;
+    }
+
+    @Override
+    public String getAuthorizeEndpoint() {
+      return discovery.metadata().authorizationEndpoint();
+    }
+
+    @Override
+    public String getAccessTokenEndpoint() {
+      return discovery.metadata().tokenEndpoint();
+    }
+
+    @Override
+    public String getRevokeUrl() {
+      String revokeUrl = discovery.metadata().revocationEndpoint();
+      if (revokeUrl == null) {
+        return lastRevokeUrl;
+      }
+      lastRevokeUrl = revokeUrl;
+      return revokeUrl;
+    }
+
+    //endpoint 는 discovery 에서 읽는다. 같은 discovery 를 볼 때만 같은 설정이다
+    @Override
+    public boolean equals(Object o) {
+      return super.equals(o) && discovery == ((Discovered) o).discovery;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * super.hashCode() + System.identityHashCode(discovery);
+    }
+  }
+}
@@ -5,6 +5,8 @@ import org.scriptonbasestar.oauth.client.OAuth2GenerateAuthorizeEndpointFunction
 import org.scriptonbasestar.oauth.client.http.ParamList;
 import org.scriptonbasestar.oauth.client.http.ParamUtil;
 import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.tracing.OAuthSpan;
+import org.scriptonbasestar.oauth.client.tracing.OAuthTracing;
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
 public class OAuth2GoogleGenerateAuthorizeUrlFunction
@@ -33,12 +35,15 @@ public class OAuth2GoogleGenerateAuthorizeUrlFunction
   public String generate(State state) {
     Preconditions.notNull(state, "state must not null");
 
-    return ParamUtil.generateOAuthQuery(config.getAuthorizeEndpoint(),
-                      ParamList.create()
-                           .add(OAuth20Constants.CLIENT_ID, config.getClientId())
-                           .add(OAuth20Constants.REDIRECT_URI, config.getRedirectUri())
-                           .add(OAuth20Constants.RESPONSE_TYPE, config.getResponseType())
-                           .add(OAuth20Constants.SCOPE, config.getScope())
-                           .add(OAuth20Constants.STATE, state));
+    try (OAuthSpan span = OAuthTracing.startSpan("oauth.authorize_url")) {
+      span.setAttribute(OAuthTracing.PROVIDER, "google");
+      return ParamUtil.generateOAuthQuery(config.getAuthorizeEndpoint(),
+                        ParamList.create()
+                             .add(OAuth20Constants.CLIENT_ID, config.getClientId())
+                             .add(OAuth20Constants.REDIRECT_URI, config.getRedirectUri())
+                             .add(OAuth20Constants.RESPONSE_TYPE, config.getResponseType())
+                             .add(OAuth20Constants.SCOPE, config.getScope())
+                             .add(OAuth20Constants.STATE, state));
+    }
   }
 }
@@ -57,4 +57,9 @@ public record OAuth2GoogleTokenRes(
   public Long getExpiresIn() {
     return expiresIn;
   }
+
+  @Override
+  public String getError() {
+    return error;
+  }
 }
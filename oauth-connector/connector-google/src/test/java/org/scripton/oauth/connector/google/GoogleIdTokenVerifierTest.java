@@ -0,0 +1,239 @@
+package org.scripton.oauth.connector.google;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.exception.OAuthAuthException;
+import org.scriptonbasestar.oauth.client.exception.OAuthParsingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for GoogleIdTokenVerifier and GoogleJwks
+ */
+class GoogleIdTokenVerifierTest {
+
+	private static final String CLIENT_ID = "client.apps.googleusercontent.com";
+
+	private final AtomicReference<Instant> now = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+	private final Map<String, KeyPair> keys = new ConcurrentHashMap<>();
+	private final AtomicInteger fetches = new AtomicInteger();
+	private final AtomicReference<String> cacheControl = new AtomicReference<>("public, max-age=600, must-revalidate");
+	private HttpServer server;
+	private GoogleIdTokenVerifier verifier;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		keys.put("k1", rsa());
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/certs", exchange -> {
+			fetches.incrementAndGet();
+			byte[] body = jwks().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Cache-Control", cacheControl.get());
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		verifier = GoogleIdTokenVerifier.builder(CLIENT_ID)
+			.jwksUri("http://127.0.0.1:" + server.getAddress().getPort() + "/certs")
+			.clock(clock())
+			.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void verify_validToken_shouldReturnClaimsAndCacheKeys() throws Exception {
+		String idToken = sign("k1", claims(CLIENT_ID, 3600, "n-1"));
+
+		GoogleIdToken token = verifier.verify(idToken, "n-1");
+		verifier.verify(idToken);
+
+		assertThat(token.subject()).isEqualTo("10769150350006150715113082367");
+		assertThat(token.email()).isEqualTo("user@example.com");
+		assertThat(token.emailVerified()).isTrue();
+		assertThat(token.audience()).containsExactly(CLIENT_ID);
+		assertThat(token.expiresAt()).isEqualTo(now.get().plusSeconds(3600));
+		assertThat(fetches).hasValue(1);
+	}
+
+	@Test
+	void verify_invalidClaims_shouldThrow() throws Exception {
+		assertThatThrownBy(() -> verifier.verify(sign("k1", claims("other-client", 3600, null))))
+			.isInstanceOf(OAuthAuthException.class).hasMessageContaining("aud");
+		assertThatThrownBy(() -> verifier.verify(sign("k1", claims(CLIENT_ID, -120, null))))
+			.isInstanceOf(OAuthAuthException.class).hasMessageContaining("expired");
+		assertThatThrownBy(() -> verifier.verify(sign("k1", claims(CLIENT_ID, 3600, "n-1")), "n-2"))
+			.isInstanceOf(OAuthAuthException.class).hasMessageContaining("nonce");
+		assertThatThrownBy(() -> verifier.verify("not-a-jwt"))
+			.isInstanceOf(OAuthParsingException.class);
+	}
+
+	@Test
+	void verify_tamperedPayload_shouldFailSignature() throws Exception {
+		String[] parts = sign("k1", claims(CLIENT_ID, 3600, null)).split("\\.");
+		String forged = encode(claims(CLIENT_ID, 3600, null).replace("user@example.com", "admin@example.com"));
+
+		assertThatThrownBy(() -> verifier.verify(parts[0] + "." + forged + "." + parts[2]))
+			.isInstanceOf(OAuthAuthException.class).hasMessageContaining("signature");
+	}
+
+	@Test
+	void unknownKid_shouldRefetchOnceForConcurrentCallers() throws Exception {
+		verifier.verify(sign("k1", claims(CLIENT_ID, 3600, null)));
+		keys.put("k2", rsa());
+		now.set(now.get().plusSeconds(120));
+		String rotated = sign("k2", claims(CLIENT_ID, 3600, null));
+
+		List<Thread> threads = new ArrayList<>();
+		AtomicInteger verified = new AtomicInteger();
+		for (int i = 0; i < 8; i++) {
+			threads.add(Thread.ofVirtual().start(() -> {
+				verifier.verify(rotated);
+				verified.incrementAndGet();
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat(verified).hasValue(8);
+		assertThat(fetches).hasValue(2);
+	}
+
+	@Test
+	void unknownKid_withinMinRefreshInterval_shouldNotRefetch() throws Exception {
+		verifier.verify(sign("k1", claims(CLIENT_ID, 3600, null)));
+		keys.put("k2", rsa());
+
+		String rotated = sign("k2", claims(CLIENT_ID, 3600, null));
+		assertThatThrownBy(() -> verifier.verify(rotated))
+			.isInstanceOf(OAuthAuthException.class).hasMessageContaining("kid");
+		assertThat(fetches).hasValue(1);
+	}
+
+	@Test
+	void expiredKeys_shouldFollowCacheControlMaxAge() throws Exception {
+		String idToken = sign("k1", claims(CLIENT_ID, 3600, null));
+		verifier.verify(idToken);
+		now.set(now.get().plusSeconds(599));
+		verifier.verify(idToken);
+		assertThat(fetches).hasValue(1);
+
+		now.set(now.get().plusSeconds(1));
+		verifier.verify(idToken);
+		assertThat(fetches).hasValue(2);
+	}
+
+	@Test
+	void hugeMaxAge_shouldBeCappedToOneDay() throws Exception {
+		cacheControl.set("public, max-age=999999999999999999999999");
+		verifier.verify(sign("k1", claims(CLIENT_ID, 3600, null)));
+
+		now.set(now.get().plus(Duration.ofDays(1)).minusSeconds(1));
+		verifier.verify(sign("k1", claims(CLIENT_ID, 3600, null)));
+		assertThat(fetches).hasValue(1);
+
+		now.set(now.get().plusSeconds(1));
+		verifier.verify(sign("k1", claims(CLIENT_ID, 3600, null)));
+		assertThat(fetches).hasValue(2);
+	}
+
+	@Test
+	void jwksDown_afterFirstFetch_shouldKeepUsingCachedKeys() throws Exception {
+		String idToken = sign("k1", claims(CLIENT_ID, 3600, null));
+		verifier.verify(idToken);
+		server.stop(0);
+
+		now.set(now.get().plusSeconds(600));
+		assertThat(verifier.verify(idToken).subject()).isEqualTo("10769150350006150715113082367");
+		now.set(now.get().plusSeconds(1));
+		assertThat(verifier.verify(idToken).subject()).isEqualTo("10769150350006150715113082367");
+		assertThat(fetches).hasValue(1);
+	}
+
+	private String claims(String audience, long expiresIn, String nonce) {
+		long iat = now.get().getEpochSecond();
+		return "{\"iss\":\"https://accounts.google.com\",\"aud\":\"" + audience + "\""
+			+ ",\"sub\":\"10769150350006150715113082367\",\"email\":\"user@example.com\",\"email_verified\":true"
+			+ ",\"iat\":" + iat + ",\"exp\":" + (iat + expiresIn)
+			+ (nonce == null ? "" : ",\"nonce\":\"" + nonce + "\"") + "}";
+	}
+
+	private String sign(String kid, String claims) throws GeneralSecurityException {
+		String input = encode("{\"alg\":\"RS256\",\"kid\":\"" + kid + "\",\"typ\":\"JWT\"}") + "." + encode(claims);
+		Signature signature = Signature.getInstance("SHA256withRSA");
+		signature.initSign(keys.get(kid).getPrivate());
+		signature.update(input.getBytes(StandardCharsets.US_ASCII));
+		return input + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign());
+	}
+
+	private String jwks() {
+		List<String> jwks = new ArrayList<>();
+		keys.forEach((kid, pair) -> {
+			RSAPublicKey key = (RSAPublicKey) pair.getPublic();
+			jwks.add("{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + kid + "\""
+				+ ",\"n\":\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(key.getModulus().toByteArray()) + "\""
+				+ ",\"e\":\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(key.getPublicExponent().toByteArray()) + "\"}");
+		});
+		return "{\"keys\":[" + String.join(",", jwks) + "]}";
+	}
+
+	private static String encode(String json) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static KeyPair rsa() throws GeneralSecurityException {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		return generator.generateKeyPair();
+	}
+
+	private Clock clock() {
+		return new Clock() {
+			@Override
+			public ZoneId getZone() {
+				return ZoneOffset.UTC;
+			}
+
+			@Override
+			public Clock withZone(ZoneId zone) {
+				return this;
+			}
+
+			@Override
+			public Instant instant() {
+				return now.get();
+			}
+		};
+	}
+}
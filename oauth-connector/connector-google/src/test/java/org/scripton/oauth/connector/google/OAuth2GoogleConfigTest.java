@@ -0,0 +1,31 @@
+package org.scripton.oauth.connector.google;
+
+import org.junit.jupiter.api.Test;
+import org.scriptonbasestar.oauth.client.oidc.OidcDiscovery;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for OAuth2GoogleConfig
+ */
+class OAuth2GoogleConfigTest {
+
+	@Test
+	void fromDiscovery_shouldNotFetchUntilEndpointIsRead() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		OidcDiscovery discovery = OidcDiscovery.builder("http://127.0.0.1:" + port).build();
+
+		OAuth2GoogleConfig config = OAuth2GoogleConfig.fromDiscovery(discovery, "client", "secret", "http://localhost/cb", "openid");
+
+		assertThat(config.getClientId()).isEqualTo("client");
+		assertThat(config).isEqualTo(OAuth2GoogleConfig.fromDiscovery(discovery, "client", "secret", "http://localhost/cb", "openid"));
+		assertThatThrownBy(config::getAccessTokenEndpoint).isInstanceOf(RuntimeException.class);
+	}
+}
@@ -6,20 +6,26 @@ import org.scriptonbasestar.oauth.client.OAuth20Constants;
 import org.scriptonbasestar.oauth.client.OAuth2AccessTokenEndpointFunction;
 import org.scriptonbasestar.oauth.client.http.HttpRequest;
 import org.scriptonbasestar.oauth.client.http.ParamList;
+import org.scriptonbasestar.oauth.client.metrics.OAuthMetrics;
+import org.scriptonbasestar.oauth.client.model.Pkce;
 import org.scriptonbasestar.oauth.client.model.State;
 import org.scriptonbasestar.oauth.client.model.Token;
 import org.scriptonbasestar.oauth.client.model.Verifier;
 import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
 import org.scriptonbasestar.oauth.client.nobi.token.TokenExtractor;
+import org.scriptonbasestar.oauth.client.resilience.OAuthResilience;
 import org.scriptonbasestar.oauth.client.type.GrantType;
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class OAuth2KakaoAccesstokenFunction
     implements OAuth2AccessTokenEndpointFunction<OAuth2KakaoTokenRes> {
 
+  private static final String PROVIDER = "kakao";
+
   private final OAuth2KakaoConfig serviceConfig;
   private final TokenExtractor<OAuth2KakaoTokenRes> tokenExtractor;
   private final TokenStorage tokenStorage;
@@ -48,6 +54,34 @@ public class OAuth2KakaoAccesstokenFunction
    */
   @Override
   public OAuth2KakaoTokenRes issue(Verifier verifier, State state) {
+    return issue(issueParams(verifier, state));
+  }
+
+  /**
+   * {@link #issue(Verifier, State)} 에 code_verifier 를 더한다
+   */
+  @Override
+  public OAuth2KakaoTokenRes issue(Verifier verifier, State state, Pkce pkce) {
+    Preconditions.notNull(pkce, "pkce must not null");
+    return issue(issueParams(verifier, state).add(OAuth20Constants.CODE_VERIFIER, pkce.verifier()));
+  }
+
+  /**
+   * non-blocking {@link #issue(Verifier, State)}. retry, hedge 는 하지 않는다
+   */
+  @Override
+  public CompletableFuture<OAuth2KakaoTokenRes> issueAsync(Verifier verifier, State state) {
+    return exchangeAsync(OAuthMetrics.ISSUE, issueParams(verifier, state));
+  }
+
+  @Override
+  public CompletableFuture<OAuth2KakaoTokenRes> issueAsync(Verifier verifier, State state, Pkce pkce) {
+    Preconditions.notNull(pkce, "pkce must not null");
+    return exchangeAsync(OAuthMetrics.ISSUE,
+        issueParams(verifier, state).add(OAuth20Constants.CODE_VERIFIER, pkce.verifier()));
+  }
+
+  private ParamList issueParams(Verifier verifier, State state) {
     Preconditions.notNull(verifier, "verifier must not null");
     Preconditions.notNull(state, "state must not null");
 
@@ -60,10 +94,15 @@ public class OAuth2KakaoAccesstokenFunction
     paramList.add(OAuth20Constants.CODE, verifier);
 //    paramList.add(OAuth20Constants.STATE, state);
     paramList.add(OAuth20Constants.REDIRECT_URI, serviceConfig.getRedirectUri());
+    return paramList;
+  }
 
-    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList);
+  private OAuth2KakaoTokenRes issue(ParamList paramList) {
+    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList).withProvider(PROVIDER);
 
-    return tokenExtractor.extract(request.run(serviceConfig.getAccessTokenVerb()));
+    return OAuthMetrics.observe(PROVIDER, OAuthMetrics.ISSUE,
+        () -> tokenExtractor.extract(
+            OAuthResilience.policy(PROVIDER, serviceConfig.getClientId()).run(request, serviceConfig.getAccessTokenVerb())));
   }
 
   /**
@@ -78,6 +117,22 @@ public class OAuth2KakaoAccesstokenFunction
    */
   @Override
   public OAuth2KakaoTokenRes refresh(Token refreshToken) {
+    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), refreshParams(refreshToken)).withProvider(PROVIDER);
+
+    return OAuthMetrics.observe(PROVIDER, OAuthMetrics.REFRESH,
+        () -> tokenExtractor.extract(
+            OAuthResilience.policy(PROVIDER, serviceConfig.getClientId()).runIdempotent(request, serviceConfig.getAccessTokenVerb())));
+  }
+
+  /**
+   * non-blocking {@link #refresh(Token)}. retry, hedge 는 하지 않는다
+   */
+  @Override
+  public CompletableFuture<OAuth2KakaoTokenRes> refreshAsync(Token refreshToken) {
+    return exchangeAsync(OAuthMetrics.REFRESH, refreshParams(refreshToken));
+  }
+
+  private ParamList refreshParams(Token refreshToken) {
     ParamList paramList = new ParamList();
 
     paramList.add(OAuth20Constants.GRANT_TYPE, GrantType.REFRESH_TOKEN);
@@ -85,10 +140,7 @@ public class OAuth2KakaoAccesstokenFunction
     paramList.add(OAuth20Constants.CLIENT_SECRET, serviceConfig.getClientSecret());
 
     paramList.add(OAuth20Constants.REFRESH_TOKEN, refreshToken);
-
-    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList);
-
-    return tokenExtractor.extract(request.run(serviceConfig.getAccessTokenVerb()));
+    return paramList;
   }
 
   /**
@@ -105,9 +157,18 @@ public class OAuth2KakaoAccesstokenFunction
   public OAuth2KakaoTokenRes revoke(Token accessToken) {
     List<Header> headers = new ArrayList<>();
     headers.add(new BasicHeader("Authorization", "Bearer " + accessToken.getValue()));
-    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), headers);
+    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), headers).withProvider(PROVIDER);
 
-    return tokenExtractor.extract(request.run(serviceConfig.getAccessTokenVerb()));
+    return OAuthMetrics.observe(PROVIDER, OAuthMetrics.REVOKE,
+        () -> tokenExtractor.extract(
+            OAuthResilience.policy(PROVIDER, serviceConfig.getClientId()).run(request, serviceConfig.getAccessTokenVerb())));
   }
 
+  private CompletableFuture<OAuth2KakaoTokenRes> exchangeAsync(String operation, ParamList paramList) {
+    HttpRequest request = HttpRequest.create(serviceConfig.getAccessTokenEndpoint(), paramList).withProvider(PROVIDER);
+    return OAuthMetrics.observeAsync(PROVIDER, operation,
+        () -> OAuthResilience.policy(PROVIDER, serviceConfig.getClientId())
+            .runAsync(request, serviceConfig.getAccessTokenVerb())
+            .thenApply(tokenExtractor::extract));
+  }
 }
@@ -2,9 +2,12 @@ package org.scripton.oauth.connector.kakao;
 
 import org.scriptonbasestar.oauth.client.config.OAuthBaseConfig;
 import org.scriptonbasestar.oauth.client.o20.type.VerifierResponseType;
+import org.scriptonbasestar.oauth.client.oidc.OidcDiscovery;
 import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
+import java.util.Objects;
+
 /**
  * @author archmagece
  * @since 2017-09-12
@@ -12,6 +15,11 @@ import org.scriptonbasestar.oauth.client.util.Preconditions;
 public class OAuth2KakaoConfig
     extends OAuthBaseConfig {
 
+  /**
+   * {@link OidcDiscovery#builder(String)} 에 넘길 Kakao 의 issuer. 앱 설정에서 OpenID Connect 를 켜야 한다
+   */
+  public static final String ISSUER = "https://kauth.kakao.com";
+
   private final String redirectUri;
   private final String authorizeEndpoint;
   private final String scope;
@@ -52,6 +60,33 @@ public class OAuth2KakaoConfig
     this.accessTokenVerb = accessTokenVerb;
   }
 
+  //endpoint 는 하위 class 가 getter 에서 정한다
+  private OAuth2KakaoConfig(String clientId, String clientSecret, String redirectUri, String scope) {
+    super(clientId, clientSecret);
+    Preconditions.notNull(scope, "scope must not null but empty is allowed");
+    this.redirectUri = redirectUri;
+    this.authorizeEndpoint = null;
+    this.scope = scope;
+    this.accessTokenEndpoint = null;
+    this.accessTokenVerb = OAuthHttpVerb.POST;
+  }
+
+  /**
+   * authorize, token endpoint 를 discovery 문서에서 읽는다. 호출할 때마다 최신 문서를 보므로 endpoint 가 바뀌어도 다시 배포하지 않아도 된다.
+   * 여기서는 문서를 받지 않는다. 처음 endpoint 를 읽을 때 받는다
+   *
+   * @param discovery {@link #ISSUER} 의 discovery
+   */
+  public static OAuth2KakaoConfig fromDiscovery(
+      OidcDiscovery discovery,
+      String clientId,
+      String clientSecret,
+      String redirectUri,
+      String scope) {
+    Preconditions.notNull(discovery, "discovery must not null");
+    return new Discovered(discovery, clientId, clientSecret, redirectUri, scope);
+  }
+
   public String getRedirectUri() {
     return redirectUri;
   }
@@ -75,4 +110,52 @@ public class OAuth2KakaoConfig
   public OAuthHttpVerb getAccessTokenVerb() {
     return accessTokenVerb;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!super.equals(o)) return false;
+    OAuth2KakaoConfig that = (OAuth2KakaoConfig) o;
+    return Objects.equals(redirectUri, that.redirectUri)
+        && Objects.equals(authorizeEndpoint, that.authorizeEndpoint)
+        && Objects.equals(scope, that.scope)
+        && Objects.equals(accessTokenEndpoint, that.accessTokenEndpoint)
+        && Objects.equals(accessTokenVerb, that.accessTokenVerb);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * super.hashCode() + Objects.hash(redirectUri, authorizeEndpoint, scope, accessTokenEndpoint, accessTokenVerb);
+  }
+
+  private static final class Discovered
+      extends OAuth2KakaoConfig {
+
+    private final OidcDiscovery discovery;
+
+    private Discovered(OidcDiscovery discovery, String clientId, String clientSecret, String redirectUri, String scope) {
+      super(clientId, clientSecret, redirectUri, scope);
+      this.discovery = discovery;
+    }
+
+    @Override
+    public String getAuthorizeEndpoint() {
+      return discovery.metadata().authorizationEndpoint();
+    }
+
+    @Override
+    public String getAccessTokenEndpoint() {
+      return discovery.metadata().tokenEndpoint();
+    }
+
+    //endpoint 는 discovery 에서 읽는다. 같은 discovery 를 볼 때만 같은 설정이다
+    @Override
+    public boolean equals(Object o) {
+      return super.equals(o) && discovery == ((Discovered) o).discovery;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * super.hashCode() + System.identityHashCode(discovery);
+    }
+  }
 }
@@ -5,6 +5,8 @@ import org.scriptonbasestar.oauth.client.o20.type.VerifierResponseType;
 import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
 import org.scriptonbasestar.oauth.client.util.Preconditions;
 
+import java.util.Objects;
+
 public class OAuth2NaverConfig
     extends OAuthBaseConfig {
 
@@ -69,4 +71,20 @@ public class OAuth2NaverConfig
   public OAuthHttpVerb getAccessTokenVerb() {
     return accessTokenVerb;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!super.equals(o)) return false;
+    OAuth2NaverConfig that = (OAuth2NaverConfig) o;
+    return Objects.equals(redirectUri, that.redirectUri)
+        && Objects.equals(authorizeEndpoint, that.authorizeEndpoint)
+        && Objects.equals(scope, that.scope)
+        && Objects.equals(accessTokenUri, that.accessTokenUri)
+        && Objects.equals(accessTokenVerb, that.accessTokenVerb);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * super.hashCode() + Objects.hash(redirectUri, authorizeEndpoint, scope, accessTokenUri, accessTokenVerb);
+  }
 }
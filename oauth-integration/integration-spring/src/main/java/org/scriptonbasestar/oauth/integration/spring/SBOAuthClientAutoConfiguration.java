@@ -1,19 +1,284 @@
 package org.scriptonbasestar.oauth.integration.spring;
 
+import net.sf.ehcache.CacheManager;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookAccessTokenEndpointFunction;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookConfig;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.facebook.OAuth2FacebookTokenRes;
+import org.scripton.oauth.connector.google.OAuth2GoogleAccessTokenEndpointFunction;
+import org.scripton.oauth.connector.google.OAuth2GoogleConfig;
+import org.scripton.oauth.connector.google.OAuth2GoogleGenerateAuthorizeUrlFunction;
+import org.scripton.oauth.connector.google.OAuth2GoogleTokenRes;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoAccesstokenFunction;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoConfig;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoTokenRes;
+import org.scripton.oauth.connector.naver.OAuth2NaverAccesstokenFunction;
+import org.scripton.oauth.connector.naver.OAuth2NaverConfig;
+import org.scripton.oauth.connector.naver.OAuth2NaverGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.connector.naver.OAuth2NaverTokenRes;
+import org.scripton.oauth.storage.ehcache.EhcacheTokenStorage;
+import org.scripton.oauth.storage.redis.RedisStateStorage;
+import org.scripton.oauth.storage.redis.RedisTokenStorage;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.nobi.LocalStateStorage;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.StateStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor;
+import org.scriptonbasestar.oauth.client.warmup.ConnectionWarmer;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Lazy;
+import redis.clients.jedis.JedisPooled;
 
 /**
+ * {@link SBOAuthProperties} 로 connector, HTTP pool, storage bean 을 만든다.
+ * <p>
+ * provider 는 connector jar 가 classpath 에 있고 {@code sb.oauth.<provider>.client-id} 가 있을 때만 등록한다.
+ * provider 별 bean 은 모두 lazy 라서 네 개를 설정해도 실제로 주입받은 provider 만 만들어진다.
+ * bean 이름은 {@code <provider>Config}, {@code <provider>AuthorizeFunction}, {@code <provider>TokenFunction},
+ * {@code <provider>ResourceFunction}. resource function 은 타입이 같으므로 이름으로 주입받는다.
+ * <p>
+ * storage 는 {@code sb.oauth.storage.type} 으로 고른다. 기본값은 메모리 (Local*Storage).
+ * 직접 {@link TokenStorage}, {@link StateStorage} bean 을 등록하면 그것을 쓴다.
+ * redis 는 {@link JedisPooled} 하나를 두 storage 가 같이 쓴다. 직접 등록한 {@link JedisPooled} bean 이 있으면 그것을 쓴다.
+ * <p>
+ * token/resource function 과 warmer 는 pool 설정이 먼저 적용되도록 {@code sbOAuthHttpTransport} bean 에 의존한다.
+ * {@link SBOAuthHttpTransport} 를 직접 등록할 때도 bean 이름은 {@code sbOAuthHttpTransport} 로 둔다.
+ *
  * @author archmagece
  * @since 2017-09-12
  */
-@Configuration
+@AutoConfiguration
+@EnableConfigurationProperties(SBOAuthProperties.class)
 public class SBOAuthClientAutoConfiguration {
 
-  //controller not filter
-  //post constructor security open.
+  @Bean
+  @ConditionalOnMissingBean
+  public SBOAuthHttpTransport sbOAuthHttpTransport(SBOAuthProperties properties) {
+    return new SBOAuthHttpTransport(properties.getHttp());
+  }
 
-  //client bean by -- setting. connector name
-  //property 부족하면 에라
-  //
+  /**
+   * {@code client-id} 가 있는 provider 의 token endpoint 를 warm-up 한다. readiness check 에서 {@link ConnectionWarmer#isReady()} 를 본다
+   */
+  @Bean(initMethod = "start", destroyMethod = "close")
+  @DependsOn("sbOAuthHttpTransport")
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(prefix = "sb.oauth.warmup", name = "enabled", havingValue = "true")
+  public ConnectionWarmer sbOAuthConnectionWarmer(SBOAuthProperties properties) {
+    SBOAuthProperties.Warmup warmup = properties.getWarmup();
+    ConnectionWarmer.Builder builder = ConnectionWarmer.builder()
+        .connectionsPerRoute(warmup.getConnectionsPerRoute())
+        .probeInterval(warmup.getProbeInterval());
+    addWarmupTarget(builder, "naver", properties.getNaver());
+    addWarmupTarget(builder, "kakao", properties.getKakao());
+    addWarmupTarget(builder, "google", properties.getGoogle());
+    addWarmupTarget(builder, "facebook", properties.getFacebook());
+    return builder.build();
+  }
 
+  private static void addWarmupTarget(ConnectionWarmer.Builder builder, String name, SBOAuthProperties.Provider provider) {
+    if (provider.getClientId() != null) {
+      builder.target(name, provider::getAccessTokenEndpoint);
+    }
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public TokenStorage sbOAuthTokenStorage() {
+    return new LocalTokenStorage();
+  }
+
+  @Bean
+  @ConditionalOnMissingBean
+  public StateStorage sbOAuthStateStorage() {
+    return new LocalStateStorage();
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass({RedisTokenStorage.class, JedisPooled.class})
+  @ConditionalOnProperty(prefix = "sb.oauth.storage", name = "type", havingValue = "redis")
+  static class RedisStorageConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    JedisPooled sbOAuthJedis(SBOAuthProperties properties) {
+      SBOAuthProperties.Redis redis = properties.getStorage().getRedis();
+      return new JedisPooled(redis.getHost(), redis.getPort());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TokenStorage sbOAuthTokenStorage(JedisPooled jedis) {
+      return new RedisTokenStorage(jedis);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    StateStorage sbOAuthStateStorage(JedisPooled jedis) {
+      return new RedisStateStorage(jedis);
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass({EhcacheTokenStorage.class, CacheManager.class})
+  @ConditionalOnProperty(prefix = "sb.oauth.storage", name = "type", havingValue = "ehcache")
+  static class EhcacheStorageConfiguration {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    CacheManager sbOAuthCacheManager() {
+      return CacheManager.newInstance();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TokenStorage sbOAuthTokenStorage(CacheManager cacheManager, SBOAuthProperties properties) {
+      String cacheName = properties.getStorage().getEhcache().getCacheName();
+      cacheManager.addCacheIfAbsent(cacheName);
+      return new EhcacheTokenStorage(cacheManager.getCache(cacheName));
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @Lazy
+  @ConditionalOnClass(OAuth2NaverConfig.class)
+  @ConditionalOnProperty(prefix = "sb.oauth.naver", name = "client-id")
+  static class NaverConfiguration {
+
+    @Bean
+    OAuth2NaverConfig naverConfig(SBOAuthProperties properties) {
+      SBOAuthProperties.Provider naver = properties.getNaver();
+      return new OAuth2NaverConfig(naver.getClientId(), naver.getClientSecret(), naver.getRedirectUri(),
+          naver.getAuthorizeEndpoint(), naver.getScope(), naver.getAccessTokenEndpoint(), naver.getAccessTokenVerb());
+    }
+
+    @Bean
+    OAuth2NaverGenerateAuthorizeEndpointFunction naverAuthorizeFunction(OAuth2NaverConfig config) {
+      return new OAuth2NaverGenerateAuthorizeEndpointFunction(config);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    OAuth2NaverAccesstokenFunction naverTokenFunction(
+        OAuth2NaverConfig config, TokenStorage tokenStorage) {
+      return new OAuth2NaverAccesstokenFunction(
+          config, new JsonTokenExtractor<>(OAuth2NaverTokenRes.class), tokenStorage);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    DefaultOAuth2ResourceFunction naverResourceFunction(SBOAuthProperties properties) {
+      return new DefaultOAuth2ResourceFunction("naver", properties.getNaver().getResourceEndpoint());
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @Lazy
+  @ConditionalOnClass(OAuth2KakaoConfig.class)
+  @ConditionalOnProperty(prefix = "sb.oauth.kakao", name = "client-id")
+  static class KakaoConfiguration {
+
+    @Bean
+    OAuth2KakaoConfig kakaoConfig(SBOAuthProperties properties) {
+      SBOAuthProperties.Provider kakao = properties.getKakao();
+      return new OAuth2KakaoConfig(kakao.getClientId(), kakao.getClientSecret(), kakao.getRedirectUri(),
+          kakao.getAuthorizeEndpoint(), kakao.getScope(), kakao.getAccessTokenEndpoint(), kakao.getAccessTokenVerb());
+    }
+
+    @Bean
+    OAuth2KakaoGenerateAuthorizeEndpointFunction kakaoAuthorizeFunction(OAuth2KakaoConfig config) {
+      return new OAuth2KakaoGenerateAuthorizeEndpointFunction(config);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    OAuth2KakaoAccesstokenFunction kakaoTokenFunction(
+        OAuth2KakaoConfig config, TokenStorage tokenStorage) {
+      return new OAuth2KakaoAccesstokenFunction(
+          config, new JsonTokenExtractor<>(OAuth2KakaoTokenRes.class), tokenStorage);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    DefaultOAuth2ResourceFunction kakaoResourceFunction(SBOAuthProperties properties) {
+      return new DefaultOAuth2ResourceFunction("kakao", properties.getKakao().getResourceEndpoint());
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @Lazy
+  @ConditionalOnClass(OAuth2GoogleConfig.class)
+  @ConditionalOnProperty(prefix = "sb.oauth.google", name = "client-id")
+  static class GoogleConfiguration {
+
+    @Bean
+    OAuth2GoogleConfig googleConfig(SBOAuthProperties properties) {
+      SBOAuthProperties.Provider google = properties.getGoogle();
+      return new OAuth2GoogleConfig(google.getClientId(), google.getClientSecret(), google.getRedirectUri(),
+          google.getAuthorizeEndpoint(), google.getScope(), google.getAccessTokenEndpoint(), google.getAccessTokenVerb(),
+          google.getRevokeEndpoint());
+    }
+
+    @Bean
+    OAuth2GoogleGenerateAuthorizeUrlFunction googleAuthorizeFunction(OAuth2GoogleConfig config) {
+      return new OAuth2GoogleGenerateAuthorizeUrlFunction(config);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    OAuth2GoogleAccessTokenEndpointFunction googleTokenFunction(
+        OAuth2GoogleConfig config, TokenStorage tokenStorage) {
+      return new OAuth2GoogleAccessTokenEndpointFunction(
+          config, new JsonTokenExtractor<>(OAuth2GoogleTokenRes.class), tokenStorage);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    DefaultOAuth2ResourceFunction googleResourceFunction(SBOAuthProperties properties) {
+      return new DefaultOAuth2ResourceFunction("google", properties.getGoogle().getResourceEndpoint());
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @Lazy
+  @ConditionalOnClass(OAuth2FacebookConfig.class)
+  @ConditionalOnProperty(prefix = "sb.oauth.facebook", name = "client-id")
+  static class FacebookConfiguration {
+
+    @Bean
+    OAuth2FacebookConfig facebookConfig(SBOAuthProperties properties) {
+      SBOAuthProperties.Provider facebook = properties.getFacebook();
+      return new OAuth2FacebookConfig(facebook.getClientId(), facebook.getClientSecret(), facebook.getRedirectUri(),
+          facebook.getAuthorizeEndpoint(), facebook.getScope(), facebook.getAccessTokenEndpoint(),
+          facebook.getAccessTokenVerb());
+    }
+
+    @Bean
+    OAuth2FacebookGenerateAuthorizeEndpointFunction facebookAuthorizeFunction(OAuth2FacebookConfig config) {
+      return new OAuth2FacebookGenerateAuthorizeEndpointFunction(config);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    OAuth2FacebookAccessTokenEndpointFunction facebookTokenFunction(
+        OAuth2FacebookConfig config, TokenStorage tokenStorage) {
+      return new OAuth2FacebookAccessTokenEndpointFunction(
+          config, new JsonTokenExtractor<>(OAuth2FacebookTokenRes.class), tokenStorage);
+    }
+
+    @Bean
+    @DependsOn("sbOAuthHttpTransport")
+    DefaultOAuth2ResourceFunction facebookResourceFunction(SBOAuthProperties properties) {
+      return new DefaultOAuth2ResourceFunction("facebook", properties.getFacebook().getResourceEndpoint());
+    }
+  }
 }
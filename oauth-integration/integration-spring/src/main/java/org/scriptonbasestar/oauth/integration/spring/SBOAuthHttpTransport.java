@@ -0,0 +1,21 @@
+package org.scriptonbasestar.oauth.integration.spring;
+
+import org.scriptonbasestar.oauth.client.http.HttpPoolStats;
+import org.scriptonbasestar.oauth.client.http.HttpRequest;
+
+/**
+ * 모든 connector 가 같이 쓰는 {@link HttpRequest} connection pool.
+ * bean 이 만들어질 때 {@code sb.oauth.http.*} 를 pool 에 적용하고, token/resource bean 은 이 bean 에 의존해서 설정된 pool 을 쓴다.
+ *
+ * @since 2.0.0
+ */
+public class SBOAuthHttpTransport {
+
+  public SBOAuthHttpTransport(SBOAuthProperties.Http http) {
+    HttpRequest.setPoolLimits(http.getMaxTotal(), http.getMaxPerRoute());
+  }
+
+  public HttpPoolStats poolStats() {
+    return HttpRequest.poolStats();
+  }
+}
@@ -0,0 +1,306 @@
+package org.scriptonbasestar.oauth.integration.spring;
+
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code sb.oauth.*} 설정.
+ *
+ * <pre>{@code
+ * sb:
+ *   oauth:
+ *     http:
+ *       max-total: 200
+ *     warmup:
+ *       enabled: true
+ *     storage:
+ *       type: redis
+ *       redis:
+ *         host: localhost
+ *     naver:
+ *       client-id: ${NAVER_CLIENT_ID}
+ *       client-secret: ${NAVER_CLIENT_SECRET}
+ *       redirect-uri: https://app.example.com/oauth/naver/callback
+ * }</pre>
+ * provider 는 {@code client-id} 가 있을 때만 bean 을 만든다. endpoint 는 기본값이 있어서 바뀔 때만 적는다.
+ *
+ * @since 2.0.0
+ */
+@ConfigurationProperties(prefix = SBOAuthProperties.PREFIX)
+public class SBOAuthProperties {
+
+  public static final String PREFIX = "sb.oauth";
+
+  private final Http http = new Http();
+  private final Warmup warmup = new Warmup();
+  private final Storage storage = new Storage();
+  private final Provider naver = new Provider(
+      "https://nid.naver.com/oauth2.0/authorize",
+      "https://nid.naver.com/oauth2.0/token",
+      "https://openapi.naver.com/v1/nid/me");
+  private final Provider kakao = new Provider(
+      "https://kauth.kakao.com/oauth/authorize",
+      "https://kauth.kakao.com/oauth/token",
+      "https://kapi.kakao.com/v2/user/me");
+  private final Provider google = new Provider(
+      "https://accounts.google.com/o/oauth2/v2/auth",
+      "https://www.googleapis.com/oauth2/v4/token",
+      "https://openidconnect.googleapis.com/v1/userinfo");
+  private final Provider facebook = new Provider(
+      "https://www.facebook.com/v18.0/dialog/oauth",
+      "https://graph.facebook.com/v18.0/oauth/access_token",
+      "https://graph.facebook.com/me");
+
+  public SBOAuthProperties() {
+    google.setRevokeEndpoint("https://accounts.google.com/o/oauth2/revoke");
+  }
+
+  public Http getHttp() {
+    return http;
+  }
+
+  public Warmup getWarmup() {
+    return warmup;
+  }
+
+  public Storage getStorage() {
+    return storage;
+  }
+
+  public Provider getNaver() {
+    return naver;
+  }
+
+  public Provider getKakao() {
+    return kakao;
+  }
+
+  public Provider getGoogle() {
+    return google;
+  }
+
+  public Provider getFacebook() {
+    return facebook;
+  }
+
+  /**
+   * 모든 provider 가 같이 쓰는 connection pool
+   */
+  public static class Http {
+    private int maxTotal = 100;
+    private int maxPerRoute = 20;
+
+    public int getMaxTotal() {
+      return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+      this.maxTotal = maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+      return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(int maxPerRoute) {
+      this.maxPerRoute = maxPerRoute;
+    }
+  }
+
+  /**
+   * 설정된 provider 의 token endpoint 로 connection 을 미리 열어 둔다.
+   * {@link org.scriptonbasestar.oauth.client.warmup.ConnectionWarmer} 참고
+   */
+  public static class Warmup {
+    private boolean enabled;
+    private int connectionsPerRoute = 2;
+    private Duration probeInterval = Duration.ofSeconds(20);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getConnectionsPerRoute() {
+      return connectionsPerRoute;
+    }
+
+    public void setConnectionsPerRoute(int connectionsPerRoute) {
+      this.connectionsPerRoute = connectionsPerRoute;
+    }
+
+    public Duration getProbeInterval() {
+      return probeInterval;
+    }
+
+    public void setProbeInterval(Duration probeInterval) {
+      this.probeInterval = probeInterval;
+    }
+  }
+
+  public static class Storage {
+
+    public enum Type {
+      LOCAL,
+      REDIS,
+      EHCACHE
+    }
+
+    private Type type = Type.LOCAL;
+    private final Redis redis = new Redis();
+    private final Ehcache ehcache = new Ehcache();
+
+    public Type getType() {
+      return type;
+    }
+
+    public void setType(Type type) {
+      this.type = type;
+    }
+
+    public Redis getRedis() {
+      return redis;
+    }
+
+    public Ehcache getEhcache() {
+      return ehcache;
+    }
+  }
+
+  public static class Redis {
+    private String host = "localhost";
+    private int port = 6379;
+
+    public String getHost() {
+      return host;
+    }
+
+    public void setHost(String host) {
+      this.host = host;
+    }
+
+    public int getPort() {
+      return port;
+    }
+
+    public void setPort(int port) {
+      this.port = port;
+    }
+  }
+
+  public static class Ehcache {
+    private String cacheName = "sb-oauth-token";
+
+    public String getCacheName() {
+      return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+      this.cacheName = cacheName;
+    }
+  }
+
+  public static class Provider {
+    private String clientId;
+    private String clientSecret;
+    private String redirectUri;
+    private String scope = "";
+    private String authorizeEndpoint;
+    private String accessTokenEndpoint;
+    private OAuthHttpVerb accessTokenVerb = OAuthHttpVerb.POST;
+    private String revokeEndpoint;
+    private String resourceEndpoint;
+
+    public Provider() {
+    }
+
+    Provider(String authorizeEndpoint, String accessTokenEndpoint, String resourceEndpoint) {
+      this.authorizeEndpoint = authorizeEndpoint;
+      this.accessTokenEndpoint = accessTokenEndpoint;
+      this.resourceEndpoint = resourceEndpoint;
+    }
+
+    public String getClientId() {
+      return clientId;
+    }
+
+    public void setClientId(String clientId) {
+      this.clientId = clientId;
+    }
+
+    public String getClientSecret() {
+      return clientSecret;
+    }
+
+    public void setClientSecret(String clientSecret) {
+      this.clientSecret = clientSecret;
+    }
+
+    public String getRedirectUri() {
+      return redirectUri;
+    }
+
+    public void setRedirectUri(String redirectUri) {
+      this.redirectUri = redirectUri;
+    }
+
+    public String getScope() {
+      return scope;
+    }
+
+    public void setScope(String scope) {
+      this.scope = scope;
+    }
+
+    public String getAuthorizeEndpoint() {
+      return authorizeEndpoint;
+    }
+
+    public void setAuthorizeEndpoint(String authorizeEndpoint) {
+      this.authorizeEndpoint = authorizeEndpoint;
+    }
+
+    public String getAccessTokenEndpoint() {
+      return accessTokenEndpoint;
+    }
+
+    public void setAccessTokenEndpoint(String accessTokenEndpoint) {
+      this.accessTokenEndpoint = accessTokenEndpoint;
+    }
+
+    public OAuthHttpVerb getAccessTokenVerb() {
+      return accessTokenVerb;
+    }
+
+    public void setAccessTokenVerb(OAuthHttpVerb accessTokenVerb) {
+      this.accessTokenVerb = accessTokenVerb;
+    }
+
+    /**
+     * google 만 쓴다
+     */
+    public String getRevokeEndpoint() {
+      return revokeEndpoint;
+    }
+
+    public void setRevokeEndpoint(String revokeEndpoint) {
+      this.revokeEndpoint = revokeEndpoint;
+    }
+
+    /**
+     * 사용자 정보 (profile) API
+     */
+    public String getResourceEndpoint() {
+      return resourceEndpoint;
+    }
+
+    public void setResourceEndpoint(String resourceEndpoint) {
+      this.resourceEndpoint = resourceEndpoint;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package org.scriptonbasestar.oauth.integration.spring;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.scripton.oauth.connector.kakao.OAuth2KakaoConfig;
+import org.scripton.oauth.connector.naver.OAuth2NaverAccesstokenFunction;
+import org.scripton.oauth.connector.naver.OAuth2NaverConfig;
+import org.scripton.oauth.connector.naver.OAuth2NaverGenerateAuthorizeEndpointFunction;
+import org.scripton.oauth.storage.ehcache.EhcacheTokenStorage;
+import org.scripton.oauth.storage.redis.RedisStateStorage;
+import org.scripton.oauth.storage.redis.RedisTokenStorage;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.nobi.LocalStateStorage;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.StateStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.warmup.ConnectionWarmer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPooled;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for SBOAuthClientAutoConfiguration
+ */
+class SBOAuthClientAutoConfigurationTest {
+
+	@Test
+	void providerWithClientId_shouldRegisterLazyConnectorBeans() {
+		try (AnnotationConfigApplicationContext context = context(Map.of(
+			"sb.oauth.naver.client-id", "naver-client",
+			"sb.oauth.naver.client-secret", "naver-secret",
+			"sb.oauth.naver.redirect-uri", "https://app.example.com/oauth/naver/callback"))) {
+
+			assertThat(context.getBeanNamesForType(OAuth2NaverConfig.class)).containsExactly("naverConfig");
+			assertThat(context.getBeanNamesForType(OAuth2KakaoConfig.class)).isEmpty();
+			assertThat(context.getBeanFactory().containsSingleton("naverTokenFunction")).isFalse();
+			assertThat(context.getBeanFactory().containsSingleton("naverConfig")).isFalse();
+
+			context.getBean(OAuth2NaverAccesstokenFunction.class);
+			String url = context.getBean(OAuth2NaverGenerateAuthorizeEndpointFunction.class).generate(new State("s"));
+
+			assertThat(context.getBeanFactory().containsSingleton("naverConfig")).isTrue();
+			assertThat(url).startsWith("https://nid.naver.com/oauth2.0/authorize?client_id=naver-client&");
+			assertThat(context.getBean("naverResourceFunction")).isInstanceOf(DefaultOAuth2ResourceFunction.class);
+		}
+	}
+
+	@Test
+	void defaults_shouldUseLocalStorageAndApplyPoolLimits() {
+		try (AnnotationConfigApplicationContext context = context(Map.of("sb.oauth.http.max-total", "40"))) {
+
+			assertThat(context.getBeanNamesForType(ConnectionWarmer.class)).isEmpty();
+			assertThat(context.getBean(TokenStorage.class)).isInstanceOf(LocalTokenStorage.class);
+			assertThat(context.getBean(StateStorage.class)).isInstanceOf(LocalStateStorage.class);
+			assertThat(context.getBean(SBOAuthHttpTransport.class).poolStats().max()).isEqualTo(40);
+		}
+	}
+
+	@Test
+	void ehcacheStorage_shouldReplaceLocalTokenStorage() {
+		try (AnnotationConfigApplicationContext context = context(Map.of("sb.oauth.storage.type", "ehcache"))) {
+
+			assertThat(context.getBean(TokenStorage.class)).isInstanceOf(EhcacheTokenStorage.class);
+			assertThat(context.getBean(StateStorage.class)).isInstanceOf(LocalStateStorage.class);
+		}
+	}
+
+	@Test
+	void redisStorage_shouldUsePooledClient() {
+		try (AnnotationConfigApplicationContext context = context(Map.of("sb.oauth.storage.type", "redis"))) {
+
+			assertThat(context.getBeanNamesForType(JedisPooled.class)).containsExactly("sbOAuthJedis");
+			assertThat(context.getBeanNamesForType(Jedis.class)).isEmpty();
+			assertThat(context.getBean(TokenStorage.class)).isInstanceOf(RedisTokenStorage.class);
+			assertThat(context.getBean(StateStorage.class)).isInstanceOf(RedisStateStorage.class);
+		}
+	}
+
+	@Test
+	void warmupEnabled_shouldWarmUpConfiguredProviders() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.start();
+		try (AnnotationConfigApplicationContext context = context(Map.of(
+			"sb.oauth.warmup.enabled", "true",
+			"sb.oauth.warmup.probe-interval", "1h",
+			"sb.oauth.kakao.client-id", "kakao-client",
+			"sb.oauth.kakao.access-token-endpoint", "http://127.0.0.1:" + server.getAddress().getPort() + "/oauth/token"))) {
+
+			ConnectionWarmer warmer = context.getBean(ConnectionWarmer.class);
+			assertThat(warmer.warmUp()).isTrue();
+			assertThat(warmer.status()).extracting(ConnectionWarmer.TargetStatus::name).containsExactly("kakao");
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	private static AnnotationConfigApplicationContext context(Map<String, Object> properties) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+		context.register(SBOAuthClientAutoConfiguration.class);
+		context.refresh();
+		return context;
+	}
+}
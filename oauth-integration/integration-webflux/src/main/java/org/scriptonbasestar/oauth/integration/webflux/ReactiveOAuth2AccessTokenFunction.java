@@ -0,0 +1,50 @@
+package org.scriptonbasestar.oauth.integration.webflux;
+
+import org.scriptonbasestar.oauth.client.OAuth2AccessTokenEndpointFunction;
+import org.scriptonbasestar.oauth.client.TokenPack;
+import org.scriptonbasestar.oauth.client.model.Pkce;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.model.Verifier;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import reactor.core.publisher.Mono;
+
+/**
+ * connector 의 token 함수를 {@link Mono} 로 감싼다.
+ * <p>
+ * connector 의 {@code issueAsync}, {@code refreshAsync} 는 non-blocking HTTP 로 보내므로 event loop 를 막지 않는다.
+ * 구독할 때 요청을 보내고, 결과는 HTTP client 의 I/O 스레드에서 나온다. 이어지는 연산에서 blocking 호출을 하면 안 된다.
+ * async 를 직접 구현하지 않은 함수는 기본 구현대로 virtual thread 에서 blocking 호출을 한다.
+ *
+ * <pre>{@code
+ * ReactiveOAuth2AccessTokenFunction<OAuth2GoogleTokenRes> google =
+ *     new ReactiveOAuth2AccessTokenFunction<>(new OAuth2GoogleAccessTokenEndpointFunction(config, extractor, storage));
+ * Mono<OAuth2GoogleTokenRes> token = google.issue(new Verifier(code), new State(state));
+ * }</pre>
+ *
+ * @since 2.0.0
+ */
+public class ReactiveOAuth2AccessTokenFunction<TOKEN_RES extends TokenPack> {
+
+  private final OAuth2AccessTokenEndpointFunction<TOKEN_RES> delegate;
+
+  public ReactiveOAuth2AccessTokenFunction(OAuth2AccessTokenEndpointFunction<TOKEN_RES> delegate) {
+    this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+  }
+
+  public Mono<TOKEN_RES> issue(Verifier verifier, State state) {
+    return Mono.fromFuture(() -> delegate.issueAsync(verifier, state));
+  }
+
+  public Mono<TOKEN_RES> issue(Verifier verifier, State state, Pkce pkce) {
+    return Mono.fromFuture(() -> delegate.issueAsync(verifier, state, pkce));
+  }
+
+  public Mono<TOKEN_RES> refresh(Token refreshToken) {
+    return Mono.fromFuture(() -> delegate.refreshAsync(refreshToken));
+  }
+
+  public Mono<TOKEN_RES> revoke(Token accessToken) {
+    return Mono.fromFuture(() -> delegate.revokeAsync(accessToken));
+  }
+}
@@ -0,0 +1,37 @@
+package org.scriptonbasestar.oauth.integration.webflux;
+
+import org.apache.hc.core5.http.Header;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.http.HttpResult;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link DefaultOAuth2ResourceFunction} 의 non-blocking 호출을 {@link Mono} 로 감싼다.
+ *
+ * @since 2.0.0
+ */
+public class ReactiveOAuth2ResourceFunction {
+
+  private final DefaultOAuth2ResourceFunction delegate;
+
+  public ReactiveOAuth2ResourceFunction(DefaultOAuth2ResourceFunction delegate) {
+    this.delegate = Preconditions.notNull(delegate, "delegate must not null");
+  }
+
+  /**
+   * @return 2xx 응답 body. 그 외 status 는 empty, 네트워크 오류는 error
+   */
+  public Mono<String> run(String accessToken) {
+    return Mono.fromFuture(() -> delegate.runAsync(accessToken));
+  }
+
+  /**
+   * @param headers Authorization 외에 붙일 header
+   */
+  public Mono<HttpResult> fetch(String accessToken, List<Header> headers) {
+    return Mono.fromFuture(() -> delegate.fetchAsync(accessToken, headers));
+  }
+}
@@ -0,0 +1,58 @@
+package org.scriptonbasestar.oauth.integration.webflux;
+
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link TokenStorage} 의 reactive 버전.
+ *
+ * @since 2.0.0
+ */
+public interface ReactiveTokenStorage {
+
+  /**
+   * @return 없으면 empty
+   */
+  Mono<Token> load(String id);
+
+  Mono<Void> store(String id, Token token);
+
+  Mono<Void> drop(String id);
+
+  /**
+   * blocking storage 를 감싼다. {@link LocalTokenStorage} 는 메모리만 보므로 구독한 스레드에서 바로 실행하고,
+   * 그 외 (Redis, Ehcache 등) 는 {@link Schedulers#boundedElastic()} 에서 실행해서 event loop 를 막지 않는다
+   */
+  static ReactiveTokenStorage of(TokenStorage storage) {
+    return of(storage, storage instanceof LocalTokenStorage ? Schedulers.immediate() : Schedulers.boundedElastic());
+  }
+
+  /**
+   * @param scheduler storage 호출을 실행할 scheduler
+   */
+  static ReactiveTokenStorage of(TokenStorage storage, Scheduler scheduler) {
+    Preconditions.notNull(storage, "storage must not null");
+    Preconditions.notNull(scheduler, "scheduler must not null");
+    return new ReactiveTokenStorage() {
+      @Override
+      public Mono<Token> load(String id) {
+        return Mono.fromCallable(() -> storage.load(id)).subscribeOn(scheduler);
+      }
+
+      @Override
+      public Mono<Void> store(String id, Token token) {
+        return Mono.<Void>fromRunnable(() -> storage.store(id, token)).subscribeOn(scheduler);
+      }
+
+      @Override
+      public Mono<Void> drop(String id) {
+        return Mono.<Void>fromRunnable(() -> storage.drop(id)).subscribeOn(scheduler);
+      }
+    };
+  }
+}
@@ -0,0 +1,151 @@
+package org.scriptonbasestar.oauth.integration.webflux;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.scripton.oauth.connector.google.OAuth2GoogleAccessTokenEndpointFunction;
+import org.scripton.oauth.connector.google.OAuth2GoogleConfig;
+import org.scripton.oauth.connector.google.OAuth2GoogleTokenRes;
+import org.scriptonbasestar.oauth.client.DefaultOAuth2ResourceFunction;
+import org.scriptonbasestar.oauth.client.model.State;
+import org.scriptonbasestar.oauth.client.model.Token;
+import org.scriptonbasestar.oauth.client.model.Verifier;
+import org.scriptonbasestar.oauth.client.nobi.LocalTokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
+import org.scriptonbasestar.oauth.client.nobi.token.JsonTokenExtractor;
+import org.scriptonbasestar.oauth.client.type.OAuthHttpVerb;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for ReactiveOAuth2AccessTokenFunction, ReactiveOAuth2ResourceFunction and ReactiveTokenStorage
+ */
+class ReactiveOAuth2FunctionTest {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private HttpServer server;
+	private String baseUrl;
+	private final AtomicInteger tokenCalls = new AtomicInteger();
+	private final AtomicReference<String> tokenBody = new AtomicReference<>();
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/token", exchange -> {
+			tokenCalls.incrementAndGet();
+			tokenBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+			respond(exchange, 200, "{\"access_token\":\"at\",\"token_type\":\"Bearer\",\"expires_in\":3600,\"refresh_token\":\"rt\"}");
+		});
+		server.createContext("/me", exchange -> {
+			boolean authorized = "Bearer at".equals(exchange.getRequestHeaders().getFirst("Authorization"));
+			respond(exchange, authorized ? 200 : 401, authorized ? "{\"id\":\"1\"}" : "{}");
+		});
+		server.start();
+		baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void issue_shouldBeLazyAndParseToken() {
+		ReactiveOAuth2AccessTokenFunction<OAuth2GoogleTokenRes> function = new ReactiveOAuth2AccessTokenFunction<>(
+			new OAuth2GoogleAccessTokenEndpointFunction(config(),
+				new JsonTokenExtractor<>(new TypeReference<OAuth2GoogleTokenRes>() {}), new LocalTokenStorage()));
+
+		Mono<OAuth2GoogleTokenRes> mono = function.issue(new Verifier("code"), new State("state"));
+		assertThat(tokenCalls).as("nothing is sent before subscribe").hasValue(0);
+
+		OAuth2GoogleTokenRes token = mono.block(TIMEOUT);
+		assertThat(token.getAccessToken()).isEqualTo("at");
+		assertThat(token.getRefreshToken()).isEqualTo("rt");
+		assertThat(tokenBody.get()).contains("grant_type=authorization_code", "code=code");
+
+		assertThat(function.refresh(new Token("rt")).block(TIMEOUT).getAccessToken()).isEqualTo("at");
+		assertThat(tokenBody.get()).contains("grant_type=refresh_token", "refresh_token=rt");
+		assertThat(tokenCalls).hasValue(2);
+	}
+
+	@Test
+	void resource_shouldReturnBodyOrEmpty() {
+		ReactiveOAuth2ResourceFunction function =
+			new ReactiveOAuth2ResourceFunction(new DefaultOAuth2ResourceFunction(baseUrl + "/me"));
+
+		assertThat(function.run("at").block(TIMEOUT)).isEqualTo("{\"id\":\"1\"}");
+		assertThat(function.run("expired").blockOptional(TIMEOUT)).isEmpty();
+		assertThat(function.fetch("expired", List.of()).block(TIMEOUT).status()).isEqualTo(401);
+	}
+
+	@Test
+	void tokenStorage_shouldOffloadBlockingStorage() {
+		AtomicReference<String> thread = new AtomicReference<>();
+		TokenStorage local = new LocalTokenStorage();
+		TokenStorage blocking = new TokenStorage() {
+			@Override
+			public Token load(String id) {
+				thread.set(Thread.currentThread().getName());
+				return local.load(id);
+			}
+
+			@Override
+			public void store(String id, Token token) {
+				local.store(id, token);
+			}
+
+			@Override
+			public void drop(String id) {
+				local.drop(id);
+			}
+		};
+		ReactiveTokenStorage storage = ReactiveTokenStorage.of(blocking);
+
+		storage.store("user", new Token("at")).block(TIMEOUT);
+		assertThat(storage.load("user").block(TIMEOUT).value()).isEqualTo("at");
+		assertThat(thread.get()).startsWith("boundedElastic");
+
+		storage.drop("user").block(TIMEOUT);
+		assertThat(storage.load("user").blockOptional(TIMEOUT)).isEmpty();
+	}
+
+	@Test
+	void tokenStorage_withLocalStorage_shouldRunInline() {
+		ReactiveTokenStorage storage = ReactiveTokenStorage.of(new LocalTokenStorage());
+		AtomicReference<Token> loaded = new AtomicReference<>();
+
+		storage.store("user", new Token("at")).subscribe();
+		storage.load("user").subscribe(loaded::set);
+
+		assertThat(loaded.get().value()).isEqualTo("at");
+	}
+
+	private OAuth2GoogleConfig config() {
+		return new OAuth2GoogleConfig("client", "secret", "https://app.example.com/callback",
+			"https://accounts.google.com/o/oauth2/v2/auth", "profile",
+			baseUrl + "/token", OAuthHttpVerb.POST, baseUrl + "/revoke");
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
@@ -2,13 +2,17 @@ package org.scripton.oauth.storage.redis;
 
 import org.scriptonbasestar.oauth.client.model.State;
 import org.scriptonbasestar.oauth.client.nobi.StateStorage;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.commands.JedisCommands;
 
+/**
+ * 여러 thread 가 같이 쓰므로 {@link redis.clients.jedis.JedisPooled} 처럼 pool 을 쓰는 client 를 넘긴다.
+ * {@link redis.clients.jedis.Jedis} 하나는 thread-safe 하지 않다.
+ */
 public class RedisStateStorage implements StateStorage {
 
-  private Jedis jedis;
+  private JedisCommands jedis;
 
-  public RedisStateStorage(Jedis client) {
+  public RedisStateStorage(JedisCommands client) {
     this.jedis = client;
   }
 
@@ -2,13 +2,17 @@ package org.scripton.oauth.storage.redis;
 
 import org.scriptonbasestar.oauth.client.model.Token;
 import org.scriptonbasestar.oauth.client.nobi.TokenStorage;
-import redis.clients.jedis.Jedis;
+import redis.clients.jedis.commands.JedisCommands;
 
+/**
+ * 여러 thread 가 같이 쓰므로 {@link redis.clients.jedis.JedisPooled} 처럼 pool 을 쓰는 client 를 넘긴다.
+ * {@link redis.clients.jedis.Jedis} 하나는 thread-safe 하지 않다.
+ */
 public class RedisTokenStorage implements TokenStorage {
 
-  private final Jedis jedis;
+  private final JedisCommands jedis;
 
-  public RedisTokenStorage(Jedis client) {
+  public RedisTokenStorage(JedisCommands client) {
     this.jedis = client;
   }
 
@@ -0,0 +1,27 @@
+package org.scripton.test.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * google 응답의 id_token 모양만 흉내낸다. 서명은 없다 ({@code alg: none}).
+ */
+final class MockIdToken {
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private MockIdToken() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  static String unsigned(String subject, long issuedAt, long expiresIn) {
+    String header = "{\"alg\":\"none\",\"typ\":\"JWT\"}";
+    String payload = "{\"iss\":\"https://accounts.google.com\",\"sub\":\"" + subject
+        + "\",\"aud\":\"mock-client\",\"iat\":" + issuedAt + ",\"exp\":" + (issuedAt + expiresIn) + "}";
+    return encode(header) + "." + encode(payload) + ".";
+  }
+
+  private static String encode(String json) {
+    return ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+}
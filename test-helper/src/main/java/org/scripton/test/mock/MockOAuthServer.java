@@ -0,0 +1,295 @@
+package org.scripton.test.mock;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 부하 테스트용 OAuth 2.0 authorization server.
+ * <p>
+ * provider 마다 {@code /{provider}/authorize}, {@code /token}, {@code /revoke}, {@code /userinfo} 를 제공하고
+ * 응답은 {@link MockProviderType} 의 형식을 따른다. 실제 계정 없이 로그인 흐름 전체를 돌릴 수 있다.
+ * <ul>
+ *   <li>authorize - 동의 화면 없이 바로 {@code redirect_uri?code=...&state=...} 로 302. {@code login_hint} 가 있으면 user id 로 쓴다</li>
+ *   <li>token - {@code authorization_code}, {@code refresh_token}, revoke({@code grant_type=delete}, access_token 파라미터, Bearer 헤더)</li>
+ *   <li>revoke - {@code token} 또는 {@code access_token} 파라미터 (google 형식)</li>
+ *   <li>userinfo - Bearer 헤더 또는 {@code access_token} 파라미터</li>
+ * </ul>
+ * 발급한 code/token 은 메모리에만 있고 서버를 닫으면 사라진다.
+ *
+ * <pre>{@code
+ * try (MockOAuthServer server = new MockOAuthServer(MockOAuthServerConfig.defaults()).start()) {
+ *   String tokenEndpoint = server.tokenEndpoint(MockProviderType.NAVER);
+ * }
+ * }</pre>
+ */
+public final class MockOAuthServer implements AutoCloseable {
+
+  private final MockOAuthServerConfig config;
+
+  private final ConcurrentMap<String, String> codes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, IssuedToken> accessTokens = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, IssuedToken> refreshTokens = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong injectedErrorCount = new AtomicLong();
+
+  private EventLoopGroup bossGroup;
+  private EventLoopGroup workerGroup;
+  //start/close 는 this 로 보호하고, port() 와 main 은 lock 없이 읽는다
+  private volatile Channel channel;
+  private volatile int port;
+
+  public MockOAuthServer(MockOAuthServerConfig config) {
+    this.config = Preconditions.notNull(config, "config must not null");
+  }
+
+  /**
+   * 포트를 열고 바로 돌아온다.
+   *
+   * @return this
+   */
+  public synchronized MockOAuthServer start() throws InterruptedException {
+    if (channel != null) {
+      throw new IllegalStateException("already started");
+    }
+    bossGroup = new NioEventLoopGroup(1);
+    workerGroup = new NioEventLoopGroup(config.getWorkerThreads());
+    ServerBootstrap b = new ServerBootstrap();
+    b.group(bossGroup, workerGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<SocketChannel>() {
+          @Override
+          public void initChannel(SocketChannel ch) {
+            ch.pipeline()
+                .addLast(new HttpServerCodec())
+                .addLast(new HttpObjectAggregator(64 * 1024))
+                .addLast(new MockOAuthServerHandler(MockOAuthServer.this));
+          }
+        })
+        .option(ChannelOption.SO_BACKLOG, 1024)
+        .childOption(ChannelOption.TCP_NODELAY, true)
+        .childOption(ChannelOption.SO_KEEPALIVE, true);
+    Channel bound = b.bind("127.0.0.1", config.getPort()).sync().channel();
+    port = ((InetSocketAddress) bound.localAddress()).getPort();
+    channel = bound;
+    return this;
+  }
+
+  public int port() {
+    return port;
+  }
+
+  /**
+   * @return {@code http://127.0.0.1:port}
+   */
+  public String baseUrl() {
+    return "http://127.0.0.1:" + port;
+  }
+
+  public String authorizeEndpoint(MockProviderType type) {
+    return endpoint(type, "authorize");
+  }
+
+  public String tokenEndpoint(MockProviderType type) {
+    return endpoint(type, "token");
+  }
+
+  public String revokeEndpoint(MockProviderType type) {
+    return endpoint(type, "revoke");
+  }
+
+  public String userInfoEndpoint(MockProviderType type) {
+    return endpoint(type, "userinfo");
+  }
+
+  public MockOAuthServerConfig config() {
+    return config;
+  }
+
+  /**
+   * @return 받은 요청 수
+   */
+  public long requestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * @return {@link MockOAuthServerConfig#getErrorRate()} 에 따라 실패시킨 요청 수
+   */
+  public long injectedErrorCount() {
+    return injectedErrorCount.get();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (channel != null) {
+      channel.close().syncUninterruptibly();
+      channel = null;
+    }
+    if (workerGroup != null) {
+      workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+      bossGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+      workerGroup = null;
+      bossGroup = null;
+    }
+  }
+
+  private String endpoint(MockProviderType type, String name) {
+    return baseUrl() + "/" + type.path() + "/" + name;
+  }
+
+  long nextRequest() {
+    return requestCount.incrementAndGet();
+  }
+
+  boolean injectError() {
+    double rate = config.getErrorRate();
+    if (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate) {
+      injectedErrorCount.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  long delayMillis() {
+    long base = config.getLatency().toMillis();
+    long jitter = config.getLatencyJitter().toMillis();
+    return jitter > 0 ? base + ThreadLocalRandom.current().nextLong(jitter) : base;
+  }
+
+  String issueCode(String userId) {
+    String code = "code-" + randomToken();
+    codes.put(code, userId == null ? "user-" + sequence.incrementAndGet() : userId);
+    return code;
+  }
+
+  /**
+   * @return code 로 발급한 토큰. code 는 한 번만 쓸 수 있다. 없으면 null
+   */
+  IssuedToken exchangeCode(String code) {
+    String userId = code == null ? null : codes.remove(code);
+    if (userId == null) {
+      return null;
+    }
+    return issue(userId, "refresh-" + randomToken());
+  }
+
+  /**
+   * @return 새 access token. refresh token 은 그대로 유지된다. 없거나 만료됐으면 null
+   */
+  IssuedToken refresh(String refreshToken) {
+    IssuedToken previous = refreshToken == null ? null : refreshTokens.get(refreshToken);
+    if (previous == null || previous.refreshExpiresAtMillis() < System.currentTimeMillis()) {
+      return null;
+    }
+    accessTokens.remove(previous.accessToken());
+    return issue(previous.userId(), refreshToken);
+  }
+
+  /**
+   * @return 유효한 access token 이면 해당 토큰, 아니면 null
+   */
+  IssuedToken findAccessToken(String accessToken) {
+    IssuedToken token = accessToken == null ? null : accessTokens.get(accessToken);
+    if (token == null || token.expiresAtMillis() < System.currentTimeMillis()) {
+      return null;
+    }
+    return token;
+  }
+
+  /**
+   * access token 과 같이 발급된 refresh token 도 폐기한다.
+   *
+   * @return 폐기한 토큰이 있으면 true
+   */
+  boolean revoke(String token) {
+    if (token == null) {
+      return false;
+    }
+    IssuedToken issued = accessTokens.remove(token);
+    if (issued == null) {
+      issued = refreshTokens.get(token);
+      if (issued != null) {
+        accessTokens.remove(issued.accessToken());
+      }
+    }
+    if (issued == null) {
+      return false;
+    }
+    refreshTokens.remove(issued.refreshToken());
+    return true;
+  }
+
+  private IssuedToken issue(String userId, String refreshToken) {
+    long now = System.currentTimeMillis();
+    long expiresIn = config.getAccessTokenLifetime().toSeconds();
+    long refreshExpiresIn = config.getRefreshTokenLifetime().toSeconds();
+    IssuedToken previous = refreshTokens.get(refreshToken);
+    long refreshExpiresAt = previous != null
+        ? previous.refreshExpiresAtMillis()
+        : now + config.getRefreshTokenLifetime().toMillis();
+    IssuedToken token = new IssuedToken(
+        userId,
+        "access-" + randomToken(),
+        refreshToken,
+        now / 1000,
+        expiresIn,
+        refreshExpiresIn,
+        now + config.getAccessTokenLifetime().toMillis(),
+        refreshExpiresAt);
+    accessTokens.put(token.accessToken(), token);
+    refreshTokens.put(refreshToken, token);
+    return token;
+  }
+
+  private String randomToken() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    return Long.toHexString(sequence.incrementAndGet()) + Long.toHexString(random.nextLong())
+        + Long.toHexString(random.nextLong());
+  }
+
+  /**
+   * @param issuedAt epoch seconds
+   */
+  record IssuedToken(
+      String userId,
+      String accessToken,
+      String refreshToken,
+      long issuedAt,
+      long expiresIn,
+      long refreshExpiresIn,
+      long expiresAtMillis,
+      long refreshExpiresAtMillis) {
+  }
+
+  public static void main(String[] args) throws Exception {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 8084;
+    MockOAuthServer server = new MockOAuthServer(MockOAuthServerConfig.builder().port(port).build()).start();
+    Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+    for (MockProviderType type : MockProviderType.values()) {
+      System.out.println(type + " authorize: " + server.authorizeEndpoint(type));
+      System.out.println(type + " token    : " + server.tokenEndpoint(type));
+      System.out.println(type + " userinfo : " + server.userInfoEndpoint(type));
+    }
+    Channel channel = server.channel;
+    if (channel != null) {
+      channel.closeFuture().sync();
+    }
+  }
+}
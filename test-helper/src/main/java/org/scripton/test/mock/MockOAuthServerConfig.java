@@ -0,0 +1,157 @@
+package org.scripton.test.mock;
+
+import org.scriptonbasestar.oauth.client.util.Preconditions;
+
+import java.time.Duration;
+
+/**
+ * {@link MockOAuthServer} 설정.
+ *
+ * <pre>{@code
+ * MockOAuthServerConfig config = MockOAuthServerConfig.builder()
+ *     .latency(Duration.ofMillis(80), Duration.ofMillis(40))
+ *     .errorRate(0.01)
+ *     .accessTokenLifetime(Duration.ofMinutes(5))
+ *     .build();
+ * }</pre>
+ */
+public final class MockOAuthServerConfig {
+
+  private final int port;
+  private final int workerThreads;
+  private final Duration latency;
+  private final Duration latencyJitter;
+  private final double errorRate;
+  private final int errorStatus;
+  private final Duration accessTokenLifetime;
+  private final Duration refreshTokenLifetime;
+
+  private MockOAuthServerConfig(Builder builder) {
+    this.port = builder.port;
+    this.workerThreads = builder.workerThreads;
+    this.latency = builder.latency;
+    this.latencyJitter = builder.latencyJitter;
+    this.errorRate = builder.errorRate;
+    this.errorStatus = builder.errorStatus;
+    this.accessTokenLifetime = builder.accessTokenLifetime;
+    this.refreshTokenLifetime = builder.refreshTokenLifetime;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return 기본값. 임의 포트, 지연/오류 없음, access token 1시간, refresh token 14일
+   */
+  public static MockOAuthServerConfig defaults() {
+    return builder().build();
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  public int getWorkerThreads() {
+    return workerThreads;
+  }
+
+  public Duration getLatency() {
+    return latency;
+  }
+
+  public Duration getLatencyJitter() {
+    return latencyJitter;
+  }
+
+  public double getErrorRate() {
+    return errorRate;
+  }
+
+  public int getErrorStatus() {
+    return errorStatus;
+  }
+
+  public Duration getAccessTokenLifetime() {
+    return accessTokenLifetime;
+  }
+
+  public Duration getRefreshTokenLifetime() {
+    return refreshTokenLifetime;
+  }
+
+  public static final class Builder {
+    private int port = 0;
+    private int workerThreads = 0;
+    private Duration latency = Duration.ZERO;
+    private Duration latencyJitter = Duration.ZERO;
+    private double errorRate = 0.0;
+    private int errorStatus = 503;
+    private Duration accessTokenLifetime = Duration.ofHours(1);
+    private Duration refreshTokenLifetime = Duration.ofDays(14);
+
+    private Builder() {
+    }
+
+    /**
+     * @param port 0 이면 임의 포트. {@link MockOAuthServer#port()} 로 확인
+     */
+    public Builder port(int port) {
+      Preconditions.isTrue(port >= 0 && port <= 65535, "port must be 0..65535");
+      this.port = port;
+      return this;
+    }
+
+    /**
+     * @param workerThreads 0 이면 netty 기본값 (core * 2)
+     */
+    public Builder workerThreads(int workerThreads) {
+      Preconditions.isTrue(workerThreads >= 0, "workerThreads must not negative");
+      this.workerThreads = workerThreads;
+      return this;
+    }
+
+    /**
+     * 응답마다 {@code latency + [0, jitter)} 만큼 늦게 보낸다. 이벤트 루프를 막지 않는다.
+     */
+    public Builder latency(Duration latency, Duration jitter) {
+      Preconditions.notNull(latency, "latency must not null");
+      Preconditions.notNull(jitter, "jitter must not null");
+      Preconditions.isTrue(!latency.isNegative() && !jitter.isNegative(), "latency must not negative");
+      this.latency = latency;
+      this.latencyJitter = jitter;
+      return this;
+    }
+
+    /**
+     * @param errorRate token/revoke/userinfo 요청 중 {@link #errorStatus(int)} 로 실패시킬 비율. 0.0 ~ 1.0
+     */
+    public Builder errorRate(double errorRate) {
+      Preconditions.isTrue(errorRate >= 0.0 && errorRate <= 1.0, "errorRate must be 0.0..1.0");
+      this.errorRate = errorRate;
+      return this;
+    }
+
+    public Builder errorStatus(int errorStatus) {
+      Preconditions.isTrue(errorStatus >= 400 && errorStatus <= 599, "errorStatus must be 4xx or 5xx");
+      this.errorStatus = errorStatus;
+      return this;
+    }
+
+    public Builder accessTokenLifetime(Duration lifetime) {
+      Preconditions.notNull(lifetime, "lifetime must not null");
+      this.accessTokenLifetime = lifetime;
+      return this;
+    }
+
+    public Builder refreshTokenLifetime(Duration lifetime) {
+      Preconditions.notNull(lifetime, "lifetime must not null");
+      this.refreshTokenLifetime = lifetime;
+      return this;
+    }
+
+    public MockOAuthServerConfig build() {
+      return new MockOAuthServerConfig(this);
+    }
+  }
+}
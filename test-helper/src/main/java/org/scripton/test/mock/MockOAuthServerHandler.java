@@ -0,0 +1,205 @@
+package org.scripton.test.mock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.scriptonbasestar.oauth.client.util.OAuthEncodeUtil;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MockOAuthServer} 의 요청 처리. 응답은 {@link MockOAuthServerConfig#getLatency()} 만큼 event loop 에서 예약해서 보낸다.
+ */
+final class MockOAuthServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+  private static final String BEARER = "Bearer ";
+
+  private final MockOAuthServer server;
+
+  MockOAuthServerHandler(MockOAuthServer server) {
+    this.server = server;
+  }
+
+  @Override
+  protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) {
+    server.nextRequest();
+    boolean keepAlive = HttpUtil.isKeepAlive(request);
+    FullHttpResponse response = route(request);
+    long delay = server.delayMillis();
+    if (delay > 0) {
+      ctx.executor().schedule(() -> write(ctx, response, keepAlive), delay, TimeUnit.MILLISECONDS);
+    } else {
+      write(ctx, response, keepAlive);
+    }
+  }
+
+  @Override
+  public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+    ctx.close();
+  }
+
+  private FullHttpResponse route(FullHttpRequest request) {
+    QueryStringDecoder uri = new QueryStringDecoder(request.uri());
+    String[] segments = uri.path().split("/");
+    MockProviderType type = segments.length == 3 ? MockProviderType.fromPath(segments[1]) : null;
+    if (type == null) {
+      return status(HttpResponseStatus.NOT_FOUND);
+    }
+    String endpoint = segments[2];
+    Map<String, String> params = params(uri, request);
+
+    if ("authorize".equals(endpoint)) {
+      return authorize(params);
+    }
+    if (!"token".equals(endpoint) && !"revoke".equals(endpoint) && !"userinfo".equals(endpoint)) {
+      return status(HttpResponseStatus.NOT_FOUND);
+    }
+    if (server.injectError()) {
+      return json(HttpResponseStatus.valueOf(server.config().getErrorStatus()),
+          type.errorResponse("temporarily_unavailable", "injected by mock server"));
+    }
+    String bearer = bearer(request);
+    return switch (endpoint) {
+      case "token" -> token(type, params, bearer);
+      case "revoke" -> revoke(type, firstNonNull(params.get("token"), params.get("access_token"), bearer));
+      default -> userInfo(type, firstNonNull(bearer, params.get("access_token")));
+    };
+  }
+
+  private FullHttpResponse authorize(Map<String, String> params) {
+    String redirectUri = params.get("redirect_uri");
+    if (redirectUri == null) {
+      return status(HttpResponseStatus.BAD_REQUEST);
+    }
+    StringBuilder location = new StringBuilder(redirectUri)
+        .append(redirectUri.indexOf('?') < 0 ? '?' : '&')
+        .append("code=");
+    OAuthEncodeUtil.encode(server.issueCode(params.get("login_hint")), location);
+    if (params.get("state") != null) {
+      OAuthEncodeUtil.encode(params.get("state"), location.append("&state="));
+    }
+    FullHttpResponse response = status(HttpResponseStatus.FOUND);
+    response.headers().set(HttpHeaderNames.LOCATION, location.toString());
+    return response;
+  }
+
+  private FullHttpResponse token(MockProviderType type, Map<String, String> params, String bearer) {
+    String grantType = params.get("grant_type");
+    if ("authorization_code".equals(grantType)) {
+      MockOAuthServer.IssuedToken token = server.exchangeCode(params.get("code"));
+      return token == null
+          ? json(HttpResponseStatus.BAD_REQUEST, type.errorResponse("invalid_grant", "unknown or used code"))
+          : json(HttpResponseStatus.OK, type.tokenResponse(token));
+    }
+    //connector 들의 revoke 는 token endpoint 로 보낸다
+    if ("delete".equals(grantType) || (params.get("access_token") != null && params.get("refresh_token") == null)) {
+      return revoke(type, params.get("access_token"));
+    }
+    if (grantType == null && bearer != null) {
+      return revoke(type, bearer);
+    }
+    if ("refresh_token".equals(grantType)) {
+      MockOAuthServer.IssuedToken token = server.refresh(params.get("refresh_token"));
+      return token == null
+          ? json(HttpResponseStatus.BAD_REQUEST, type.errorResponse("invalid_grant", "unknown or expired refresh_token"))
+          : json(HttpResponseStatus.OK, type.tokenResponse(token));
+    }
+    return json(HttpResponseStatus.BAD_REQUEST, type.errorResponse("unsupported_grant_type", String.valueOf(grantType)));
+  }
+
+  private FullHttpResponse revoke(MockProviderType type, String token) {
+    if (!server.revoke(token)) {
+      return json(HttpResponseStatus.BAD_REQUEST, type.errorResponse("invalid_token", "unknown token"));
+    }
+    return json(HttpResponseStatus.OK, type.revokeResponse(token));
+  }
+
+  private FullHttpResponse userInfo(MockProviderType type, String accessToken) {
+    MockOAuthServer.IssuedToken token = server.findAccessToken(accessToken);
+    if (token == null) {
+      FullHttpResponse response = json(HttpResponseStatus.UNAUTHORIZED,
+          type.errorResponse("invalid_token", "unknown or expired access_token"));
+      response.headers().set(HttpHeaderNames.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+      return response;
+    }
+    return json(HttpResponseStatus.OK, type.userInfoResponse(token.userId()));
+  }
+
+  private static Map<String, String> params(QueryStringDecoder uri, FullHttpRequest request) {
+    Map<String, String> params = new HashMap<>();
+    putFirst(params, uri.parameters());
+    if (HttpMethod.POST.equals(request.method()) && request.content().isReadable()) {
+      String body = request.content().toString(StandardCharsets.UTF_8);
+      putFirst(params, new QueryStringDecoder(body, StandardCharsets.UTF_8, false).parameters());
+    }
+    return params;
+  }
+
+  private static void putFirst(Map<String, String> target, Map<String, List<String>> source) {
+    for (Map.Entry<String, List<String>> entry : source.entrySet()) {
+      if (!entry.getValue().isEmpty()) {
+        target.put(entry.getKey(), entry.getValue().get(0));
+      }
+    }
+  }
+
+  private static String bearer(FullHttpRequest request) {
+    String authorization = request.headers().get(HttpHeaderNames.AUTHORIZATION);
+    if (authorization != null && authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+      return authorization.substring(BEARER.length()).trim();
+    }
+    return null;
+  }
+
+  private static String firstNonNull(String... values) {
+    for (String value : values) {
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  private static FullHttpResponse json(HttpResponseStatus status, Map<String, Object> body) {
+    byte[] bytes;
+    try {
+      bytes = SBSingleInstances.getObjectMapper().writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+    FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.wrappedBuffer(bytes));
+    response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON + "; charset=UTF-8");
+    return response;
+  }
+
+  private static FullHttpResponse status(HttpResponseStatus status) {
+    return new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, Unpooled.EMPTY_BUFFER);
+  }
+
+  private static void write(ChannelHandlerContext ctx, FullHttpResponse response, boolean keepAlive) {
+    HttpUtil.setContentLength(response, response.content().readableBytes());
+    if (keepAlive) {
+      response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+      ctx.writeAndFlush(response);
+    } else {
+      ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package org.scripton.test.mock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * provider 별 응답 형식.
+ * 각 provider 문서에 나온 필드 이름/타입을 따른다. (naver 의 expires_in 은 문자열)
+ */
+public enum MockProviderType {
+  NAVER("naver") {
+    @Override
+    Map<String, Object> tokenResponse(MockOAuthServer.IssuedToken token) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("access_token", token.accessToken());
+      body.put("refresh_token", token.refreshToken());
+      body.put("token_type", "bearer");
+      body.put("expires_in", String.valueOf(token.expiresIn()));
+      return body;
+    }
+
+    @Override
+    Map<String, Object> userInfoResponse(String userId) {
+      Map<String, Object> response = new LinkedHashMap<>();
+      response.put("id", userId);
+      response.put("nickname", "mock-" + userId);
+      response.put("email", userId + "@naver.example");
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("resultcode", "00");
+      body.put("message", "success");
+      body.put("response", response);
+      return body;
+    }
+
+    @Override
+    Map<String, Object> revokeResponse(String accessToken) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("access_token", accessToken);
+      body.put("result", "success");
+      return body;
+    }
+  },
+  KAKAO("kakao") {
+    @Override
+    Map<String, Object> tokenResponse(MockOAuthServer.IssuedToken token) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("token_type", "bearer");
+      body.put("access_token", token.accessToken());
+      body.put("expires_in", token.expiresIn());
+      body.put("refresh_token", token.refreshToken());
+      body.put("refresh_token_expires_in", token.refreshExpiresIn());
+      body.put("scope", "account_email profile");
+      return body;
+    }
+
+    @Override
+    Map<String, Object> userInfoResponse(String userId) {
+      Map<String, Object> account = new LinkedHashMap<>();
+      account.put("email", userId + "@kakao.example");
+      Map<String, Object> properties = new LinkedHashMap<>();
+      properties.put("nickname", "mock-" + userId);
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("id", Math.abs((long) userId.hashCode()));
+      body.put("properties", properties);
+      body.put("kakao_account", account);
+      return body;
+    }
+
+    @Override
+    Map<String, Object> revokeResponse(String accessToken) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("id", Math.abs((long) accessToken.hashCode()));
+      return body;
+    }
+
+    @Override
+    Map<String, Object> errorResponse(String error, String description) {
+      Map<String, Object> body = super.errorResponse(error, description);
+      body.put("error_code", "KOE" + Math.floorMod(error.hashCode(), 1000));
+      return body;
+    }
+  },
+  GOOGLE("google") {
+    @Override
+    Map<String, Object> tokenResponse(MockOAuthServer.IssuedToken token) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("access_token", token.accessToken());
+      body.put("expires_in", token.expiresIn());
+      body.put("refresh_token", token.refreshToken());
+      body.put("scope", "openid https://www.googleapis.com/auth/userinfo.email");
+      body.put("token_type", "Bearer");
+      body.put("id_token", MockIdToken.unsigned(token.userId(), token.issuedAt(), token.expiresIn()));
+      return body;
+    }
+
+    @Override
+    Map<String, Object> userInfoResponse(String userId) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("sub", userId);
+      body.put("name", "mock-" + userId);
+      body.put("email", userId + "@gmail.example");
+      body.put("email_verified", true);
+      return body;
+    }
+
+    @Override
+    Map<String, Object> revokeResponse(String accessToken) {
+      return new LinkedHashMap<>();
+    }
+  },
+  FACEBOOK("facebook") {
+    @Override
+    Map<String, Object> tokenResponse(MockOAuthServer.IssuedToken token) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("access_token", token.accessToken());
+      body.put("token_type", "bearer");
+      body.put("expires_in", token.expiresIn());
+      return body;
+    }
+
+    @Override
+    Map<String, Object> userInfoResponse(String userId) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("id", userId);
+      body.put("name", "mock-" + userId);
+      body.put("email", userId + "@facebook.example");
+      return body;
+    }
+
+    @Override
+    Map<String, Object> revokeResponse(String accessToken) {
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("success", true);
+      return body;
+    }
+
+    @Override
+    Map<String, Object> errorResponse(String error, String description) {
+      Map<String, Object> detail = new LinkedHashMap<>();
+      detail.put("message", description);
+      detail.put("type", "OAuthException");
+      detail.put("code", 190);
+      Map<String, Object> body = new LinkedHashMap<>();
+      body.put("error", detail);
+      return body;
+    }
+  };
+
+  private final String path;
+
+  MockProviderType(String path) {
+    this.path = path;
+  }
+
+  /**
+   * @return url 의 첫 path segment. {@code /naver/token}
+   */
+  public String path() {
+    return path;
+  }
+
+  static MockProviderType fromPath(String path) {
+    for (MockProviderType type : values()) {
+      if (type.path.equals(path)) {
+        return type;
+      }
+    }
+    return null;
+  }
+
+  abstract Map<String, Object> tokenResponse(MockOAuthServer.IssuedToken token);
+
+  abstract Map<String, Object> userInfoResponse(String userId);
+
+  abstract Map<String, Object> revokeResponse(String accessToken);
+
+  /**
+   * RFC 6749 5.2 형식. facebook 은 graph api 형식
+   */
+  Map<String, Object> errorResponse(String error, String description) {
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("error", error);
+    body.put("error_description", description);
+    return body;
+  }
+}
@@ -0,0 +1,131 @@
+package org.scripton.test.mock;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scriptonbasestar.oauth.client.util.SBSingleInstances;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class MockOAuthServerTest {
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private MockOAuthServer server;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new MockOAuthServer(MockOAuthServerConfig.defaults()).start();
+	}
+
+	@After
+	public void tearDown() {
+		server.close();
+	}
+
+	@Test
+	public void login_refresh_revoke_flow() throws Exception {
+		HttpResponse<String> authorize = get(server.authorizeEndpoint(MockProviderType.NAVER)
+			+ "?client_id=c&response_type=code&state=NAVER-1&redirect_uri=http%3A%2F%2Flocalhost%2Fcb%3Fa%3D1");
+		assertEquals(302, authorize.statusCode());
+		String location = authorize.headers().firstValue("Location").orElseThrow();
+		assertTrue(location, location.startsWith("http://localhost/cb?a=1&code="));
+		assertTrue(location, location.endsWith("&state=NAVER-1"));
+		String code = location.substring(location.indexOf("code=") + 5, location.indexOf("&state="));
+
+		JsonNode token = json(post(server.tokenEndpoint(MockProviderType.NAVER),
+			"grant_type=authorization_code&client_id=c&client_secret=s&code=" + code));
+		String accessToken = token.get("access_token").asText();
+		assertEquals("3600", token.get("expires_in").asText());
+		assertTrue(token.get("expires_in").isTextual());
+
+		//code 는 한 번만
+		assertEquals(400, post(server.tokenEndpoint(MockProviderType.NAVER),
+			"grant_type=authorization_code&code=" + code).statusCode());
+
+		HttpResponse<String> userInfo = bearer(server.userInfoEndpoint(MockProviderType.NAVER), accessToken);
+		assertEquals(200, userInfo.statusCode());
+		assertEquals("00", json(userInfo).get("resultcode").asText());
+
+		JsonNode refreshed = json(post(server.tokenEndpoint(MockProviderType.NAVER),
+			"grant_type=refresh_token&refresh_token=" + token.get("refresh_token").asText()));
+		String newAccessToken = refreshed.get("access_token").asText();
+		assertEquals(401, bearer(server.userInfoEndpoint(MockProviderType.NAVER), accessToken).statusCode());
+
+		assertEquals(200, post(server.tokenEndpoint(MockProviderType.NAVER),
+			"grant_type=delete&access_token=" + newAccessToken).statusCode());
+		assertEquals(401, bearer(server.userInfoEndpoint(MockProviderType.NAVER), newAccessToken).statusCode());
+	}
+
+	@Test
+	public void provider_response_shapes() throws Exception {
+		for (MockProviderType type : MockProviderType.values()) {
+			String location = get(server.authorizeEndpoint(type) + "?redirect_uri=http://localhost/cb&login_hint=u1")
+				.headers().firstValue("Location").orElseThrow();
+			String code = location.substring(location.indexOf("code=") + 5);
+			JsonNode token = json(post(server.tokenEndpoint(type), "grant_type=authorization_code&code=" + code));
+			assertNotNull(type.name(), token.get("access_token"));
+			JsonNode userInfo = json(bearer(server.userInfoEndpoint(type), token.get("access_token").asText()));
+			switch (type) {
+				case NAVER -> assertEquals("u1", userInfo.get("response").get("id").asText());
+				case KAKAO -> assertNotNull(userInfo.get("kakao_account"));
+				case GOOGLE -> {
+					assertEquals("u1", userInfo.get("sub").asText());
+					assertEquals(3, token.get("id_token").asText().split("\\.", -1).length);
+				}
+				case FACEBOOK -> assertEquals("u1", userInfo.get("id").asText());
+			}
+		}
+	}
+
+	@Test
+	public void injected_errors_and_latency() throws Exception {
+		server.close();
+		server = new MockOAuthServer(MockOAuthServerConfig.builder()
+			.errorRate(1.0)
+			.latency(Duration.ofMillis(100), Duration.ZERO)
+			.build()).start();
+
+		long start = System.nanoTime();
+		HttpResponse<String> response = post(server.tokenEndpoint(MockProviderType.FACEBOOK), "grant_type=authorization_code&code=x");
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		assertEquals(503, response.statusCode());
+		assertEquals("OAuthException", json(response).get("error").get("type").asText());
+		assertTrue("elapsed " + elapsedMillis, elapsedMillis >= 100);
+		assertEquals(1, server.injectedErrorCount());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void start_twice_fails() throws Exception {
+		server.start();
+	}
+
+	private HttpResponse<String> get(String uri) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> bearer(String uri, String accessToken) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create(uri)).header("Authorization", "Bearer " + accessToken).GET().build(),
+			HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> post(String uri, String form) throws Exception {
+		return client.send(HttpRequest.newBuilder(URI.create(uri))
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(form)).build(),
+			HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static JsonNode json(HttpResponse<String> response) throws Exception {
+		return SBSingleInstances.getObjectMapper().readTree(response.body());
+	}
+}